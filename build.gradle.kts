@@ -51,6 +51,14 @@ repositories {
 
 val lsp: Configuration by configurations.creating
 
+// JMH benchmarks of the LSP4IJ hot paths (src/jmh/java), run with './gradlew jmh'.
+// Benchmarks use the IntelliJ platform classes which work without an IDE (ex: DocumentImpl) and are not part of the plugin.
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    runtimeClasspath += output + compileClasspath
+}
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+
 // Dependencies are managed with Gradle version catalog - read more: https://docs.gradle.org/current/userguide/platforms.html#sub:version-catalog
 dependencies {
 
@@ -110,6 +118,9 @@ dependencies {
     testRuntimeOnly(libs.junit.vintage.engine)
     // Required for IntelliJ Platform 2026.1 to discover and run tests via JUnit Platform
     testRuntimeOnly("org.junit.platform:junit-platform-launcher:1.11.0")
+
+    "jmhImplementation"(libs.jmh.core)
+    "jmhAnnotationProcessor"(libs.jmh.generator.annprocess)
 }
 
 // Set the JDK version used by the toolchain to build the project (Java 21 is required for platform 2025.3).
@@ -268,6 +279,23 @@ tasks {
         systemProperties["com.redhat.devtools.intellij.telemetry.mode"] = "debug" // "disabled"
     }
 
+    // Run all benchmarks with './gradlew jmh' or some of them with './gradlew jmh -Pjmh.includes=PathPatternMatcher'
+    register<JavaExec>("jmh") {
+        group = "verification"
+        description = "Runs the JMH benchmarks of LSP4IJ hot paths."
+        dependsOn(jmh.classesTaskName)
+        classpath = jmh.runtimeClasspath
+        mainClass = "org.openjdk.jmh.Main"
+        val resultFile = layout.buildDirectory.file("reports/jmh/results.json")
+        doFirst {
+            resultFile.get().asFile.parentFile.mkdirs()
+        }
+        args(properties("jmh.includes").getOrElse(".*"))
+        args("-rf", "json", "-rff", resultFile.get().asFile.absolutePath)
+        properties("jmh.args").orNull?.let { args(it.split(' ').filter(String::isNotEmpty)) }
+        jvmArgs("-Djava.awt.headless=true")
+    }
+
     jacocoTestReport {
         reports {
             xml.required = true
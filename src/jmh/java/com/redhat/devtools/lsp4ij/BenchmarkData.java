@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij;
+
+import org.eclipse.lsp4j.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates large and deterministic inputs for the benchmarks, similar to what language servers send for big files
+ * and workspaces.
+ */
+public final class BenchmarkData {
+
+    private static final String[] IDENTIFIERS = {"value", "result", "index", "item", "request", "response",
+            "document", "editor", "position", "range", "builder", "context", "provider", "listener", "manager"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Returns a Java-like text with the given number of lines.
+     *
+     * @param lineCount the number of lines.
+     * @return a Java-like text with the given number of lines.
+     */
+    public static String generateJavaLikeText(int lineCount) {
+        var random = new Random(42);
+        StringBuilder text = new StringBuilder(lineCount * 40);
+        for (int line = 0; line < lineCount; line++) {
+            text.append("    ");
+            switch (line % 4) {
+                case 0 -> text.append("final var ").append(identifier(random)).append(" = ")
+                        .append(identifier(random)).append(".get();");
+                case 1 -> text.append("if (").append(identifier(random)).append(" != null) {");
+                case 2 -> text.append("    ").append(identifier(random)).append('.')
+                        .append(identifier(random)).append("(").append(line).append(");");
+                default -> text.append('}');
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Returns the given number of diagnostics, one or two per line, like a linter report on a large file.
+     *
+     * @param count the number of diagnostics.
+     * @param seed  the random seed.
+     * @return the given number of diagnostics.
+     */
+    public static List<Diagnostic> generateDiagnostics(int count, long seed) {
+        var random = new Random(seed);
+        List<Diagnostic> diagnostics = new ArrayList<>(count);
+        int line = 0;
+        while (diagnostics.size() < count) {
+            // A diagnostic on the whole line and sometimes a diagnostic on a word of the line
+            diagnostics.add(diagnostic(line, 4, line, 40, "Line " + line + " is too complex", random));
+            if (diagnostics.size() < count && random.nextBoolean()) {
+                int start = 4 + random.nextInt(20);
+                diagnostics.add(diagnostic(line, start, line, start + 5, "Unused variable '" + identifier(random) + "'", random));
+            }
+            line += 1 + random.nextInt(3);
+        }
+        return diagnostics;
+    }
+
+    private static Diagnostic diagnostic(int startLine, int startCharacter, int endLine, int endCharacter,
+                                         String message, Random random) {
+        var diagnostic = new Diagnostic(new Range(new Position(startLine, startCharacter), new Position(endLine, endCharacter)),
+                message);
+        diagnostic.setSeverity(DiagnosticSeverity.values()[random.nextInt(DiagnosticSeverity.values().length)]);
+        diagnostic.setSource("benchmark");
+        diagnostic.setCode("B" + random.nextInt(100));
+        return diagnostic;
+    }
+
+    /**
+     * Returns the given number of completion items, like a tsserver completion list with all the globals.
+     *
+     * @param count the number of completion items.
+     * @return the given number of completion items.
+     */
+    public static List<CompletionItem> generateCompletionItems(int count) {
+        var random = new Random(42);
+        List<CompletionItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            var item = new CompletionItem(identifier(random) + capitalize(identifier(random)) + i);
+            item.setKind(CompletionItemKind.values()[random.nextInt(CompletionItemKind.values().length)]);
+            // Half of the servers send sortText
+            if (random.nextBoolean()) {
+                item.setSortText(String.format("%02d", random.nextInt(20)));
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * Returns the encoded semantic tokens of the given number of tokens (5 integers per token).
+     *
+     * @param tokenCount the number of tokens.
+     * @return the encoded semantic tokens.
+     */
+    public static List<Integer> generateSemanticTokens(int tokenCount) {
+        var random = new Random(42);
+        List<Integer> data = new ArrayList<>(tokenCount * 5);
+        for (int i = 0; i < tokenCount; i++) {
+            boolean newLine = i % 4 == 0;
+            // deltaLine, deltaStart, length, tokenType, tokenModifiers
+            data.add(newLine ? 1 : 0);
+            data.add(newLine ? 4 : 1 + random.nextInt(8));
+            data.add(1 + random.nextInt(10));
+            data.add(random.nextInt(12));
+            data.add(random.nextInt(4));
+        }
+        return data;
+    }
+
+    public static String identifier(Random random) {
+        return IDENTIFIERS[random.nextInt(IDENTIFIERS.length)];
+    }
+
+    private static String capitalize(String s) {
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+}
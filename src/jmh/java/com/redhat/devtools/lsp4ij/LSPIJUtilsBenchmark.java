@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.impl.DocumentImpl;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextEdit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the LSP position / offset conversions and of the text edits application of {@link LSPIJUtils}
+ * on a large document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LSPIJUtilsBenchmark {
+
+    private static final int LOOKUPS = 10_000;
+
+    @Param({"50000"})
+    private int lineCount;
+
+    @Param({"5000"})
+    private int editCount;
+
+    private Document document;
+    private Position[] positions;
+    private int[] offsets;
+    private Range[] ranges;
+    private List<TextEdit> edits;
+
+    @Setup
+    public void setup() {
+        document = new DocumentImpl(BenchmarkData.generateJavaLikeText(lineCount), true);
+        var random = new Random(42);
+        positions = new Position[LOOKUPS];
+        offsets = new int[LOOKUPS];
+        ranges = new Range[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            int line = random.nextInt(lineCount);
+            positions[i] = new Position(line, random.nextInt(40));
+            offsets[i] = random.nextInt(document.getTextLength());
+            ranges[i] = new Range(positions[i], new Position(line, positions[i].getCharacter() + 10));
+        }
+        // Edits like a formatting result: replace the indentation of lines spread over the document
+        edits = new ArrayList<>(editCount);
+        int step = Math.max(1, lineCount / editCount);
+        for (int line = 0; line < lineCount && edits.size() < editCount; line += step) {
+            edits.add(new TextEdit(new Range(new Position(line, 0), new Position(line, 4)), "  "));
+        }
+        // Edits are not sorted by the language servers
+        Collections.shuffle(edits, random);
+    }
+
+    @Benchmark
+    public void toOffset(Blackhole blackhole) {
+        for (Position position : positions) {
+            blackhole.consume(LSPIJUtils.toOffset(position, document));
+        }
+    }
+
+    @Benchmark
+    public void toPosition(Blackhole blackhole) {
+        for (int offset : offsets) {
+            blackhole.consume(LSPIJUtils.toPosition(offset, document));
+        }
+    }
+
+    @Benchmark
+    public void toTextRange(Blackhole blackhole) {
+        for (Range range : ranges) {
+            blackhole.consume(LSPIJUtils.toTextRange(range, document));
+        }
+    }
+
+    @Benchmark
+    public String applyEdits() {
+        return LSPIJUtils.applyEdits(document, edits);
+    }
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.completion;
+
+import com.intellij.codeInsight.completion.PlainPrefixMatcher;
+import com.redhat.devtools.lsp4ij.BenchmarkData;
+import org.eclipse.lsp4j.CompletionItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the sort of a large completion list (ex: tsserver with all the globals) with
+ * {@link LSPCompletionItemComparator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LSPCompletionItemComparatorBenchmark {
+
+    @Param({"5000"})
+    private int itemCount;
+
+    @Param({"", "re", "requestMan"})
+    private String prefix;
+
+    private List<CompletionItem> items;
+    private LSPCompletionItemComparator comparator;
+
+    @Setup
+    public void setup() {
+        items = BenchmarkData.generateCompletionItems(itemCount);
+        comparator = new LSPCompletionItemComparator(new PlainPrefixMatcher(prefix), prefix, false);
+    }
+
+    @Benchmark
+    public List<CompletionItem> sort() {
+        List<CompletionItem> sorted = new ArrayList<>(items);
+        sorted.sort(comparator);
+        return sorted;
+    }
+}
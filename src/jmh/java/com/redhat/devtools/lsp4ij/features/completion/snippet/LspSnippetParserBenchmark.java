@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.completion.snippet;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Benchmarks of {@link LspSnippetParser} with the snippets of a large completion list (each completion item with an
+ * insert text in the snippet format is parsed to create its template).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LspSnippetParserBenchmark {
+
+    private static final String[] SNIPPETS = {
+            "${1:value}",
+            "forEach(${1:item} => {\n\t$0\n})",
+            "for (let ${1:index} = 0; ${1:index} < ${2:array}.length; ${1:index}++) {\n\tconst ${3:element} = ${2:array}[${1:index}];\n\t$0\n}",
+            "public ${1|static,final,abstract|} ${2:void} ${3:name}(${4:String} ${5:arg}) {\n\t${0:// TODO}\n}",
+            "println!(\"{}\", ${1:${TM_SELECTED_TEXT:value}});$0",
+            "// Created on ${CURRENT_YEAR}-${CURRENT_MONTH}-${CURRENT_DATE} in ${TM_FILENAME}\n$0"
+    };
+
+    private static final Function<String, String> VARIABLE_RESOLVER = name -> switch (name) {
+        case "CURRENT_YEAR" -> "2025";
+        case "CURRENT_MONTH" -> "01";
+        case "CURRENT_DATE" -> "31";
+        case "TM_FILENAME" -> "Benchmark.java";
+        default -> null;
+    };
+
+    @Param({"5000"})
+    private int snippetCount;
+
+    private List<String> snippets;
+    private LspSnippetIndentOptions indentOptions;
+
+    @Setup
+    public void setup() {
+        snippets = new ArrayList<>(snippetCount);
+        for (int i = 0; i < snippetCount; i++) {
+            snippets.add(SNIPPETS[i % SNIPPETS.length]);
+        }
+        indentOptions = new LspSnippetIndentOptions(4, true, "\n");
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String snippet : snippets) {
+            var handler = new DefaultLspSnippetHandler(VARIABLE_RESOLVER, indentOptions);
+            new LspSnippetParser(handler).parse(snippet);
+            blackhole.consume(handler.getTemplateContent());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.diagnostics;
+
+import com.redhat.devtools.lsp4ij.BenchmarkData;
+import org.eclipse.lsp4j.Diagnostic;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the two steps of {@link LSPDiagnosticsForServer#update(String, List)} for a large report:
+ *
+ * <ul>
+ *     <li>the diff between the current diagnostics and the published diagnostics ({@link LSPDiagnosticsDiff}).</li>
+ *     <li>the grouping of the diagnostics by covered range, used to share the lazy code actions.</li>
+ * </ul>
+ * <p>
+ * {@link LSPDiagnosticsForServer#update(String, List)} itself needs a started language server to create the lazy
+ * code actions, so its steps are measured separately.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LSPDiagnosticsBenchmark {
+
+    @Param({"10000"})
+    private int diagnosticCount;
+
+    private List<Diagnostic> currentDiagnostics;
+    private List<Diagnostic> republishedDiagnostics;
+    private List<Diagnostic> editedDiagnostics;
+
+    @Setup
+    public void setup() {
+        currentDiagnostics = BenchmarkData.generateDiagnostics(diagnosticCount, 42);
+        // The same report published again (new instances with the same content)
+        republishedDiagnostics = BenchmarkData.generateDiagnostics(diagnosticCount, 42);
+        // The report after an edit: 1% of the diagnostics are replaced
+        editedDiagnostics = new ArrayList<>(republishedDiagnostics);
+        var replacements = BenchmarkData.generateDiagnostics(diagnosticCount / 100, 7);
+        for (int i = 0; i < replacements.size(); i++) {
+            editedDiagnostics.set(i * 100, replacements.get(i));
+        }
+    }
+
+    @Benchmark
+    public LSPDiagnosticsDiff diffUnchanged() {
+        return LSPDiagnosticsDiff.diff(currentDiagnostics, republishedDiagnostics);
+    }
+
+    @Benchmark
+    public LSPDiagnosticsDiff diffEdited() {
+        return LSPDiagnosticsDiff.diff(currentDiagnostics, editedDiagnostics);
+    }
+
+    @Benchmark
+    public List<List<Diagnostic>> groupByCoveredRange() {
+        return LSPDiagnosticsForServer.groupByCoveredRange(currentDiagnostics);
+    }
+}
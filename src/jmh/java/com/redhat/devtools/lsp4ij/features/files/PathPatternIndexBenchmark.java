@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.files;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the match of the files touched by a large 'git checkout' against all the glob patterns registered
+ * by language servers for 'workspace/didChangeWatchedFiles':
+ *
+ * <ul>
+ *     <li>matchers: each {@link PathPatternMatcher} is tried one by one, for each watch kind.</li>
+ *     <li>index: the patterns are compiled in one {@link PathPatternIndex} which returns all the watch kinds in a single pass.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathPatternIndexBenchmark {
+
+    private static final int[] WATCH_KINDS = {1, 2, 4};
+
+    private static final String[] DIRECTORIES = {"src", "main", "java", "test", "lib", "components", "utils",
+            "node_modules", "target", "build", "com", "acme", "internal", ".git"};
+    private static final String[] EXTENSIONS = {"java", "ts", "tsx", "js", "json", "rs", "toml", "md", "xml", "class"};
+
+    // Patterns registered by TypeScript, rust-analyzer, JDT LS, Quarkus, SAP CDS, Tailwind CSS language servers
+    private static final String[] PATTERNS = {"**/*.{ts,tsx,js,jsx,mjs,cjs}", "**/tsconfig.json", "**/jsconfig.json",
+            "**/package.json", "**/node_modules/**", "**/*.rs", "**/Cargo.toml", "**/Cargo.lock", "**/rust-project.json",
+            "**/*.java", "**/pom.xml", "**/*.gradle", "**/*.gradle.kts", "**/.project", "**/.classpath", "**/.settings/*.prefs",
+            "**/src/main/resources/application*.{properties,yaml,yml}", "**/META-INF/microprofile-config*.properties",
+            ".cdsrc.json", "{.git,.cds}ignore", "**/{_i18n,i18n}/i18n{*.properties,*.json,*.csv}",
+            "**/tailwind.config.{js,cjs,mjs,ts}", "**/*.css", "**/.git/HEAD"};
+
+    @Param({"matchers", "index"})
+    private String mode;
+
+    @Param({"30000"})
+    private int fileCount;
+
+    private Path root;
+    private Path[] paths;
+    private List<List<PathPatternMatcher>> matchersByKind;
+    private PathPatternIndex index;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        root = Paths.get(System.getProperty("java.io.tmpdir"), "workspace");
+        paths = new Path[fileCount];
+        for (int i = 0; i < fileCount; i++) {
+            Path path = root;
+            int depth = 1 + random.nextInt(8);
+            for (int d = 0; d < depth; d++) {
+                path = path.resolve(DIRECTORIES[random.nextInt(DIRECTORIES.length)]);
+            }
+            paths[i] = path.resolve("file" + i + "." + EXTENSIONS[random.nextInt(EXTENSIONS.length)]);
+        }
+        matchersByKind = new ArrayList<>();
+        for (int i = 0; i < WATCH_KINDS.length; i++) {
+            List<PathPatternMatcher> matchers = new ArrayList<>();
+            for (var pattern : PATTERNS) {
+                matchers.add(new PathPatternMatcher(pattern, root));
+            }
+            matchersByKind.add(matchers);
+        }
+        index = new PathPatternIndex();
+        for (var pattern : PATTERNS) {
+            index.add(new PathPatternMatcher(pattern, root), 7);
+        }
+    }
+
+    @Benchmark
+    public void match(Blackhole blackhole) {
+        if ("index".equals(mode)) {
+            for (Path path : paths) {
+                blackhole.consume(index.match(path));
+            }
+            return;
+        }
+        for (Path path : paths) {
+            int kinds = 0;
+            Path relativePath = root.relativize(path);
+            for (int i = 0; i < WATCH_KINDS.length; i++) {
+                for (var matcher : matchersByKind.get(i)) {
+                    if (matcher.matches(relativePath)) {
+                        kinds |= WATCH_KINDS[i];
+                        break;
+                    }
+                }
+            }
+            blackhole.consume(kinds);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.files;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link PathPatternMatcher#matches(URI)} with the glob patterns registered by language servers for
+ * 'workspace/didChangeWatchedFiles', against the files touched by a large 'git checkout'.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathPatternMatcherBenchmark {
+
+    private static final String[] DIRECTORIES = {"src", "main", "java", "test", "lib", "components", "utils",
+            "node_modules", "target", "build", "com", "acme", "internal", ".git"};
+    private static final String[] EXTENSIONS = {"java", "ts", "tsx", "js", "json", "rs", "toml", "md", "xml", "class"};
+
+    @Param({"**/*.{ts,tsx,js}", "**/node_modules/**", "**/package.json", "**/src/**/*.rs", "Cargo.toml"})
+    private String pattern;
+
+    @Param({"30000"})
+    private int fileCount;
+
+    private URI[] uris;
+    private PathPatternMatcher matcher;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        String root = Paths.get(System.getProperty("java.io.tmpdir"), "workspace").toUri().toString();
+        uris = new URI[fileCount];
+        for (int i = 0; i < fileCount; i++) {
+            StringBuilder path = new StringBuilder(root);
+            int depth = 1 + random.nextInt(8);
+            for (int d = 0; d < depth; d++) {
+                path.append(DIRECTORIES[random.nextInt(DIRECTORIES.length)]).append('/');
+            }
+            path.append("file").append(i).append('.').append(EXTENSIONS[random.nextInt(EXTENSIONS.length)]);
+            uris[i] = URI.create(path.toString());
+        }
+        matcher = new PathPatternMatcher(pattern, null);
+    }
+
+    @Benchmark
+    public void matches(Blackhole blackhole) {
+        for (URI uri : uris) {
+            blackhole.consume(matcher.matches(uri));
+        }
+    }
+}
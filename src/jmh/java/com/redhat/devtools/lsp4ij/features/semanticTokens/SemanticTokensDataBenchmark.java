@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.semanticTokens;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.impl.DocumentImpl;
+import com.redhat.devtools.lsp4ij.BenchmarkData;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
+import com.redhat.devtools.lsp4ij.client.features.LSPSemanticTokensFeature;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.eclipse.lsp4j.SemanticTokensLegend;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the decoding of a large semantic tokens result:
+ *
+ * <ul>
+ *     <li>the conversion of the boxed lsp4j payload to the int array used by {@link SemanticTokensData}.</li>
+ *     <li>the stride-5 decoding of the int array to document offsets, as done by
+ *     {@link SemanticTokensData#highlight}.</li>
+ *     <li>the application of a 'textDocument/semanticTokens/full/delta' result.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SemanticTokensDataBenchmark {
+
+    @Param({"200000"})
+    private int tokenCount;
+
+    private SemanticTokens semanticTokens;
+    private SemanticTokensLegend legend;
+    private LSPSemanticTokensFeature feature;
+    private int[] data;
+    private Document document;
+    private List<SemanticTokensEdit> edits;
+
+    @Setup
+    public void setup() {
+        semanticTokens = new SemanticTokens(BenchmarkData.generateSemanticTokens(tokenCount));
+        legend = new SemanticTokensLegend(List.of("namespace", "type", "class", "enum", "interface", "struct",
+                "typeParameter", "parameter", "variable", "property", "function", "method"),
+                List.of("declaration", "definition", "readonly", "static"));
+        feature = new LSPSemanticTokensFeature();
+        data = newSemanticTokensData().getData();
+        // 4 tokens per line
+        document = new DocumentImpl(BenchmarkData.generateJavaLikeText(tokenCount / 4 + 1), true);
+        // A delta result after typing in the middle of the file: one token is replaced
+        edits = new ArrayList<>();
+        int middle = (tokenCount / 2) * 5;
+        edits.add(new SemanticTokensEdit(middle, 5, List.of(0, 2, 6, 8, 1)));
+    }
+
+    private SemanticTokensData newSemanticTokensData() {
+        return new SemanticTokensData(semanticTokens, legend, feature, feature);
+    }
+
+    @Benchmark
+    public int[] toIntArray() {
+        return newSemanticTokensData().getData();
+    }
+
+    @Benchmark
+    public void decodeOffsets(Blackhole blackhole) {
+        int prevLine = 0;
+        int line = 0;
+        int offset = 0;
+        int count = data.length - (data.length % 5);
+        for (int i = 0; i < count; i += 5) {
+            line += data[i];
+            if (line == prevLine) {
+                offset += data[i + 1];
+            } else {
+                offset = LSPIJUtils.toOffset(line, data[i + 1], document);
+            }
+            prevLine = line;
+            blackhole.consume(offset + data[i + 2]);
+            blackhole.consume(data[i + 3]);
+        }
+    }
+
+    @Benchmark
+    public int[] applyDeltaEdits() {
+        return SemanticTokensDeltaState.applyEdits(data, edits);
+    }
+}
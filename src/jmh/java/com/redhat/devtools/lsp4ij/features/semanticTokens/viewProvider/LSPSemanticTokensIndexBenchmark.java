@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.semanticTokens.viewProvider;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link LSPSemanticTokensIndex}: indexing the semantic tokens of a large file and looking up the
+ * token of offsets, like the PSI of the semantic tokens file view provider does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LSPSemanticTokensIndexBenchmark {
+
+    private static final List<String> TOKEN_TYPES = List.of("class", "method", "variable", "parameter", "property");
+    private static final List<List<String>> TOKEN_MODIFIERS = List.of(List.of(), List.of("declaration"), List.of("static", "readonly"));
+
+    @Param({"200000"})
+    private int tokenCount;
+
+    private int[] starts;
+    private int[] ends;
+    private int[] lookups;
+    private LSPSemanticTokensIndex index;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        starts = new int[tokenCount];
+        ends = new int[tokenCount];
+        int offset = 0;
+        for (int i = 0; i < tokenCount; i++) {
+            offset += 1 + random.nextInt(8);
+            starts[i] = offset;
+            offset += 1 + random.nextInt(10);
+            ends[i] = offset;
+        }
+        lookups = new int[10_000];
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = random.nextInt(offset);
+        }
+        index = buildIndex();
+    }
+
+    @Benchmark
+    public LSPSemanticTokensIndex build() {
+        return buildIndex();
+    }
+
+    @Benchmark
+    public void lookup(Blackhole blackhole) {
+        for (int offset : lookups) {
+            blackhole.consume(index.getTokenType(offset));
+        }
+    }
+
+    private LSPSemanticTokensIndex buildIndex() {
+        var result = new LSPSemanticTokensIndex();
+        for (int i = 0; i < tokenCount; i++) {
+            result.add(starts[i], ends[i], TOKEN_TYPES.get(i % TOKEN_TYPES.size()), TOKEN_MODIFIERS.get(i % TOKEN_MODIFIERS.size()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import org.eclipse.lsp4j.*;
+import org.eclipse.lsp4j.jsonrpc.Launcher;
+import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
+import org.eclipse.lsp4j.launch.LSPLauncher;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.eclipse.lsp4j.services.TextDocumentService;
+import org.eclipse.lsp4j.services.WorkspaceService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Benchmark of the time between the 'textDocument/didOpen' of a file and the response of its first
+ * 'textDocument/codeLens' request, with the messages sent to a language server through the outbound
+ * {@link OrderedMessageDispatcher}. The request is sent as soon as the didOpen has been sent: the language server
+ * fails the request if it is received before the didOpen.
+ * <p>
+ * It measures the outbound dispatcher and the lsp4j endpoints only, not DocumentContentSynchronizer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DidOpenToCodeLensBenchmark {
+
+    private static final String TEXT = "class Foo {\n  void bar() {}\n}\n";
+
+    private ExecutorService executor;
+    private Future<Void> serverListening;
+    private Future<Void> clientListening;
+    private LanguageServer server;
+    private int fileCount;
+
+    @Setup
+    public void setup() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        var clientOutput = new PipedOutputStream();
+        var serverInput = new PipedInputStream(clientOutput, 1 << 16);
+        var serverOutput = new PipedOutputStream();
+        var clientInput = new PipedInputStream(serverOutput, 1 << 16);
+
+        Launcher<LanguageClient> serverLauncher = LSPLauncher.createServerLauncher(new CodeLensServer(), serverInput, serverOutput);
+        serverListening = serverLauncher.startListening();
+
+        Launcher<LanguageServer> clientLauncher = new Launcher.Builder<LanguageServer>()
+                .setLocalService(new NoopClient())
+                .setRemoteInterface(LanguageServer.class)
+                .setInput(clientInput)
+                .setOutput(clientOutput)
+                .setExecutorService(executor)
+                .wrapMessages(consumer -> consumer instanceof RemoteEndpoint ? consumer :
+                        new OrderedMessageDispatcher(consumer, executor, OrderedMessageDispatcher.DEFAULT_CAPACITY,
+                                false, Throwable::printStackTrace))
+                .create();
+        clientListening = clientLauncher.startListening();
+        server = clientLauncher.getRemoteProxy();
+    }
+
+    @TearDown
+    public void tearDown() {
+        serverListening.cancel(true);
+        clientListening.cancel(true);
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<? extends CodeLens> openToFirstCodeLens() throws Exception {
+        String uri = "file:///workspace/src/File" + (fileCount++) + ".java";
+        server.getTextDocumentService().didOpen(new DidOpenTextDocumentParams(new TextDocumentItem(uri, "java", 1, TEXT)));
+        return server.getTextDocumentService()
+                .codeLens(new CodeLensParams(new TextDocumentIdentifier(uri)))
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    private static class CodeLensServer implements LanguageServer, TextDocumentService, WorkspaceService {
+
+        private final Set<String> openedFiles = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public CompletableFuture<InitializeResult> initialize(InitializeParams params) {
+            return CompletableFuture.completedFuture(new InitializeResult(new ServerCapabilities()));
+        }
+
+        @Override
+        public CompletableFuture<Object> shutdown() {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void exit() {
+        }
+
+        @Override
+        public TextDocumentService getTextDocumentService() {
+            return this;
+        }
+
+        @Override
+        public WorkspaceService getWorkspaceService() {
+            return this;
+        }
+
+        @Override
+        public CompletableFuture<List<? extends CodeLens>> codeLens(CodeLensParams params) {
+            if (!openedFiles.remove(params.getTextDocument().getUri())) {
+                return CompletableFuture.failedFuture(new IllegalStateException("codeLens received before didOpen"));
+            }
+            return CompletableFuture.completedFuture(List.of(new CodeLens(
+                    new Range(new Position(1, 2), new Position(1, 5)), new Command("Run", "run"), null)));
+        }
+
+        @Override
+        public void didOpen(DidOpenTextDocumentParams params) {
+            openedFiles.add(params.getTextDocument().getUri());
+        }
+
+        @Override
+        public void didChange(DidChangeTextDocumentParams params) {
+        }
+
+        @Override
+        public void didClose(DidCloseTextDocumentParams params) {
+        }
+
+        @Override
+        public void didSave(DidSaveTextDocumentParams params) {
+        }
+
+        @Override
+        public void didChangeConfiguration(DidChangeConfigurationParams params) {
+        }
+
+        @Override
+        public void didChangeWatchedFiles(DidChangeWatchedFilesParams params) {
+        }
+    }
+
+    private static class NoopClient implements LanguageClient {
+
+        @Override
+        public void telemetryEvent(Object object) {
+        }
+
+        @Override
+        public void publishDiagnostics(PublishDiagnosticsParams diagnostics) {
+        }
+
+        @Override
+        public void showMessage(MessageParams messageParams) {
+        }
+
+        @Override
+        public CompletableFuture<MessageActionItem> showMessageRequest(ShowMessageRequestParams requestParams) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void logMessage(MessageParams message) {
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Benchmarks of the wake-up latency of a thread waiting for an LSP future in
+ * {@link CompletableFutures#waitUntilDone(CompletableFuture, com.intellij.psi.PsiFile, Integer)}, when the future
+ * completes or when the wait must stop (progress canceled, document modified) 1 ms after the start of the wait:
+ *
+ * <ul>
+ *     <li>polling: loop on {@code future.get(25, TimeUnit.MILLISECONDS)} which checks the cancellation every 25 ms.</li>
+ *     <li>parking: {@link FutureWaiter} which is woken up by the completion or the cancellation.</li>
+ * </ul>
+ * <p>
+ * The measured time minus 1 ms is the wake-up gap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FutureWaiterBenchmark {
+
+    private static final long EVENT_DELAY_MS = 1;
+
+    @Param({"polling", "parking"})
+    private String mode;
+
+    @Param({"completion", "cancellation"})
+    private String event;
+
+    private ScheduledExecutorService scheduler;
+
+    @Setup
+    public void setup() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean waitUntilDone() throws Exception {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        var canceled = new AtomicBoolean();
+        if ("polling".equals(mode)) {
+            scheduleEvent(future, () -> canceled.set(true));
+            return poll(future, canceled);
+        }
+        try (FutureWaiter waiter = new FutureWaiter(future)) {
+            scheduleEvent(future, () -> {
+                canceled.set(true);
+                waiter.wakeUp();
+            });
+            while (!waiter.await(TimeUnit.SECONDS.toNanos(1))) {
+                if (canceled.get()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private void scheduleEvent(CompletableFuture<String> future, Runnable cancel) {
+        if ("completion".equals(event)) {
+            scheduler.schedule(() -> future.complete("result"), EVENT_DELAY_MS, TimeUnit.MILLISECONDS);
+        } else {
+            scheduler.schedule(cancel, EVENT_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static boolean poll(CompletableFuture<String> future, AtomicBoolean canceled) throws Exception {
+        while (!future.isDone()) {
+            if (canceled.get()) {
+                return false;
+            }
+            try {
+                future.get(25, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Ignore timeout
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import com.redhat.devtools.lsp4ij.BenchmarkData;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.jsonrpc.MessageIssueHandler;
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+import org.eclipse.lsp4j.jsonrpc.json.StreamMessageProducer;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.services.ServiceEndpoints;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the throughput of the JSON-RPC message producers with large messages (publishDiagnostics of
+ * 10000 diagnostics, about 2 MB each): {@link ExtendedStreamMessageProducer} which reads each body in a byte array
+ * and a string before parsing it, and {@link StreamingMessageProducer} which parses the body while reading it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class MessageProducerBenchmark {
+
+    private static final MessageIssueHandler ISSUE_HANDLER = (message, issues) -> {
+    };
+
+    @Param({"default", "streaming"})
+    private String producer;
+
+    @Param({"10"})
+    private int messageCount;
+
+    private byte[] stream;
+    private MessageJsonHandler jsonHandler;
+
+    @Setup
+    public void setup() {
+        jsonHandler = new MessageJsonHandler(ServiceEndpoints.getSupportedMethods(LanguageClient.class));
+        var output = new ByteArrayOutputStream();
+        for (int i = 0; i < messageCount; i++) {
+            var notification = new NotificationMessage();
+            notification.setJsonrpc("2.0");
+            notification.setMethod("textDocument/publishDiagnostics");
+            notification.setParams(new PublishDiagnosticsParams("file:///workspace/src/File" + i + ".java",
+                    BenchmarkData.generateDiagnostics(10_000, i)));
+            byte[] content = jsonHandler.serialize(notification).getBytes(StandardCharsets.UTF_8);
+            output.writeBytes(("Content-Length: " + content.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            output.writeBytes(content);
+        }
+        stream = output.toByteArray();
+    }
+
+    @Benchmark
+    public void readMessages(Blackhole blackhole) {
+        InputStream input = new ByteArrayInputStream(stream);
+        StreamMessageProducer messageProducer = "streaming".equals(producer) ?
+                new StreamingMessageProducer(input, jsonHandler, ISSUE_HANDLER) :
+                new ExtendedStreamMessageProducer(input, jsonHandler, ISSUE_HANDLER);
+        messageProducer.listen(blackhole::consume);
+    }
+}
@@ -18,40 +18,156 @@ import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-
-import static com.redhat.devtools.lsp4ij.features.diagnostics.LSPDiagnosticUtils.isDiagnosticsChanged;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
  * LSP closed document for a given language server.
+ * <p>
+ * A language server can report diagnostics for a lot of closed files, which are mostly used to report problems in the
+ * Project View. The diagnostics are kept in a compressed form and are decompressed only when they are inspected, only
+ * the number of diagnostics per severity is kept as is.
+ * <p>
+ * When {@link com.redhat.devtools.lsp4ij.client.features.LSPDiagnosticFeature#getClosedDocumentsDiagnosticsMaxSize()}
+ * is enabled, the diagnostics pulled with 'workspace/diagnostic' are stored in a memory bounded
+ * {@link ClosedDocumentDiagnosticsStore} which can evict them. The published diagnostics cannot be requested again,
+ * so they are never evicted.
  *
  * @author Angelo ZERR
  */
 public class ClosedDocument extends LSPDocumentBase {
 
-    private List<Diagnostic> diagnostics;
-    private boolean hasErrors;
+    private final @NotNull ClosedDocumentDiagnosticsStore store;
+
+    // Called to request again the diagnostics which have been evicted from the store
+    private final @Nullable Runnable diagnosticsReloader;
+
+    // Compressed diagnostics which cannot be evicted, or null when there is no diagnostic or when they are stored in the store
+    private volatile byte @Nullable [] details;
+
+    // Number of diagnostics per severity value (index 0 is used for diagnostics without severity)
+    private volatile int @NotNull [] severityCounts = new int[DiagnosticSeverity.values().length + 1];
+
+    private volatile int diagnosticsCount;
+
+    private volatile boolean diagnosticsEvicted;
+
+    public ClosedDocument() {
+        this(new ClosedDocumentDiagnosticsStore(() -> -1), null);
+    }
+
+    ClosedDocument(@NotNull ClosedDocumentDiagnosticsStore store,
+                   @Nullable Runnable diagnosticsReloader) {
+        this.store = store;
+        this.diagnosticsReloader = diagnosticsReloader;
+    }
 
     @Override
     public boolean updateDiagnostics(@NotNull String identifier,
                                      @NotNull List<Diagnostic> diagnostics, @Nullable Integer version) {
-        boolean changed = isDiagnosticsChanged(this.diagnostics != null ? this.diagnostics : Collections.emptyList(), diagnostics);
-        this.diagnostics = diagnostics;
-        hasErrors = diagnostics
-                .stream()
-                .anyMatch(diagnostic -> diagnostic.getSeverity() != null && diagnostic.getSeverity() == DiagnosticSeverity.Error);
+        byte[] newDetails = diagnostics.isEmpty() ? null : compress(diagnostics);
+        byte[] oldDetails = this.details;
+        if (oldDetails == null) {
+            oldDetails = store.get(this);
+        }
+        boolean changed = diagnosticsEvicted || !Arrays.equals(oldDetails, newDetails);
+        if (newDetails != null && isEvictable(identifier)) {
+            // The diagnostics can be evicted and pulled again with 'workspace/diagnostic'
+            this.details = null;
+            store.put(this, newDetails);
+        } else {
+            this.details = newDetails;
+            store.remove(this);
+        }
+        diagnosticsEvicted = false;
+
+        int[] counts = new int[DiagnosticSeverity.values().length + 1];
+        for (Diagnostic diagnostic : diagnostics) {
+            counts[diagnostic.getSeverity() != null ? diagnostic.getSeverity().getValue() : 0]++;
+        }
+        severityCounts = counts;
+        diagnosticsCount = diagnostics.size();
         return changed;
     }
 
+    private boolean isEvictable(@NotNull String identifier) {
+        // Only the diagnostics pulled with 'workspace/diagnostic' can be requested again when they are evicted
+        return diagnosticsReloader != null &&
+                !PUBLISH_DIAGNOSTIC_IDENTIFIER.equals(identifier) &&
+                store.isEnabled();
+    }
+
     @Override
     public Collection<Diagnostic> getDiagnostics() {
-        return diagnostics != null ? diagnostics : Collections.emptyList();
+        if (diagnosticsCount == 0) {
+            return Collections.emptyList();
+        }
+        byte[] details = this.details;
+        if (details != null) {
+            return decompress(details);
+        }
+        details = store.get(this);
+        if (details == null) {
+            // The diagnostics have been evicted from the store, request them again
+            if (diagnosticsReloader != null) {
+                diagnosticsReloader.run();
+            }
+            return Collections.emptyList();
+        }
+        return decompress(details);
     }
 
     @Override
     public boolean hasErrors() {
-        return hasErrors;
+        return getDiagnosticsCount(DiagnosticSeverity.Error) > 0;
+    }
+
+    /**
+     * Returns the number of diagnostics with the given severity.
+     *
+     * @param severity the diagnostic severity.
+     * @return the number of diagnostics with the given severity.
+     */
+    public int getDiagnosticsCount(@NotNull DiagnosticSeverity severity) {
+        return severityCounts[severity.getValue()];
+    }
+
+    /**
+     * Called when the diagnostics of this closed document have been evicted from the store.
+     */
+    void onDiagnosticsEvicted() {
+        diagnosticsEvicted = true;
+        // Forget the result ids so that the next pull reports again the full diagnostics
+        clearDiagnosticResultIds();
+    }
+
+    private static byte @NotNull [] compress(@NotNull List<Diagnostic> diagnostics) {
+        byte[] json = JSONUtils.getLsp4jGson().toJson(diagnostics).getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 16);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (var deflaterOut = new DeflaterOutputStream(out, deflater)) {
+            deflaterOut.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    private static @NotNull List<Diagnostic> decompress(byte @NotNull [] details) {
+        try (Reader reader = new InputStreamReader(new InflaterInputStream(new ByteArrayInputStream(details)), StandardCharsets.UTF_8)) {
+            Diagnostic[] diagnostics = JSONUtils.getLsp4jGson().fromJson(reader, Diagnostic[].class);
+            return diagnostics != null ? Arrays.asList(diagnostics) : Collections.emptyList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
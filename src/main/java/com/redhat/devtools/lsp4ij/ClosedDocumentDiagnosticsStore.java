@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Memory bounded store of the compressed diagnostics of the {@link ClosedDocument closed documents} of a language
+ * server.
+ * <p>
+ * When the total size of the compressed diagnostics exceeds the maximum size, the diagnostics of the least recently
+ * used closed documents are evicted. An evicted closed document keeps its severity counts (used to report problems
+ * in the Project View) and its diagnostics are requested again when they are needed.
+ * <p>
+ * The store is disabled when the maximum size is negative: the closed documents keep their compressed diagnostics
+ * themselves, like the published diagnostics which are never evicted.
+ */
+class ClosedDocumentDiagnosticsStore {
+
+    private final @NotNull LongSupplier maxSize;
+
+    // Compressed diagnostics by closed document, in access order
+    private final LinkedHashMap<ClosedDocument, byte[]> details = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size;
+
+    ClosedDocumentDiagnosticsStore(@NotNull LongSupplier maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns true if the diagnostics of the closed documents must be stored compressed with a maximum size and false
+     * otherwise.
+     *
+     * @return true if the diagnostics of the closed documents must be stored compressed with a maximum size and false
+     * otherwise.
+     */
+    boolean isEnabled() {
+        return maxSize.getAsLong() >= 0;
+    }
+
+    /**
+     * Returns the compressed diagnostics of the given closed document and null if there is no diagnostic or if they
+     * have been evicted.
+     *
+     * @param document the closed document.
+     * @return the compressed diagnostics of the given closed document and null otherwise.
+     */
+    synchronized byte @Nullable [] get(@NotNull ClosedDocument document) {
+        return details.get(document);
+    }
+
+    /**
+     * Store the compressed diagnostics of the given closed document and evict the diagnostics of the least recently
+     * used closed documents if the maximum size is exceeded.
+     *
+     * @param document        the closed document.
+     * @param documentDetails the compressed diagnostics or null to remove them.
+     */
+    void put(@NotNull ClosedDocument document, byte @Nullable [] documentDetails) {
+        ClosedDocument[] evicted = null;
+        synchronized (this) {
+            byte[] old = documentDetails != null ? details.put(document, documentDetails) : details.remove(document);
+            size += (documentDetails != null ? documentDetails.length : 0) - (old != null ? old.length : 0);
+            long max = maxSize.getAsLong();
+            if (max >= 0 && size > max) {
+                evicted = evict(max, document);
+            }
+        }
+        if (evicted != null) {
+            for (var evictedDocument : evicted) {
+                evictedDocument.onDiagnosticsEvicted();
+            }
+        }
+    }
+
+    private ClosedDocument @NotNull [] evict(long max, @NotNull ClosedDocument current) {
+        List<ClosedDocument> evicted = new ArrayList<>();
+        Iterator<Map.Entry<ClosedDocument, byte[]>> it = details.entrySet().iterator();
+        while (size > max && it.hasNext()) {
+            var entry = it.next();
+            if (entry.getKey() == current) {
+                // Never evict the diagnostics which have just been stored
+                continue;
+            }
+            size -= entry.getValue().length;
+            evicted.add(entry.getKey());
+            it.remove();
+        }
+        return evicted.toArray(new ClosedDocument[0]);
+    }
+
+    /**
+     * Remove the compressed diagnostics of the given closed document.
+     *
+     * @param document the closed document.
+     */
+    void remove(@NotNull ClosedDocument document) {
+        put(document, null);
+    }
+
+    /**
+     * Remove all compressed diagnostics.
+     */
+    synchronized void clear() {
+        details.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns the total size of the compressed diagnostics.
+     *
+     * @return the total size of the compressed diagnostics.
+     */
+    synchronized long getSize() {
+        return size;
+    }
+}
@@ -26,12 +26,10 @@ import org.eclipse.lsp4j.services.LanguageServer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Synchronize IntelliJ document (open, content changed, close, save)
@@ -44,8 +42,6 @@ public class DocumentContentSynchronizer implements DocumentListener, Disposable
         ON_WORKSPACE_REFRESH
     }
 
-    private static final long WAIT_AFTER_SENDING_DID_OPEN = 500L;
-
     private final @NotNull LanguageServerWrapper languageServerWrapper;
     private final @NotNull Document document;
     private final @NotNull String fileUri;
@@ -54,11 +50,19 @@ public class DocumentContentSynchronizer implements DocumentListener, Disposable
     private final @Nullable String documentText;
     private final @Nullable String languageId;
 
-    private int version = 0;
-    private final List<TextDocumentContentChangeEvent> changeEvents;
+    // The version is incremented and the 'textDocument/didChange' notification is enqueued while holding the
+    // pendingChanges lock, so that the notifications are sent in the order of their version
+    private volatile int version = 0;
+    // Document changes which have not been sent yet with 'textDocument/didChange'
+    private final TextDocumentChangeCoalescer pendingChanges = new TextDocumentChangeCoalescer();
+    // The last 'textDocument/didChange' notification, which may have been enqueued but not sent yet
+    private @NotNull CompletableFuture<Void> lastDidChange = CompletableFuture.completedFuture(null);
+    // true if the range of an incremental change cannot be computed and the full text must be sent
+    private boolean fullTextRequired;
     private @Nullable CompletableFuture<LanguageServer> didOpenFuture;
 
     private volatile Alarm debouncePullDiagnosticsAlarm = null;
+    private volatile Alarm debounceDidChangeAlarm = null;
     private boolean diagnosticNotPulledOnDidOpen;
 
     public DocumentContentSynchronizer(@NotNull LanguageServerWrapper languageServerWrapper,
@@ -74,9 +78,6 @@ public class DocumentContentSynchronizer implements DocumentListener, Disposable
         this.document = document;
         this.documentText = documentText;
         this.languageId = languageId;
-
-        // Initialize LSP change events
-        changeEvents = new ArrayList<>();
     }
 
     public @NotNull CompletableFuture<LanguageServer> getDidOpenFuture() {
@@ -105,29 +106,19 @@ public class DocumentContentSynchronizer implements DocumentListener, Disposable
         @NotNull String languageId = this.languageId != null ? this.languageId :
                 languageServerWrapper.getServerDefinition().getLanguageId(file, languageServerWrapper.getProject());
         textDocument.setLanguageId(languageId);
-        textDocument.setVersion(++version);
+        synchronized (pendingChanges) {
+            textDocument.setVersion(++version);
+        }
         didOpenFuture = languageServerWrapper
                 .getInitializedServer()
                 .thenApplyAsync(ls -> {
+                    // The messages sent to the language server are written in the order they are submitted,
+                    // so the requests sent once the future is done (ex: 'textDocument/codeLens') cannot overtake
+                    // the 'textDocument/didOpen' notification.
                     ls.getTextDocumentService()
                             .didOpen(new DidOpenTextDocumentParams(textDocument));
                     return ls;
-                })
-                .thenCompose(ls ->
-                        CompletableFuture.supplyAsync(() -> {
-                            if (!ApplicationManager.getApplication().isUnitTestMode()) {
-                                try {
-                                    // Wait 500ms after sending didOpen notification
-                                    // to be sure that the notification has been sent before
-                                    // consuming other LSP request like 'textDocument/codeLens'.
-                                    TimeUnit.MILLISECONDS.sleep(WAIT_AFTER_SENDING_DID_OPEN);
-                                } catch (InterruptedException e) {
-                                    Thread.currentThread().interrupt();
-                                }
-                            }
-                            return ls;
-                        })
-                );
+                });
         processPullDiagnosticIfNeeded(didOpenFuture, version);
         return didOpenFuture;
     }
@@ -139,15 +130,24 @@ public class DocumentContentSynchronizer implements DocumentListener, Disposable
         if (syncKind == TextDocumentSyncKind.None) {
             return;
         }
-        if (syncKind == TextDocumentSyncKind.Full) {
-            synchronized (changeEvents) {
-                changeEvents.clear();
-                changeEvents.add(createChangeEvent(event));
+        synchronized (pendingChanges) {
+            if (syncKind == TextDocumentSyncKind.Full || fullTextRequired) {
+                // Keep only the last snapshot of the document, it is converted to string when the didChange is sent
+                pendingChanges.setFullText(event.getDocument().getImmutableCharSequence());
+                fullTextRequired = false;
             }
         }
 
         if (ApplicationManager.getApplication().isUnitTestMode()) {
             sendDidChangeEvents();
+            return;
+        }
+        int debounceDelay = languageServerWrapper.getClientFeatures().getDidChangeDebounceDelay(syncKind);
+        if (debounceDelay > 0) {
+            // Coalesce the changes which occur during the debounce window in a single 'textDocument/didChange'
+            Alarm alarm = getDebounceDidChangeAlarm();
+            alarm.cancelAllRequests();
+            alarm.addRequest(this::sendDidChangeEvents, debounceDelay);
         } else {
             Project project = languageServerWrapper.getProject();
             PsiDocumentManager.getInstance(project)
@@ -162,34 +162,56 @@ public class DocumentContentSynchronizer implements DocumentListener, Disposable
      * This method should be called before sending requests that depend on the current
      * document state (e.g., onTypeFormatting) to avoid out-of-bounds position errors.
      *
-     * @return a CompletableFuture that completes when the didChange notification has been sent
+     * @return a CompletableFuture that completes when the didChange notification has been sent. If there are no
+     * pending changes, the future completes when the last didChange notification (which can be sent by another
+     * thread) has been sent.
      */
     public CompletableFuture<Void> flushPendingChanges() {
         return sendDidChangeEvents();
     }
 
+    /**
+     * Returns true if some document changes have not been sent yet with 'textDocument/didChange' and false otherwise.
+     *
+     * @return true if some document changes have not been sent yet with 'textDocument/didChange' and false otherwise.
+     */
+    boolean hasPendingChanges() {
+        synchronized (pendingChanges) {
+            return !pendingChanges.isEmpty();
+        }
+    }
+
     private CompletableFuture<Void> sendDidChangeEvents() {
-        List<TextDocumentContentChangeEvent> events;
-        synchronized (changeEvents) {
-            if (changeEvents.isEmpty()) {
+        final int version;
+        final CompletableFuture<LanguageServer> didChange;
+        final CompletableFuture<Void> result;
+        synchronized (pendingChanges) {
+            if (pendingChanges.isEmpty()) {
                 // Don't send didChange notification with empty contentChanges.
-                return CompletableFuture.completedFuture(null);
+                // The changes may have been drained by another thread: wait for its didChange.
+                return lastDidChange;
+            }
+            List<TextDocumentContentChangeEvent> events = pendingChanges.drain();
+            if (events.isEmpty()) {
+                // The pending changes have cancelled each other (ex: a character typed and deleted)
+                return lastDidChange;
             }
-            events = new ArrayList<>(changeEvents);
-            changeEvents.clear();
-        }
 
-        final int version = ++this.version;
-        // send 'textDocument/didChange' notification
-        DidChangeTextDocumentParams changeParamsToSend = new DidChangeTextDocumentParams(new VersionedTextDocumentIdentifier(), events);
-        changeParamsToSend.getTextDocument().setUri(fileUri);
-        changeParamsToSend.getTextDocument().setVersion(version);
-        var didChange = languageServerWrapper.sendNotification(ls -> {
-            ls.getTextDocumentService().didChange(changeParamsToSend);
-            return ls;
-        });
+            version = ++this.version;
+            // send 'textDocument/didChange' notification
+            DidChangeTextDocumentParams changeParamsToSend = new DidChangeTextDocumentParams(new VersionedTextDocumentIdentifier(), events);
+            changeParamsToSend.getTextDocument().setUri(fileUri);
+            changeParamsToSend.getTextDocument().setVersion(version);
+            didChange = languageServerWrapper.sendNotification(ls -> {
+                ls.getTextDocumentService().didChange(changeParamsToSend);
+                return ls;
+            });
+            result = didChange.thenApply(ls -> null);
+            lastDidChange = result;
+        }
         processPullDiagnosticIfNeeded(didChange, version);
-        return didChange.thenApply(ls -> null);
+        didChange.thenRun(this::refreshWorkspaceDiagnostics);
+        return result;
     }
 
     @Override
@@ -197,44 +219,32 @@ public class DocumentContentSynchronizer implements DocumentListener, Disposable
         if (getTextDocumentSyncKind() == TextDocumentSyncKind.Incremental) {
             // this really needs to happen before event gets actually
             // applied, to properly compute positions
-            synchronized (changeEvents) {
-                changeEvents.add(createChangeEvent(event));
-            }
+            addIncrementalChange(event);
         }
     }
 
-    private TextDocumentContentChangeEvent createChangeEvent(DocumentEvent event) {
+    private void addIncrementalChange(@NotNull DocumentEvent event) {
         Document document = event.getDocument();
-        TextDocumentSyncKind syncKind = getTextDocumentSyncKind();
-        switch (syncKind) {
-            case None:
-                return null;
-            case Full: {
-                TextDocumentContentChangeEvent changeEvent = new TextDocumentContentChangeEvent();
-                changeEvent.setText(event.getDocument().getText());
-                return changeEvent;
-            }
-            case Incremental: {
-                TextDocumentContentChangeEvent changeEvent = new TextDocumentContentChangeEvent();
-                CharSequence newText = event.getNewFragment();
-                int offset = event.getOffset();
-                int length = event.getOldLength();
-                try {
-                    // try to convert the Eclipse start/end offset to LS range.
-                    Range range = new Range(LSPIJUtils.toPosition(offset, document),
-                            LSPIJUtils.toPosition(offset + length, document));
-                    changeEvent.setRange(range);
-                    changeEvent.setText(newText.toString());
-                    changeEvent.setRangeLength(length);
-                } catch (Exception e) {
-                    // error while conversion (should never occur)
-                    // set the full document text as changes.
-                    changeEvent.setText(document.getText());
-                }
-                return changeEvent;
+        int offset = event.getOffset();
+        int length = event.getOldLength();
+        String newText = event.getNewFragment().toString();
+        Position start;
+        Position end;
+        try {
+            // try to convert the start/end offset to LS range.
+            start = LSPIJUtils.toPosition(offset, document);
+            end = LSPIJUtils.toPosition(offset + length, document);
+        } catch (Exception e) {
+            // error while conversion (should never occur)
+            // set the full document text as changes once the change is applied.
+            synchronized (pendingChanges) {
+                fullTextRequired = true;
             }
+            return;
+        }
+        synchronized (pendingChanges) {
+            pendingChanges.addIncrementalChange(offset, length, newText, start, end);
         }
-        return null;
     }
 
     public void documentSaved() {
@@ -251,7 +261,7 @@ public class DocumentContentSynchronizer implements DocumentListener, Disposable
             DidSaveTextDocumentParams params = new DidSaveTextDocumentParams(identifier, includedText ? document.getText() : null);
             ls.getTextDocumentService().didSave(params);
             return ls;
-        });
+        }).thenRun(this::refreshWorkspaceDiagnostics);
     }
 
     public void documentClosed() {
@@ -264,7 +274,7 @@ public class DocumentContentSynchronizer implements DocumentListener, Disposable
             // but workspace/willRenameFiles may modify the file before that.
             // Without this call, the didChange notification could be sent
             // after didClose, breaking the expected LSP event order.
-            if (!changeEvents.isEmpty()) {
+            if (hasPendingChanges()) {
                 sendDidChangeEvents();
             }
 
@@ -308,6 +318,10 @@ public class DocumentContentSynchronizer implements DocumentListener, Disposable
     @Override
     public void dispose() {
         documentClosed();
+        if (debounceDidChangeAlarm != null) {
+            debounceDidChangeAlarm.dispose();
+            debounceDidChangeAlarm = null;
+        }
         if (debouncePullDiagnosticsAlarm != null) {
             debouncePullDiagnosticsAlarm.dispose();
             debouncePullDiagnosticsAlarm = null;
@@ -399,9 +413,12 @@ public class DocumentContentSynchronizer implements DocumentListener, Disposable
 
     private void refreshPullDiagnostic(int version, @NotNull LanguageServer ls) {
         // Consume 'textDocument/diagnostic'
+        String identifier = getPullIdentifier();
         DocumentDiagnosticParams params = new DocumentDiagnosticParams();
-        params.setIdentifier(getPullIdentifier());
+        params.setIdentifier(identifier);
         params.setTextDocument(new TextDocumentIdentifier(fileUri));
+        // Send the result id of the last report to allow the language server to answer with an unchanged report
+        params.setPreviousResultId(getPreviousResultId(file, identifier));
         ls.getTextDocumentService()
                 .diagnostic(params)
                 .thenAcceptAsync(diagnosticReport -> {
@@ -409,36 +426,43 @@ public class DocumentContentSynchronizer implements DocumentListener, Disposable
                         // The document has changed, do nothing
                         return;
                     }
-                    var clientFeatures = languageServerWrapper.getClientFeatures();
                     // Update the diagnostics cache from the opened file and refresh UI to process LSPDiagnosticsApplier.
                     if (diagnosticReport.isLeft()) {
                         RelatedFullDocumentDiagnosticReport fileReport = diagnosticReport.getLeft();
                         // Update the diagnostics cache from the opened file
                         updatePullDiagnostics(file, fileReport);
+                        updateRelatedPullDiagnostics(fileReport.getRelatedDocuments());
                     } else if (diagnosticReport.isRight()) {
-                        RelatedUnchangedDocumentDiagnosticReport allFilesReport = diagnosticReport.getRight();
-                        Map<String, Either<FullDocumentDiagnosticReport, UnchangedDocumentDiagnosticReport>> relatedDocuments = allFilesReport.getRelatedDocuments();
-                        if (relatedDocuments != null) {
-                            for (var relatedDocument : relatedDocuments.entrySet()) {
-                                String documentUri = relatedDocument.getKey();
-                                Either<FullDocumentDiagnosticReport, UnchangedDocumentDiagnosticReport> fileReport = relatedDocument.getValue();
-                                if (fileReport != null) {
-                                    if (fileReport.isLeft()) {
-                                        VirtualFile file = FileUriSupport.findFileByUri(documentUri, clientFeatures);
-                                        if (file != null) {
-                                            updatePullDiagnostics(file, fileReport.getLeft());
-                                        }
-                                    } else if (fileReport.isRight()) {
-                                        // TODO: implement UnchangedDocumentDiagnosticReport
-                                    }
-                                }
-                            }
-                        }
+                        RelatedUnchangedDocumentDiagnosticReport fileReport = diagnosticReport.getRight();
+                        // The diagnostics of the opened file have not changed
+                        updateUnchangedPullDiagnostics(file, fileReport);
+                        updateRelatedPullDiagnostics(fileReport.getRelatedDocuments());
                     }
 
                 });
     }
 
+    private void updateRelatedPullDiagnostics(@Nullable Map<String, Either<FullDocumentDiagnosticReport, UnchangedDocumentDiagnosticReport>> relatedDocuments) {
+        if (relatedDocuments == null) {
+            return;
+        }
+        var clientFeatures = languageServerWrapper.getClientFeatures();
+        for (var relatedDocument : relatedDocuments.entrySet()) {
+            String documentUri = relatedDocument.getKey();
+            Either<FullDocumentDiagnosticReport, UnchangedDocumentDiagnosticReport> fileReport = relatedDocument.getValue();
+            if (fileReport != null) {
+                VirtualFile file = FileUriSupport.findFileByUri(documentUri, clientFeatures);
+                if (file != null) {
+                    if (fileReport.isLeft()) {
+                        updatePullDiagnostics(file, fileReport.getLeft());
+                    } else if (fileReport.isRight()) {
+                        updateUnchangedPullDiagnostics(file, fileReport.getRight());
+                    }
+                }
+            }
+        }
+    }
+
     private void updatePullDiagnostics(@NotNull VirtualFile file,
                                        @NotNull FullDocumentDiagnosticReport diagnosticReport) {
         // Update diagnostics for the opened/closed document
@@ -447,7 +471,39 @@ public class DocumentContentSynchronizer implements DocumentListener, Disposable
         if (identifier == null) {
             identifier = LSPDocumentBase.PULL_DIAGNOSTIC_IDENTIFIER;
         }
-        languageServerWrapper.updateDiagnostics(file, identifier, diagnostics, null);
+        languageServerWrapper.updateDiagnostics(file, identifier, diagnostics, null, diagnosticReport.getResultId());
+    }
+
+    private void updateUnchangedPullDiagnostics(@NotNull VirtualFile file,
+                                                @NotNull UnchangedDocumentDiagnosticReport diagnosticReport) {
+        // The diagnostics reported with the previous result id are still valid: don't update the diagnostics cache
+        // and only keep the result id which the next 'textDocument/diagnostic' must send.
+        var fileUri = FileUriSupport.getFileUri(file, languageServerWrapper.getClientFeatures());
+        if (fileUri == null) {
+            return;
+        }
+        String identifier = getPullIdentifier();
+        if (identifier == null) {
+            identifier = LSPDocumentBase.PULL_DIAGNOSTIC_IDENTIFIER;
+        }
+        languageServerWrapper.updateDiagnosticResultId(fileUri, identifier, diagnosticReport.getResultId());
+    }
+
+    @Nullable
+    private String getPreviousResultId(@NotNull VirtualFile file,
+                                       @Nullable String identifier) {
+        var fileUri = FileUriSupport.getFileUri(file, languageServerWrapper.getClientFeatures());
+        if (fileUri == null) {
+            return null;
+        }
+        return languageServerWrapper.getDiagnosticResultId(fileUri, identifier != null ? identifier : LSPDocumentBase.PULL_DIAGNOSTIC_IDENTIFIER);
+    }
+
+    private void refreshWorkspaceDiagnostics() {
+        // The change of the document can impact the diagnostics of other files
+        LSPWorkspaceSupport.getSupport(languageServerWrapper.getProject())
+                .getWorkspaceDiagnosticSupport()
+                .refreshWorkspaceDiagnostics(languageServerWrapper);
     }
 
     @Nullable
@@ -460,6 +516,17 @@ public class DocumentContentSynchronizer implements DocumentListener, Disposable
         return languageServerWrapper.getClientFeatures().getDiagnosticFeature().isDiagnosticSupported(file);
     }
 
+    private Alarm getDebounceDidChangeAlarm() {
+        if (debounceDidChangeAlarm == null) {
+            synchronized (this) {
+                if (debounceDidChangeAlarm == null) {
+                    debounceDidChangeAlarm = new Alarm(Alarm.ThreadToUse.POOLED_THREAD, this);
+                }
+            }
+        }
+        return debounceDidChangeAlarm;
+    }
+
     private Alarm getDebouncePullDiagnosticsAlarm() {
         if (debouncePullDiagnosticsAlarm == null) {
             synchronized (this) {
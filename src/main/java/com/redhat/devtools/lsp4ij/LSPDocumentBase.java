@@ -19,6 +19,8 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Base class for LSP opened/closed document for a given language server.
@@ -28,6 +30,9 @@ public abstract class LSPDocumentBase {
     public static final String PUBLISH_DIAGNOSTIC_IDENTIFIER = "lsp4ij.publish";
     public static final String PULL_DIAGNOSTIC_IDENTIFIER = "lsp4ij.pull";
 
+    // Last pull diagnostic result ids reported by the language server, by diagnostic identifier
+    private final Map<String, String> diagnosticResultIds = new ConcurrentHashMap<>();
+
     /**
      * Update the diagnostics
      *
@@ -48,4 +53,45 @@ public abstract class LSPDocumentBase {
 
     public abstract boolean hasErrors();
 
+    /**
+     * Returns true if diagnostics reported for the given document version are outdated and false otherwise.
+     *
+     * @param version the document version for which diagnostics are reported and null otherwise.
+     * @return true if diagnostics reported for the given document version are outdated and false otherwise.
+     */
+    public boolean isStale(@Nullable Integer version) {
+        return false;
+    }
+
+    /**
+     * Returns the result id of the last pull diagnostic report for the given identifier and null otherwise.
+     *
+     * @param identifier the diagnostic identifier.
+     * @return the result id of the last pull diagnostic report for the given identifier and null otherwise.
+     */
+    public @Nullable String getDiagnosticResultId(@NotNull String identifier) {
+        return diagnosticResultIds.get(identifier);
+    }
+
+    /**
+     * Update the result id of the last pull diagnostic report for the given identifier.
+     *
+     * @param identifier the diagnostic identifier.
+     * @param resultId   the result id or null if the report has no result id.
+     */
+    public void setDiagnosticResultId(@NotNull String identifier, @Nullable String resultId) {
+        if (resultId != null) {
+            diagnosticResultIds.put(identifier, resultId);
+        } else {
+            diagnosticResultIds.remove(identifier);
+        }
+    }
+
+    /**
+     * Clear the result ids of the last pull diagnostic reports.
+     */
+    protected void clearDiagnosticResultIds() {
+        diagnosticResultIds.clear();
+    }
+
 }
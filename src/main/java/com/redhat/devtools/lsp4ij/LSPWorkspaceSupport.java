@@ -13,14 +13,16 @@ package com.redhat.devtools.lsp4ij;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.Disposer;
 import com.intellij.openapi.util.UserDataHolderBase;
+import com.redhat.devtools.lsp4ij.features.diagnostics.LSPWorkspaceDiagnosticSupport;
 import com.redhat.devtools.lsp4ij.features.workspaceSymbol.LSPWorkspaceSymbolSupport;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * LSP file support stored in the opened {@link Project} with key "lsp.workspace.support"
- * which manages and caches LSP workspace requests like workspace/symbol futures, etc.
+ * which manages and caches LSP workspace requests like workspace/symbol, workspace/diagnostic futures, etc.
  */
 @ApiStatus.Internal
 
@@ -32,9 +34,13 @@ public class LSPWorkspaceSupport extends UserDataHolderBase implements Disposabl
 
     private final LSPWorkspaceSymbolSupport workspaceSymbolSupport;
 
+    private final LSPWorkspaceDiagnosticSupport workspaceDiagnosticSupport;
+
     private LSPWorkspaceSupport(@NotNull Project project) {
         this.project = project;
         this.workspaceSymbolSupport = new LSPWorkspaceSymbolSupport(project);
+        this.workspaceDiagnosticSupport = new LSPWorkspaceDiagnosticSupport(project);
+        Disposer.register(this, workspaceDiagnosticSupport);
         project.putUserData(LSP_WORKSPACE_SUPPORT_KEY, this);
     }
 
@@ -43,6 +49,7 @@ public class LSPWorkspaceSupport extends UserDataHolderBase implements Disposabl
         // cancel all LSP requests
         project.putUserData(LSP_WORKSPACE_SUPPORT_KEY, null);
         getWorkspaceSymbolSupport().cancel();
+        getWorkspaceDiagnosticSupport().cancel();
     }
 
     /**
@@ -54,6 +61,15 @@ public class LSPWorkspaceSupport extends UserDataHolderBase implements Disposabl
         return workspaceSymbolSupport;
     }
 
+    /**
+     * Returns the LSP workspace diagnostic support.
+     *
+     * @return the LSP workspace diagnostic support.
+     */
+    public LSPWorkspaceDiagnosticSupport getWorkspaceDiagnosticSupport() {
+        return workspaceDiagnosticSupport;
+    }
+
     /**
      * Return the existing LSP workspace support for the given project, or create a new one if necessary.
      *
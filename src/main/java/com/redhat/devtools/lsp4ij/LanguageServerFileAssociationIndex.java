@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij;
+
+import com.intellij.lang.Language;
+import com.intellij.openapi.fileTypes.ExactFileNameMatcher;
+import com.intellij.openapi.fileTypes.ExtensionFileNameMatcher;
+import com.intellij.openapi.fileTypes.FileNameMatcher;
+import com.intellij.openapi.fileTypes.FileType;
+import com.redhat.devtools.lsp4ij.server.definition.LanguageServerFileAssociation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable index of the {@link LanguageServerFileAssociation}s keyed by {@link Language}, {@link FileType} and
+ * file name pattern, so that finding the associations of a file is a few hash lookups instead of a scan of all
+ * the associations.
+ *
+ * <ul>
+ *     <li>language associations are looked up for the language of the file and its base languages, to respect
+ *     {@link Language#isKindOf(Language)}.</li>
+ *     <li>extension patterns (ex: '*.ts') are looked up for each suffix of the file name which starts with a dot.</li>
+ *     <li>exact file name patterns (ex: 'Dockerfile') are looked up with the file name.</li>
+ *     <li>other patterns (ex: 'Docker*') are matched one by one.</li>
+ * </ul>
+ * <p>
+ * Each candidate is confirmed with {@link LanguageServerFileAssociation#match(Language, FileType, String)}, so the
+ * result is the same as matching all the associations. The index is rebuilt by the {@link LanguageServersRegistry}
+ * when the associations change.
+ */
+class LanguageServerFileAssociationIndex {
+
+    private final Map<Language, List<LanguageServerFileAssociation>> byLanguage = new HashMap<>();
+    private final Map<FileType, List<LanguageServerFileAssociation>> byFileType = new HashMap<>();
+    private final Map<String, List<LanguageServerFileAssociation>> byExtension = new HashMap<>();
+    private final Map<String, List<LanguageServerFileAssociation>> byFileName = new HashMap<>();
+    private final List<LanguageServerFileAssociation> otherPatterns = new ArrayList<>();
+
+    // Registration order of the associations, used to return the matched associations in a stable order
+    private final Map<LanguageServerFileAssociation, Integer> order = new IdentityHashMap<>();
+
+    LanguageServerFileAssociationIndex(@NotNull Collection<LanguageServerFileAssociation> associations) {
+        for (var association : associations) {
+            order.put(association, order.size());
+            var language = association.getLanguage();
+            var fileType = association.getFileType();
+            var fileNameMatchers = association.getFileNameMatchers();
+            if (fileType != null) {
+                byFileType.computeIfAbsent(fileType, k -> new ArrayList<>()).add(association);
+            } else if (language != null) {
+                byLanguage.computeIfAbsent(language, k -> new ArrayList<>()).add(association);
+            } else if (fileNameMatchers != null) {
+                indexFileNameMatchers(association, fileNameMatchers);
+            }
+        }
+    }
+
+    private void indexFileNameMatchers(@NotNull LanguageServerFileAssociation association,
+                                       @NotNull List<FileNameMatcher> fileNameMatchers) {
+        for (var matcher : fileNameMatchers) {
+            if (matcher instanceof ExtensionFileNameMatcher extensionMatcher) {
+                // Extension matchers are case-insensitive
+                byExtension.computeIfAbsent(extensionMatcher.getExtension().toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(association);
+            } else if (matcher instanceof ExactFileNameMatcher exactMatcher && !exactMatcher.isIgnoreCase()) {
+                byFileName.computeIfAbsent(exactMatcher.getFileName(), k -> new ArrayList<>()).add(association);
+            } else {
+                otherPatterns.add(association);
+            }
+        }
+    }
+
+    /**
+     * Returns the associations which match the given language, file type or file name.
+     *
+     * @param language the language of the file.
+     * @param fileType the file type of the file.
+     * @param fileName the file name.
+     * @return the associations which match the given language, file type or file name, in registration order.
+     */
+    @NotNull
+    List<LanguageServerFileAssociation> findAssociations(@Nullable Language language,
+                                                         @Nullable FileType fileType,
+                                                         @NotNull String fileName) {
+        Set<LanguageServerFileAssociation> matched = null;
+        // Language associations: the language of the file and its base languages
+        for (Language current = language; current != null; current = current.getBaseLanguage()) {
+            matched = addMatched(matched, byLanguage.get(current), language, null, fileName);
+        }
+        // File type associations
+        if (fileType != null) {
+            matched = addMatched(matched, byFileType.get(fileType), null, fileType, fileName);
+        }
+        // File name pattern associations
+        if (!byExtension.isEmpty()) {
+            String lowerFileName = fileName.toLowerCase(Locale.ROOT);
+            for (int dot = lowerFileName.indexOf('.'); dot != -1; dot = lowerFileName.indexOf('.', dot + 1)) {
+                matched = addMatched(matched, byExtension.get(lowerFileName.substring(dot + 1)), null, null, fileName);
+            }
+        }
+        matched = addMatched(matched, byFileName.get(fileName), null, null, fileName);
+        matched = addMatched(matched, otherPatterns, null, null, fileName);
+        if (matched == null) {
+            return Collections.emptyList();
+        }
+        List<LanguageServerFileAssociation> result = new ArrayList<>(matched);
+        if (result.size() > 1) {
+            result.sort(Comparator.comparingInt(order::get));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static @Nullable Set<LanguageServerFileAssociation> addMatched(@Nullable Set<LanguageServerFileAssociation> matched,
+                                                                           @Nullable List<LanguageServerFileAssociation> candidates,
+                                                                           @Nullable Language language,
+                                                                           @Nullable FileType fileType,
+                                                                           @NotNull String fileName) {
+        if (candidates == null) {
+            return matched;
+        }
+        for (var candidate : candidates) {
+            if ((matched == null || !matched.contains(candidate)) && candidate.match(language, fileType, fileName)) {
+                if (matched == null) {
+                    matched = new HashSet<>();
+                }
+                matched.add(candidate);
+            }
+        }
+        return matched;
+    }
+}
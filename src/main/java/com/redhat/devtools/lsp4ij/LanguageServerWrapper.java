@@ -38,13 +38,18 @@ import com.redhat.devtools.lsp4ij.features.files.operations.FileOperationsManage
 import com.redhat.devtools.lsp4ij.installation.ServerInstallationContext;
 import com.redhat.devtools.lsp4ij.installation.ServerInstallationStatus;
 import com.redhat.devtools.lsp4ij.installation.ServerInstaller;
+import com.redhat.devtools.lsp4ij.internal.BoundedRingBuffer;
 import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
+import com.redhat.devtools.lsp4ij.internal.ExtendedStreamMessageProducer;
+import com.redhat.devtools.lsp4ij.internal.JsonRpcSessionRecorder;
+import com.redhat.devtools.lsp4ij.internal.OrderedMessageDispatcher;
 import com.redhat.devtools.lsp4ij.internal.VirtualFileCancelChecker;
 import com.redhat.devtools.lsp4ij.internal.capabilities.ClientCapabilitiesFactory;
 import com.redhat.devtools.lsp4ij.internal.editor.EditorFeatureManager;
 import com.redhat.devtools.lsp4ij.internal.editor.EditorFeatureType;
 import com.redhat.devtools.lsp4ij.lifecycle.LanguageServerLifecycleManager;
 import com.redhat.devtools.lsp4ij.lifecycle.NullLanguageServerLifecycleManager;
+import com.redhat.devtools.lsp4ij.metrics.LanguageServerRequestMetrics;
 import com.redhat.devtools.lsp4ij.server.*;
 import com.redhat.devtools.lsp4ij.server.capabilities.TextDocumentServerCapabilityRegistry;
 import com.redhat.devtools.lsp4ij.server.definition.LanguageServerDefinition;
@@ -53,8 +58,11 @@ import com.redhat.devtools.lsp4ij.settings.ServerTrace;
 import org.eclipse.lsp4j.*;
 import org.eclipse.lsp4j.jsonrpc.Launcher;
 import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
 import org.eclipse.lsp4j.services.LanguageServer;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -62,7 +70,10 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -84,6 +95,8 @@ public class LanguageServerWrapper implements Disposable {
 
     private static final int MAX_NUMBER_OF_RESTART_ATTEMPTS = 20; // TODO move this max value in settings
 
+    private static final int MAX_TRACES = 4096; // Max number of LSP traces waiting to be displayed in the LSP console
+
     private static final @NotNull TextDocumentSyncOptions DEFAULT_SYNC_OPTIONS;
 
     static {
@@ -101,6 +114,8 @@ public class LanguageServerWrapper implements Disposable {
     protected final Map<URI /* file Uri */, ClosedDocument> closedDocuments;
     // Lock object to prevent deadlock when accessing both openedDocuments and closedDocuments
     private final Object documentsLock = new Object();
+    // Memory bounded store of the diagnostics of the closed documents
+    private final ClosedDocumentDiagnosticsStore closedDocumentDiagnosticsStore;
     @Nullable
     protected final URI initialPath;
     protected final InitializeParams initParams = new InitializeParams();
@@ -119,6 +134,13 @@ public class LanguageServerWrapper implements Disposable {
     protected StreamConnectionProvider lspStreamProvider;
     private volatile MessageBusConnection messageBusConnection;
     private Future<?> launcherFuture;
+    // Single-consumer stage which consumes the messages received from the language server
+    private volatile @Nullable OrderedMessageDispatcher inboundMessageDispatcher;
+    // Single-consumer stage which writes the messages sent to the language server
+    private volatile @Nullable OrderedMessageDispatcher outboundMessageDispatcher;
+    // Recorder of the JSON-RPC messages, when recording is enabled with LSPClientFeatures#getJsonRpcRecordingFile()
+    private volatile @Nullable JsonRpcSessionRecorder sessionRecorder;
+    private final LanguageServerRequestMetrics requestMetrics = new LanguageServerRequestMetrics();
     private int numberOfRestartAttempts;
     private @Nullable CompletableFuture<Void> initializeFuture;
     private LanguageServer languageServer;
@@ -138,7 +160,7 @@ public class LanguageServerWrapper implements Disposable {
     // error notification displayed when server start fails.
     private @Nullable Notification errorNotification;
     private @Nullable TracingMessageConsumer tracing;
-    private volatile @Nullable ConcurrentLinkedQueue<LSPTrace> traces;
+    private volatile @Nullable BoundedRingBuffer<LSPTrace> traces;
     private @Nullable Alarm traceFlushAlarm;
     private volatile @Nullable InitializingContext currentInitializingContext;
     private @NotNull TextDocumentSyncOptions syncOptions;
@@ -159,6 +181,8 @@ public class LanguageServerWrapper implements Disposable {
         this.serverDefinition = serverDefinition;
         this.openedDocuments = new HashMap<>();
         this.closedDocuments = new HashMap<>();
+        this.closedDocumentDiagnosticsStore = new ClosedDocumentDiagnosticsStore(() ->
+                getClientFeatures().getDiagnosticFeature().getClosedDocumentsDiagnosticsMaxSize());
         this.fileListener = new LSPFileListener(this);
         VirtualFileManager.getInstance().addAsyncFileListener(fileListener, this);
 
@@ -446,30 +470,54 @@ public class LanguageServerWrapper implements Disposable {
                         }
 
                         var provider = initializingContext.provider;
-                        UnaryOperator<MessageConsumer> wrapper = consumer -> (message -> {
-                            if (isDisposed()) {
-                                return;
-                            }
-                            logMessage(message, consumer);
-                            try {
+                        var recorder = createSessionRecorder();
+                        UnaryOperator<MessageConsumer> wrapper = consumer -> {
+                            MessageConsumer target;
+                            if (consumer instanceof RemoteEndpoint) {
+                                // Messages received from the language server are consumed in order by a
+                                // single-consumer stage, so that the thread which reads the stream doesn't wait
+                                // for their processing.
+                                var inboundDispatcher = new OrderedMessageDispatcher(consumer, listener,
+                                        OrderedMessageDispatcher.DEFAULT_CAPACITY, true,
+                                        e -> getLanguageServerLifecycleManager().onError(this, e));
+                                this.inboundMessageDispatcher = inboundDispatcher;
+                                target = inboundDispatcher;
+                            } else {
                                 // To avoid having some lock problem when message is written in the stream output
-                                // (when there are a lot of messages to write it)
-                                // we consume the message in async mode
-                                CompletableFuture.runAsync(() -> consumer.consume(message))
-                                        .exceptionally(e -> {
-                                            // Log in the LSP console the error
-                                            getLanguageServerLifecycleManager().onError(this, e);
-                                            return null;
-                                        });
-                            } catch (Throwable e) {
-                                // Log in the LSP console the error
-                                getLanguageServerLifecycleManager().onError(this, e);
-                                throw e;
-                            }
-                            if (provider != null && isActive()) {
-                                provider.handleMessage(message, this.languageServer, rootURI);
+                                // (when there are a lot of messages to write it), messages sent to the language
+                                // server are written by a single-consumer stage, in the order they are submitted:
+                                // a request sent after a 'textDocument/didOpen' is always written after it.
+                                // Messages are sent from the EDT or document listeners which must never wait
+                                // for the stream, so the queue grows instead of blocking the sender.
+                                var outboundDispatcher = new OrderedMessageDispatcher(consumer, listener,
+                                        OrderedMessageDispatcher.DEFAULT_CAPACITY, false,
+                                        e -> getLanguageServerLifecycleManager().onError(this, e));
+                                this.outboundMessageDispatcher = outboundDispatcher;
+                                target = outboundDispatcher;
                             }
-                        });
+                            return message -> {
+                                if (isDisposed()) {
+                                    return;
+                                }
+                                logMessage(message, consumer);
+                                recordRequestMetrics(message, consumer);
+                                if (recorder != null) {
+                                    recorder.record(message, consumer instanceof RemoteEndpoint ?
+                                            JsonRpcSessionRecorder.Direction.RECEIVED :
+                                            JsonRpcSessionRecorder.Direction.SENT);
+                                }
+                                try {
+                                    target.consume(message);
+                                } catch (Throwable e) {
+                                    // Log in the LSP console the error
+                                    getLanguageServerLifecycleManager().onError(this, e);
+                                    throw e;
+                                }
+                                if (provider != null && isActive()) {
+                                    provider.handleMessage(message, this.languageServer, rootURI);
+                                }
+                            };
+                        };
 
                         Launcher<LanguageServer> launcher = getClientFeatures().createLauncherBuilder() //
                                 .setLocalService(languageClient)//
@@ -525,6 +573,10 @@ public class LanguageServerWrapper implements Disposable {
                         for (VirtualFile fileToReconnect : filesToReconnect) {
                             connect(fileToReconnect, new LSPFileConnectionInfo(null, null, null, true));
                         }
+                        // Pull the diagnostics of the whole workspace if the language server supports it
+                        LSPWorkspaceSupport.getSupport(getProject())
+                                .getWorkspaceDiagnosticSupport()
+                                .refreshWorkspaceDiagnostics(this);
                     })
                     .exceptionally(e -> {
                         if (e instanceof CompletionException) {
@@ -600,6 +652,30 @@ public class LanguageServerWrapper implements Disposable {
         return null;
     }
 
+    private @Nullable JsonRpcSessionRecorder createSessionRecorder() {
+        closeSessionRecorder();
+        Path file = getClientFeatures().getJsonRpcRecordingFile();
+        if (file == null) {
+            return null;
+        }
+        try {
+            var recorder = new JsonRpcSessionRecorder(file);
+            this.sessionRecorder = recorder;
+            return recorder;
+        } catch (IOException e) {
+            LOGGER.warn("Cannot record the JSON-RPC messages of the language server '{}' in '{}'", serverDefinition.getId(), file, e);
+            return null;
+        }
+    }
+
+    private void closeSessionRecorder() {
+        var recorder = this.sessionRecorder;
+        if (recorder != null) {
+            recorder.close();
+            this.sessionRecorder = null;
+        }
+    }
+
     private void logMessage(Message message, MessageConsumer consumer) {
         getLanguageServerLifecycleManager().logLSPMessage(message, consumer, this);
     }
@@ -746,7 +822,10 @@ public class LanguageServerWrapper implements Disposable {
             boolean shouldNotify = false;
             synchronized (documentsLock) {
                 // Remove from closed documents and check if already opened
-                closedDocuments.remove(fileUri);
+                var closedDocument = closedDocuments.remove(fileUri);
+                if (closedDocument != null) {
+                    closedDocumentDiagnosticsStore.remove(closedDocument);
+                }
 
                 // Check again if file is already opened (within synchronized block)
                 ls2 = getLanguageServerWhenDidOpen(fileUri, waitForDidOpen);
@@ -792,12 +871,21 @@ public class LanguageServerWrapper implements Disposable {
         }
         var openedDocument = openedDocuments.get(fileUri);
         if (openedDocument != null && openedDocument.getSynchronizer() != null) {
+            var synchronizer = openedDocument.getSynchronizer();
+            if (synchronizer.hasPendingChanges()) {
+                // Send the debounced 'textDocument/didChange' before the request which depends on the document content
+                var flush = synchronizer.flushPendingChanges();
+                if (!waitForDidOpen) {
+                    return flush.thenApply(theVoid -> languageServer);
+                }
+                return flush.thenCompose(theVoid -> getLanguageServerWhenDidOpen(synchronizer.getDidOpenFuture()));
+            }
             if (!waitForDidOpen) {
                 return CompletableFuture.completedFuture(languageServer);
             }
             // The file is already connected.
             // returns the language server instance when didOpen happened
-            var didOpenFuture = openedDocument.getSynchronizer().getDidOpenFuture();
+            var didOpenFuture = synchronizer.getDidOpenFuture();
             return getLanguageServerWhenDidOpen(didOpenFuture);
         }
         return null;
@@ -968,6 +1056,70 @@ public class LanguageServerWrapper implements Disposable {
         return new ArrayList<>(openedDocuments.values());
     }
 
+    /**
+     * Returns the result id of the last pull diagnostic report of the given file for the given identifier and null otherwise.
+     *
+     * @param fileUri    the file Uri.
+     * @param identifier the diagnostic identifier.
+     * @return the result id of the last pull diagnostic report of the given file for the given identifier and null otherwise.
+     */
+    public @Nullable String getDiagnosticResultId(@NotNull URI fileUri, @NotNull String identifier) {
+        LSPDocumentBase document = getOpenedDocument(fileUri, false);
+        if (document == null) {
+            document = getClosedDocument(fileUri, false);
+        }
+        return document != null ? document.getDiagnosticResultId(identifier) : null;
+    }
+
+    /**
+     * Update the result id of the last pull diagnostic report of the given file for the given identifier, without
+     * updating its diagnostics.
+     *
+     * @param fileUri    the file Uri.
+     * @param identifier the diagnostic identifier.
+     * @param resultId   the result id of the unchanged pull diagnostic report.
+     */
+    public void updateDiagnosticResultId(@NotNull URI fileUri, @NotNull String identifier, @Nullable String resultId) {
+        LSPDocumentBase document = getOpenedDocument(fileUri, false);
+        if (document == null) {
+            document = getClosedDocument(fileUri, false);
+        }
+        if (document != null) {
+            document.setDiagnosticResultId(identifier, resultId);
+        }
+    }
+
+    /**
+     * Returns the result ids of the last pull diagnostic reports of all opened/closed documents for the given identifier.
+     *
+     * @param identifier the diagnostic identifier.
+     * @return the result ids of the last pull diagnostic reports of all opened/closed documents for the given identifier.
+     */
+    public @NotNull List<PreviousResultId> getDiagnosticResultIds(@NotNull String identifier) {
+        var clientFeatures = getClientFeatures();
+        List<PreviousResultId> resultIds = new ArrayList<>();
+        synchronized (documentsLock) {
+            collectDiagnosticResultIds(openedDocuments, identifier, clientFeatures, resultIds);
+            collectDiagnosticResultIds(closedDocuments, identifier, clientFeatures, resultIds);
+        }
+        return resultIds;
+    }
+
+    private static void collectDiagnosticResultIds(@NotNull Map<URI, ? extends LSPDocumentBase> documents,
+                                                   @NotNull String identifier,
+                                                   @NotNull LSPClientFeatures clientFeatures,
+                                                   @NotNull List<PreviousResultId> resultIds) {
+        for (var document : documents.entrySet()) {
+            String resultId = document.getValue().getDiagnosticResultId(identifier);
+            if (resultId != null) {
+                String uri = clientFeatures.toString(document.getKey(), false);
+                if (uri != null) {
+                    resultIds.add(new PreviousResultId(uri, resultId));
+                }
+            }
+        }
+    }
+
     /**
      * Returns the LSP file data coming from this language server for the given file uri.
      *
@@ -980,7 +1132,11 @@ public class LanguageServerWrapper implements Disposable {
             synchronized (documentsLock) {
                 closedDocument = closedDocuments.get(fileUri);
                 if (closedDocument == null) {
-                    closedDocument = new ClosedDocument();
+                    // When the diagnostics are evicted from the store, pull them again if the server supports workspace diagnostics
+                    closedDocument = new ClosedDocument(closedDocumentDiagnosticsStore, () ->
+                            LSPWorkspaceSupport.getSupport(getProject())
+                                    .getWorkspaceDiagnosticSupport()
+                                    .refreshWorkspaceDiagnostics(this));
                     closedDocuments.put(fileUri, closedDocument);
                 }
             }
@@ -992,6 +1148,16 @@ public class LanguageServerWrapper implements Disposable {
         return languageServer;
     }
 
+    /**
+     * Returns the language client of the started language server and null otherwise.
+     *
+     * @return the language client of the started language server and null otherwise.
+     */
+    @ApiStatus.Internal
+    public @Nullable LanguageClientImpl getLanguageClient() {
+        return languageClient;
+    }
+
     /**
      * Starts the language server and returns a CompletableFuture waiting for the
      * server to be initialized. If done in the UI stream, a job will be created
@@ -1220,6 +1386,32 @@ public class LanguageServerWrapper implements Disposable {
         return serverStatus;
     }
 
+    /**
+     * Returns the metrics of the stage which consumes the messages received from the language server and null if
+     * the language server has not been started.
+     *
+     * @return the metrics of the stage which consumes the messages received from the language server and null if
+     * the language server has not been started.
+     */
+    @ApiStatus.Internal
+    public @Nullable OrderedMessageDispatcher.Metrics getInboundMessageMetrics() {
+        var dispatcher = inboundMessageDispatcher;
+        return dispatcher != null ? dispatcher.getMetrics() : null;
+    }
+
+    /**
+     * Returns the metrics of the stage which writes the messages sent to the language server and null if
+     * the language server has not been started.
+     *
+     * @return the metrics of the stage which writes the messages sent to the language server and null if
+     * the language server has not been started.
+     */
+    @ApiStatus.Internal
+    public @Nullable OrderedMessageDispatcher.Metrics getOutboundMessageMetrics() {
+        var dispatcher = outboundMessageDispatcher;
+        return dispatcher != null ? dispatcher.getMetrics() : null;
+    }
+
 // ------------------ Current Process information.
 
     public LanguageServerException getServerError() {
@@ -1405,6 +1597,22 @@ public class LanguageServerWrapper implements Disposable {
                                   @NotNull String identifier,
                                   @NotNull List<Diagnostic> diagnostics,
                                   @Nullable Integer version) {
+        updateDiagnostics(file, identifier, diagnostics, version, null);
+    }
+
+    /**
+     * Update diagnostics for the given file URi and store the result id of the pull diagnostic report.
+     *
+     * @param file        the virtual file.
+     * @param identifier  the diagnostic identifier (lsp4ij.publish, lsp4ij.push, custom identifier).
+     * @param diagnostics the diagnostics to update.
+     * @param resultId    the result id of the pull diagnostic report which has reported the diagnostics.
+     */
+    public void updateDiagnostics(@NotNull VirtualFile file,
+                                  @NotNull String identifier,
+                                  @NotNull List<Diagnostic> diagnostics,
+                                  @Nullable Integer version,
+                                  @Nullable String resultId) {
         var clientFeatures = getClientFeatures();
         var fileUri = FileUriSupport.getFileUri(file, clientFeatures);
         if (fileUri == null) {
@@ -1413,13 +1621,14 @@ public class LanguageServerWrapper implements Disposable {
         boolean isOpen = getOpenedDocument(fileUri, false) != null
                 || FileEditorManager.getInstance(getProject()).isFileOpen(file);
         final LSPDocumentBase openedOrClosedDocument = isOpen ? getOpenedDocument(fileUri, true) : getClosedDocument(fileUri, true);
-        if (openedOrClosedDocument == null) {
+        if (openedOrClosedDocument == null || openedOrClosedDocument.isStale(version)) {
             return;
         }
         boolean hasErrors = false;
         synchronized (openedOrClosedDocument) {
             hasErrors = openedOrClosedDocument.hasErrors();
             openedOrClosedDocument.updateDiagnostics(identifier, diagnostics, version);
+            openedOrClosedDocument.setDiagnosticResultId(identifier, resultId);
         }
 
         if ((hasErrors != openedOrClosedDocument.hasErrors()) && clientFeatures.getDiagnosticFeature().canReportProblem(file)) {
@@ -1514,7 +1723,8 @@ public class LanguageServerWrapper implements Disposable {
             // This case can occur when language server is restarted
             return false;
         }
-        traces.add(new LSPTrace(message, messageConsumer, serverTrace, tracing));
+        // Keep only the raw message, it is formatted when the LSP console displays it
+        traces.add(new LSPTrace(message, messageConsumer, serverTrace, tracing, System.currentTimeMillis()));
         return true;
     }
 
@@ -1522,7 +1732,7 @@ public class LanguageServerWrapper implements Disposable {
         if (traces == null || tracing == null) {
             synchronized (this) {
                 if (traces == null) {
-                    traces = new ConcurrentLinkedQueue<>();
+                    traces = new BoundedRingBuffer<>(MAX_TRACES);
                 }
                 if (tracing == null) {
                     tracing = new TracingMessageConsumer();
@@ -1531,12 +1741,33 @@ public class LanguageServerWrapper implements Disposable {
         }
     }
 
+    private void recordRequestMetrics(Message message, MessageConsumer consumer) {
+        if (consumer instanceof RemoteEndpoint) {
+            if (message instanceof ResponseMessage response) {
+                // The response is consumed by the thread which has read it, so its size is available
+                requestMetrics.onResponseReceived(response.getId(), ExtendedStreamMessageProducer.getCurrentMessageContentLength());
+            }
+        } else if (message instanceof RequestMessage request && request.getId() != null) {
+            requestMetrics.onRequestSent(request.getId(), request.getMethod());
+        }
+    }
+
+    /**
+     * Returns the LSP request metrics of the language server (latency, in-flight requests, cancellations, errors
+     * and response sizes by LSP method).
+     *
+     * @return the LSP request metrics of the language server.
+     */
+    public @NotNull LanguageServerRequestMetrics getRequestMetrics() {
+        return requestMetrics;
+    }
+
     /**
      * Returns the LSP cached traces.
      *
      * @return the LSP cached traces.
      */
-    public ConcurrentLinkedQueue<LSPTrace> getTraces() {
+    public BoundedRingBuffer<LSPTrace> getTraces() {
         initLSPTracesIfNeeded();
         return traces;
     }
@@ -1683,6 +1914,12 @@ public class LanguageServerWrapper implements Disposable {
             }
         } finally {
             if (current) {
+                // Cancel the pending 'workspace/diagnostic' request of the stopped language server
+                if (LSPWorkspaceSupport.hasSupport(getProject())) {
+                    LSPWorkspaceSupport.getSupport(getProject())
+                            .getWorkspaceDiagnosticSupport()
+                            .cancel(this);
+                }
                 this.launcherFuture = null;
                 this.lspStreamProvider = null;
                 while (!this.openedDocuments.isEmpty()) {
@@ -1691,6 +1928,7 @@ public class LanguageServerWrapper implements Disposable {
                 if (!closedDocuments.isEmpty()) {
                     Set<URI> fileUris = new HashSet<>(closedDocuments.keySet());
                     closedDocuments.clear();
+                    closedDocumentDiagnosticsStore.clear();
                     clearProblem(fileUris, getClientFeatures(), getProject());
                 }
                 this.languageServer = null;
@@ -1705,10 +1943,11 @@ public class LanguageServerWrapper implements Disposable {
     }
 
     private void shutdownAll(LanguageServer languageServerInstance, StreamConnectionProvider provider, Future<?> serverFuture) {
-        if (languageServerInstance != null && provider != null && provider.isAlive()) {
+        if (languageServerInstance != null && provider != null && provider.isAlive() && provider.shouldShutdownServerOnStop()) {
             // The LSP language server instance and the process which starts the language server is alive. Process
             // - shutdown
             // - exit
+            // A language server which must outlive the connection (ex : a shared daemon) is only disconnected.
 
             // shutdown the language server
             if (provider.isAlive()) {
@@ -1735,6 +1974,8 @@ public class LanguageServerWrapper implements Disposable {
             provider.stop();
         }
 
+        closeSessionRecorder();
+        requestMetrics.clearPendingRequests();
     }
 
     private void shutdownLanguageServerInstance(LanguageServer languageServerInstance) throws Exception {
@@ -1804,9 +2045,10 @@ public class LanguageServerWrapper implements Disposable {
     public record LSPTrace(@NotNull Message message,
                            @NotNull MessageConsumer messageConsumer,
                            @NotNull ServerTrace serverTrace,
-                           @NotNull TracingMessageConsumer tracing) {
+                           @NotNull TracingMessageConsumer tracing,
+                           long timestamp) {
         public String toMessage() {
-            return tracing.log(message, messageConsumer, serverTrace);
+            return tracing.log(message, messageConsumer, serverTrace, Instant.ofEpochMilli(timestamp));
         }
     }
 
@@ -23,6 +23,7 @@ import com.intellij.openapi.extensions.PluginDescriptor;
 import com.intellij.openapi.fileTypes.*;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
@@ -71,6 +72,33 @@ public class LanguageServersRegistry implements Disposable {
 
     private final List<LanguageServerFileAssociation> fileAssociations = new CopyOnWriteArrayList<>();
 
+    // Index of the file associations, rebuilt lazily when the file associations change.
+    private volatile @Nullable LanguageServerFileAssociationIndex fileAssociationIndex;
+
+    // Key used to cache the file associations matched by a file
+    private static final Key<MatchedFileAssociations> MATCHED_FILE_ASSOCIATIONS_KEY = Key.create("lsp.matched.file.associations");
+
+    /**
+     * The file associations matched by a file, valid as long as the index, the language, the file type and the
+     * name of the file don't change.
+     */
+    private record MatchedFileAssociations(@NotNull LanguageServerFileAssociationIndex index,
+                                           @Nullable Language language,
+                                           @Nullable FileType fileType,
+                                           @NotNull String fileName,
+                                           @NotNull List<LanguageServerFileAssociation> associations) {
+
+        boolean isValid(@NotNull LanguageServerFileAssociationIndex index,
+                        @Nullable Language language,
+                        @Nullable FileType fileType,
+                        @NotNull String fileName) {
+            return this.index == index &&
+                    Objects.equals(this.language, language) &&
+                    Objects.equals(this.fileType, fileType) &&
+                    this.fileName.equals(fileName);
+        }
+    }
+
     private final Map<String /* languageId (ex : typescript) */,
             List<String> /* file extensions (ex : ts) */> languageIdFileExtensionsCache = new ConcurrentHashMap<>();
 
@@ -492,9 +520,56 @@ public class LanguageServersRegistry implements Disposable {
      * This does <strong>not</strong> include the one that match transitively as per content-type hierarchy
      */
     List<LanguageServerFileAssociation> findLanguageServerDefinitionFor(final @Nullable Language language, @Nullable FileType fileType, @NotNull String fileName) {
-        return fileAssociations.stream()
-                .filter(mapping -> mapping.match(language, fileType, fileName))
-                .collect(Collectors.toList());
+        return getFileAssociationIndex().findAssociations(language, fileType, fileName);
+    }
+
+    /**
+     * Returns the file associations which match the given file with its language, its file type or its name.
+     * <p>
+     * The result is cached in the file and is invalidated when the file associations change (extension point,
+     * settings) or when the language, the file type or the name of the file change.
+     *
+     * @param file     the file.
+     * @param language the language of the file.
+     * @param fileType the file type of the file.
+     * @return the file associations which match the given file, in registration order.
+     */
+    @NotNull
+    List<LanguageServerFileAssociation> findLanguageServerDefinitionFor(@NotNull VirtualFile file,
+                                                                        @Nullable Language language,
+                                                                        @Nullable FileType fileType) {
+        var index = getFileAssociationIndex();
+        String fileName = file.getName();
+        var matched = file.getUserData(MATCHED_FILE_ASSOCIATIONS_KEY);
+        if (matched != null && matched.isValid(index, language, fileType, fileName)) {
+            return matched.associations();
+        }
+        var associations = index.findAssociations(language, fileType, fileName);
+        file.putUserData(MATCHED_FILE_ASSOCIATIONS_KEY, new MatchedFileAssociations(index, language, fileType, fileName, associations));
+        return associations;
+    }
+
+    private @NotNull LanguageServerFileAssociationIndex getFileAssociationIndex() {
+        var index = fileAssociationIndex;
+        if (index == null) {
+            synchronized (fileAssociations) {
+                index = fileAssociationIndex;
+                if (index == null) {
+                    index = new LanguageServerFileAssociationIndex(fileAssociations);
+                    fileAssociationIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Invalidate the index of the file associations and, by the way, the file associations cached in the files.
+     */
+    private void invalidateFileAssociationIndex() {
+        synchronized (fileAssociations) {
+            fileAssociationIndex = null;
+        }
     }
 
     public List<LanguageServerFileAssociation> findLanguageServerDefinitionFor(final @NotNull String serverId) {
@@ -511,6 +586,7 @@ public class LanguageServersRegistry implements Disposable {
                 serverDefinition.registerAssociation(language, languageId);
             }
             fileAssociations.add(new LanguageServerFileAssociation(language, serverDefinition, mapping.getDocumentMatcher(), languageId));
+            invalidateFileAssociationIndex();
         } else if (mapping instanceof ServerFileTypeMapping fileTypeMapping) {
             @NotNull FileType fileType = fileTypeMapping.getFileType();
             @Nullable String languageId = mapping.getLanguageId();
@@ -518,6 +594,7 @@ public class LanguageServersRegistry implements Disposable {
                 serverDefinition.registerAssociation(fileType, languageId);
             }
             fileAssociations.add(new LanguageServerFileAssociation(fileType, serverDefinition, mapping.getDocumentMatcher(), languageId));
+            invalidateFileAssociationIndex();
         } else if (mapping instanceof ServerFileNamePatternMapping fileNamePatternMapping) {
             List<FileNameMatcher> matchers = fileNamePatternMapping.getFileNameMatchers();
             @Nullable String languageId = mapping.getLanguageId();
@@ -536,6 +613,7 @@ public class LanguageServersRegistry implements Disposable {
 
             }
             fileAssociations.add(new LanguageServerFileAssociation(matchers, serverDefinition, mapping.getDocumentMatcher(), languageId));
+            invalidateFileAssociationIndex();
         }
     }
 
@@ -669,6 +747,7 @@ public class LanguageServersRegistry implements Disposable {
                 .filter(mapping -> definition.equals(mapping.getServerDefinition()))
                 .toList();
         fileAssociations.removeAll(mappingsToRemove);
+        invalidateFileAssociationIndex();
         definition.removeAssociations();
     }
 
@@ -746,6 +825,7 @@ public class LanguageServersRegistry implements Disposable {
                 definition.equals(association.getServerDefinition())
                         && language.equals(association.getLanguage()));
         if (removed) {
+            invalidateFileAssociationIndex();
             // Drop the per-language ref inside the def too — otherwise it pins the plugin's Language.
             definition.unregisterAssociation(language);
             updateLanguages();
@@ -781,6 +861,7 @@ public class LanguageServersRegistry implements Disposable {
                 definition.equals(association.getServerDefinition())
                         && fileType.equals(association.getFileType()));
         if (removed) {
+            invalidateFileAssociationIndex();
             definition.unregisterAssociation(fileType);
             updateLanguages();
             notifyMappingsChanged(definition);
@@ -817,6 +898,7 @@ public class LanguageServersRegistry implements Disposable {
             return associationPatterns.equals(targetPatternSet);
         });
         if (removed) {
+            invalidateFileAssociationIndex();
             definition.unregisterFileNamePatternAssociation(targetPatternSet, ext.languageId);
             if (ext.languageId != null) {
                 List<String> languageExtensions = languageIdFileExtensionsCache.get(ext.languageId);
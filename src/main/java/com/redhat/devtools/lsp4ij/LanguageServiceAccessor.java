@@ -535,56 +535,41 @@ public class LanguageServiceAccessor implements Disposable {
         Set<LanguageServerDefinition> syncMatchedDefinitions = null;
         Set<LanguageServerFileAssociation> asyncMatchedDefinitions = null;
 
-        // look for running language servers via content-type
-        Queue<Object> languages = new LinkedList<>();
-        Set<Object> processedContentTypes = new HashSet<>();
+        // look for language servers associated with the language, the file type or the name of the file
         Language language = LSPIJUtils.getFileLanguage(psiFile);
-        languages.add(language);
         FileType fileType = psiFile.getFileType();
-        languages.add(fileType);
-
-        while (!languages.isEmpty()) {
-            Object contentType = languages.poll();
-            if (processedContentTypes.contains(contentType)) {
+        List<LanguageServerFileAssociation> associations = file != null ?
+                LanguageServersRegistry.getInstance().findLanguageServerDefinitionFor(file, language, fileType) :
+                LanguageServersRegistry.getInstance().findLanguageServerDefinitionFor(language, fileType, psiFile.getName());
+
+        // Loop for server/language mapping
+        for (LanguageServerFileAssociation mapping : associations) {
+            if (!mapping.isEnabled(project) || (syncMatchedDefinitions != null && syncMatchedDefinitions.contains(mapping.getServerDefinition()))) {
+                // the mapping is disabled
+                // or the server definition has been already added
                 continue;
             }
-            Language currentLanguage = null;
-            FileType currentFileType = null;
-            if (contentType instanceof FileType) {
-                currentFileType = (FileType) contentType;
-            } else {
-                currentLanguage = (Language) contentType;
-            }
-            // Loop for server/language mapping
-            for (LanguageServerFileAssociation mapping : LanguageServersRegistry.getInstance()
-                    .findLanguageServerDefinitionFor(currentLanguage, currentFileType, psiFile.getName())) {
-                if (mapping == null || !mapping.isEnabled(project) || (syncMatchedDefinitions != null && syncMatchedDefinitions.contains(mapping.getServerDefinition()))) {
-                    // the mapping is disabled
-                    // or the server definition has been already added
-                    continue;
+            if (ignoreMatch) {
+                if (syncMatchedDefinitions == null) {
+                    syncMatchedDefinitions = new HashSet<>();
                 }
-                if (ignoreMatch) {
-                    if (syncMatchedDefinitions == null) {
-                        syncMatchedDefinitions = new HashSet<>();
+                syncMatchedDefinitions.add(mapping.getServerDefinition());
+            } else {
+                if (mapping.shouldBeMatchedAsynchronously(project)) {
+                    // Async mapping
+                    // Mapping must be done asynchronously because the match of DocumentMatcher of the mapping need to be done asynchronously
+                    // This usecase comes from for instance when custom match need to collect classes from the Java project and requires read only action.
+                    if (asyncMatchedDefinitions == null) {
+                        asyncMatchedDefinitions = new HashSet<>();
                     }
-                    syncMatchedDefinitions.add(mapping.getServerDefinition());
+                    asyncMatchedDefinitions.add(mapping);
                 } else {
-                    if (mapping.shouldBeMatchedAsynchronously(project)) {
-                        // Async mapping
-                        // Mapping must be done asynchronously because the match of DocumentMatcher of the mapping need to be done asynchronously
-                        // This usecase comes from for instance when custom match need to collect classes from the Java project and requires read only action.
-                        if (asyncMatchedDefinitions == null) {
-                            asyncMatchedDefinitions = new HashSet<>();
-                        }
-                        asyncMatchedDefinitions.add(mapping);
-                    } else {
-                        // Sync mapping
-                        if (match(file, project, mapping)) {
-                            if (syncMatchedDefinitions == null) {
-                                syncMatchedDefinitions = new HashSet<>();
-                            }
-                            syncMatchedDefinitions.add(mapping.getServerDefinition());
+                    // Sync mapping
+                    if (match(file, project, mapping)) {
+                        if (syncMatchedDefinitions == null) {
+                            syncMatchedDefinitions = new HashSet<>();
                         }
+                        syncMatchedDefinitions.add(mapping.getServerDefinition());
                     }
                 }
             }
@@ -639,6 +624,18 @@ public class LanguageServiceAccessor implements Disposable {
         modificationTracker.incModificationCount();
     }
 
+    /**
+     * Returns the project-level modification tracker, incremented when a language server definition is added / removed
+     * or when a language server status changes.
+     *
+     * @return the project-level modification tracker.
+     */
+    @NotNull
+    @ApiStatus.Internal
+    public ModificationTracker getModificationTracker() {
+        return modificationTracker;
+    }
+
     /**
      * Returns the modification trackers for all language server definitions for the file.
      *
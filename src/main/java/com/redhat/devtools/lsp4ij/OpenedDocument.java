@@ -65,10 +65,8 @@ public class OpenedDocument extends LSPDocumentBase {
     public boolean updateDiagnostics(@NotNull String identifier,
                                      @NotNull List<Diagnostic> diagnostics,
                                      @Nullable Integer version) {
-        if (version != null && synchronizer != null) {
-            if (version != synchronizer.getVersion()) {
-                return false;
-            }
+        if (isStale(version)) {
+            return false;
         }
         if (diagnosticsForServer.update(identifier, diagnostics)) {
             // LSP diagnostics has changed
@@ -81,6 +79,11 @@ public class OpenedDocument extends LSPDocumentBase {
         return false;
     }
 
+    @Override
+    public boolean isStale(@Nullable Integer version) {
+        return version != null && synchronizer != null && version != synchronizer.getVersion();
+    }
+
     @Override
     public Collection<Diagnostic> getDiagnostics() {
         return diagnosticsForServer.getDiagnostics();
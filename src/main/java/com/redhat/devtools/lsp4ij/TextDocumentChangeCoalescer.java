@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the document changes which have not been sent yet with 'textDocument/didChange' and coalesces them:
+ *
+ * <ul>
+ *     <li>with incremental sync, a change which touches or overlaps the text inserted by the previous change
+ *     (ex: typing, backspace) is merged with it in a single minimal range. A merged change which doesn't change
+ *     anything (ex: typing a character and deleting it) is removed.</li>
+ *     <li>with full sync, only the last snapshot of the document is kept. The snapshot is an immutable char sequence
+ *     converted to string only when the changes are sent.</li>
+ * </ul>
+ * <p>
+ * This class is not thread safe.
+ */
+class TextDocumentChangeCoalescer {
+
+    /**
+     * An incremental change, expressed against the document content known by the language server
+     * for its range and against the document content before the change for its offset.
+     *
+     * @param offset    the offset of the change.
+     * @param oldLength the length of the replaced text.
+     * @param text      the inserted text.
+     * @param start     the start position of the replaced text.
+     * @param end       the end position of the replaced text.
+     */
+    private record IncrementalChange(int offset, int oldLength, @NotNull String text,
+                                     @NotNull Position start, @NotNull Position end) {
+    }
+
+    private final List<IncrementalChange> incrementalChanges = new ArrayList<>();
+
+    private @Nullable CharSequence fullText;
+
+    /**
+     * Adds an incremental change. The positions are computed on the document before the change.
+     *
+     * @param offset    the offset of the change.
+     * @param oldLength the length of the replaced text.
+     * @param text      the inserted text.
+     * @param start     the start position of the replaced text.
+     * @param end       the end position of the replaced text.
+     */
+    void addIncrementalChange(int offset, int oldLength, @NotNull String text,
+                              @NotNull Position start, @NotNull Position end) {
+        var change = new IncrementalChange(offset, oldLength, text, start, end);
+        if (!incrementalChanges.isEmpty()) {
+            var last = incrementalChanges.get(incrementalChanges.size() - 1);
+            var merged = merge(last, change);
+            if (merged != null) {
+                incrementalChanges.remove(incrementalChanges.size() - 1);
+                if (merged.oldLength() != 0 || !merged.text().isEmpty()) {
+                    incrementalChanges.add(merged);
+                }
+                return;
+            }
+        }
+        incrementalChanges.add(change);
+    }
+
+    /**
+     * Sets the full text of the document, which replaces all the collected changes.
+     *
+     * @param text the immutable text of the document (ex: {@link com.intellij.openapi.editor.Document#getImmutableCharSequence()}).
+     */
+    void setFullText(@NotNull CharSequence text) {
+        incrementalChanges.clear();
+        fullText = text;
+    }
+
+    /**
+     * Returns true if there are no changes to send and false otherwise.
+     *
+     * @return true if there are no changes to send and false otherwise.
+     */
+    boolean isEmpty() {
+        return fullText == null && incrementalChanges.isEmpty();
+    }
+
+    /**
+     * Returns the changes to send with 'textDocument/didChange' and clears them.
+     *
+     * @return the changes to send with 'textDocument/didChange'.
+     */
+    @NotNull
+    List<TextDocumentContentChangeEvent> drain() {
+        List<TextDocumentContentChangeEvent> events = new ArrayList<>(incrementalChanges.size() + 1);
+        if (fullText != null) {
+            events.add(new TextDocumentContentChangeEvent(fullText.toString()));
+        }
+        for (var change : incrementalChanges) {
+            var event = new TextDocumentContentChangeEvent(new Range(change.start(), change.end()), change.text());
+            event.setRangeLength(change.oldLength());
+            events.add(event);
+        }
+        fullText = null;
+        incrementalChanges.clear();
+        return events;
+    }
+
+    /**
+     * Merges the change b, applied after the change a, with the change a if b touches or overlaps the text
+     * inserted by a, and returns null otherwise.
+     */
+    private static @Nullable IncrementalChange merge(@NotNull IncrementalChange a, @NotNull IncrementalChange b) {
+        int aInsertedEnd = a.offset() + a.text().length();
+        int bEnd = b.offset() + b.oldLength();
+        if (b.offset() > aInsertedEnd || bEnd < a.offset()) {
+            return null;
+        }
+        // Start of the merged change
+        int offset;
+        Position start;
+        if (b.offset() < a.offset()) {
+            // b starts before a, its start position is the same before a
+            offset = b.offset();
+            start = b.start();
+        } else {
+            offset = a.offset();
+            start = a.start();
+        }
+        // End of the merged change, expressed against the document before a
+        int endOffset;
+        Position end;
+        if (bEnd > aInsertedEnd) {
+            // b ends after the text inserted by a, shift its end before a
+            endOffset = bEnd - a.text().length() + a.oldLength();
+            end = shiftBefore(b.end(), a);
+        } else {
+            endOffset = a.offset() + a.oldLength();
+            end = a.end();
+        }
+        // Inserted text: the text inserted by a which is not replaced by b, and the text inserted by b
+        StringBuilder text = new StringBuilder();
+        if (b.offset() > a.offset()) {
+            text.append(a.text(), 0, b.offset() - a.offset());
+        }
+        text.append(b.text());
+        if (bEnd < aInsertedEnd) {
+            text.append(a.text(), bEnd - a.offset(), a.text().length());
+        }
+        return new IncrementalChange(offset, endOffset - offset, text.toString(), start, end);
+    }
+
+    /**
+     * Returns the position, before the change a, of the given position located after the text inserted by a.
+     */
+    private static @NotNull Position shiftBefore(@NotNull Position position, @NotNull IncrementalChange a) {
+        // End position of the text inserted by a
+        String text = a.text();
+        int insertedEndLine = a.start().getLine();
+        int insertedEndCharacter = a.start().getCharacter();
+        int lastLineBreak = text.lastIndexOf('\n');
+        if (lastLineBreak == -1) {
+            insertedEndCharacter += text.length();
+        } else {
+            for (int i = 0; i <= lastLineBreak; i++) {
+                if (text.charAt(i) == '\n') {
+                    insertedEndLine++;
+                }
+            }
+            insertedEndCharacter = text.length() - lastLineBreak - 1;
+        }
+        if (position.getLine() == insertedEndLine) {
+            return new Position(a.end().getLine(), a.end().getCharacter() + position.getCharacter() - insertedEndCharacter);
+        }
+        return new Position(position.getLine() - insertedEndLine + a.end().getLine(), position.getCharacter());
+    }
+}
@@ -12,6 +12,7 @@ package com.redhat.devtools.lsp4ij.client;
 
 import com.google.gson.JsonObject;
 import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.project.Project;
@@ -87,6 +88,16 @@ public class LanguageClientImpl implements LanguageClient, Disposable {
         return wrapper.getClientFeatures();
     }
 
+    /**
+     * Returns the progress manager which handles the '$/progress' notifications of the language server.
+     *
+     * @return the progress manager which handles the '$/progress' notifications of the language server.
+     */
+    @ApiStatus.Internal
+    public @NotNull LSPProgressManager getProgressManager() {
+        return progressManager;
+    }
+
     public final void connect(@NotNull LanguageServer server) {
         this.server = server;
         this.diagnosticHandler = new LSPDiagnosticHandler(wrapper);
@@ -130,9 +141,16 @@ public class LanguageClientImpl implements LanguageClient, Disposable {
     @Override
     public CompletableFuture<ApplyWorkspaceEditResponse> applyEdit(ApplyWorkspaceEditParams params) {
         CompletableFuture<ApplyWorkspaceEditResponse> future = new CompletableFuture<>();
-        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
-            LSPIJUtils.applyWorkspaceEdit(params.getEdit());
-            future.complete(new ApplyWorkspaceEditResponse(true));
+        // The messages received from the language server are consumed in order by a single thread which must not
+        // wait for the EDT (the EDT can wait for the response of a request which is received after this request):
+        // the edit is applied later and the future is completed in the EDT.
+        ApplicationManager.getApplication().invokeLater(() -> {
+            try {
+                WriteCommandAction.runWriteCommandAction(getProject(), () -> LSPIJUtils.applyWorkspaceEdit(params.getEdit()));
+                future.complete(new ApplyWorkspaceEditResponse(true));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
         });
         return future;
     }
@@ -219,6 +237,10 @@ public class LanguageClientImpl implements LanguageClient, Disposable {
                         .refreshPullDiagnostic(DocumentContentSynchronizer.RefreshPullDiagnosticOrigin.ON_WORKSPACE_REFRESH);
             }
         }
+        // Pull again the diagnostics of the whole workspace
+        LSPWorkspaceSupport.getSupport(getProject())
+                .getWorkspaceDiagnosticSupport()
+                .refreshWorkspaceDiagnostics(wrapper);
     }
 
     @Override
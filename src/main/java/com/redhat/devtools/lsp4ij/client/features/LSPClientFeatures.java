@@ -26,12 +26,14 @@ import org.eclipse.lsp4j.jsonrpc.Launcher;
 import org.eclipse.lsp4j.InitializeParams;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.TextDocumentRegistrationOptions;
+import org.eclipse.lsp4j.TextDocumentSyncKind;
 import org.eclipse.lsp4j.services.LanguageServer;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.net.URI;
+import java.nio.file.Path;
 
 /**
  * LSP  client features.
@@ -39,6 +41,11 @@ import java.net.URI;
 @ApiStatus.Experimental
 public class LSPClientFeatures implements Disposable, FileUriSupport {
 
+    /**
+     * Default delay in milliseconds during which the document changes are coalesced with full sync.
+     */
+    public static final int DEFAULT_FULL_SYNC_DID_CHANGE_DEBOUNCE_DELAY = 300;
+
     private LanguageServerWrapper serverWrapper;
 
     private ServerInstaller serverInstaller;
@@ -308,6 +315,22 @@ public class LSPClientFeatures implements Disposable, FileUriSupport {
         return false;
     }
 
+    /**
+     * Returns the delay in milliseconds during which the document changes are coalesced before sending a
+     * 'textDocument/didChange' notification, and 0 to send the changes as soon as the document is committed.
+     * <p>
+     * The pending changes are always sent before a request which depends on the document content.
+     * By default, the changes are debounced with {@link TextDocumentSyncKind#Full} sync, since each notification
+     * sends the whole content of the document.
+     * </p>
+     *
+     * @param syncKind the text document sync kind of the language server.
+     * @return the delay in milliseconds during which the document changes are coalesced.
+     */
+    public int getDidChangeDebounceDelay(@NotNull TextDocumentSyncKind syncKind) {
+        return syncKind == TextDocumentSyncKind.Full ? DEFAULT_FULL_SYNC_DID_CHANGE_DEBOUNCE_DELAY : 0;
+    }
+
     /**
      * Returns true if the JSON-RPC id should be sent as integer instead of string and false otherwise.
      *
@@ -317,6 +340,36 @@ public class LSPClientFeatures implements Disposable, FileUriSupport {
         return false;
     }
 
+    /**
+     * Returns true if the JSON-RPC messages received from the language server should be parsed while they are read,
+     * without copying their body in an intermediate byte array and string, and false otherwise.
+     * <p>
+     * This reduces the memory used to read large responses (ex: 'workspace/symbol', semantic tokens).
+     * </p>
+     *
+     * @return true if the JSON-RPC messages received from the language server should be parsed while they are read
+     * and false otherwise.
+     * @see com.redhat.devtools.lsp4ij.internal.StreamingMessageProducer
+     */
+    public boolean isUseStreamingMessageProducer() {
+        return false;
+    }
+
+    /**
+     * Returns the file where the JSON-RPC messages exchanged with the language server are recorded and null if they
+     * are not recorded.
+     * <p>
+     * Each start of the language server appends a new session in the file, which can be replayed without the language
+     * server to reproduce a performance problem.
+     * </p>
+     *
+     * @return the file where the JSON-RPC messages exchanged with the language server are recorded and null otherwise.
+     * @see com.redhat.devtools.lsp4ij.internal.JsonRpcSessionRecorder
+     */
+    public @Nullable Path getJsonRpcRecordingFile() {
+        return null;
+    }
+
     /**
      * Creates the {@link Launcher.Builder} used to build the LSP launcher.
      *
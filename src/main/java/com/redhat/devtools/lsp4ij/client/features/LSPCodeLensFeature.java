@@ -52,6 +52,17 @@ public class LSPCodeLensFeature extends AbstractLSPDocumentFeature {
         return getCodeLensCapabilityRegistry().isCodeLensSupported(file);
     }
 
+    /**
+     * Returns true if the last code lenses of the given file must be displayed, with their ranges remapped to the modified
+     * text, while the file is modified and a new 'textDocument/codeLens' request revalidates them, and false otherwise.
+     *
+     * @param file the file.
+     * @return true if the last code lenses of the given file must be displayed while they are revalidated and false otherwise.
+     */
+    public boolean isStaleWhileRevalidate(@NotNull PsiFile file) {
+        return false;
+    }
+
     /**
      * Returns true if the file associated with a language server can support resolve codelens and false otherwise.
      *
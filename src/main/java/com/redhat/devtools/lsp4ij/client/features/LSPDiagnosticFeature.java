@@ -323,6 +323,29 @@ public class LSPDiagnosticFeature extends AbstractLSPDocumentFeature {
         return getDiagnosticCapabilityRegistry().isDiagnosticSupported(file);
     }
 
+    /**
+     * Returns true if the language server can support workspace pull diagnostic and false otherwise.
+     *
+     * @return true if the language server can support workspace pull diagnostic and false otherwise.
+     */
+    public boolean isWorkspaceDiagnosticSupported() {
+        return getDiagnosticCapabilityRegistry().isWorkspaceDiagnosticSupported();
+    }
+
+    /**
+     * Returns true if the language server holds the 'workspace/diagnostic' request open until the diagnostics change
+     * (long polling) and false otherwise.
+     * <p>
+     * When true, a new 'workspace/diagnostic' request is sent as soon as the previous one is answered. Otherwise, a new
+     * request is only sent after a document change or a 'workspace/diagnostic/refresh'.
+     *
+     * @return true if the language server holds the 'workspace/diagnostic' request open until the diagnostics change
+     * and false otherwise.
+     */
+    public boolean isWorkspaceDiagnosticLongPolling() {
+        return false;
+    }
+
     /**
      * Returns the diagnostic identifier and null otherwise.
      *
@@ -341,6 +364,21 @@ public class LSPDiagnosticFeature extends AbstractLSPDocumentFeature {
         return true;
     }
 
+    /**
+     * Returns the maximum size in bytes of the compressed diagnostics pulled for the closed files, or a negative value
+     * (default) to keep all of them.
+     * <p>
+     * The diagnostics of the closed files are always stored compressed. When a maximum size is set and is exceeded,
+     * the diagnostics pulled with 'workspace/diagnostic' of the least recently used closed files are evicted: the closed
+     * files are still reported in the Project View and their diagnostics are pulled again when they are inspected.
+     * The published diagnostics are never evicted because they cannot be requested again.
+     *
+     * @return the maximum size in bytes of the compressed diagnostics kept for the closed files.
+     */
+    public long getClosedDocumentsDiagnosticsMaxSize() {
+        return -1;
+    }
+
     public DiagnosticCapabilityRegistry getDiagnosticCapabilityRegistry() {
         if (diagnosticCapabilityRegistry == null) {
             initDiagnosticCapabilityRegistry();
@@ -40,6 +40,17 @@ public class LSPDocumentColorFeature extends AbstractLSPDocumentFeature {
         return getDocumentColorCapabilityRegistry().isDocumentColorSupported(file);
     }
 
+    /**
+     * Returns true if the last colors of the given file must be displayed, with their ranges remapped to the modified
+     * text, while the file is modified and a new 'textDocument/documentColor' request revalidates them, and false otherwise.
+     *
+     * @param file the file.
+     * @return true if the last colors of the given file must be displayed while they are revalidated and false otherwise.
+     */
+    public boolean isStaleWhileRevalidate(@NotNull PsiFile file) {
+        return false;
+    }
+
     public DocumentColorCapabilityRegistry getDocumentColorCapabilityRegistry() {
         if (documentColorCapabilityRegistry == null) {
             initDocumentColorCapabilityRegistry();
@@ -40,6 +40,17 @@ public class LSPDocumentLinkFeature extends AbstractLSPDocumentFeature {
         return getDocumentLinkCapabilityRegistry().isDocumentLinkSupported(file);
     }
 
+    /**
+     * Returns true if the last document links of the given file must be displayed, with their ranges remapped to the modified
+     * text, while the file is modified and a new 'textDocument/documentLink' request revalidates them, and false otherwise.
+     *
+     * @param file the file.
+     * @return true if the last document links of the given file must be displayed while they are revalidated and false otherwise.
+     */
+    public boolean isStaleWhileRevalidate(@NotNull PsiFile file) {
+        return false;
+    }
+
     public DocumentLinkCapabilityRegistry getDocumentLinkCapabilityRegistry() {
         if (documentLinkCapabilityRegistry == null) {
             initDocumentLinkCapabilityRegistry();
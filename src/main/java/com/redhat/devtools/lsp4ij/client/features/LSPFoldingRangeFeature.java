@@ -43,6 +43,17 @@ public class LSPFoldingRangeFeature extends AbstractLSPDocumentFeature {
         return getFoldingRangeCapabilityRegistry().isFoldingRangeSupported(file);
     }
 
+    /**
+     * Returns true if the last folding ranges of the given file must be displayed, with their ranges remapped to the modified
+     * text, while the file is modified and a new 'textDocument/foldingRange' request revalidates them, and false otherwise.
+     *
+     * @param file the file.
+     * @return true if the last folding ranges of the given file must be displayed while they are revalidated and false otherwise.
+     */
+    public boolean isStaleWhileRevalidate(@NotNull PsiFile file) {
+        return false;
+    }
+
     public FoldingRangeCapabilityRegistry getFoldingRangeCapabilityRegistry() {
         if (foldingRangeCapabilityRegistry == null) {
             initFoldingRangeCapabilityRegistry();
@@ -40,6 +40,17 @@ public class LSPInlayHintFeature extends AbstractLSPDocumentFeature {
         return getInlayHintCapabilityRegistry().isInlayHintSupported(file);
     }
 
+    /**
+     * Returns true if the last inlay hints of the given file must be displayed, with their ranges remapped to the modified
+     * text, while the file is modified and a new 'textDocument/inlayHint' request revalidates them, and false otherwise.
+     *
+     * @param file the file.
+     * @return true if the last inlay hints of the given file must be displayed while they are revalidated and false otherwise.
+     */
+    public boolean isStaleWhileRevalidate(@NotNull PsiFile file) {
+        return false;
+    }
+
     /**
      * Returns true if the language server can support resolve inlayHint and false otherwise.
      *
@@ -49,6 +49,30 @@ public class LSPSemanticTokensFeature extends AbstractLSPDocumentFeature impleme
         return getSemanticTokensCapabilityRegistry().isSemanticTokensSupported(file);
     }
 
+    /**
+     * Returns true if the file associated with a language server can support 'textDocument/semanticTokens/full/delta'
+     * and false otherwise.
+     *
+     * @param file the file.
+     * @return true if the file associated with a language server can support 'textDocument/semanticTokens/full/delta'
+     * and false otherwise.
+     */
+    public boolean isSemanticTokensFullDeltaSupported(@NotNull PsiFile file) {
+        return getSemanticTokensCapabilityRegistry().isSemanticTokensFullDeltaSupported(file);
+    }
+
+    /**
+     * Returns true if the file associated with a language server can support 'textDocument/semanticTokens/range'
+     * and false otherwise.
+     *
+     * @param file the file.
+     * @return true if the file associated with a language server can support 'textDocument/semanticTokens/range'
+     * and false otherwise.
+     */
+    public boolean isSemanticTokensRangeSupported(@NotNull PsiFile file) {
+        return getSemanticTokensCapabilityRegistry().isSemanticTokensRangeSupported(file);
+    }
+
     public SemanticTokensCapabilityRegistry getSemanticTokensCapabilityRegistry() {
         if (semanticTokensCapabilityRegistry == null) {
             initSemanticTokensCapabilityRegistry();
@@ -13,6 +13,7 @@ package com.redhat.devtools.lsp4ij.client.features;
 import com.redhat.devtools.lsp4ij.ServerStatus;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import static com.redhat.devtools.lsp4ij.server.capabilities.TextDocumentServerCapabilityRegistry.hasCapability;
@@ -55,4 +56,21 @@ public class LSPWorkspaceSymbolFeature extends AbstractLSPWorkspaceFeature {
         // Default to unsupported
         return false;
     }
+
+    /**
+     * Determines whether or not the workspace/symbol result of the language server for the given query contains all
+     * the matching symbols. A complete result is used to answer the refinements of its query (ex : 'foo' then 'fooB'
+     * in the Go to Symbol popup) by filtering it on the client side instead of consuming new workspace/symbol requests.
+     * <p>
+     * LSP doesn't provide an 'isIncomplete' flag for workspace/symbol, whereas most language servers truncate their
+     * result (ex : 100 symbols for gopls and clangd, 128 for rust-analyzer), so by default a result is considered as
+     * complete when it contains less than 100 symbols.
+     *
+     * @param query       the workspace/symbol query.
+     * @param symbolCount the number of symbols returned by the language server.
+     * @return true if the workspace/symbol result contains all the symbols matching the query and false otherwise.
+     */
+    public boolean isCompleteResult(@NotNull String query, int symbolCount) {
+        return symbolCount < 100;
+    }
 }
@@ -527,6 +527,7 @@ public class LSPConsoleToolWindowPanel extends SimpleToolWindowPanel implements
         private LanguageServerView detailView;
         private ConsoleView tracesConsoleView;
         private ConsoleView logsConsoleView;
+        private LanguageServerMetricsPanel metricsPanel;
 
         public ConsoleContentPanel(@NotNull DefaultMutableTreeNode key) {
             if (key instanceof LanguageServerTreeNode) {
@@ -560,6 +561,10 @@ public class LSPConsoleToolWindowPanel extends SimpleToolWindowPanel implements
                 tabbedPane.add(LanguageServerBundle.message("lsp.console.tabs.logs.title"), logsConsoleView.getComponent());
                 configureConsoleToolbar(logsConsoleView);
 
+                metricsPanel = new LanguageServerMetricsPanel(((LanguageServerProcessTreeNode) key).getLanguageServer().getRequestMetrics());
+                Disposer.register(LSPConsoleToolWindowPanel.this, metricsPanel);
+                tabbedPane.add(LanguageServerBundle.message("lsp.console.tabs.metrics.title"), metricsPanel);
+
                 showConsole();
             }
         }
@@ -642,6 +647,9 @@ public class LSPConsoleToolWindowPanel extends SimpleToolWindowPanel implements
             if (tracesConsoleView != null) {
                 tracesConsoleView.dispose();
             }
+            if (metricsPanel != null) {
+                Disposer.dispose(metricsPanel);
+            }
         }
 
     }
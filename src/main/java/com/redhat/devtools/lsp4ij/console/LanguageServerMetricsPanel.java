@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.console;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.table.TableView;
+import com.intellij.util.Alarm;
+import com.intellij.util.ui.ColumnInfo;
+import com.intellij.util.ui.ListTableModel;
+import com.intellij.util.ui.components.BorderLayoutPanel;
+import com.redhat.devtools.lsp4ij.LanguageServerBundle;
+import com.redhat.devtools.lsp4ij.metrics.LanguageServerRequestMetrics;
+import com.redhat.devtools.lsp4ij.metrics.LanguageServerRequestMetrics.RequestMetrics;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.event.HierarchyEvent;
+import java.util.ArrayList;
+import java.util.function.Function;
+
+/**
+ * Metrics panel which shows the LSP request metrics of a language server by LSP method (latency percentiles,
+ * in-flight requests, cancellations, errors and response sizes).
+ * <p>
+ * The metrics are refreshed every second while the panel is showing.
+ */
+public class LanguageServerMetricsPanel extends BorderLayoutPanel implements Disposable {
+
+    private static final int REFRESH_DELAY = 1000;
+
+    private final @NotNull LanguageServerRequestMetrics metrics;
+    private final ListTableModel<RequestMetrics> model;
+    private final Alarm refreshAlarm;
+
+    public LanguageServerMetricsPanel(@NotNull LanguageServerRequestMetrics metrics) {
+        this.metrics = metrics;
+        this.model = new ListTableModel<>(
+                column("lsp.console.metrics.method", RequestMetrics::getMethod),
+                column("lsp.console.metrics.count", m -> String.valueOf(m.getCompletedCount())),
+                column("lsp.console.metrics.inFlight", m -> String.valueOf(m.getInFlightCount())),
+                column("lsp.console.metrics.p50", m -> formatMillis(m.getLatency().getPercentileMillis(50))),
+                column("lsp.console.metrics.p90", m -> formatMillis(m.getLatency().getPercentileMillis(90))),
+                column("lsp.console.metrics.p99", m -> formatMillis(m.getLatency().getPercentileMillis(99))),
+                column("lsp.console.metrics.max", m -> formatMillis(m.getLatency().getMaxMillis())),
+                column("lsp.console.metrics.server.p50", m -> formatMillis(m.getServerLatency().getPercentileMillis(50))),
+                column("lsp.console.metrics.server.p99", m -> formatMillis(m.getServerLatency().getPercentileMillis(99))),
+                column("lsp.console.metrics.cancelled", m -> String.valueOf(m.getCancelledCount())),
+                column("lsp.console.metrics.errors", m -> String.valueOf(m.getErrorCount())),
+                column("lsp.console.metrics.payload.avg", m -> formatBytes(m.getAveragePayloadBytes())),
+                column("lsp.console.metrics.payload.max", m -> formatBytes(m.getMaxPayloadBytes())));
+        var table = new TableView<>(model);
+        addToCenter(ScrollPaneFactory.createScrollPane(table));
+
+        refreshAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && isShowing()) {
+                refresh();
+            }
+        });
+    }
+
+    private void refresh() {
+        refreshAlarm.cancelAllRequests();
+        if (!isShowing() || refreshAlarm.isDisposed()) {
+            return;
+        }
+        model.setItems(metrics.getRequestMetrics());
+        refreshAlarm.addRequest(this::refresh, REFRESH_DELAY);
+    }
+
+    private static ColumnInfo<RequestMetrics, String> column(@NotNull String key,
+                                                             @NotNull Function<RequestMetrics, String> valueProvider) {
+        return new ColumnInfo<>(LanguageServerBundle.message(key)) {
+            @Override
+            public String valueOf(RequestMetrics requestMetrics) {
+                return valueProvider.apply(requestMetrics);
+            }
+        };
+    }
+
+    private static String formatMillis(double millis) {
+        return String.format("%.1f ms", millis);
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024d);
+        }
+        return String.format("%.1f MB", bytes / (1024d * 1024d));
+    }
+
+    @Override
+    public void dispose() {
+        // The refresh alarm is disposed with the panel, release the displayed metrics
+        refreshAlarm.cancelAllRequests();
+        model.setItems(new ArrayList<>());
+    }
+}
@@ -43,6 +43,8 @@ import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
 import java.util.*;
 import java.util.List;
 
@@ -127,6 +129,13 @@ public class LanguageServerExplorer extends SimpleToolWindowPanel implements Dis
 
     private boolean disposed;
 
+    private final HierarchyListener consoleShowingListener = event -> {
+        if ((event.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && !isDisposed() && isConsoleShowing()) {
+            // Display the LSP traces which have been kept while the LSP console was hidden
+            flushTraces();
+        }
+    };
+
     private final TreeSelectionListener treeSelectionListener = event -> {
         if (isDisposed()) {
             return;
@@ -154,6 +163,7 @@ public class LanguageServerExplorer extends SimpleToolWindowPanel implements Dis
         LanguageServerLifecycleManager.getInstance(panel.getProject())
                 .addLanguageServerLifecycleListener(listener);
         LanguageServersRegistry.getInstance().addLanguageServerDefinitionListener(definitionListener);
+        panel.addHierarchyListener(consoleShowingListener);
     }
 
     private void onLanguageServerSelected(LanguageServerTreeNode treeNode) {
@@ -309,6 +319,7 @@ public class LanguageServerExplorer extends SimpleToolWindowPanel implements Dis
     public void dispose() {
         this.disposed = true;
         tree.removeTreeSelectionListener(treeSelectionListener);
+        panel.removeHierarchyListener(consoleShowingListener);
         LanguageServerLifecycleManager.getInstance(panel.getProject())
                 .removeLanguageServerLifecycleListener(listener);
         LanguageServersRegistry.getInstance().removeLanguageServerDefinitionListener(definitionListener);
@@ -318,6 +329,28 @@ public class LanguageServerExplorer extends SimpleToolWindowPanel implements Dis
         return disposed || getProject().isDisposed() || listener.isDisposed();
     }
 
+    /**
+     * Returns true if the LSP console is showing and false otherwise.
+     *
+     * @return true if the LSP console is showing and false otherwise.
+     */
+    public boolean isConsoleShowing() {
+        return panel.isShowing();
+    }
+
+    private void flushTraces() {
+        DefaultMutableTreeNode root = (DefaultMutableTreeNode) tree.getModel().getRoot();
+        Enumeration<TreeNode> children = root.children();
+        while (children.hasMoreElements()) {
+            if (children.nextElement() instanceof LanguageServerTreeNode serverTreeNode) {
+                var processTreeNode = serverTreeNode.getActiveProcessTreeNode();
+                if (processTreeNode != null) {
+                    listener.scheduleFlushLogs(processTreeNode.getLanguageServer(), processTreeNode);
+                }
+            }
+        }
+    }
+
     public void showTrace(LanguageServerProcessTreeNode processTreeNode, String message) {
         panel.showTrace(processTreeNode, message);
     }
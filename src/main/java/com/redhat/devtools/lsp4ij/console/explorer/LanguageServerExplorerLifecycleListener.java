@@ -15,6 +15,7 @@ package com.redhat.devtools.lsp4ij.console.explorer;
 
 import com.redhat.devtools.lsp4ij.LanguageServerWrapper;
 import com.redhat.devtools.lsp4ij.ServerStatus;
+import com.redhat.devtools.lsp4ij.internal.BoundedRingBuffer;
 import com.redhat.devtools.lsp4ij.lifecycle.LanguageServerLifecycleListener;
 import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
 import org.eclipse.lsp4j.jsonrpc.messages.Message;
@@ -22,8 +23,6 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.concurrent.ConcurrentLinkedQueue;
-
 import static com.redhat.devtools.lsp4ij.internal.ApplicationUtils.invokeLaterIfNeeded;
 
 /**
@@ -65,8 +64,8 @@ public class LanguageServerExplorerLifecycleListener implements LanguageServerLi
         }
     }
 
-    private void scheduleFlushLogs(@NotNull LanguageServerWrapper languageServer,
-                                   @NotNull LanguageServerProcessTreeNode processTreeNode) {
+    void scheduleFlushLogs(@NotNull LanguageServerWrapper languageServer,
+                           @NotNull LanguageServerProcessTreeNode processTreeNode) {
         var traceFlushAlarm = languageServer.getTraceFlushAlarm();
         if (traceFlushAlarm == null) {
             return;
@@ -74,16 +73,20 @@ public class LanguageServerExplorerLifecycleListener implements LanguageServerLi
         traceFlushAlarm.addRequest(() -> {
             if (disposed || explorer.isDisposed()) return;
 
+            // The LSP console is hidden: keep the raw LSP traces (the oldest are dropped when there are too many),
+            // they are formatted when the LSP console is shown
+            if (!explorer.isConsoleShowing()) return;
+
             // Get cached LSP traces
-            ConcurrentLinkedQueue<LanguageServerWrapper.LSPTrace> traces = languageServer.getTraces();
+            BoundedRingBuffer<LanguageServerWrapper.LSPTrace> traces = languageServer.getTraces();
             if (traces == null || traces.isEmpty()) return;
 
             // There are some LSP traces to display in the LSP console
             StringBuilder batch = new StringBuilder();
-            LanguageServerWrapper.LSPTrace lspTrace;
             // Merge LSP traces in one String
-            while ((lspTrace = traces.poll()) != null) {
-                batch.append(lspTrace.toMessage());
+            long dropped = traces.drain(lspTrace -> batch.append(lspTrace.toMessage()));
+            if (dropped > 0) {
+                batch.insert(0, dropped + " LSP traces have been dropped because they were not displayed in the LSP console.\n\n");
             }
 
             // Flush logs in the UI Thread
@@ -77,7 +77,15 @@ public class TracingMessageConsumer {
      * if it is a request, response, or notification.
      */
     public String log(Message message, MessageConsumer messageConsumer, ServerTrace serverTrace) throws MessageIssueException, JsonRpcException {
-        final Instant now = clock.instant();
+        return log(message, messageConsumer, serverTrace, clock.instant());
+    }
+
+    /**
+     * Constructs a log string for a given {@link Message} sent or received at the given instant.
+     * This method is used when the message is formatted later than it has been sent or received,
+     * to keep the right date and latency in the log.
+     */
+    public String log(Message message, MessageConsumer messageConsumer, ServerTrace serverTrace, Instant now) throws MessageIssueException, JsonRpcException {
         final String date = dateTimeFormatter.format(now);
 
         if (messageConsumer instanceof StreamMessageConsumer) {
@@ -10,7 +10,12 @@
  ******************************************************************************/
 package com.redhat.devtools.lsp4ij.features;
 
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
 import com.intellij.psi.PsiFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
 import com.redhat.devtools.lsp4ij.LanguageServiceAccessor;
 import com.redhat.devtools.lsp4ij.client.features.FileUriSupport;
@@ -20,11 +25,18 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 
 /**
  * Base class to consume LSP requests (ex : textDocument/codeLens) from all language servers applying to a given Psi file.
+ * <p>
+ * When the stale-while-revalidate mode is supported by the feature and is enabled by all the language servers of the
+ * Psi file (see {@link #isStaleWhileRevalidate(LSPClientFeatures)}), the last result stays available when the Psi file
+ * is modified: its ranges are remapped to the current document text with {@link #remapStaleResult(Object, LSPRangeMapper)}
+ * while a new LSP request revalidates it in background, and the daemon code analyzer is restarted when the fresh
+ * result is available.
  *
  * @param <Params> the LSP requests parameters (ex : CodelensParams).
  * @param <Result> the LSP response results (ex : List<CodeLensData>).
@@ -39,14 +51,28 @@ public abstract class AbstractLSPDocumentFeatureSupport<Params, Result> extends
     // true if the future must be canceled when the Psi file is modified and false otherwise.
     private final boolean cancelWhenFileModified;
 
+    // true if the last result can be remapped and returned while a new LSP request revalidates it and false otherwise.
+    private final boolean staleWhileRevalidateSupported;
+    // true if the stale-while-revalidate mode was enabled when the last LSP request has been sent and false otherwise.
+    private volatile boolean staleWhileRevalidate;
+    // The last completed result with the document text for which it has been computed (stale-while-revalidate mode)
+    private volatile @Nullable StaleResult<Result> staleResult;
+    // true if a stale result has been returned since the last LSP request has been sent
+    private volatile boolean staleResultServed;
+
     public AbstractLSPDocumentFeatureSupport(@NotNull PsiFile file) {
         this(file, true);
     }
 
     public AbstractLSPDocumentFeatureSupport(@NotNull PsiFile file, boolean cancelWhenFileModified) {
+        this(file, cancelWhenFileModified, false);
+    }
+
+    public AbstractLSPDocumentFeatureSupport(@NotNull PsiFile file, boolean cancelWhenFileModified, boolean staleWhileRevalidateSupported) {
         this.file = file;
         this.modificationStamp = -1;
         this.cancelWhenFileModified = cancelWhenFileModified;
+        this.staleWhileRevalidateSupported = staleWhileRevalidateSupported;
     }
 
     /**
@@ -58,6 +84,124 @@ public abstract class AbstractLSPDocumentFeatureSupport<Params, Result> extends
         return file;
     }
 
+    @Override
+    public @Nullable CompletableFuture<Result> getFeatureData(Params params) {
+        StaleResult<Result> stale = staleResult;
+        if (!staleWhileRevalidate || stale == null) {
+            return super.getFeatureData(params);
+        }
+        CompletableFuture<Result> future = getFuture();
+        boolean inProgress = future != null && !future.isDone();
+        if (!inProgress) {
+            // - the current result is up-to-date: it is returned as is
+            // - or the LSP requests must be executed (Psi file modified, LSP requests canceled or failed)
+            future = super.getFeatureData(params);
+            if (future == null || future.isDone()) {
+                return future;
+            }
+        }
+        // LSP requests are in progress, even if they have been sent for an old version of the Psi file: they are not
+        // canceled at each key stroke, the Psi file is revalidated when they complete.
+        Result result = getStaleResult(stale);
+        if (result == null) {
+            // The stale result cannot be remapped
+            return super.getFeatureData(params);
+        }
+        staleResultServed = true;
+        return CompletableFuture.completedFuture(result);
+    }
+
+    /**
+     * Returns the given result, computed for an old version of the Psi file, with its ranges remapped to the current
+     * document text with the given mapper and null if the result cannot be remapped.
+     * <p>
+     * This method is called only in the stale-while-revalidate mode, the given result must not be updated.
+     *
+     * @param result the result computed for an old version of the Psi file.
+     * @param mapper the mapper of the LSP ranges from the old document text to the current document text.
+     * @return the given result remapped to the current document text and null if the result cannot be remapped.
+     */
+    protected @Nullable Result remapStaleResult(@NotNull Result result, @NotNull LSPRangeMapper mapper) {
+        return null;
+    }
+
+    /**
+     * Returns true if the given language server accepts the stale-while-revalidate mode for the Psi file and false
+     * otherwise (default). The mode is enabled only when all the started language servers of the Psi file accept it,
+     * since the stale result contains the results of all of them.
+     *
+     * @param clientFeatures the client features of a language server of the Psi file.
+     * @return true if the given language server accepts the stale-while-revalidate mode and false otherwise.
+     */
+    protected boolean isStaleWhileRevalidate(@NotNull LSPClientFeatures clientFeatures) {
+        return false;
+    }
+
+    boolean isStaleWhileRevalidateEnabled() {
+        if (!staleWhileRevalidateSupported) {
+            return false;
+        }
+        var accessor = LanguageServiceAccessor.getInstance(file.getProject());
+        return accessor.hasAny(file, server -> true) &&
+                !accessor.hasAny(file, server -> !isStaleWhileRevalidate(server.getClientFeatures()));
+    }
+
+    private @Nullable Result getStaleResult(@NotNull StaleResult<Result> stale) {
+        Document document = LSPIJUtils.getDocument(file);
+        if (document == null) {
+            return null;
+        }
+        CharSequence text = document.getImmutableCharSequence();
+        long documentStamp = document.getModificationStamp();
+        if (documentStamp == stale.documentStamp) {
+            return stale.result;
+        }
+        synchronized (stale) {
+            if (stale.remappedStamp != documentStamp) {
+                stale.remappedResult = remapStaleResult(stale.result, new LSPRangeMapper(stale.text, text));
+                stale.remappedStamp = documentStamp;
+            }
+            return stale.remappedResult;
+        }
+    }
+
+    private void trackStaleResult(@NotNull CompletableFuture<Result> future) {
+        Document document = LSPIJUtils.getDocument(file);
+        if (document == null) {
+            return;
+        }
+        CharSequence text = document.getImmutableCharSequence();
+        long documentStamp = document.getModificationStamp();
+        future.thenAccept(result -> {
+            if (result == null) {
+                return;
+            }
+            StaleResult<Result> previous = staleResult;
+            if (previous == null || previous.documentStamp <= documentStamp) {
+                staleResult = new StaleResult<>(result, text, documentStamp);
+            }
+            if (staleResultServed || document.getModificationStamp() != documentStamp) {
+                // A stale result has been displayed, or the Psi file has been modified since the LSP requests have
+                // been sent: restart the daemon code analyzer to display the fresh result or to revalidate it.
+                staleResultServed = false;
+                restartDaemonCodeAnalyzer();
+            }
+        });
+    }
+
+    void restartDaemonCodeAnalyzer() {
+        var project = file.getProject();
+        ReadAction.nonBlocking((Callable<Void>) () -> {
+                    if (file.isValid()) {
+                        DaemonCodeAnalyzer.getInstance(project).restart(file);
+                    }
+                    return null;
+                })
+                .expireWith(project)
+                .coalesceBy(this)
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
     @Override
     protected boolean checkValid() {
         return !cancelWhenFileModified || this.file.getModificationStamp() == modificationStamp;
@@ -73,6 +217,12 @@ public abstract class AbstractLSPDocumentFeatureSupport<Params, Result> extends
         CompletableFuture<Result> future = super.load(params);
         // Update the modification stamp with the current modification stamp of the Psi file
         this.modificationStamp = this.file.getModificationStamp();
+        staleWhileRevalidate = isStaleWhileRevalidateEnabled();
+        if (!staleWhileRevalidate) {
+            staleResult = null;
+        } else if (future != null) {
+            trackStaleResult(future);
+        }
         return future;
     }
 
@@ -90,4 +240,22 @@ public abstract class AbstractLSPDocumentFeatureSupport<Params, Result> extends
                                                 @NotNull LanguageServerItem languageServer) {
         textDocument.setUri(FileUriSupport.toString(file.getVirtualFile(), languageServer.getClientFeatures()));
     }
+
+    /**
+     * The last completed result with the document text for which it has been computed and its last remapped result.
+     */
+    private static class StaleResult<Result> {
+
+        private final @NotNull Result result;
+        private final @NotNull CharSequence text;
+        private final long documentStamp;
+        private long remappedStamp = -1;
+        private @Nullable Result remappedResult;
+
+        StaleResult(@NotNull Result result, @NotNull CharSequence text, long documentStamp) {
+            this.result = result;
+            this.text = text;
+            this.documentStamp = documentStamp;
+        }
+    }
 }
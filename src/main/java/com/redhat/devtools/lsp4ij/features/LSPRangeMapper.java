@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Maps the LSP positions / ranges computed for an old text of a document to the current text of the document.
+ * <p>
+ * The changed region is computed as the text between the common prefix and the common suffix of the two texts:
+ *
+ * <ul>
+ *     <li>a position before the changed region is kept.</li>
+ *     <li>a position after the changed region is shifted with the length delta of the change.</li>
+ *     <li>a position inside the changed region cannot be mapped.</li>
+ * </ul>
+ * <p>
+ * This is the same behavior as a {@link com.intellij.openapi.editor.RangeMarker} which is invalidated when its text
+ * is replaced, without the cost of registering a range marker for each LSP range in the document.
+ */
+public class LSPRangeMapper {
+
+    private final @NotNull LineIndex oldLines;
+    private final @NotNull LineIndex newLines;
+    // Start offset of the changed region (same in the old and new text)
+    private final int changeStart;
+    // End offset (exclusive) of the changed region in the old text
+    private final int oldChangeEnd;
+    // Length delta between the new text and the old text
+    private final int delta;
+
+    public LSPRangeMapper(@NotNull CharSequence oldText, @NotNull CharSequence newText) {
+        this.oldLines = new LineIndex(oldText);
+        this.newLines = new LineIndex(newText);
+        int oldLength = oldText.length();
+        int newLength = newText.length();
+        int minLength = Math.min(oldLength, newLength);
+        int prefix = 0;
+        while (prefix < minLength && oldText.charAt(prefix) == newText.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < minLength - prefix && oldText.charAt(oldLength - suffix - 1) == newText.charAt(newLength - suffix - 1)) {
+            suffix++;
+        }
+        this.changeStart = prefix;
+        this.oldChangeEnd = oldLength - suffix;
+        this.delta = newLength - oldLength;
+    }
+
+    /**
+     * Returns true if the old and new texts are the same and false otherwise.
+     *
+     * @return true if the old and new texts are the same and false otherwise.
+     */
+    public boolean isIdentity() {
+        return delta == 0 && changeStart == oldChangeEnd;
+    }
+
+    /**
+     * Returns the given range mapped to the current text and null if the range overlaps the changed region.
+     *
+     * @param range the range computed for the old text.
+     * @return the given range mapped to the current text and null if the range overlaps the changed region.
+     */
+    public @Nullable Range mapRange(@NotNull Range range) {
+        int oldStart = oldLines.toOffset(range.getStart());
+        int start = mapStartOffset(oldStart);
+        if (start == -1) {
+            return null;
+        }
+        int oldEnd = oldLines.toOffset(range.getEnd());
+        // An empty range is moved like a position
+        int end = oldEnd == oldStart ? start : mapEndOffset(oldEnd);
+        if (end == -1 || end < start) {
+            return null;
+        }
+        return new Range(newLines.toPosition(start), newLines.toPosition(end));
+    }
+
+    /**
+     * Returns the given position mapped to the current text and null if the position is inside the changed region.
+     *
+     * @param position the position computed for the old text.
+     * @return the given position mapped to the current text and null if the position is inside the changed region.
+     */
+    public @Nullable Position mapPosition(@NotNull Position position) {
+        int offset = mapStartOffset(oldLines.toOffset(position));
+        return offset != -1 ? newLines.toPosition(offset) : null;
+    }
+
+    /**
+     * Returns the given old offset mapped to the new text, when it starts a range, and -1 if it is inside the changed
+     * region. A start offset at an insertion point moves after the inserted text.
+     *
+     * @param offset the offset in the old text.
+     * @return the given old offset mapped to the new text and -1 if it is inside the changed region.
+     */
+    int mapStartOffset(int offset) {
+        if (offset < changeStart || (offset == changeStart && oldChangeEnd > changeStart)) {
+            return offset;
+        }
+        if (offset >= oldChangeEnd) {
+            return offset + delta;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the given old offset mapped to the new text, when it ends a range, and -1 if it is inside the changed
+     * region. An end offset at an insertion point stays before the inserted text.
+     *
+     * @param offset the offset in the old text.
+     * @return the given old offset mapped to the new text and -1 if it is inside the changed region.
+     */
+    int mapEndOffset(int offset) {
+        if (offset <= changeStart) {
+            return offset;
+        }
+        if (offset >= oldChangeEnd) {
+            return offset + delta;
+        }
+        return -1;
+    }
+
+    /**
+     * Line start offsets of a text, used to convert LSP positions to offsets and offsets to LSP positions.
+     */
+    private static class LineIndex {
+
+        private final int length;
+        private final int[] lineStarts;
+        private final int lineCount;
+
+        LineIndex(@NotNull CharSequence text) {
+            this.length = text.length();
+            int[] starts = new int[16];
+            int count = 1;
+            for (int i = 0; i < length; i++) {
+                if (text.charAt(i) == '\n') {
+                    if (count == starts.length) {
+                        int[] grown = new int[starts.length * 2];
+                        System.arraycopy(starts, 0, grown, 0, count);
+                        starts = grown;
+                    }
+                    starts[count++] = i + 1;
+                }
+            }
+            this.lineStarts = starts;
+            this.lineCount = count;
+        }
+
+        int toOffset(@NotNull Position position) {
+            int line = position.getLine();
+            if (line < 0) {
+                return 0;
+            }
+            if (line >= lineCount) {
+                return length;
+            }
+            int lineStart = lineStarts[line];
+            int lineEnd = line + 1 < lineCount ? lineStarts[line + 1] - 1 : length;
+            return Math.min(lineStart + Math.max(position.getCharacter(), 0), lineEnd);
+        }
+
+        @NotNull
+        Position toPosition(int offset) {
+            int low = 0;
+            int high = lineCount - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (lineStarts[middle] <= offset) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return new Position(low, offset - lineStarts[low]);
+        }
+    }
+}
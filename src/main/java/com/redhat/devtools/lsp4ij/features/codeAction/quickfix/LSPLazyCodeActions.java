@@ -85,6 +85,15 @@ public class LSPLazyCodeActions implements LSPLazyCodeActionProvider {
         }
     }
 
+    /**
+     * Returns the diagnostics for which the code actions are loaded.
+     *
+     * @return the diagnostics for which the code actions are loaded.
+     */
+    public @NotNull List<Diagnostic> getDiagnostics() {
+        return diagnostics;
+    }
+
     /**
      * Returns the LSP CodeAction for the given index and null otherwise.
      *
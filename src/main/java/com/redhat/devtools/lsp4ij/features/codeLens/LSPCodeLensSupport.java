@@ -13,11 +13,14 @@ package com.redhat.devtools.lsp4ij.features.codeLens;
 import com.intellij.psi.PsiFile;
 import com.redhat.devtools.lsp4ij.LSPRequestConstants;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.client.features.LSPClientFeatures;
 import com.redhat.devtools.lsp4ij.features.AbstractLSPDocumentFeatureSupport;
+import com.redhat.devtools.lsp4ij.features.LSPRangeMapper;
 import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
 import com.redhat.devtools.lsp4ij.internal.CompletableFutures;
 import org.eclipse.lsp4j.CodeLens;
 import org.eclipse.lsp4j.CodeLensParams;
+import org.eclipse.lsp4j.Range;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
@@ -37,7 +40,15 @@ import java.util.concurrent.CompletableFuture;
 public class LSPCodeLensSupport extends AbstractLSPDocumentFeatureSupport<CodeLensParams, CodeLensDataResult> {
 
     public LSPCodeLensSupport(@NotNull PsiFile file) {
-        super(file);
+        super(file, true, true);
+    }
+
+    @Override
+    protected boolean isStaleWhileRevalidate(@NotNull LSPClientFeatures clientFeatures) {
+        PsiFile file = super.getFile();
+        var feature = clientFeatures.getCodeLensFeature();
+        // A language server which doesn't provide code lenses for the file doesn't prevent the mode
+        return !feature.isEnabled(file) || !feature.isSupported(file) || feature.isStaleWhileRevalidate(file);
     }
 
     public CompletableFuture<CodeLensDataResult> getCodeLenses(@NotNull CodeLensParams params) {
@@ -51,6 +62,21 @@ public class LSPCodeLensSupport extends AbstractLSPDocumentFeatureSupport<CodeLe
         return getCodeLenses(file, params, cancellationSupport);
     }
 
+    @Override
+    protected CodeLensDataResult remapStaleResult(@NotNull CodeLensDataResult codeLensResult,
+                                                  @NotNull LSPRangeMapper mapper) {
+        List<CodeLensData> remapped = new ArrayList<>(codeLensResult.getCodeLensData().size());
+        for (CodeLensData data : codeLensResult.getCodeLensData()) {
+            CodeLens codeLens = data.getCodeLens();
+            Range range = mapper.mapRange(codeLens.getRange());
+            if (range != null) {
+                var copy = new CodeLens(range, codeLens.getCommand(), codeLens.getData());
+                remapped.add(new CodeLensData(copy, data.getLanguageServer(), data.isToResolve()));
+            }
+        }
+        return new CodeLensDataResult(remapped);
+    }
+
     private static @NotNull CompletableFuture<CodeLensDataResult> getCodeLenses(@NotNull PsiFile file,
                                                                                 @NotNull CodeLensParams params,
                                                                                 @NotNull CancellationSupport cancellationSupport) {
@@ -13,12 +13,17 @@ package com.redhat.devtools.lsp4ij.features.color;
 import com.intellij.psi.PsiFile;
 import com.redhat.devtools.lsp4ij.LSPRequestConstants;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.client.features.LSPClientFeatures;
 import com.redhat.devtools.lsp4ij.features.AbstractLSPDocumentFeatureSupport;
+import com.redhat.devtools.lsp4ij.features.LSPRangeMapper;
 import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
 import com.redhat.devtools.lsp4ij.internal.CompletableFutures;
+import org.eclipse.lsp4j.ColorInformation;
 import org.eclipse.lsp4j.DocumentColorParams;
+import org.eclipse.lsp4j.Range;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -34,7 +39,15 @@ import java.util.concurrent.CompletableFuture;
 public class LSPColorSupport extends AbstractLSPDocumentFeatureSupport<DocumentColorParams, List<ColorData>> {
 
     public LSPColorSupport(@NotNull PsiFile file) {
-        super(file);
+        super(file, true, true);
+    }
+
+    @Override
+    protected boolean isStaleWhileRevalidate(@NotNull LSPClientFeatures clientFeatures) {
+        PsiFile file = super.getFile();
+        var feature = clientFeatures.getDocumentColorFeature();
+        // A language server which doesn't provide colors for the file doesn't prevent the mode
+        return !feature.isEnabled(file) || !feature.isSupported(file) || feature.isStaleWhileRevalidate(file);
     }
 
     public CompletableFuture<List<ColorData>> getColors(@NotNull DocumentColorParams params) {
@@ -48,6 +61,19 @@ public class LSPColorSupport extends AbstractLSPDocumentFeatureSupport<DocumentC
         return getColors(file, params, cancellationSupport);
     }
 
+    @Override
+    protected List<ColorData> remapStaleResult(@NotNull List<ColorData> colors,
+                                               @NotNull LSPRangeMapper mapper) {
+        List<ColorData> remapped = new ArrayList<>(colors.size());
+        for (ColorData data : colors) {
+            Range range = mapper.mapRange(data.color().getRange());
+            if (range != null) {
+                remapped.add(new ColorData(new ColorInformation(range, data.color().getColor()), data.languageServer()));
+            }
+        }
+        return remapped;
+    }
+
     private static @NotNull CompletableFuture<List<ColorData>> getColors(@NotNull PsiFile file,
                                                                          @NotNull DocumentColorParams params,
                                                                          @NotNull CancellationSupport cancellationSupport) {
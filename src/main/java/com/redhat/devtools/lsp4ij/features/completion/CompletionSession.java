@@ -0,0 +1,384 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.completion;
+
+import org.eclipse.lsp4j.*;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Completion session which keeps the complete completion lists (CompletionItem[] or CompletionList with
+ * isIncomplete=false) computed for a word prefix, to re-filter them while the user types in the same word without
+ * consuming new 'textDocument/completion' requests.
+ * <p>
+ * The session can be refined when:
+ *
+ * <ul>
+ *     <li>the word starts at the same offset.</li>
+ *     <li>the new word prefix starts with the word prefix for which the completion lists have been computed.</li>
+ *     <li>the text outside the word prefix is unchanged.</li>
+ * </ul>
+ * <p>
+ * When the session is refined, the edit ranges of the filtered completion items are shifted from the caret of the
+ * completion lists to the new caret. The completion items of the session are never updated: the items whose edit
+ * ranges must be shifted are copied, because the items of the previous refinements may still be used by the lookup.
+ */
+class CompletionSession {
+
+    // Offset where the word prefix starts
+    private final int prefixStartOffset;
+    // The word prefix for which the completion lists have been computed
+    private final @NotNull String prefix;
+    // The completion lists computed for the word prefix
+    private final @NotNull List<CompletionData> data;
+    // The caret for which the completion lists have been computed
+    private final int caretLine;
+    private final int caretCharacter;
+    private final int prefixStartCharacter;
+
+    // The current word prefix and document text
+    private @NotNull String currentPrefix;
+    private @NotNull CharSequence currentText;
+
+    CompletionSession(int prefixStartOffset,
+                      @NotNull String prefix,
+                      @NotNull Position caret,
+                      @NotNull CharSequence text,
+                      @NotNull List<CompletionData> data) {
+        this.prefixStartOffset = prefixStartOffset;
+        this.prefix = prefix;
+        this.data = data;
+        this.currentPrefix = prefix;
+        this.currentText = text;
+        this.caretLine = caret.getLine();
+        this.caretCharacter = caret.getCharacter();
+        this.prefixStartCharacter = caretCharacter - prefix.length();
+    }
+
+    /**
+     * Returns true if the given completion lists are complete and false otherwise.
+     *
+     * @param data the completion lists of each language server.
+     * @return true if the given completion lists are complete and false otherwise.
+     */
+    static boolean isComplete(@NotNull List<CompletionData> data) {
+        for (var item : data) {
+            var completion = item.completion();
+            if (completion.isRight() && completion.getRight().isIncomplete()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the completion lists filtered with the given word prefix and null if the session cannot be refined
+     * (the word is not the same, the word prefix is shorter than the word prefix of the completion lists, or the text
+     * outside the word prefix has changed).
+     *
+     * @param prefixStartOffset the offset where the new word prefix starts.
+     * @param newPrefix         the new word prefix.
+     * @param newText           the new document text.
+     * @return the completion lists filtered with the given word prefix and null if the session cannot be refined.
+     */
+    synchronized @Nullable List<CompletionData> refine(int prefixStartOffset,
+                                                       @NotNull String newPrefix,
+                                                       @NotNull CharSequence newText) {
+        if (prefixStartOffset != this.prefixStartOffset || !newPrefix.startsWith(prefix)) {
+            // The caret has left the word, or some characters of the word prefix have been removed
+            return null;
+        }
+        int oldCaretOffset = prefixStartOffset + currentPrefix.length();
+        int newCaretOffset = prefixStartOffset + newPrefix.length();
+        if (newPrefix.indexOf('\n') != -1 ||
+                !isOnlyPrefixChanged(currentText, oldCaretOffset, newText, newCaretOffset, prefixStartOffset)) {
+            return null;
+        }
+
+        currentPrefix = newPrefix;
+        currentText = newText;
+
+        // Number of characters typed after the caret of the completion lists
+        int delta = newPrefix.length() - prefix.length();
+        List<CompletionData> filtered = new ArrayList<>(data.size());
+        for (var item : data) {
+            var completion = item.completion();
+            if (completion.isLeft()) {
+                var items = filter(completion.getLeft(), newPrefix, delta);
+                filtered.add(new CompletionData(Either.forLeft(items), item.languageServer()));
+            } else {
+                CompletionList completionList = completion.getRight();
+                var filteredList = new CompletionList(false, filter(completionList.getItems(), newPrefix, delta));
+                filteredList.setItemDefaults(shiftEditRange(completionList.getItemDefaults(), delta));
+                filtered.add(new CompletionData(Either.forRight(filteredList), item.languageServer()));
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Returns true if the given new text is the given old text where only the characters between the start of the word
+     * prefix and the caret have changed and false otherwise.
+     *
+     * @param oldText           the old document text.
+     * @param oldCaretOffset    the old caret offset.
+     * @param newText           the new document text.
+     * @param newCaretOffset    the new caret offset.
+     * @param prefixStartOffset the offset where the word prefix starts.
+     * @return true if only the word prefix has changed and false otherwise.
+     */
+    static boolean isOnlyPrefixChanged(@NotNull CharSequence oldText,
+                                       int oldCaretOffset,
+                                       @NotNull CharSequence newText,
+                                       int newCaretOffset,
+                                       int prefixStartOffset) {
+        int oldLength = oldText.length();
+        int newLength = newText.length();
+        if (oldCaretOffset > oldLength || newCaretOffset > newLength ||
+                oldLength - oldCaretOffset != newLength - newCaretOffset) {
+            return false;
+        }
+        // Text before the word prefix
+        for (int i = 0; i < prefixStartOffset; i++) {
+            if (oldText.charAt(i) != newText.charAt(i)) {
+                return false;
+            }
+        }
+        // Text after the caret
+        for (int i = oldCaretOffset, j = newCaretOffset; i < oldLength; i++, j++) {
+            if (oldText.charAt(i) != newText.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private @NotNull List<CompletionItem> filter(@Nullable List<CompletionItem> items, @NotNull String prefix, int delta) {
+        if (items == null) {
+            return Collections.emptyList();
+        }
+        if (prefix.isEmpty()) {
+            return items;
+        }
+        List<CompletionItem> filtered = new ArrayList<>();
+        for (var item : items) {
+            if (matchesPrefix(item.getFilterText(), prefix) || matchesPrefix(item.getLabel(), prefix)) {
+                filtered.add(shiftEditRanges(item, caretLine, caretCharacter, prefixStartCharacter, delta));
+            }
+        }
+        return filtered;
+    }
+
+    private @Nullable CompletionItemDefaults shiftEditRange(@Nullable CompletionItemDefaults itemDefaults, int delta) {
+        if (itemDefaults == null || itemDefaults.getEditRange() == null) {
+            return itemDefaults;
+        }
+        var editRange = shiftEditRange(itemDefaults.getEditRange(), caretLine, caretCharacter, prefixStartCharacter, delta);
+        if (editRange == itemDefaults.getEditRange()) {
+            return itemDefaults;
+        }
+        var shifted = new CompletionItemDefaults();
+        shifted.setCommitCharacters(itemDefaults.getCommitCharacters());
+        shifted.setEditRange(editRange);
+        shifted.setInsertTextFormat(itemDefaults.getInsertTextFormat());
+        shifted.setInsertTextMode(itemDefaults.getInsertTextMode());
+        shifted.setData(itemDefaults.getData());
+        return shifted;
+    }
+
+    /**
+     * Returns true if the characters of the given prefix appear in the same order in the given text, ignoring the case
+     * and false otherwise.
+     * <p>
+     * This matching is less restrictive than the prefix matcher of the lookup, which filters the items again.
+     *
+     * @param text   the filter text or label of the completion item.
+     * @param prefix the word prefix.
+     * @return true if the characters of the given prefix appear in the same order in the given text and false otherwise.
+     */
+    static boolean matchesPrefix(@Nullable String text, @NotNull String prefix) {
+        if (text == null) {
+            return false;
+        }
+        int textIndex = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = Character.toLowerCase(prefix.charAt(i));
+            while (textIndex < text.length() && Character.toLowerCase(text.charAt(textIndex)) != c) {
+                textIndex++;
+            }
+            if (textIndex == text.length()) {
+                return false;
+            }
+            textIndex++;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the given completion item with its edit ranges shifted, or the given completion item itself if no edit
+     * range must be shifted. The given completion item is never updated.
+     * <p>
+     * The positions on the caret line after the caret character, or at the caret character, are shifted:
+     *
+     * <ul>
+     *     <li>an end position at the caret is shifted (ex : the end of the insert range).</li>
+     *     <li>a start position at the caret is shifted only if it is not the start of the word prefix.</li>
+     * </ul>
+     *
+     * @param item                 the completion item.
+     * @param caretLine            the caret line.
+     * @param caretCharacter       the caret character for which the completion item has been computed.
+     * @param prefixStartCharacter the character where the word prefix starts in the caret line.
+     * @param delta                the number of characters added at the caret.
+     * @return the given completion item with its edit ranges shifted, or the given completion item itself.
+     */
+    static @NotNull CompletionItem shiftEditRanges(@NotNull CompletionItem item,
+                                                   int caretLine,
+                                                   int caretCharacter,
+                                                   int prefixStartCharacter,
+                                                   int delta) {
+        if (delta == 0) {
+            return item;
+        }
+        var shifter = new PositionShifter(caretLine, caretCharacter, prefixStartCharacter, delta);
+        Either<TextEdit, InsertReplaceEdit> textEdit = item.getTextEdit();
+        Either<TextEdit, InsertReplaceEdit> shiftedTextEdit = textEdit;
+        if (textEdit != null) {
+            if (textEdit.isLeft()) {
+                Range range = shifter.shift(textEdit.getLeft().getRange());
+                if (range != textEdit.getLeft().getRange()) {
+                    shiftedTextEdit = Either.forLeft(new TextEdit(range, textEdit.getLeft().getNewText()));
+                }
+            } else {
+                var edit = textEdit.getRight();
+                Range insert = shifter.shift(edit.getInsert());
+                Range replace = shifter.shift(edit.getReplace());
+                if (insert != edit.getInsert() || replace != edit.getReplace()) {
+                    shiftedTextEdit = Either.forRight(new InsertReplaceEdit(edit.getNewText(), insert, replace));
+                }
+            }
+        }
+        List<TextEdit> additionalTextEdits = item.getAdditionalTextEdits();
+        List<TextEdit> shiftedAdditionalTextEdits = additionalTextEdits;
+        if (additionalTextEdits != null) {
+            for (int i = 0; i < additionalTextEdits.size(); i++) {
+                TextEdit additionalTextEdit = additionalTextEdits.get(i);
+                Range range = shifter.shift(additionalTextEdit.getRange());
+                if (range != additionalTextEdit.getRange()) {
+                    if (shiftedAdditionalTextEdits == additionalTextEdits) {
+                        shiftedAdditionalTextEdits = new ArrayList<>(additionalTextEdits);
+                    }
+                    shiftedAdditionalTextEdits.set(i, new TextEdit(range, additionalTextEdit.getNewText()));
+                }
+            }
+        }
+        if (shiftedTextEdit == textEdit && shiftedAdditionalTextEdits == additionalTextEdits) {
+            return item;
+        }
+        CompletionItem shifted = copy(item);
+        shifted.setTextEdit(shiftedTextEdit);
+        shifted.setAdditionalTextEdits(shiftedAdditionalTextEdits);
+        return shifted;
+    }
+
+    /**
+     * Returns the given default edit range of a completion list shifted, or the given edit range itself if it must not
+     * be shifted. The given edit range is never updated.
+     *
+     * @param editRange            the default edit range of a completion list.
+     * @param caretLine            the caret line.
+     * @param caretCharacter       the caret character for which the completion list has been computed.
+     * @param prefixStartCharacter the character where the word prefix starts in the caret line.
+     * @param delta                the number of characters added at the caret.
+     * @return the given default edit range shifted, or the given edit range itself.
+     */
+    static @NotNull Either<Range, InsertReplaceRange> shiftEditRange(@NotNull Either<Range, InsertReplaceRange> editRange,
+                                                                     int caretLine,
+                                                                     int caretCharacter,
+                                                                     int prefixStartCharacter,
+                                                                     int delta) {
+        if (delta == 0) {
+            return editRange;
+        }
+        var shifter = new PositionShifter(caretLine, caretCharacter, prefixStartCharacter, delta);
+        if (editRange.isLeft()) {
+            Range range = shifter.shift(editRange.getLeft());
+            return range != editRange.getLeft() ? Either.forLeft(range) : editRange;
+        }
+        var insertReplaceRange = editRange.getRight();
+        if (insertReplaceRange == null) {
+            return editRange;
+        }
+        Range insert = shifter.shift(insertReplaceRange.getInsert());
+        Range replace = shifter.shift(insertReplaceRange.getReplace());
+        if (insert == insertReplaceRange.getInsert() && replace == insertReplaceRange.getReplace()) {
+            return editRange;
+        }
+        return Either.forRight(new InsertReplaceRange(insert, replace));
+    }
+
+    private static @NotNull CompletionItem copy(@NotNull CompletionItem item) {
+        var copy = new CompletionItem(item.getLabel());
+        copy.setLabelDetails(item.getLabelDetails());
+        copy.setKind(item.getKind());
+        copy.setTags(item.getTags());
+        copy.setDetail(item.getDetail());
+        copy.setDocumentation(item.getDocumentation());
+        copy.setDeprecated(item.getDeprecated());
+        copy.setPreselect(item.getPreselect());
+        copy.setSortText(item.getSortText());
+        copy.setFilterText(item.getFilterText());
+        copy.setInsertText(item.getInsertText());
+        copy.setInsertTextFormat(item.getInsertTextFormat());
+        copy.setInsertTextMode(item.getInsertTextMode());
+        copy.setTextEdit(item.getTextEdit());
+        copy.setTextEditText(item.getTextEditText());
+        copy.setAdditionalTextEdits(item.getAdditionalTextEdits());
+        copy.setCommitCharacters(item.getCommitCharacters());
+        copy.setCommand(item.getCommand());
+        copy.setData(item.getData());
+        return copy;
+    }
+
+    /**
+     * Shifts the positions of the caret line which are after the caret character, or at the caret character.
+     */
+    private record PositionShifter(int caretLine, int caretCharacter, int prefixStartCharacter, int delta) {
+
+        @Nullable
+        Range shift(@Nullable Range range) {
+            if (range == null) {
+                return null;
+            }
+            Position start = shift(range.getStart(), false);
+            Position end = shift(range.getEnd(), true);
+            if (start == range.getStart() && end == range.getEnd()) {
+                return range;
+            }
+            return new Range(start, end);
+        }
+
+        private Position shift(@Nullable Position position, boolean end) {
+            if (position == null || position.getLine() != caretLine) {
+                return position;
+            }
+            int character = position.getCharacter();
+            if (character > caretCharacter ||
+                    (character == caretCharacter && (end || caretCharacter > prefixStartCharacter))) {
+                return new Position(position.getLine(), character + delta);
+            }
+            return position;
+        }
+    }
+}
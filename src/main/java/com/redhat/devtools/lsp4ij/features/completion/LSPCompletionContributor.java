@@ -78,7 +78,7 @@ public class LSPCompletionContributor extends CompletionContributor {
                 autoPopup);
         var completionSupport = LSPFileSupport.getSupport(psiFile)
                 .getCompletionSupport();
-        CompletableFuture<List<CompletionData>> future = completionSupport.getCompletions(params);
+        CompletableFuture<List<CompletionData>> future = completionSupport.getCompletions(params, result.getPrefixMatcher().getPrefix());
         try {
             // Wait until the future is finished and stop the wait if there are some ProcessCanceledException.
             waitUntilDone(future, psiFile);
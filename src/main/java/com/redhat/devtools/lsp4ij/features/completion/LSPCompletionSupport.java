@@ -10,7 +10,9 @@
  ******************************************************************************/
 package com.redhat.devtools.lsp4ij.features.completion;
 
+import com.intellij.openapi.editor.Document;
 import com.intellij.psi.PsiFile;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
 import com.redhat.devtools.lsp4ij.LSPRequestConstants;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
 import com.redhat.devtools.lsp4ij.features.AbstractLSPDocumentFeatureSupport;
@@ -19,6 +21,7 @@ import com.redhat.devtools.lsp4ij.internal.CompletableFutures;
 import org.eclipse.lsp4j.CompletionContext;
 import org.eclipse.lsp4j.CompletionTriggerKind;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.List;
@@ -35,6 +38,9 @@ public class LSPCompletionSupport extends AbstractLSPDocumentFeatureSupport<LSPC
 
     private Integer previousOffset;
 
+    // The last complete completion lists, re-filtered while the user types in the same word
+    private volatile @Nullable CompletionSession session;
+
     public LSPCompletionSupport(@NotNull PsiFile file) {
         super(file);
     }
@@ -48,6 +54,50 @@ public class LSPCompletionSupport extends AbstractLSPDocumentFeatureSupport<LSPC
         return super.getFeatureData(params);
     }
 
+    /**
+     * Returns the completion lists for the given params and word prefix (the text of the word before the caret).
+     * <p>
+     * When the last completion lists are complete (isIncomplete=false) and the caret is still in the same word after
+     * typing some characters, the completion lists are re-filtered with the new word prefix without consuming new
+     * 'textDocument/completion' requests.
+     *
+     * @param params the completion params.
+     * @param prefix the word prefix.
+     * @return the completion lists for the given params and word prefix.
+     */
+    public CompletableFuture<List<CompletionData>> getCompletions(@NotNull LSPCompletionParams params,
+                                                                  @NotNull String prefix) {
+        int prefixStartOffset = params.getOffset() - prefix.length();
+        Document document = LSPIJUtils.getDocument(getFile());
+        if (document == null) {
+            return getCompletions(params);
+        }
+        CharSequence text = document.getImmutableCharSequence();
+        CompletionSession current = session;
+        if (current != null) {
+            List<CompletionData> data = current.refine(prefixStartOffset, prefix, text);
+            if (data != null) {
+                return CompletableFuture.completedFuture(data);
+            }
+            session = null;
+        }
+        CompletableFuture<List<CompletionData>> future = getCompletions(params);
+        if (future != null) {
+            future.thenAccept(data -> {
+                if (data != null && !data.isEmpty() && CompletionSession.isComplete(data)) {
+                    session = new CompletionSession(prefixStartOffset, prefix, params.getPosition(), text, data);
+                }
+            });
+        }
+        return future;
+    }
+
+    @Override
+    public void cancel() {
+        session = null;
+        super.cancel();
+    }
+
     @Override
     protected CompletableFuture<List<CompletionData>> doLoad(@NotNull LSPCompletionParams params,
                                                              @NotNull CancellationSupport cancellationSupport) {
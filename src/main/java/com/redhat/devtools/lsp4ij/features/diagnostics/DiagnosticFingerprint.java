@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.diagnostics;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Hash key of an LSP {@link Diagnostic}.
+ * <p>
+ * lsp4j {@link Diagnostic#hashCode()} hashes the related information and the 'data' JSON payload of the diagnostic,
+ * which is costly for diagnostics reported by linters. The fingerprint hash is computed once from the range, the
+ * severity, the code, the source and the message (whose string hash is cached by the JVM). The full
+ * {@link Diagnostic#equals(Object)} is only used when two fingerprints have the same hash.
+ */
+final class DiagnosticFingerprint {
+
+    private final @NotNull Diagnostic diagnostic;
+    private final int hash;
+
+    DiagnosticFingerprint(@NotNull Diagnostic diagnostic) {
+        this.diagnostic = diagnostic;
+        this.hash = computeHash(diagnostic);
+    }
+
+    @NotNull
+    Diagnostic getDiagnostic() {
+        return diagnostic;
+    }
+
+    /**
+     * Returns the given diagnostics without the duplicated diagnostics (the first instance is kept).
+     *
+     * @param diagnostics the diagnostics.
+     * @return the given diagnostics without the duplicated diagnostics.
+     */
+    static @NotNull Collection<Diagnostic> distinct(@NotNull Collection<Diagnostic> diagnostics) {
+        if (diagnostics.size() < 2) {
+            return diagnostics;
+        }
+        Set<DiagnosticFingerprint> fingerprints = new LinkedHashSet<>(diagnostics.size() * 2);
+        for (Diagnostic diagnostic : diagnostics) {
+            fingerprints.add(new DiagnosticFingerprint(diagnostic));
+        }
+        if (fingerprints.size() == diagnostics.size()) {
+            return diagnostics;
+        }
+        return fingerprints.stream()
+                .map(DiagnosticFingerprint::getDiagnostic)
+                .toList();
+    }
+
+    private static int computeHash(@NotNull Diagnostic diagnostic) {
+        int result = hash(diagnostic.getRange());
+        result = 31 * result + (diagnostic.getSeverity() != null ? diagnostic.getSeverity().getValue() : 0);
+        result = 31 * result + hash(diagnostic.getCode());
+        result = 31 * result + (diagnostic.getSource() != null ? diagnostic.getSource().hashCode() : 0);
+        var message = diagnostic.getMessage();
+        if (message != null) {
+            result = 31 * result + (message.isLeft() ? hash(message.getLeft()) :
+                    message.getRight() != null ? hash(message.getRight().getValue()) : 0);
+        }
+        return result;
+    }
+
+    private static int hash(@Nullable Range range) {
+        if (range == null) {
+            return 0;
+        }
+        return 31 * hash(range.getStart()) + hash(range.getEnd());
+    }
+
+    private static int hash(@Nullable Position position) {
+        if (position == null) {
+            return 0;
+        }
+        return 31 * position.getLine() + position.getCharacter();
+    }
+
+    private static int hash(@Nullable Either<String, Integer> code) {
+        if (code == null) {
+            return 0;
+        }
+        return code.isLeft() ? hash(code.getLeft()) : code.getRight() != null ? code.getRight() : 0;
+    }
+
+    private static int hash(@Nullable String s) {
+        return s != null ? s.hashCode() : 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof DiagnosticFingerprint other &&
+                hash == other.hash &&
+                diagnostic.equals(other.diagnostic);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
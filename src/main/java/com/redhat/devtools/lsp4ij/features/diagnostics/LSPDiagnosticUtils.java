@@ -53,12 +53,7 @@ public class LSPDiagnosticUtils {
         if (oldDiagnostics.size() != newDiagnostics.size()) {
             return true;
         }
-        for (var d : newDiagnostics) {
-            if (!oldDiagnostics.contains(d)) {
-                return true;
-            }
-        }
-        return false;
+        return LSPDiagnosticsDiff.diff(oldDiagnostics, newDiagnostics).hasChanges();
     }
 
     /**
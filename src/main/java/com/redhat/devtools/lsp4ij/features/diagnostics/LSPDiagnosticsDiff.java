@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.diagnostics;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Difference between the old and the new diagnostics reported by a language server for a file.
+ * <p>
+ * Diagnostics are matched with their {@link DiagnosticFingerprint} in linear time. Unchanged diagnostics are the
+ * old {@link Diagnostic} instances, so that the caches keyed by diagnostic instance (ex: LSP code actions) can be kept.
+ */
+public class LSPDiagnosticsDiff {
+
+    private final @NotNull List<Diagnostic> added;
+    private final @NotNull List<Diagnostic> removed;
+    private final @NotNull List<Diagnostic> unchanged;
+
+    private LSPDiagnosticsDiff(@NotNull List<Diagnostic> added,
+                               @NotNull List<Diagnostic> removed,
+                               @NotNull List<Diagnostic> unchanged) {
+        this.added = added;
+        this.removed = removed;
+        this.unchanged = unchanged;
+    }
+
+    /**
+     * Compute the difference between the given old and new diagnostics.
+     *
+     * @param oldDiagnostics the old diagnostics.
+     * @param newDiagnostics the new diagnostics.
+     * @return the difference between the given old and new diagnostics.
+     */
+    public static @NotNull LSPDiagnosticsDiff diff(@NotNull Collection<Diagnostic> oldDiagnostics,
+                                                   @NotNull Collection<Diagnostic> newDiagnostics) {
+        if (oldDiagnostics.isEmpty() || newDiagnostics.isEmpty()) {
+            return new LSPDiagnosticsDiff(new ArrayList<>(newDiagnostics), new ArrayList<>(oldDiagnostics), new ArrayList<>());
+        }
+        // Index the old diagnostics by fingerprint (a report can contain the same diagnostic several times)
+        Map<DiagnosticFingerprint, Object /* Diagnostic or Deque<Diagnostic> */> oldIndex = new HashMap<>(oldDiagnostics.size() * 2);
+        for (Diagnostic diagnostic : oldDiagnostics) {
+            oldIndex.merge(new DiagnosticFingerprint(diagnostic), diagnostic, LSPDiagnosticsDiff::append);
+        }
+        List<Diagnostic> added = new ArrayList<>();
+        List<Diagnostic> unchanged = new ArrayList<>(newDiagnostics.size());
+        for (Diagnostic diagnostic : newDiagnostics) {
+            Diagnostic oldDiagnostic = poll(oldIndex, new DiagnosticFingerprint(diagnostic));
+            if (oldDiagnostic != null) {
+                unchanged.add(oldDiagnostic);
+            } else {
+                added.add(diagnostic);
+            }
+        }
+        List<Diagnostic> removed = new ArrayList<>();
+        for (Object remaining : oldIndex.values()) {
+            if (remaining instanceof Diagnostic diagnostic) {
+                removed.add(diagnostic);
+            } else {
+                @SuppressWarnings("unchecked")
+                Deque<Diagnostic> diagnostics = (Deque<Diagnostic>) remaining;
+                removed.addAll(diagnostics);
+            }
+        }
+        return new LSPDiagnosticsDiff(added, removed, unchanged);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object append(Object existing, Object diagnostic) {
+        Deque<Diagnostic> diagnostics;
+        if (existing instanceof Diagnostic first) {
+            diagnostics = new ArrayDeque<>(2);
+            diagnostics.add(first);
+        } else {
+            diagnostics = (Deque<Diagnostic>) existing;
+        }
+        diagnostics.add((Diagnostic) diagnostic);
+        return diagnostics;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Diagnostic poll(@NotNull Map<DiagnosticFingerprint, Object> oldIndex,
+                                   @NotNull DiagnosticFingerprint fingerprint) {
+        Object existing = oldIndex.get(fingerprint);
+        if (existing == null) {
+            return null;
+        }
+        if (existing instanceof Diagnostic diagnostic) {
+            oldIndex.remove(fingerprint);
+            return diagnostic;
+        }
+        Deque<Diagnostic> diagnostics = (Deque<Diagnostic>) existing;
+        Diagnostic diagnostic = diagnostics.poll();
+        if (diagnostics.isEmpty()) {
+            oldIndex.remove(fingerprint);
+        }
+        return diagnostic;
+    }
+
+    /**
+     * Returns the new diagnostics which were not reported before.
+     *
+     * @return the new diagnostics which were not reported before.
+     */
+    public @NotNull List<Diagnostic> getAdded() {
+        return added;
+    }
+
+    /**
+     * Returns the old diagnostics which are not reported anymore.
+     *
+     * @return the old diagnostics which are not reported anymore.
+     */
+    public @NotNull List<Diagnostic> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Returns the old instances of the diagnostics which are reported again.
+     *
+     * @return the old instances of the diagnostics which are reported again.
+     */
+    public @NotNull List<Diagnostic> getUnchanged() {
+        return unchanged;
+    }
+
+    /**
+     * Returns true if some diagnostics were added or removed and false otherwise.
+     *
+     * @return true if some diagnostics were added or removed and false otherwise.
+     */
+    public boolean hasChanges() {
+        return !added.isEmpty() || !removed.isEmpty();
+    }
+}
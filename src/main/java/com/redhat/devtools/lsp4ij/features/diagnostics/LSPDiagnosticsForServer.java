@@ -24,15 +24,11 @@ import com.redhat.devtools.lsp4ij.features.codeAction.quickfix.LSPLazyCodeAction
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.util.Ranges;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
-import static com.redhat.devtools.lsp4ij.features.diagnostics.LSPDiagnosticUtils.isDiagnosticsChanged;
-
 /**
  * LSP diagnostics holder for a file reported by a language server. This class holds:
  *
@@ -47,13 +43,20 @@ public class LSPDiagnosticsForServer {
 
     private boolean hasErrors;
 
-    private record DiagnosticData(Range range, List<Diagnostic> diagnostics) {};
+    private static final Comparator<Position> POSITION_COMPARATOR = Comparator
+            .comparingInt(Position::getLine)
+            .thenComparingInt(Position::getCharacter);
+
+    // Sort by start position and then by end position descending
+    private static final Comparator<Diagnostic> DIAGNOSTIC_RANGE_COMPARATOR = Comparator
+            .comparing((Diagnostic d) -> d.getRange().getStart(), POSITION_COMPARATOR)
+            .thenComparing(d -> d.getRange().getEnd(), POSITION_COMPARATOR.reversed());
 
     private final LanguageServerItem languageServer;
 
     private final @Nullable VirtualFile file;
 
-    // Map which contains all current diagnostics (as key) and future which load associated quick fixes (as value)
+    // Map which contains all current diagnostics instances (as key) and future which load associated quick fixes (as value)
     private @NotNull Map<Diagnostic, LSPLazyCodeActions> diagnostics;
 
     private final @Nullable DocumentContentSynchronizer synchronizer;
@@ -99,14 +102,18 @@ public class LSPDiagnosticsForServer {
 
         Collection<Diagnostic> oldDiagnostics = getOldDiagnostics();
         Collection<Diagnostic> newDiagnostics = getNewDiagnostics(identifier, diagnostics);
-        boolean changed = isDiagnosticsChanged(oldDiagnostics, newDiagnostics);
-        // initialize diagnostics map
-        this.diagnostics = toMap(newDiagnostics, this.diagnostics);
+        LSPDiagnosticsDiff diff = LSPDiagnosticsDiff.diff(oldDiagnostics, newDiagnostics);
         if (diagnosticsPerIdentifier != null) {
             // Cache must manage several diagnostic identifier (pull, publish), we store the new diagnostics in the cache for the given identifier
             diagnosticsPerIdentifier.put(identifier, diagnostics);
         }
-        return changed;
+        if (!diff.hasChanges()) {
+            // Keep the current diagnostics and their code actions
+            return false;
+        }
+        // initialize diagnostics map
+        this.diagnostics = toMap(diff, this.diagnostics);
+        return true;
     }
 
     private Collection<Diagnostic> getOldDiagnostics() {
@@ -116,81 +123,128 @@ public class LSPDiagnosticsForServer {
     private Collection<Diagnostic> getNewDiagnostics(@NotNull String identifier,
                                                      @NotNull List<Diagnostic> diagnostics) {
         if (diagnosticsPerIdentifier == null) {
-            // Just one diagnostic identifier, use the new diagnostics
-            return diagnostics;
+            // Just one diagnostic identifier, use the new diagnostics without the duplicated diagnostics
+            // (the diagnostics map is keyed by instance and must not show the same diagnostic twice)
+            return DiagnosticFingerprint.distinct(diagnostics);
         }
         // The cache manages several diagnostic identifiers (pull, publish)
         // Merge of the new diagnostics list with diagnostics stored for other identifiers.
-        Set<Diagnostic> newDiagnostics = new HashSet<>(diagnostics);
+        Map<DiagnosticFingerprint, Diagnostic> newDiagnostics = new LinkedHashMap<>();
+        addDiagnostics(diagnostics, newDiagnostics);
         for(var entry : diagnosticsPerIdentifier.entrySet()) {
             if (!entry.getKey().equals(identifier)) {
-                newDiagnostics.addAll(entry.getValue());
+                addDiagnostics(entry.getValue(), newDiagnostics);
             }
         }
-        return newDiagnostics;
+        return newDiagnostics.values();
+    }
+
+    private static void addDiagnostics(@NotNull Collection<Diagnostic> diagnostics,
+                                       @NotNull Map<DiagnosticFingerprint, Diagnostic> result) {
+        for (Diagnostic diagnostic : diagnostics) {
+            result.putIfAbsent(new DiagnosticFingerprint(diagnostic), diagnostic);
+        }
     }
 
-    private Map<Diagnostic, LSPLazyCodeActions> toMap(@NotNull Collection<Diagnostic> diagnostics,
+    private Map<Diagnostic, LSPLazyCodeActions> toMap(@NotNull LSPDiagnosticsDiff diff,
                                                       @NotNull Map<Diagnostic, LSPLazyCodeActions> existingDiagnostics) {
+        // Unchanged diagnostics are the instances of the existing map
+        List<Diagnostic> diagnostics = new ArrayList<>(diff.getUnchanged().size() + diff.getAdded().size());
+        diagnostics.addAll(diff.getUnchanged());
+        diagnostics.addAll(diff.getAdded());
         hasErrors = false;
-        // Collect quick fixes from LSP code action
-        Map<Diagnostic, LSPLazyCodeActions> map = new HashMap<>(diagnostics.size());
-        // Sort diagnostics by range
-        List<Diagnostic> sortedDiagnostics = diagnostics
-                .stream()
-                .sorted((d1, d2) -> {
-                    if (Ranges.containsRange(d1.getRange(), d2.getRange())) {
-                        return -1;
-                    }
-                    return 1;
-                })
-                .toList();
-        // Group diagnostics by covered range
-        List<DiagnosticData> diagnosticsGroupByCoveredRange = new ArrayList<>();
-        for (Diagnostic diagnostic : sortedDiagnostics) {
-            if (!hasErrors && diagnostic.getSeverity() != null && diagnostic.getSeverity() == DiagnosticSeverity.Error) {
+        for (Diagnostic diagnostic : diagnostics) {
+            if (diagnostic.getSeverity() != null && diagnostic.getSeverity() == DiagnosticSeverity.Error) {
                 hasErrors = true;
+                break;
             }
-            DiagnosticData data = getDiagnosticWhichCoversTheRange(diagnostic.getRange(), diagnosticsGroupByCoveredRange);
-            if (data != null) {
-                data.diagnostics().add(diagnostic);
+        }
+        // Collect quick fixes from LSP code action
+        Map<Diagnostic, LSPLazyCodeActions> map = new IdentityHashMap<>(diagnostics.size());
+        // Code actions of the previous update which are not reused and must be cancelled
+        Set<LSPLazyCodeActions> oldCodeActions = Collections.newSetFromMap(new IdentityHashMap<>());
+        oldCodeActions.addAll(existingDiagnostics.values());
+
+        // Associate each diagnostic with the list of code actions to load for a given range
+        for (List<Diagnostic> group : groupByCoveredRange(diagnostics)) {
+            // Reuse the LSP lazy code actions of the previous update if the group has not changed
+            LSPLazyCodeActions codeActions = existingDiagnostics.get(group.get(0));
+            if (codeActions != null && isSameDiagnostics(codeActions.getDiagnostics(), group)) {
+                oldCodeActions.remove(codeActions);
             } else {
-                List<Diagnostic> list = new ArrayList<>();
-                list.add(diagnostic);
-                Position start = diagnostic.getRange().getStart();
-                Position end = diagnostic.getRange().getEnd();
-                data = new DiagnosticData(new Range(new Position(start.getLine(), start.getCharacter()),
-                        new Position(end.getLine(), end.getCharacter())), list);
-                diagnosticsGroupByCoveredRange.add(data);
+                codeActions = new LSPLazyCodeActions(group, file, languageServer);
+            }
+            for (Diagnostic diagnostic : group) {
+                map.put(diagnostic, codeActions);
+            }
+        }
+        // cancel the LSP textDocument/codeAction requests if needed
+        oldCodeActions.forEach(LSPLazyCodeActions::cancel);
+        return map;
+    }
+
+    private static boolean isSameDiagnostics(@NotNull List<Diagnostic> oldGroup,
+                                             @NotNull List<Diagnostic> newGroup) {
+        if (oldGroup.size() != newGroup.size()) {
+            return false;
+        }
+        for (int i = 0; i < oldGroup.size(); i++) {
+            if (oldGroup.get(i) != newGroup.get(i)) {
+                return false;
             }
         }
+        return true;
+    }
 
-        // Associate each diagnostic with the list of code actions to load for a given range
-        for (DiagnosticData data : diagnosticsGroupByCoveredRange) {
-            var newCodeActions = new LSPLazyCodeActions(data.diagnostics(), file, languageServer);
-            data.diagnostics()
-                    .forEach(d -> {
-                        // Get the existing LSP lazy code actions for the current diagnostic
-                        LSPLazyCodeActions oldCodeActions = existingDiagnostics != null ? existingDiagnostics.get(d) : null;
-                        if (oldCodeActions != null) {
-                            // cancel the LSP textDocument/codeAction request if needed
-                            oldCodeActions.cancel();
-                        }
-                        map.put(d, newCodeActions);
-                    });
+    /**
+     * Group the given diagnostics by covered range: the first diagnostic of a group is the diagnostic with the
+     * largest range and the other diagnostics of the group are included in this range.
+     *
+     * <p>Diagnostics are sorted by start position and then by end position descending, so that a diagnostic comes
+     * after the diagnostics which include it. A diagnostic is added to the first group whose range includes it: as all
+     * groups start before the diagnostic, it is the first group which ends after it. This group is found with a binary
+     * search in the groups whose end is greater than the end of all the groups created before, so that grouping
+     * costs O(n log n).</p>
+     *
+     * @param diagnostics the diagnostics to group.
+     * @return the diagnostics grouped by covered range.
+     */
+    static @NotNull List<List<Diagnostic>> groupByCoveredRange(@NotNull Collection<Diagnostic> diagnostics) {
+        List<Diagnostic> sortedDiagnostics = new ArrayList<>(diagnostics);
+        sortedDiagnostics.sort(DIAGNOSTIC_RANGE_COMPARATOR);
 
+        List<List<Diagnostic>> groups = new ArrayList<>();
+        // Groups (and their end position) whose end is greater than the end of all groups created before
+        List<Position> maxEnds = new ArrayList<>();
+        List<List<Diagnostic>> maxEndGroups = new ArrayList<>();
+        for (Diagnostic diagnostic : sortedDiagnostics) {
+            Position end = diagnostic.getRange().getEnd();
+            int index = firstEndingAfter(maxEnds, end);
+            if (index < maxEnds.size()) {
+                maxEndGroups.get(index).add(diagnostic);
+            } else {
+                List<Diagnostic> group = new ArrayList<>();
+                group.add(diagnostic);
+                groups.add(group);
+                maxEnds.add(end);
+                maxEndGroups.add(group);
+            }
         }
-        return map;
+        return groups;
     }
 
-    @Nullable
-    private static DiagnosticData getDiagnosticWhichCoversTheRange(Range diagnosticRange, List<DiagnosticData> diagnosticsGroupByCoveredRange) {
-        for (DiagnosticData data : diagnosticsGroupByCoveredRange) {
-            if (Ranges.containsRange(data.range(), diagnosticRange)) {
-                return data;
+    private static int firstEndingAfter(@NotNull List<Position> maxEnds, @NotNull Position end) {
+        int low = 0;
+        int high = maxEnds.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (POSITION_COMPARATOR.compare(maxEnds.get(mid), end) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
         }
-        return null;
+        return low;
     }
 
     /**
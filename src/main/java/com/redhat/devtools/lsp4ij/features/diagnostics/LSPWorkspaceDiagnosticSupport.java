@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.diagnostics;
+
+import com.google.gson.JsonElement;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.Alarm;
+import com.redhat.devtools.lsp4ij.JSONUtils;
+import com.redhat.devtools.lsp4ij.LSPDocumentBase;
+import com.redhat.devtools.lsp4ij.LSPRequestConstants;
+import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.LanguageServerWrapper;
+import com.redhat.devtools.lsp4ij.client.features.FileUriSupport;
+import com.redhat.devtools.lsp4ij.features.progress.LSPProgressManager;
+import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
+import org.eclipse.lsp4j.*;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LSP workspace diagnostic support which consumes 'workspace/diagnostic' for each started language server which
+ * supports it, to report the diagnostics of all files of the project, even the files which are not opened.
+ *
+ * <ul>
+ *     <li>the result ids of the last reports of all known documents are sent as 'previousResultIds', so that
+ *     the language server only sends the reports which have changed.</li>
+ *     <li>the partial results reported with '$/progress' are consumed as soon as they are received.</li>
+ *     <li>a new request is sent after a document change or a 'workspace/diagnostic/refresh', debounced by
+ *     {@link WorkspaceDiagnosticRequest}.</li>
+ *     <li>when the language server uses long polling (see
+ *     {@link com.redhat.devtools.lsp4ij.client.features.LSPDiagnosticFeature#isWorkspaceDiagnosticLongPolling()}),
+ *     a new request is sent as soon as the previous one is answered.</li>
+ * </ul>
+ *
+ * Reports of closed files are stored in the {@link com.redhat.devtools.lsp4ij.ClosedDocument} diagnostics store.
+ */
+@ApiStatus.Internal
+public class LSPWorkspaceDiagnosticSupport implements Disposable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LSPWorkspaceDiagnosticSupport.class);
+
+    private final @NotNull Project project;
+
+    private final Map<LanguageServerWrapper, WorkspaceDiagnosticRequest<CancellationSupport>> requests = new ConcurrentHashMap<>();
+
+    private volatile Alarm refreshAlarm;
+
+    public LSPWorkspaceDiagnosticSupport(@NotNull Project project) {
+        this.project = project;
+    }
+
+    /**
+     * Pull the diagnostics of the whole workspace for the given language server if it supports 'workspace/diagnostic'.
+     * <p>
+     * The request is debounced so that several changes (ex : typing) are reported with a single request. If a request
+     * is already pending for the language server, a new request is sent once it is answered.
+     *
+     * @param serverWrapper the language server.
+     */
+    public void refreshWorkspaceDiagnostics(@NotNull LanguageServerWrapper serverWrapper) {
+        if (project.isDisposed() || !serverWrapper.isActive() ||
+                !serverWrapper.getClientFeatures().getDiagnosticFeature().isWorkspaceDiagnosticSupported()) {
+            return;
+        }
+        var request = requests.computeIfAbsent(serverWrapper, k -> new WorkspaceDiagnosticRequest<>());
+        long delay;
+        synchronized (request) {
+            delay = request.refresh(System.currentTimeMillis());
+        }
+        scheduleAlarm(serverWrapper, request, delay);
+    }
+
+    private void scheduleAlarm(@NotNull LanguageServerWrapper serverWrapper,
+                               @NotNull WorkspaceDiagnosticRequest<CancellationSupport> request,
+                               long delay) {
+        if (delay == WorkspaceDiagnosticRequest.NO_ALARM || project.isDisposed()) {
+            return;
+        }
+        Alarm alarm = getRefreshAlarm();
+        if (!alarm.isDisposed()) {
+            alarm.addRequest(() -> onAlarm(serverWrapper, request), delay);
+        }
+    }
+
+    private void onAlarm(@NotNull LanguageServerWrapper serverWrapper,
+                         @NotNull WorkspaceDiagnosticRequest<CancellationSupport> request) {
+        if (requests.get(serverWrapper) != request) {
+            // The request has been cancelled
+            return;
+        }
+        long delay;
+        synchronized (request) {
+            if (project.isDisposed() || !serverWrapper.isActive()) {
+                request.cancel();
+                return;
+            }
+            delay = request.onAlarm(System.currentTimeMillis());
+            if (delay == 0) {
+                pullWorkspaceDiagnostics(serverWrapper, request);
+                return;
+            }
+        }
+        scheduleAlarm(serverWrapper, request, delay);
+    }
+
+    private void pullWorkspaceDiagnostics(@NotNull LanguageServerWrapper serverWrapper,
+                                          @NotNull WorkspaceDiagnosticRequest<CancellationSupport> request) {
+        var languageClient = serverWrapper.getLanguageClient();
+        if (languageClient == null) {
+            return;
+        }
+        String identifier = getIdentifier(serverWrapper);
+        WorkspaceDiagnosticParams params = new WorkspaceDiagnosticParams(serverWrapper.getDiagnosticResultIds(identifier));
+        params.setIdentifier(serverWrapper.getClientFeatures().getDiagnosticFeature().getDiagnosticIdentifier());
+
+        // Consume the partial results as soon as they are received
+        String partialResultToken = UUID.randomUUID().toString();
+        params.setPartialResultToken(Either.forLeft(partialResultToken));
+        LSPProgressManager progressManager = languageClient.getProgressManager();
+        progressManager.registerPartialResultHandler(partialResultToken,
+                value -> updateDiagnostics(serverWrapper, identifier, getPartialResultItems(value)));
+
+        CancellationSupport cancellationSupport = new CancellationSupport();
+        request.start(cancellationSupport, System.currentTimeMillis());
+        serverWrapper.getInitializedServer()
+                .thenCompose(ls -> {
+                    if (ls == null) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    // Don't report the errors in a notification since the request is sent in the background
+                    return cancellationSupport.execute(ls.getWorkspaceService().diagnostic(params),
+                            new LanguageServerItem(ls, serverWrapper), LSPRequestConstants.WORKSPACE_DIAGNOSTIC, false);
+                })
+                .whenComplete((report, error) -> {
+                    progressManager.unregisterPartialResultHandler(partialResultToken);
+                    if (error != null) {
+                        LOGGER.warn("Error while consuming '" + LSPRequestConstants.WORKSPACE_DIAGNOSTIC + "' with language server '" +
+                                serverWrapper.getServerDefinition().getDisplayName() + "'", error);
+                    } else if (report != null) {
+                        updateDiagnostics(serverWrapper, identifier, report.getItems());
+                    }
+                    boolean longPolling = error == null && serverWrapper.getClientFeatures().getDiagnosticFeature().isWorkspaceDiagnosticLongPolling();
+                    long delay;
+                    synchronized (request) {
+                        delay = request.done(cancellationSupport, System.currentTimeMillis(), longPolling);
+                    }
+                    scheduleAlarm(serverWrapper, request, delay);
+                });
+    }
+
+    private static void updateDiagnostics(@NotNull LanguageServerWrapper serverWrapper,
+                                          @NotNull String identifier,
+                                          @Nullable List<WorkspaceDocumentDiagnosticReport> items) {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        var clientFeatures = serverWrapper.getClientFeatures();
+        for (var item : items) {
+            if (item == null) {
+                continue;
+            }
+            if (item.isLeft()) {
+                // The diagnostics of the document have changed
+                WorkspaceFullDocumentDiagnosticReport fileReport = item.getLeft();
+                VirtualFile file = FileUriSupport.findFileByUri(fileReport.getUri(), clientFeatures);
+                if (file != null) {
+                    List<Diagnostic> diagnostics = fileReport.getItems() != null ? fileReport.getItems() : Collections.emptyList();
+                    // The version is checked against the version of the opened document to ignore outdated reports
+                    serverWrapper.updateDiagnostics(file, identifier, diagnostics, fileReport.getVersion(), fileReport.getResultId());
+                }
+            } else if (item.isRight()) {
+                // The diagnostics of the document have not changed, only keep the result id
+                WorkspaceUnchangedDocumentDiagnosticReport fileReport = item.getRight();
+                VirtualFile file = FileUriSupport.findFileByUri(fileReport.getUri(), clientFeatures);
+                var fileUri = file != null ? FileUriSupport.getFileUri(file, clientFeatures) : null;
+                if (fileUri != null) {
+                    serverWrapper.updateDiagnosticResultId(fileUri, identifier, fileReport.getResultId());
+                }
+            }
+        }
+    }
+
+    private static @Nullable List<WorkspaceDocumentDiagnosticReport> getPartialResultItems(@NotNull Object value) {
+        try {
+            var gson = JSONUtils.getLsp4jGson();
+            JsonElement json = value instanceof JsonElement element ? element : gson.toJsonTree(value);
+            var partialResult = gson.fromJson(json, WorkspaceDiagnosticReportPartialResult.class);
+            return partialResult != null ? partialResult.getItems() : null;
+        } catch (Exception e) {
+            LOGGER.warn("Error while reading '" + LSPRequestConstants.WORKSPACE_DIAGNOSTIC + "' partial result", e);
+            return null;
+        }
+    }
+
+    private static @NotNull String getIdentifier(@NotNull LanguageServerWrapper serverWrapper) {
+        String identifier = serverWrapper.getClientFeatures().getDiagnosticFeature().getDiagnosticIdentifier();
+        return identifier != null ? identifier : LSPDocumentBase.PULL_DIAGNOSTIC_IDENTIFIER;
+    }
+
+    private Alarm getRefreshAlarm() {
+        if (refreshAlarm == null) {
+            synchronized (this) {
+                if (refreshAlarm == null) {
+                    refreshAlarm = new Alarm(Alarm.ThreadToUse.POOLED_THREAD, this);
+                }
+            }
+        }
+        return refreshAlarm;
+    }
+
+    /**
+     * Cancel the pending 'workspace/diagnostic' request of the given language server (ex: when it is stopped or restarted).
+     *
+     * @param serverWrapper the language server.
+     */
+    public void cancel(@NotNull LanguageServerWrapper serverWrapper) {
+        var request = requests.remove(serverWrapper);
+        if (request != null) {
+            cancel(request);
+        }
+    }
+
+    /**
+     * Cancel all pending 'workspace/diagnostic' requests.
+     */
+    public void cancel() {
+        for (var serverWrapper : requests.keySet()) {
+            cancel(serverWrapper);
+        }
+    }
+
+    private static void cancel(@NotNull WorkspaceDiagnosticRequest<CancellationSupport> request) {
+        CancellationSupport cancellationSupport;
+        synchronized (request) {
+            cancellationSupport = request.cancel();
+        }
+        if (cancellationSupport != null) {
+            cancellationSupport.cancel();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        cancel();
+    }
+}
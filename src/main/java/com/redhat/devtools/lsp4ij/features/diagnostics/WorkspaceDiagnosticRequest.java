@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.diagnostics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * State of the 'workspace/diagnostic' requests of a language server, which decides when a new request must be sent:
+ *
+ * <ul>
+ *     <li>the changes (didChange, didSave, 'workspace/diagnostic/refresh') are debounced: a request is sent once no
+ *     change occurred during {@link #REFRESH_DELAY} ms.</li>
+ *     <li>the changes which occur while a request is pending are debounced once the request is answered.</li>
+ *     <li>when the language server uses long polling, a new request is sent as soon as the previous one is answered,
+ *     unless it has been answered in less than {@link #REFRESH_DELAY} ms.</li>
+ * </ul>
+ * <p>
+ * The methods return the delay in ms after which {@link #onAlarm(long)} must be called, or {@link #NO_ALARM}.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @param <T> the type of the pending request.
+ */
+class WorkspaceDiagnosticRequest<T> {
+
+    // Delay before pulling the workspace diagnostics after a change
+    static final long REFRESH_DELAY = 500L;
+
+    static final long NO_ALARM = -1L;
+
+    // The pending request and null if there is no pending request
+    private @Nullable T pendingRequest;
+    // Time when the pending request has been sent
+    private long pendingRequestTime;
+    // true if a change occurred while the request was pending
+    private boolean dirty;
+    // true if an alarm is scheduled to send a new request
+    private boolean scheduled;
+    // Time when the scheduled request must be sent
+    private long pullTime;
+
+    /**
+     * Called when a change occurred which can impact the workspace diagnostics.
+     *
+     * @param now the current time in ms.
+     * @return the delay of the alarm to schedule or {@link #NO_ALARM}.
+     */
+    long refresh(long now) {
+        if (pendingRequest != null) {
+            // A request is pending, pull again the diagnostics when it will be answered
+            dirty = true;
+            return NO_ALARM;
+        }
+        return schedule(now, REFRESH_DELAY);
+    }
+
+    /**
+     * Called when the scheduled alarm is triggered.
+     *
+     * @param now the current time in ms.
+     * @return 0 if a request must be sent now, the delay of the alarm to schedule again or {@link #NO_ALARM}.
+     */
+    long onAlarm(long now) {
+        if (!scheduled) {
+            // The request has been cancelled
+            return NO_ALARM;
+        }
+        long remaining = pullTime - now;
+        if (remaining > 0) {
+            // A change occurred after the alarm was scheduled
+            return remaining;
+        }
+        scheduled = false;
+        if (pendingRequest != null) {
+            dirty = true;
+            return NO_ALARM;
+        }
+        return 0;
+    }
+
+    /**
+     * Called when a request is sent.
+     *
+     * @param request the request.
+     * @param now     the current time in ms.
+     */
+    void start(@NotNull T request, long now) {
+        pendingRequest = request;
+        pendingRequestTime = now;
+        dirty = false;
+    }
+
+    /**
+     * Called when a request is answered.
+     *
+     * @param request     the request.
+     * @param now         the current time in ms.
+     * @param longPolling true if the language server uses long polling and the request has been answered without error.
+     * @return the delay of the alarm to schedule or {@link #NO_ALARM}.
+     */
+    long done(@NotNull T request, long now, boolean longPolling) {
+        if (pendingRequest != request) {
+            // The request has been cancelled
+            return NO_ALARM;
+        }
+        pendingRequest = null;
+        if (dirty) {
+            dirty = false;
+            return schedule(now, REFRESH_DELAY);
+        }
+        if (longPolling) {
+            // A long-polling language server holds the request until the diagnostics change and expects a new
+            // request as soon as it answers. A request answered immediately is throttled.
+            return schedule(now, now - pendingRequestTime >= REFRESH_DELAY ? 0 : REFRESH_DELAY);
+        }
+        return NO_ALARM;
+    }
+
+    /**
+     * Cancels the pending request and the scheduled request.
+     *
+     * @return the pending request and null otherwise.
+     */
+    @Nullable
+    T cancel() {
+        T request = pendingRequest;
+        pendingRequest = null;
+        dirty = false;
+        scheduled = false;
+        return request;
+    }
+
+    /**
+     * Returns true if a request is pending and false otherwise.
+     *
+     * @return true if a request is pending and false otherwise.
+     */
+    boolean isPending() {
+        return pendingRequest != null;
+    }
+
+    private long schedule(long now, long delay) {
+        pullTime = now + delay;
+        if (scheduled) {
+            // The scheduled alarm will check the new pull time
+            return NO_ALARM;
+        }
+        scheduled = true;
+        return delay;
+    }
+}
@@ -13,12 +13,17 @@ package com.redhat.devtools.lsp4ij.features.documentLink;
 import com.intellij.psi.PsiFile;
 import com.redhat.devtools.lsp4ij.LSPRequestConstants;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.client.features.LSPClientFeatures;
 import com.redhat.devtools.lsp4ij.features.AbstractLSPDocumentFeatureSupport;
+import com.redhat.devtools.lsp4ij.features.LSPRangeMapper;
 import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
 import com.redhat.devtools.lsp4ij.internal.CompletableFutures;
+import org.eclipse.lsp4j.DocumentLink;
 import org.eclipse.lsp4j.DocumentLinkParams;
+import org.eclipse.lsp4j.Range;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -34,7 +39,15 @@ import java.util.concurrent.CompletableFuture;
 public class LSPDocumentLinkSupport extends AbstractLSPDocumentFeatureSupport<DocumentLinkParams, List<DocumentLinkData>> {
 
     public LSPDocumentLinkSupport(@NotNull PsiFile file) {
-        super(file);
+        super(file, true, true);
+    }
+
+    @Override
+    protected boolean isStaleWhileRevalidate(@NotNull LSPClientFeatures clientFeatures) {
+        PsiFile file = super.getFile();
+        var feature = clientFeatures.getDocumentLinkFeature();
+        // A language server which doesn't provide document links for the file doesn't prevent the mode
+        return !feature.isEnabled(file) || !feature.isSupported(file) || feature.isStaleWhileRevalidate(file);
     }
 
     public CompletableFuture<List<DocumentLinkData>> getDocumentLinks(DocumentLinkParams params) {
@@ -48,6 +61,21 @@ public class LSPDocumentLinkSupport extends AbstractLSPDocumentFeatureSupport<Do
         return getDocumentLinks(file, params, cancellationSupport);
     }
 
+    @Override
+    protected List<DocumentLinkData> remapStaleResult(@NotNull List<DocumentLinkData> documentLinks,
+                                                      @NotNull LSPRangeMapper mapper) {
+        List<DocumentLinkData> remapped = new ArrayList<>(documentLinks.size());
+        for (DocumentLinkData data : documentLinks) {
+            DocumentLink documentLink = data.documentLink();
+            Range range = mapper.mapRange(documentLink.getRange());
+            if (range != null) {
+                var copy = new DocumentLink(range, documentLink.getTarget(), documentLink.getData(), documentLink.getTooltip());
+                remapped.add(new DocumentLinkData(copy, data.languageServer()));
+            }
+        }
+        return remapped;
+    }
+
     private static @NotNull CompletableFuture<List<DocumentLinkData>> getDocumentLinks(@NotNull PsiFile file,
                                                                                        @NotNull DocumentLinkParams params,
                                                                                        @NotNull CancellationSupport cancellationSupport) {
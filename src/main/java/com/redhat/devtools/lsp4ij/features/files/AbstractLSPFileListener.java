@@ -10,11 +10,13 @@
  ******************************************************************************/
 package com.redhat.devtools.lsp4ij.features.files;
 
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.fileEditor.FileEditorManagerListener;
 import com.intellij.openapi.vfs.AsyncFileListener;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.openapi.vfs.VirtualFilePropertyEvent;
 import com.intellij.openapi.vfs.newvfs.events.*;
+import com.intellij.util.Alarm;
 import com.redhat.devtools.lsp4ij.LSPIJUtils;
 import com.redhat.devtools.lsp4ij.LanguageServerWrapper;
 import com.redhat.devtools.lsp4ij.features.files.watcher.FileSystemWatcherManager;
@@ -31,6 +33,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -52,9 +55,28 @@ import java.util.concurrent.TimeoutException;
  * Subclasses must implement the abstract hook methods to specify how IntelliJ
  * VFS events are converted into LSP {@link FileEvent}, {@link FileCreate},
  * {@link FileDelete}, and {@link FileRename} structures.
+ * <p>
+ * The {@code workspace/didChangeWatchedFiles} events of consecutive VFS batches (ex : 'git checkout',
+ * 'npm install') are coalesced per URI with {@link FileEventCoalescer} during a short time window, and they are
+ * flushed before any {@code workspace/will*} and {@code workspace/did*} file operation.
  */
 public abstract class AbstractLSPFileListener implements FileEditorManagerListener, AsyncFileListener {
 
+    /**
+     * Delay without new VFS batch after which the pending {@code workspace/didChangeWatchedFiles} events are sent.
+     */
+    private static final int DID_CHANGE_WATCHED_FILES_DEBOUNCE_DELAY_MS = 100;
+
+    /**
+     * Maximum delay of a pending {@code workspace/didChangeWatchedFiles} event during a VFS storm.
+     */
+    private static final int DID_CHANGE_WATCHED_FILES_MAX_DELAY_MS = 1000;
+
+    /**
+     * Maximum number of file events sent in one {@code workspace/didChangeWatchedFiles} notification.
+     */
+    private static final int MAX_FILE_EVENTS_PER_NOTIFICATION = 1000;
+
     /**
      * The associated language server wrapper.
      */
@@ -65,6 +87,10 @@ public abstract class AbstractLSPFileListener implements FileEditorManagerListen
      */
     protected final FileSystemWatcherManager fileSystemWatcherManager;
 
+    private final FileEventCoalescer fileEventCoalescer = new FileEventCoalescer();
+
+    private volatile @Nullable Alarm didChangeWatchedFilesAlarm;
+
     /**
      * Creates a new LSP-aware file listener.
      *
@@ -220,6 +246,10 @@ public abstract class AbstractLSPFileListener implements FileEditorManagerListen
         }
         var ls = languageServerWrapper.getLanguageServer();
         if (ls != null) {
+            if (!fileCreates.isEmpty() || !fileDeletes.isEmpty() || !fileRenames.isEmpty()) {
+                // The language server must know the previous file changes before the file operation
+                flushFileEvents();
+            }
             if (!fileCreates.isEmpty()) {
                 var params = new CreateFilesParams(fileCreates);
                 applyWorkspaceEdit(ls.getWorkspaceService().willCreateFiles(params));
@@ -313,6 +343,10 @@ public abstract class AbstractLSPFileListener implements FileEditorManagerListen
             }
         }
 
+        if (!fileCreates.isEmpty() || !fileDeletes.isEmpty() || !fileRenames.isEmpty()) {
+            // The language server must know the previous file changes before the file operation
+            flushFileEvents();
+        }
         if (!fileCreates.isEmpty()) {
             didCreateFiles(fileCreates);
         }
@@ -323,7 +357,7 @@ public abstract class AbstractLSPFileListener implements FileEditorManagerListen
             didRenameFiles(fileRenames);
         }
         if (!fileEvents.isEmpty()) {
-            didChangeWatchedFiles(fileEvents);
+            addFileEvents(fileEvents);
         }
     }
 
@@ -425,6 +459,60 @@ public abstract class AbstractLSPFileListener implements FileEditorManagerListen
         });
     }
 
+    /**
+     * Adds the given file events to the pending {@code workspace/didChangeWatchedFiles} events and schedules
+     * their sending.
+     * <p>
+     * The pending events are sent when no VFS batch has occurred for {@link #DID_CHANGE_WATCHED_FILES_DEBOUNCE_DELAY_MS},
+     * at the latest {@link #DID_CHANGE_WATCHED_FILES_MAX_DELAY_MS} after the first pending event, or as soon as
+     * {@link #MAX_FILE_EVENTS_PER_NOTIFICATION} events are pending.
+     */
+    private void addFileEvents(@NotNull List<FileEvent> fileEvents) {
+        long delay;
+        synchronized (fileEventCoalescer) {
+            fileEventCoalescer.addFileEvents(fileEvents);
+            if (fileEventCoalescer.isEmpty()) {
+                // ex : files created then deleted
+                return;
+            }
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fileEventCoalescer.getFirstPendingEventTime());
+            delay = Math.min(DID_CHANGE_WATCHED_FILES_DEBOUNCE_DELAY_MS, DID_CHANGE_WATCHED_FILES_MAX_DELAY_MS - elapsed);
+            if (fileEventCoalescer.size() >= MAX_FILE_EVENTS_PER_NOTIFICATION) {
+                delay = 0;
+            }
+        }
+        if (delay <= 0 || ApplicationManager.getApplication().isUnitTestMode() || languageServerWrapper.isDisposed()) {
+            flushFileEvents();
+            return;
+        }
+        Alarm alarm = getDidChangeWatchedFilesAlarm();
+        alarm.cancelAllRequests();
+        alarm.addRequest(this::flushFileEvents, delay);
+    }
+
+    /**
+     * Sends the pending {@code workspace/didChangeWatchedFiles} events.
+     */
+    private void flushFileEvents() {
+        // Send the notifications in the lock to keep the order of the events of a URI between two flushes
+        synchronized (fileEventCoalescer) {
+            for (var chunk : fileEventCoalescer.drain(MAX_FILE_EVENTS_PER_NOTIFICATION)) {
+                didChangeWatchedFiles(chunk);
+            }
+        }
+    }
+
+    private @NotNull Alarm getDidChangeWatchedFilesAlarm() {
+        if (didChangeWatchedFilesAlarm == null) {
+            synchronized (this) {
+                if (didChangeWatchedFilesAlarm == null) {
+                    didChangeWatchedFilesAlarm = new Alarm(Alarm.ThreadToUse.POOLED_THREAD, languageServerWrapper);
+                }
+            }
+        }
+        return didChangeWatchedFilesAlarm;
+    }
+
     /**
      * Sends a {@code workspace/didChangeWatchedFiles} notification.
      */
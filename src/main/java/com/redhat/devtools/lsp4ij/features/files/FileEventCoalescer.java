@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.files;
+
+import org.eclipse.lsp4j.FileChangeType;
+import org.eclipse.lsp4j.FileEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the file events which have not been sent yet with 'workspace/didChangeWatchedFiles' and coalesces them
+ * per URI, against the state of the file known by the language server:
+ *
+ * <ul>
+ *     <li>created then deleted: nothing is sent.</li>
+ *     <li>created then changed: created.</li>
+ *     <li>changed then changed: changed once.</li>
+ *     <li>changed then deleted: deleted.</li>
+ *     <li>deleted then created (ex : file replaced by a 'git checkout'): changed.</li>
+ * </ul>
+ * <p>
+ * This class is not thread safe.
+ */
+class FileEventCoalescer {
+
+    // URI -> pending change type, in the order of the first event of each URI
+    private final Map<String, FileChangeType> pendingEvents = new LinkedHashMap<>();
+
+    // Time (System.nanoTime()) of the first pending event
+    private long firstPendingEventTime;
+
+    /**
+     * Adds the given file events.
+     *
+     * @param fileEvents the file events.
+     */
+    void addFileEvents(@NotNull List<FileEvent> fileEvents) {
+        if (pendingEvents.isEmpty()) {
+            firstPendingEventTime = System.nanoTime();
+        }
+        for (var fileEvent : fileEvents) {
+            String uri = fileEvent.getUri();
+            FileChangeType type = fileEvent.getType();
+            if (uri == null || type == null) {
+                continue;
+            }
+            FileChangeType pendingType = pendingEvents.get(uri);
+            if (pendingType == null) {
+                pendingEvents.put(uri, type);
+            } else {
+                FileChangeType merged = merge(pendingType, type);
+                if (merged != null) {
+                    pendingEvents.put(uri, merged);
+                } else {
+                    pendingEvents.remove(uri);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the change type which replaces the pending change type and the new change type of a file and null if
+     * the two changes cancel each other out.
+     *
+     * @param pendingType the pending change type.
+     * @param type        the new change type.
+     * @return the change type which replaces the pending change type and the new change type of a file and null if
+     * the two changes cancel each other out.
+     */
+    static @Nullable FileChangeType merge(@NotNull FileChangeType pendingType, @NotNull FileChangeType type) {
+        return switch (pendingType) {
+            // The language server doesn't know the file
+            case Created -> type == FileChangeType.Deleted ? null : FileChangeType.Created;
+            // The language server knows the file
+            case Changed -> type == FileChangeType.Deleted ? FileChangeType.Deleted : FileChangeType.Changed;
+            case Deleted -> type == FileChangeType.Deleted ? FileChangeType.Deleted : FileChangeType.Changed;
+        };
+    }
+
+    /**
+     * Returns true if there are no pending file events and false otherwise.
+     *
+     * @return true if there are no pending file events and false otherwise.
+     */
+    boolean isEmpty() {
+        return pendingEvents.isEmpty();
+    }
+
+    /**
+     * Returns the number of pending file events.
+     *
+     * @return the number of pending file events.
+     */
+    int size() {
+        return pendingEvents.size();
+    }
+
+    /**
+     * Returns the time (System.nanoTime()) of the first pending event.
+     *
+     * @return the time (System.nanoTime()) of the first pending event.
+     */
+    long getFirstPendingEventTime() {
+        return firstPendingEventTime;
+    }
+
+    /**
+     * Returns the pending file events split in chunks of at most the given size, and clears them.
+     *
+     * @param maxEventsPerNotification the maximum number of file events of a chunk.
+     * @return the pending file events split in chunks of at most the given size.
+     */
+    @NotNull
+    List<List<FileEvent>> drain(int maxEventsPerNotification) {
+        if (pendingEvents.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<List<FileEvent>> chunks = new ArrayList<>();
+        List<FileEvent> chunk = null;
+        for (var entry : pendingEvents.entrySet()) {
+            if (chunk == null || chunk.size() == maxEventsPerNotification) {
+                chunk = new ArrayList<>(Math.min(maxEventsPerNotification, pendingEvents.size()));
+                chunks.add(chunk);
+            }
+            chunk.add(new FileEvent(entry.getKey(), entry.getValue()));
+        }
+        pendingEvents.clear();
+        return chunks;
+    }
+}
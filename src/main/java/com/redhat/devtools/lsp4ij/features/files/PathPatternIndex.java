@@ -0,0 +1,515 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.files;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Index of glob patterns compiled in a segment trie, which returns the kinds (ex : LSP watch kinds) of all patterns
+ * matching a path in a single pass on the path segments.
+ * <p>
+ * Patterns are grouped by base path and each group is compiled in a trie where:
+ *
+ * <ul>
+ *     <li>a literal segment (ex : 'node_modules') is a child indexed by its name.</li>
+ *     <li>a '**' segment is a child which consumes any number of segments, including none.</li>
+ *     <li>a last segment '*.ext' (ex : '*.ts') is indexed by its extension.</li>
+ *     <li>other segments (ex : 'i18n*', 'foo.[0-9]') are matched with a segment regex.</li>
+ *     <li>'{}' groups inside a segment are expanded (ex : '*.{ts,js}' -> '*.ts', '*.js').</li>
+ * </ul>
+ * <p>
+ * Patterns which don't fit in the trie ('**' inside a segment, '{}' group containing '/', '**' or '[]') are matched
+ * with {@link PathPatternMatcher}, as before.
+ */
+public class PathPatternIndex {
+
+    // Maximum number of patterns generated by the expansion of the '{}' groups of a pattern
+    private static final int MAX_EXPANDED_PATTERNS = 64;
+
+    private static final String REGEX_META_CHARS = ".^$+{[]|()\\";
+
+    private final boolean caseSensitive;
+
+    // Base path -> trie of the patterns relative to this base path
+    private final Map<Path, Node> roots = new LinkedHashMap<>();
+    // Trie of the patterns without base path, matched against the full path
+    private @Nullable Node absoluteRoot;
+    // Patterns which cannot be compiled in a trie
+    private final List<FallbackMatcher> fallbackMatchers = new ArrayList<>();
+    private int kinds;
+
+    public PathPatternIndex() {
+        // Like NIO glob path matchers, patterns are case-insensitive on Windows
+        this(File.separatorChar != '\\');
+    }
+
+    public PathPatternIndex(boolean caseSensitive) {
+        this.caseSensitive = caseSensitive;
+    }
+
+    /**
+     * Adds the given path pattern matcher to the index.
+     *
+     * @param matcher the path pattern matcher.
+     * @param kinds   the kinds (bit mask) returned by {@link #match(Path)} when the pattern matches a path.
+     */
+    public void add(@NotNull PathPatternMatcher matcher, int kinds) {
+        String glob = matcher.getPattern().replace('\\', '/');
+        if (glob.isEmpty() || kinds == 0) {
+            return;
+        }
+        this.kinds |= kinds;
+        List<List<Segment>> patterns = compile(glob);
+        if (patterns == null) {
+            fallbackMatchers.add(new FallbackMatcher(matcher, kinds));
+            return;
+        }
+        Path basePath = matcher.getBasePath();
+        Node root;
+        if (basePath != null) {
+            root = roots.computeIfAbsent(basePath, p -> new Node(false));
+        } else {
+            if (absoluteRoot == null) {
+                absoluteRoot = new Node(false);
+            }
+            root = absoluteRoot;
+        }
+        for (var segments : patterns) {
+            root.insert(segments, kinds);
+        }
+    }
+
+    /**
+     * Returns the union of the kinds of the patterns of the index.
+     *
+     * @return the union of the kinds of the patterns of the index.
+     */
+    public int getKinds() {
+        return kinds;
+    }
+
+    /**
+     * Returns the union of the kinds of the patterns matching the given path and 0 if no pattern matches.
+     *
+     * @param path the path to match.
+     * @return the union of the kinds of the patterns matching the given path and 0 if no pattern matches.
+     */
+    public int match(@NotNull Path path) {
+        int result = 0;
+        String separator = path.getFileSystem().getSeparator();
+        for (var entry : roots.entrySet()) {
+            Path basePath = entry.getKey();
+            if (path.startsWith(basePath)) {
+                result |= entry.getValue().match(toSegments(basePath.relativize(path), separator));
+                if (result == kinds) {
+                    return result;
+                }
+            }
+        }
+        if (absoluteRoot != null) {
+            result |= absoluteRoot.match(toSegments(path, separator));
+        }
+        for (var fallbackMatcher : fallbackMatchers) {
+            if ((result & fallbackMatcher.kinds()) != fallbackMatcher.kinds() && fallbackMatcher.matches(path)) {
+                result |= fallbackMatcher.kinds();
+            }
+        }
+        return result;
+    }
+
+    private String @NotNull [] toSegments(@NotNull Path path, @NotNull String separator) {
+        String s = path.toString();
+        if (!caseSensitive) {
+            s = s.toLowerCase(Locale.ROOT);
+        }
+        char separatorChar = separator.charAt(0);
+        int count = 1;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == separatorChar) {
+                count++;
+            }
+        }
+        String[] segments = new String[count];
+        int start = 0;
+        int index = 0;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == separatorChar) {
+                segments[index++] = s.substring(start, i);
+                start = i + 1;
+            }
+        }
+        segments[index] = s.substring(start);
+        return segments;
+    }
+
+    // ------------------------- Pattern compilation
+
+    /**
+     * Returns the segments of the patterns generated by the expansion of the '{}' groups of the given glob pattern
+     * and null if the glob pattern cannot be compiled in a trie.
+     */
+    private @Nullable List<List<Segment>> compile(@NotNull String glob) {
+        List<String> expanded = expandGroups(glob);
+        if (expanded == null) {
+            return null;
+        }
+        List<List<Segment>> patterns = new ArrayList<>(expanded.size());
+        for (var pattern : expanded) {
+            List<Segment> segments = new ArrayList<>();
+            int start = 0;
+            while (true) {
+                int end = pattern.indexOf('/', start);
+                Segment segment = compileSegment(end == -1 ? pattern.substring(start) : pattern.substring(start, end));
+                if (segment == null) {
+                    return null;
+                }
+                segments.add(segment);
+                if (end == -1) {
+                    break;
+                }
+                start = end + 1;
+            }
+            patterns.add(segments);
+        }
+        return patterns;
+    }
+
+    /**
+     * Returns the patterns generated by the expansion of the '{}' groups of the given glob pattern
+     * (ex : '*.{ts,js}' -> '*.ts', '*.js') and null if a group cannot be expanded.
+     */
+    static @Nullable List<String> expandGroups(@NotNull String glob) {
+        int groupStart = glob.indexOf('{');
+        if (groupStart == -1) {
+            return Collections.singletonList(glob);
+        }
+        if (glob.indexOf('[') != -1) {
+            // '{' and ',' are literal characters in a '[]' class
+            return null;
+        }
+        List<String> expanded = new ArrayList<>();
+        expanded.add("");
+        int from = 0;
+        while (groupStart != -1) {
+            int groupEnd = glob.indexOf('}', groupStart);
+            if (groupEnd == -1) {
+                // Missing '}'
+                return null;
+            }
+            String group = glob.substring(groupStart + 1, groupEnd);
+            if (group.indexOf('{') != -1 || group.indexOf('/') != -1 || group.contains("**")) {
+                // Nested groups are invalid, '/' and '**' in a group cannot be matched segment by segment
+                return null;
+            }
+            String before = glob.substring(from, groupStart);
+            String[] alternatives = group.split(",", -1);
+            if (expanded.size() * alternatives.length > MAX_EXPANDED_PATTERNS) {
+                return null;
+            }
+            List<String> next = new ArrayList<>(expanded.size() * alternatives.length);
+            for (var prefix : expanded) {
+                for (var alternative : alternatives) {
+                    next.add(prefix + before + alternative);
+                }
+            }
+            expanded = next;
+            from = groupEnd + 1;
+            groupStart = glob.indexOf('{', from);
+        }
+        String after = glob.substring(from);
+        expanded.replaceAll(pattern -> pattern + after);
+        return expanded;
+    }
+
+    private @Nullable Segment compileSegment(@NotNull String segment) {
+        if ("**".equals(segment)) {
+            return Segment.GLOBSTAR;
+        }
+        if (segment.contains("**")) {
+            // '**' inside a segment matches across segments (ex : '**.ts')
+            return null;
+        }
+        String text = caseSensitive ? segment : segment.toLowerCase(Locale.ROOT);
+        if (!hasWildcard(segment, 0)) {
+            return new Segment(SegmentType.LITERAL, text, null);
+        }
+        if (segment.charAt(0) == '*' && !hasWildcard(segment, 1)) {
+            // ex : '*.ts'
+            return new Segment(SegmentType.SUFFIX, text.substring(1), null);
+        }
+        Pattern regex = toSegmentRegex(segment);
+        return regex != null ? new Segment(SegmentType.REGEX, segment, regex) : null;
+    }
+
+    private static boolean hasWildcard(@NotNull String segment, int from) {
+        for (int i = from; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '*' || c == '?' || c == '[') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the regex of the given segment glob pattern, with the same syntax as the NIO glob path matchers, and null
+     * if the segment is invalid.
+     */
+    private @Nullable Pattern toSegmentRegex(@NotNull String segment) {
+        StringBuilder regex = new StringBuilder();
+        int i = 0;
+        while (i < segment.length()) {
+            char c = segment.charAt(i++);
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                case '[' -> {
+                    regex.append('[');
+                    if (next(segment, i) == '^') {
+                        regex.append("\\^");
+                        i++;
+                    } else {
+                        if (next(segment, i) == '!') {
+                            regex.append('^');
+                            i++;
+                        }
+                        if (next(segment, i) == '-') {
+                            regex.append('-');
+                            i++;
+                        }
+                    }
+                    boolean hasRangeStart = false;
+                    char last = 0;
+                    c = 0;
+                    while (i < segment.length()) {
+                        c = segment.charAt(i++);
+                        if (c == ']') {
+                            break;
+                        }
+                        if (c == '\\' || c == '[' || (c == '&' && next(segment, i) == '&')) {
+                            regex.append('\\');
+                        }
+                        regex.append(c);
+                        if (c == '-') {
+                            if (!hasRangeStart) {
+                                // Invalid range
+                                return null;
+                            }
+                            c = next(segment, i++);
+                            if (c == 0 || c == ']') {
+                                break;
+                            }
+                            if (c < last) {
+                                // Invalid range
+                                return null;
+                            }
+                            regex.append(c);
+                            hasRangeStart = false;
+                        } else {
+                            hasRangeStart = true;
+                            last = c;
+                        }
+                    }
+                    if (c != ']') {
+                        // Missing ']'
+                        return null;
+                    }
+                    regex.append(']');
+                }
+                default -> {
+                    if (REGEX_META_CHARS.indexOf(c) != -1) {
+                        regex.append('\\');
+                    }
+                    regex.append(c);
+                }
+            }
+        }
+        try {
+            return caseSensitive ?
+                    Pattern.compile(regex.toString()) :
+                    Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static char next(@NotNull String s, int i) {
+        return i < s.length() ? s.charAt(i) : 0;
+    }
+
+    // ------------------------- Trie
+
+    private enum SegmentType {
+        LITERAL,
+        GLOBSTAR,
+        SUFFIX,
+        REGEX
+    }
+
+    private record Segment(@NotNull SegmentType type, @NotNull String text, @Nullable Pattern regex) {
+
+        static final Segment GLOBSTAR = new Segment(SegmentType.GLOBSTAR, "**", null);
+
+        boolean matches(@NotNull String segment) {
+            return type == SegmentType.SUFFIX ? segment.endsWith(text) : regex.matcher(segment).matches();
+        }
+    }
+
+    private record SegmentEdge(@NotNull Segment segment, @NotNull Node node) {
+    }
+
+    private static class Node {
+
+        // true if the node is reached with '**' and consumes any segment
+        private final boolean globstar;
+        // Kinds of the patterns which end at this node
+        private int kinds;
+        private @Nullable Map<String, Node> literals;
+        private @Nullable List<SegmentEdge> wildcards;
+        private @Nullable Node globstarChild;
+        // Extension of the last segment '*.ext' -> kinds
+        private @Nullable Map<String, Integer> extensions;
+
+        Node(boolean globstar) {
+            this.globstar = globstar;
+        }
+
+        void insert(@NotNull List<Segment> segments, int kinds) {
+            Node node = this;
+            int last = segments.size() - 1;
+            for (int i = 0; i <= last; i++) {
+                Segment segment = segments.get(i);
+                switch (segment.type()) {
+                    case LITERAL -> {
+                        if (node.literals == null) {
+                            node.literals = new HashMap<>();
+                        }
+                        node = node.literals.computeIfAbsent(segment.text(), s -> new Node(false));
+                    }
+                    case GLOBSTAR -> {
+                        if (node.globstarChild == null) {
+                            node.globstarChild = new Node(true);
+                        }
+                        node = node.globstarChild;
+                    }
+                    default -> {
+                        String suffix = segment.text();
+                        if (i == last && segment.type() == SegmentType.SUFFIX &&
+                                suffix.length() > 1 && suffix.charAt(0) == '.') {
+                            // ex : '*.ts'
+                            if (node.extensions == null) {
+                                node.extensions = new HashMap<>();
+                            }
+                            node.extensions.merge(suffix.substring(1), kinds, (a, b) -> a | b);
+                            return;
+                        }
+                        node = node.getWildcardChild(segment);
+                    }
+                }
+            }
+            node.kinds |= kinds;
+        }
+
+        private @NotNull Node getWildcardChild(@NotNull Segment segment) {
+            if (wildcards == null) {
+                wildcards = new ArrayList<>();
+            }
+            for (var edge : wildcards) {
+                if (edge.segment().type() == segment.type() && edge.segment().text().equals(segment.text())) {
+                    return edge.node();
+                }
+            }
+            Node child = new Node(false);
+            wildcards.add(new SegmentEdge(segment, child));
+            return child;
+        }
+
+        int match(String @NotNull [] segments) {
+            int result = 0;
+            List<Node> current = new ArrayList<>();
+            addState(current, this);
+            int last = segments.length - 1;
+            for (int i = 0; i <= last && !current.isEmpty(); i++) {
+                String segment = segments[i];
+                List<Node> next = new ArrayList<>();
+                for (var node : current) {
+                    if (i == last && node.extensions != null) {
+                        result |= matchExtension(node.extensions, segment);
+                    }
+                    if (node.globstar) {
+                        addState(next, node);
+                    }
+                    if (node.literals != null) {
+                        Node child = node.literals.get(segment);
+                        if (child != null) {
+                            addState(next, child);
+                        }
+                    }
+                    if (node.wildcards != null) {
+                        for (var edge : node.wildcards) {
+                            if (edge.segment().matches(segment)) {
+                                addState(next, edge.node());
+                            }
+                        }
+                    }
+                }
+                current = next;
+            }
+            for (var node : current) {
+                result |= node.kinds;
+            }
+            return result;
+        }
+
+        private static int matchExtension(@NotNull Map<String, Integer> extensions, @NotNull String segment) {
+            int result = 0;
+            int dot = segment.indexOf('.');
+            while (dot != -1) {
+                Integer kinds = extensions.get(segment.substring(dot + 1));
+                if (kinds != null) {
+                    result |= kinds;
+                }
+                dot = segment.indexOf('.', dot + 1);
+            }
+            return result;
+        }
+
+        private static void addState(@NotNull List<Node> states, @NotNull Node node) {
+            for (var state : states) {
+                if (state == node) {
+                    return;
+                }
+            }
+            states.add(node);
+            if (node.globstarChild != null) {
+                // '**' matches none segment
+                addState(states, node.globstarChild);
+            }
+        }
+    }
+
+    private record FallbackMatcher(@NotNull PathPatternMatcher matcher, int kinds) {
+
+        boolean matches(@NotNull Path path) {
+            Path basePath = matcher.getBasePath();
+            if (basePath == null) {
+                return matcher.matches(path);
+            }
+            return path.startsWith(basePath) && matcher.matches(basePath.relativize(path));
+        }
+    }
+}
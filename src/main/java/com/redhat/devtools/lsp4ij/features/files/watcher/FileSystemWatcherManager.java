@@ -12,6 +12,7 @@ package com.redhat.devtools.lsp4ij.features.files.watcher;
 
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectUtil;
+import com.redhat.devtools.lsp4ij.features.files.PathPatternIndex;
 import com.redhat.devtools.lsp4ij.features.files.PathPatternMatcher;
 import com.redhat.devtools.lsp4ij.internal.StringUtils;
 import org.eclipse.lsp4j.FileSystemWatcher;
@@ -97,7 +98,7 @@ public class FileSystemWatcherManager {
 
     private Set<FileSystemWatcher> fileSystemWatchers;
 
-    private Map<Integer, List<PathPatternMatcher>> pathPatternMatchers;
+    private volatile PathPatternIndex pathPatternIndex;
 
     public FileSystemWatcherManager(@NotNull Project project) {
         this(getProjectBasePath(project));
@@ -123,24 +124,6 @@ public class FileSystemWatcherManager {
         return basePath != null ? Path.of(basePath) : null;
     }
 
-    private static void tryAddingMatcher(@NotNull PathPatternMatcher matcher,
-                                         @NotNull Map<Integer, List<PathPatternMatcher>> matchers,
-                                         @Nullable Integer watcherKind,
-                                         int kind) {
-        if (!isWatchKind(watcherKind, kind)) {
-            return;
-        }
-        List<PathPatternMatcher> matchersForKind = matchers.computeIfAbsent(kind, k -> new ArrayList<>());
-        matchersForKind.add(matcher);
-    }
-
-    /**
-     * Checks if the combined value contains a specific kind.
-     */
-    private static boolean isWatchKind(Integer watcherKind, int kind) {
-        return watcherKind == null || (watcherKind & kind) != 0;
-    }
-
     @Nullable
     private static PathPatternMatcher getPathPatternMatcher(@NotNull FileSystemWatcher fileSystemMatcher,
                                                             @Nullable Path basePath) {
@@ -230,7 +213,7 @@ public class FileSystemWatcherManager {
                 .stream()
                 .flatMap(List::stream)
                 .collect(Collectors.toSet());
-        pathPatternMatchers = null;
+        pathPatternIndex = null;
     }
 
     /**
@@ -256,11 +239,7 @@ public class FileSystemWatcherManager {
             return false;
         }
 
-        // Ensure pattern matchers are initialized before use
-        computePatternMatchersIfNeed();
-
-        var matchers = pathPatternMatchers.get(kind);
-        return matchers != null && !matchers.isEmpty();
+        return (getPathPatternIndex().getKinds() & kind) != 0;
     }
 
     /**
@@ -305,156 +284,66 @@ public class FileSystemWatcherManager {
      * @return true if the given uri matches a pattern for the given watch kind and false otherwise.
      */
     public boolean isMatchFilePattern(@Nullable URI uri, int kind) {
+        return (getMatchingWatchKinds(uri) & kind) != 0;
+    }
+
+    /**
+     * Returns the watch kinds (combination of {@link WatchKind#Create}, {@link WatchKind#Change} and
+     * {@link WatchKind#Delete}) of the patterns matching the given uri and 0 if no pattern matches the uri.
+     *
+     * @param uri the uri to match.
+     * @return the watch kinds of the patterns matching the given uri and 0 if no pattern matches the uri.
+     */
+    public int getMatchingWatchKinds(@Nullable URI uri) {
         // If no URI or no patterns are registered, there can be no match
         if (uri == null || !hasFilePatterns()) {
-            return false;
+            return 0;
         }
 
         // FIX: Skip archive files to avoid ZipFileSystemProvider triggering toRealPath()
         // which causes WindowsNativeDispatcher.FindFirstFile0 freeze on slow disks
         if (isArchiveFile(uri)) {
-            return false;
+            return 0;
         }
 
-        // Ensure pattern matchers are initialized before use
-        computePatternMatchersIfNeed();
-
-        // Cache: basePath -> relative path if included, false otherwise
-        Map<Path, Either<Path, Boolean>> basePathToRelativePath = new HashMap<>();
-
         try {
-            // Convert the URI to a Path for matching
-            Path path = Paths.get(uri);
-
-            // Match against the given kind or the "any" kind
-            return match(path, kind, basePathToRelativePath)
-                    || match(path, WatchKindAny, basePathToRelativePath);
-
+            // Convert the URI to a Path and match all the patterns in a single pass
+            return getPathPatternIndex().match(Paths.get(uri));
         } catch (Exception e) {
             // Any failure in URI-to-Path conversion or matching is treated as "no match"
-            return false;
+            return 0;
         }
     }
 
-    private void computePatternMatchersIfNeed() {
-        if (pathPatternMatchers == null) {
-            computePatternMatchers();
+    private @NotNull PathPatternIndex getPathPatternIndex() {
+        PathPatternIndex index = pathPatternIndex;
+        if (index == null) {
+            index = computePathPatternIndex();
         }
+        return index;
     }
 
-    private synchronized void computePatternMatchers() {
-        if (pathPatternMatchers != null) {
-            return;
+    /**
+     * Compiles the glob patterns of all registered file system watchers in one {@link PathPatternIndex}, instead
+     * of trying the path matchers of each watcher one by one for each file event.
+     *
+     * @return the compiled index of the glob patterns.
+     */
+    private synchronized @NotNull PathPatternIndex computePathPatternIndex() {
+        PathPatternIndex index = pathPatternIndex;
+        if (index != null) {
+            return index;
         }
-        Map<Integer, List<PathPatternMatcher>> matchers = new HashMap<>();
+        index = new PathPatternIndex();
         for (var fileSystemMatcher : fileSystemWatchers) {
             PathPatternMatcher matcher = getPathPatternMatcher(fileSystemMatcher, basePath);
             if (matcher != null) {
                 Integer kind = fileSystemMatcher.getKind();
-                tryAddingMatcher(matcher, matchers, kind, WatchKind.Create);
-                tryAddingMatcher(matcher, matchers, kind, WatchKind.Change);
-                tryAddingMatcher(matcher, matchers, kind, WatchKind.Delete);
+                index.add(matcher, kind == null ? WatchKindAny : kind & WatchKindAny);
             }
         }
-        pathPatternMatchers = matchers;
-    }
-
-    /**
-     * Checks whether the given {@link Path} matches any registered {@link PathPatternMatcher}
-     * for the specified watch kind.
-     *
-     * <p>This method iterates through all pattern matchers for the given {@code kind},
-     * checks if the provided path is under each matcher's base path, and if so, applies the matcher
-     * to the relative path.</p>
-     *
-     * <p>To optimize performance, a cache map is used to store intermediate results for base path checks:
-     * <ul>
-     *   <li><b>Key:</b> the base path of a matcher</li>
-     *   <li><b>Value:</b> Either:
-     *       <ul>
-     *         <li>Left - the relative path if the path is under the base path</li>
-     *         <li>Right(false) - indicates the path is not under this base path</li>
-     *       </ul>
-     *   </li>
-     * </ul>
-     * </p>
-     *
-     * @param path the file path to test, must not be {@code null}
-     * @param kind the watch kind to check against (e.g., {@link WatchKind#Create},
-     *             {@link WatchKind#Change}, {@link WatchKind#Delete}, or {@code WatchKindAny} for a wildcard match)
-     * @param basePathToRelativePath a cache for storing relative paths or negative results
-     * @return {@code true} if the path matches any pattern for the given kind, {@code false} otherwise
-     */
-    private boolean match(@NotNull Path path,
-                          int kind,
-                          @NotNull Map<Path, Either<Path, Boolean>> basePathToRelativePath) {
-
-        // Retrieve all matchers registered for the given kind
-        List<PathPatternMatcher> matchers = pathPatternMatchers.get(kind);
-        if (matchers == null) {
-            return false; // No matchers for this kind
-        }
-
-        // Iterate over each matcher
-        for (var matcher : matchers) {
-            // Check if the path is under the matcher's base path
-            var relativePath = matchBasePath(path, matcher.getBasePath(), basePathToRelativePath);
-            if (relativePath != null) {
-                // Apply the matcher to the relative path
-                if (matcher.matches(relativePath)) {
-                    return true;
-                }
-            } else if (matcher.getBasePath() == null) {
-                // ex: "globPattern": "**/*.rs" (no base path extracted)
-                // Apply the matcher to the path
-                if (matcher.matches(path)) {
-                    return true;
-                }
-            }
-        }
-
-        // No matcher matched
-        return false;
-    }
-
-    /**
-     * Checks whether the given {@link Path} is located under a specified base path.
-     *
-     * <p>If the path is under the base path, the relative path is returned and cached.
-     * If the path is not under the base path, the result is cached as a negative match.</p>
-     *
-     * @param path the path to check, must not be {@code null}
-     * @param basePath the base path to test against, may be {@code null}
-     * @param basePathToRelativePath cache map to store computed results
-     * @return the relative path between {@code basePath} and {@code path} if included,
-     *         or {@code null} if the path is not under the base path
-     */
-    private @Nullable Path matchBasePath(@NotNull Path path,
-                                         @Nullable Path basePath,
-                                         @NotNull Map<Path, Either<Path, Boolean>> basePathToRelativePath) {
-        if (basePath == null) {
-            return null; // No base path to check
-        }
-
-        // Check cache first
-        var matches = basePathToRelativePath.get(basePath);
-        if (matches != null) {
-            if (matches.isLeft()) {
-                return matches.getLeft(); // Cached positive result
-            }
-            return null; // Cached negative result
-        }
-
-        // Compute for the first time
-        if (path.startsWith(basePath)) {
-            var relativePath = basePath.relativize(path);
-            basePathToRelativePath.put(basePath, Either.forLeft(relativePath)); // Cache positive result
-            return relativePath;
-        }
-
-        // Path is not under base path, cache negative result
-        basePathToRelativePath.put(basePath, Either.forRight(Boolean.FALSE));
-        return null;
+        pathPatternIndex = index;
+        return index;
     }
 
     /**
@@ -13,14 +13,19 @@ package com.redhat.devtools.lsp4ij.features.foldingRange;
 import com.intellij.psi.PsiFile;
 import com.redhat.devtools.lsp4ij.LSPRequestConstants;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.client.features.LSPClientFeatures;
 import com.redhat.devtools.lsp4ij.client.features.LSPFoldingRangeFeature;
 import com.redhat.devtools.lsp4ij.features.AbstractLSPDocumentFeatureSupport;
+import com.redhat.devtools.lsp4ij.features.LSPRangeMapper;
 import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
 import com.redhat.devtools.lsp4ij.internal.CompletableFutures;
 import org.eclipse.lsp4j.FoldingRange;
 import org.eclipse.lsp4j.FoldingRangeRequestParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -36,7 +41,15 @@ import java.util.concurrent.CompletableFuture;
 public class LSPFoldingRangeSupport extends AbstractLSPDocumentFeatureSupport<FoldingRangeRequestParams, List<FoldingRange>> {
 
     public LSPFoldingRangeSupport(@NotNull PsiFile file) {
-        super(file);
+        super(file, true, true);
+    }
+
+    @Override
+    protected boolean isStaleWhileRevalidate(@NotNull LSPClientFeatures clientFeatures) {
+        PsiFile file = super.getFile();
+        var feature = clientFeatures.getFoldingRangeFeature();
+        // A language server which doesn't provide folding ranges for the file doesn't prevent the mode
+        return !feature.isEnabled(file) || !feature.isSupported(file) || feature.isStaleWhileRevalidate(file);
     }
 
     public CompletableFuture<List<FoldingRange>> getFoldingRanges(FoldingRangeRequestParams params) {
@@ -49,6 +62,32 @@ public class LSPFoldingRangeSupport extends AbstractLSPDocumentFeatureSupport<Fo
         return getFoldingRanges(file, params, cancellationSupport);
     }
 
+    @Override
+    protected List<FoldingRange> remapStaleResult(@NotNull List<FoldingRange> foldingRanges,
+                                                  @NotNull LSPRangeMapper mapper) {
+        List<FoldingRange> remapped = new ArrayList<>(foldingRanges.size());
+        for (FoldingRange foldingRange : foldingRanges) {
+            // A folding range without start / end character covers the whole start / end line
+            Range range = mapper.mapRange(new Range(
+                    new Position(foldingRange.getStartLine(), foldingRange.getStartCharacter() != null ? foldingRange.getStartCharacter() : 0),
+                    new Position(foldingRange.getEndLine(), foldingRange.getEndCharacter() != null ? foldingRange.getEndCharacter() : Integer.MAX_VALUE)));
+            if (range != null) {
+                boolean collapsedByDefault = foldingRange instanceof LSPFoldingRange lspFoldingRange && lspFoldingRange.isCollapsedByDefault();
+                var copy = new LSPFoldingRange(foldingRange, collapsedByDefault);
+                copy.setStartLine(range.getStart().getLine());
+                copy.setEndLine(range.getEnd().getLine());
+                if (foldingRange.getStartCharacter() != null) {
+                    copy.setStartCharacter(range.getStart().getCharacter());
+                }
+                if (foldingRange.getEndCharacter() != null) {
+                    copy.setEndCharacter(range.getEnd().getCharacter());
+                }
+                remapped.add(copy);
+            }
+        }
+        return remapped;
+    }
+
     private static @NotNull CompletableFuture<List<FoldingRange>> getFoldingRanges(@NotNull PsiFile file,
                                                                                    @NotNull FoldingRangeRequestParams params,
                                                                                    @NotNull CancellationSupport cancellationSupport) {
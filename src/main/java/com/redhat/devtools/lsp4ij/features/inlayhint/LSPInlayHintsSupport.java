@@ -13,15 +13,21 @@ package com.redhat.devtools.lsp4ij.features.inlayhint;
 import com.intellij.psi.PsiFile;
 import com.redhat.devtools.lsp4ij.LSPRequestConstants;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.client.features.LSPClientFeatures;
 import com.redhat.devtools.lsp4ij.features.AbstractLSPDocumentFeatureSupport;
+import com.redhat.devtools.lsp4ij.features.LSPRangeMapper;
 import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
 import com.redhat.devtools.lsp4ij.internal.CompletableFutures;
 import com.redhat.devtools.lsp4ij.internal.editor.EditorFeatureType;
 import org.eclipse.lsp4j.InlayHint;
 import org.eclipse.lsp4j.InlayHintLabelPart;
 import org.eclipse.lsp4j.InlayHintParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -40,7 +46,15 @@ import java.util.concurrent.CompletableFuture;
 public class LSPInlayHintsSupport extends AbstractLSPDocumentFeatureSupport<InlayHintParams, List<InlayHintData>> {
 
     public LSPInlayHintsSupport(@NotNull PsiFile file) {
-        super(file);
+        super(file, true, true);
+    }
+
+    @Override
+    protected boolean isStaleWhileRevalidate(@NotNull LSPClientFeatures clientFeatures) {
+        PsiFile file = super.getFile();
+        var feature = clientFeatures.getInlayHintFeature();
+        // A language server which doesn't provide inlay hints for the file doesn't prevent the mode
+        return !feature.isEnabled(file) || !feature.isSupported(file) || feature.isStaleWhileRevalidate(file);
     }
 
     public CompletableFuture<List<InlayHintData>> getInlayHints(@NotNull InlayHintParams params) {
@@ -53,6 +67,44 @@ public class LSPInlayHintsSupport extends AbstractLSPDocumentFeatureSupport<Inla
         return getInlayHints(file, params, cancellationSupport);
     }
 
+    @Override
+    protected List<InlayHintData> remapStaleResult(@NotNull List<InlayHintData> inlayHints,
+                                                   @NotNull LSPRangeMapper mapper) {
+        List<InlayHintData> remapped = new ArrayList<>(inlayHints.size());
+        for (InlayHintData data : inlayHints) {
+            InlayHint inlayHint = data.inlayHint();
+            Position position = mapper.mapPosition(inlayHint.getPosition());
+            if (position != null) {
+                var copy = new InlayHint(position, inlayHint.getLabel());
+                copy.setKind(inlayHint.getKind());
+                copy.setTooltip(inlayHint.getTooltip());
+                copy.setPaddingLeft(inlayHint.getPaddingLeft());
+                copy.setPaddingRight(inlayHint.getPaddingRight());
+                copy.setData(inlayHint.getData());
+                copy.setTextEdits(remapTextEdits(inlayHint.getTextEdits(), mapper));
+                remapped.add(new InlayHintData(copy, data.languageServer(), data.resolvedInlayHintsFuture()));
+            }
+        }
+        return remapped;
+    }
+
+    private static @Nullable List<TextEdit> remapTextEdits(@Nullable List<TextEdit> textEdits,
+                                                           @NotNull LSPRangeMapper mapper) {
+        if (textEdits == null) {
+            return null;
+        }
+        List<TextEdit> remapped = new ArrayList<>(textEdits.size());
+        for (TextEdit textEdit : textEdits) {
+            Range range = mapper.mapRange(textEdit.getRange());
+            if (range == null) {
+                // The text edits cannot be applied anymore
+                return null;
+            }
+            remapped.add(new TextEdit(range, textEdit.getNewText()));
+        }
+        return remapped;
+    }
+
     private static @NotNull CompletableFuture<List<InlayHintData>> getInlayHints(@NotNull PsiFile file,
                                                                                  @NotNull InlayHintParams params,
                                                                                  @NotNull CancellationSupport cancellationSupport) {
@@ -24,6 +24,7 @@ import org.jetbrains.annotations.NotNull;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -34,6 +35,7 @@ import java.util.function.Function;
 public class LSPProgressManager implements Disposable {
 
     private final Map<String /* token */ , LSPProgressInfo> progressMap;
+    private final Map<String /* token */ , Consumer<Object>> partialResultHandlers;
     private LanguageServer languageServer;
     private LanguageServerWrapper languageServerWrapper;
     private boolean disposed;
@@ -41,6 +43,8 @@ public class LSPProgressManager implements Disposable {
     public LSPProgressManager() {
         // Map which contains current progresses stored by their token.
         this.progressMap = new ConcurrentHashMap<>();
+        // Map which contains handlers of partial results stored by their partial result token.
+        this.partialResultHandlers = new ConcurrentHashMap<>();
     }
 
     public void connect(final LanguageServer languageServer, LanguageServerWrapper languageServerWrapper) {
@@ -165,8 +169,12 @@ public class LSPProgressManager implements Disposable {
         }
         var value = params.getValue();
         if (value.isRight()) {
-            // TODO: Partial Result Progress
+            // Partial Result Progress
             // https://microsoft.github.io/language-server-protocol/specifications/specification-current/#partialResults
+            var partialResultHandler = partialResultHandlers.get(getToken(params.getToken()));
+            if (partialResultHandler != null && value.getRight() != null) {
+                partialResultHandler.accept(value.getRight());
+            }
             return;
         }
 
@@ -217,6 +225,25 @@ public class LSPProgressManager implements Disposable {
         }
     }
 
+    /**
+     * Register the handler which consumes the partial results reported with the given partial result token.
+     *
+     * @param token   the partial result token of the request.
+     * @param handler the handler which consumes the partial results (generally a Gson JsonElement).
+     */
+    public void registerPartialResultHandler(@NotNull String token, @NotNull Consumer<Object> handler) {
+        partialResultHandlers.put(token, handler);
+    }
+
+    /**
+     * Unregister the handler of the partial results reported with the given partial result token.
+     *
+     * @param token the partial result token of the request.
+     */
+    public void unregisterPartialResultHandler(@NotNull String token) {
+        partialResultHandlers.remove(token);
+    }
+
     @NotNull
     private synchronized LSPProgressInfo getOrCreateProgressInfo(String token) {
         LSPProgressInfo progress = progressMap.get(token);
@@ -240,6 +267,7 @@ public class LSPProgressManager implements Disposable {
         this.disposed = true;
         progressMap.values().forEach(LSPProgressInfo::cancel);
         progressMap.clear();
+        partialResultHandlers.clear();
     }
 
     public boolean isDisposed() {
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.semanticTokens;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.VisualPosition;
+import com.intellij.openapi.editor.event.EditorFactoryEvent;
+import com.intellij.openapi.editor.event.EditorFactoryListener;
+import com.intellij.openapi.util.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.*;
+
+/**
+ * Listens to editor events to track the lines visible in the editors of a document, so that the semantic tokens of
+ * the visible area can be requested with 'textDocument/semanticTokens/range' before the semantic tokens of the
+ * whole file are available.
+ */
+public class LSPSemanticTokensEditorFactoryListener implements EditorFactoryListener {
+
+    // Key used to store and retrieve the last visible lines of a document
+    private static final Key<SemanticTokensViewport> SEMANTIC_TOKENS_VIEWPORT_KEY = Key.create("semantic.tokens.viewport");
+
+    /**
+     * Lines visible in the last scrolled editor of a document.
+     *
+     * @param firstLine the first visible logical line.
+     * @param lastLine  the last visible logical line.
+     */
+    public record SemanticTokensViewport(int firstLine, int lastLine) {
+    }
+
+    /**
+     * Returns the lines visible in the last scrolled editor of the given document and null otherwise.
+     *
+     * @param document the document.
+     * @return the lines visible in the last scrolled editor of the given document and null otherwise.
+     */
+    @Nullable
+    public static SemanticTokensViewport getViewport(@NotNull Document document) {
+        return document.getUserData(SEMANTIC_TOKENS_VIEWPORT_KEY);
+    }
+
+    private static void updateViewport(@NotNull Editor editor, @NotNull Rectangle visibleArea) {
+        if (visibleArea.width <= 0 || visibleArea.height <= 0) {
+            // The editor is not rendered yet
+            return;
+        }
+        int firstVisualLine = editor.yToVisualLine(visibleArea.y);
+        int lastVisualLine = editor.yToVisualLine(visibleArea.y + visibleArea.height);
+        int firstLine = editor.visualToLogicalPosition(new VisualPosition(firstVisualLine, 0)).line;
+        int lastLine = editor.visualToLogicalPosition(new VisualPosition(lastVisualLine, 0)).line;
+        setViewport(editor.getDocument(), new SemanticTokensViewport(firstLine, lastLine));
+    }
+
+    static void setViewport(@NotNull Document document, @Nullable SemanticTokensViewport viewport) {
+        document.putUserData(SEMANTIC_TOKENS_VIEWPORT_KEY, viewport);
+    }
+
+    @Override
+    public void editorCreated(@NotNull EditorFactoryEvent event) {
+        Editor editor = event.getEditor();
+        if (editor.getVirtualFile() == null) {
+            // Track only editors which are editing a file
+            return;
+        }
+        // Visible area events are fired on the EDT
+        editor.getScrollingModel().addVisibleAreaListener(e -> {
+            if (!e.getNewRectangle().equals(e.getOldRectangle())) {
+                updateViewport(editor, e.getNewRectangle());
+            }
+        });
+    }
+
+    @Override
+    public void editorReleased(@NotNull EditorFactoryEvent event) {
+        Editor releasedEditor = event.getEditor();
+        Document document = releasedEditor.getDocument();
+        for (Editor editor : EditorFactory.getInstance().getEditors(document)) {
+            if (editor != releasedEditor && editor.getVirtualFile() != null) {
+                // Another editor still shows the document (ex : split editor), track its visible lines
+                updateViewport(editor, editor.getScrollingModel().getVisibleArea());
+                return;
+            }
+        }
+        setViewport(document, null);
+    }
+}
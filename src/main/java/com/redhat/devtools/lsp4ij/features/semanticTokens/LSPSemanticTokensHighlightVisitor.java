@@ -202,6 +202,15 @@ public class LSPSemanticTokensHighlightVisitor implements HighlightVisitor {
         LSPSemanticTokensSupport semanticTokensSupport = LSPFileSupport.getSupport(file).getSemanticTokensSupport();
         var params = new SemanticTokensParams(new TextDocumentIdentifier());
         CompletableFuture<SemanticTokensData> semanticTokensFuture = semanticTokensSupport.getSemanticTokens(params);
+        if (semanticTokensFuture != null && !semanticTokensFuture.isDone()) {
+            // The semantic tokens of the whole file are not available yet: for the first paint of the file, highlight
+            // the visible area first with 'textDocument/semanticTokens/range', the highlighting is refreshed when the
+            // whole file result is available.
+            CompletableFuture<SemanticTokensData> viewportFuture = semanticTokensSupport.getViewportSemanticTokens(semanticTokensFuture);
+            if (viewportFuture != null) {
+                semanticTokensFuture = viewportFuture;
+            }
+        }
 
         // Capture the modification stamp before waiting so we can detect file edits
         // that occurred while the LSP server was responding.
@@ -10,26 +10,53 @@
  ******************************************************************************/
 package com.redhat.devtools.lsp4ij.features.semanticTokens;
 
+import com.intellij.openapi.editor.Document;
 import com.intellij.psi.PsiFile;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
 import com.redhat.devtools.lsp4ij.LSPRequestConstants;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.LanguageServerWrapper;
 import com.redhat.devtools.lsp4ij.features.AbstractLSPDocumentFeatureSupport;
+import com.redhat.devtools.lsp4ij.features.semanticTokens.LSPSemanticTokensEditorFactoryListener.SemanticTokensViewport;
 import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
+import com.redhat.devtools.lsp4ij.internal.PsiFileCancelChecker;
+import com.redhat.devtools.lsp4ij.internal.editor.EditorFeatureManager;
+import com.redhat.devtools.lsp4ij.internal.editor.EditorFeatureType;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
 import org.eclipse.lsp4j.SemanticTokensLegend;
 import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.services.LanguageServer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * LSP semanticTokens support which loads and caches semantic tokens by consuming:
  *
  * <ul>
- *     <li>LSP 'textDocument/semanticTokens' requests</li>
+ *     <li>LSP 'textDocument/semanticTokens/full' requests</li>
+ *     <li>LSP 'textDocument/semanticTokens/full/delta' requests when the language server supports it.</li>
+ *     <li>LSP 'textDocument/semanticTokens/range' requests for the visible area of the editors, while the semantic
+ *     tokens of the whole file have never been received (first paint of the file).</li>
  * </ul>
+ *
+ * <p>
+ * When the language server supports delta, the last result id and encoded tokens are kept per language server, the
+ * next request only transfers the edits between the two results and the edits are applied on the client side.
+ * If the edits don't match the previous result, a full request is sent.
+ * </p>
  */
 public class LSPSemanticTokensSupport extends AbstractLSPDocumentFeatureSupport<SemanticTokensParams, SemanticTokensData> {
 
@@ -41,6 +68,22 @@ public class LSPSemanticTokensSupport extends AbstractLSPDocumentFeatureSupport<
         DEFAULT_LEGEND.setTokenTypes(Collections.emptyList());
     }
 
+    // The last semantic tokens result per language server, used to send 'textDocument/semanticTokens/full/delta'
+    private final Map<LanguageServerWrapper, SemanticTokensDeltaState> deltaStates = new ConcurrentHashMap<>();
+
+    // The resolved token styles per language server, shared by all the semantic tokens results of the file
+    private final Map<LanguageServerWrapper, SemanticTokensStyleCache> styleCaches = new ConcurrentHashMap<>();
+
+    // The current 'textDocument/semanticTokens/range' request for the visible area
+    private @Nullable CompletableFuture<SemanticTokensData> viewportFuture;
+    private @Nullable CancellationSupport viewportCancellationSupport;
+    private @Nullable SemanticTokensViewport viewport;
+    private long viewportModificationStamp = -1;
+    // The full semantic tokens request which refreshes the editors when it completes
+    private @Nullable CompletableFuture<SemanticTokensData> refreshedFullFuture;
+    // true once the semantic tokens of the whole file have been received
+    private volatile boolean fullResultReceived;
+
     public LSPSemanticTokensSupport(@NotNull PsiFile file) {
         super(file);
     }
@@ -49,15 +92,87 @@ public class LSPSemanticTokensSupport extends AbstractLSPDocumentFeatureSupport<
         return super.getFeatureData(params);
     }
 
+    /**
+     * Returns the semantic tokens of the visible area of the editors with 'textDocument/semanticTokens/range' and null
+     * if the visible area is unknown.
+     *
+     * <p>When the given full semantic tokens request completes, the semantic tokens highlighting is refreshed so that
+     * the partial result is replaced with the semantic tokens of the whole file.</p>
+     *
+     * <p>The range request is only sent for the first paint of the file: once the semantic tokens of the whole file
+     * have been received, the editors keep the previous highlighting until the next full (or delta) result, instead
+     * of sending a range request in addition to the full request on each keystroke.</p>
+     *
+     * @param fullFuture the pending full semantic tokens request.
+     * @return the semantic tokens of the visible area of the editors and null if the visible area is unknown or if
+     * the semantic tokens of the whole file have already been received.
+     */
+    public synchronized @Nullable CompletableFuture<SemanticTokensData> getViewportSemanticTokens(@NotNull CompletableFuture<SemanticTokensData> fullFuture) {
+        if (fullResultReceived) {
+            return null;
+        }
+        PsiFile file = super.getFile();
+        Document document = LSPIJUtils.getDocument(file.getVirtualFile());
+        SemanticTokensViewport currentViewport = document != null ? LSPSemanticTokensEditorFactoryListener.getViewport(document) : null;
+        if (currentViewport == null || document.getTextLength() == 0) {
+            return null;
+        }
+
+        if (refreshedFullFuture != fullFuture) {
+            // Refresh the semantic tokens highlighting once the semantic tokens of the whole file are available
+            refreshedFullFuture = fullFuture;
+            EditorFeatureManager.getInstance(file.getProject())
+                    .refreshEditorFeatureWhenAllDone(fullFuture, file, EditorFeatureType.SEMANTIC_TOKENS, new PsiFileCancelChecker(file));
+        }
+
+        long modificationStamp = file.getModificationStamp();
+        if (viewportFuture != null && !viewportFuture.isCompletedExceptionally()
+                && modificationStamp == viewportModificationStamp
+                && currentViewport.equals(viewport)) {
+            return viewportFuture;
+        }
+
+        // Cancel the previous range request and send a new one for the current visible area
+        if (viewportCancellationSupport != null) {
+            viewportCancellationSupport.cancel();
+        }
+        int lastLine = Math.min(currentViewport.lastLine(), document.getLineCount() - 1);
+        int firstLine = Math.min(currentViewport.firstLine(), lastLine);
+        var range = new Range(new Position(firstLine, 0),
+                new Position(lastLine, document.getLineEndOffset(lastLine) - document.getLineStartOffset(lastLine)));
+        var params = new SemanticTokensRangeParams(new TextDocumentIdentifier(), range);
+        viewportCancellationSupport = new CancellationSupport();
+        viewportFuture = getSemanticTokensForRange(file, params, viewportCancellationSupport);
+        viewport = currentViewport;
+        viewportModificationStamp = modificationStamp;
+        return viewportFuture;
+    }
+
+    @Override
+    public void cancel() {
+        super.cancel();
+        CancellationSupport cancellation = viewportCancellationSupport;
+        if (cancellation != null) {
+            cancellation.cancel();
+        }
+        viewportFuture = null;
+    }
+
     @Override
     protected CompletableFuture<SemanticTokensData> doLoad(SemanticTokensParams params, CancellationSupport cancellationSupport) {
         PsiFile file = super.getFile();
-        return getSemanticTokens(file, params, cancellationSupport);
+        return getSemanticTokens(file, params, cancellationSupport)
+                .thenApply(semanticTokensData -> {
+                    if (semanticTokensData != null) {
+                        fullResultReceived = true;
+                    }
+                    return semanticTokensData;
+                });
     }
 
-    private static @NotNull CompletableFuture<SemanticTokensData> getSemanticTokens(@NotNull PsiFile file,
-                                                                                    @NotNull SemanticTokensParams params,
-                                                                                    @NotNull CancellationSupport cancellationSupport) {
+    private @NotNull CompletableFuture<SemanticTokensData> getSemanticTokens(@NotNull PsiFile file,
+                                                                             @NotNull SemanticTokensParams params,
+                                                                             @NotNull CancellationSupport cancellationSupport) {
 
         return getLanguageServers(file,
                 f -> f.getSemanticTokensFeature().isEnabled(file),
@@ -81,12 +196,87 @@ public class LSPSemanticTokensSupport extends AbstractLSPDocumentFeatureSupport<
                 });
     }
 
-    private static CompletableFuture<SemanticTokensData> getSemanticTokensFor(@NotNull SemanticTokensParams params,
-                                                                              @NotNull PsiFile file,
-                                                                              @NotNull LanguageServerItem languageServer,
-                                                                              @NotNull CancellationSupport cancellationSupport) {
+    private @NotNull CompletableFuture<SemanticTokensData> getSemanticTokensForRange(@NotNull PsiFile file,
+                                                                                     @NotNull SemanticTokensRangeParams params,
+                                                                                     @NotNull CancellationSupport cancellationSupport) {
+        return getLanguageServers(file,
+                f -> f.getSemanticTokensFeature().isEnabled(file),
+                f -> f.getSemanticTokensFeature().isSupported(file) && f.getSemanticTokensFeature().isSemanticTokensRangeSupported(file))
+                .thenComposeAsync(languageServers -> {
+                    if (languageServers.isEmpty()) {
+                        // No language server supports 'textDocument/semanticTokens/range'
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    var languageServer = languageServers.get(0);
+                    // Update textDocument Uri with custom file Uri if needed
+                    updateTextDocumentUri(params.getTextDocument(), file, languageServer);
+                    return cancellationSupport.execute(languageServer
+                                    .getTextDocumentService()
+                                    .semanticTokensRange(params), languageServer, LSPRequestConstants.TEXT_DOCUMENT_SEMANTIC_TOKENS_RANGE)
+                            .thenApplyAsync(semanticTokens -> {
+                                if (semanticTokens == null) {
+                                    return null;
+                                }
+                                // A range result must not be used as base of the next 'textDocument/semanticTokens/full/delta'
+                                return createSemanticTokensData(semanticTokens, languageServer, false);
+                            });
+                });
+    }
+
+    private CompletableFuture<SemanticTokensData> getSemanticTokensFor(@NotNull SemanticTokensParams params,
+                                                                       @NotNull PsiFile file,
+                                                                       @NotNull LanguageServerItem languageServer,
+                                                                       @NotNull CancellationSupport cancellationSupport) {
         // Update textDocument Uri with custom file Uri if needed
         updateTextDocumentUri(params.getTextDocument(), file, languageServer);
+
+        var semanticTokensFeature = languageServer.getClientFeatures().getSemanticTokensFeature();
+        boolean deltaSupported = semanticTokensFeature.isSemanticTokensFullDeltaSupported(file);
+        SemanticTokensDeltaState previous = deltaSupported ? deltaStates.get(languageServer.getServerWrapper()) : null;
+        if (previous == null || previous.server() != languageServer.getServer()) {
+            // No previous result or the language server has been restarted since the previous result
+            return getSemanticTokensFullFor(params, file, languageServer, deltaSupported, cancellationSupport);
+        }
+
+        var deltaParams = new SemanticTokensDeltaParams(params.getTextDocument(), previous.resultId());
+        return cancellationSupport.execute(languageServer
+                        .getTextDocumentService()
+                        .semanticTokensFullDelta(deltaParams), languageServer, LSPRequestConstants.TEXT_DOCUMENT_SEMANTIC_TOKENS_FULL_DELTA)
+                .thenComposeAsync(result -> {
+                    if (result == null) {
+                        // The request has been cancelled: keep the previous result for the next delta request
+                        cancellationSupport.checkCanceled();
+                        // The request has failed: fallback to a full request
+                        deltaStates.remove(languageServer.getServerWrapper());
+                        return getSemanticTokensFullFor(params, file, languageServer, true, cancellationSupport);
+                    }
+                    if (result.isLeft()) {
+                        // The language server has returned a full result
+                        return CompletableFuture.completedFuture(createSemanticTokensData(result.getLeft(), languageServer, true));
+                    }
+                    SemanticTokensDelta delta = result.getRight();
+                    int[] data = SemanticTokensDeltaState.applyEdits(previous.data(), delta.getEdits());
+                    if (data == null) {
+                        // The edits don't match the previous result: fallback to a full request
+                        deltaStates.remove(languageServer.getServerWrapper());
+                        return getSemanticTokensFullFor(params, file, languageServer, true, cancellationSupport);
+                    }
+                    var semanticTokensData = new SemanticTokensData(delta.getResultId(),
+                            data,
+                            getLegend(languageServer),
+                            languageServer.getSemanticTokensColorsProvider(),
+                            semanticTokensFeature);
+                    semanticTokensData.setStyleCache(getStyleCache(languageServer));
+                    updateDeltaState(semanticTokensData, languageServer);
+                    return CompletableFuture.completedFuture(semanticTokensData);
+                });
+    }
+
+    private CompletableFuture<SemanticTokensData> getSemanticTokensFullFor(@NotNull SemanticTokensParams params,
+                                                                           @NotNull PsiFile file,
+                                                                           @NotNull LanguageServerItem languageServer,
+                                                                           boolean deltaSupported,
+                                                                           @NotNull CancellationSupport cancellationSupport) {
         return cancellationSupport.execute(languageServer
                         .getTextDocumentService()
                         .semanticTokensFull(params), languageServer, LSPRequestConstants.TEXT_DOCUMENT_SEMANTIC_TOKENS_FULL)
@@ -95,13 +285,46 @@ public class LSPSemanticTokensSupport extends AbstractLSPDocumentFeatureSupport<
                         // textDocument/semanticTokens/full may return null
                         return null;
                     }
-                    return new SemanticTokensData(semanticTokens,
-                            getLegend(languageServer),
-                            languageServer.getSemanticTokensColorsProvider(),
-                            languageServer.getClientFeatures().getSemanticTokensFeature());
+                    return createSemanticTokensData(semanticTokens, languageServer, deltaSupported);
                 });
     }
 
+    private @NotNull SemanticTokensData createSemanticTokensData(@NotNull SemanticTokens semanticTokens,
+                                                                 @NotNull LanguageServerItem languageServer,
+                                                                 boolean deltaSupported) {
+        var semanticTokensData = new SemanticTokensData(semanticTokens,
+                getLegend(languageServer),
+                languageServer.getSemanticTokensColorsProvider(),
+                languageServer.getClientFeatures().getSemanticTokensFeature());
+        semanticTokensData.setStyleCache(getStyleCache(languageServer));
+        if (deltaSupported) {
+            updateDeltaState(semanticTokensData, languageServer);
+        }
+        return semanticTokensData;
+    }
+
+    private void updateDeltaState(@NotNull SemanticTokensData semanticTokensData,
+                                  @NotNull LanguageServerItem languageServer) {
+        String resultId = semanticTokensData.getResultId();
+        LanguageServer server = languageServer.getServer();
+        if (resultId == null || server == null) {
+            // The language server doesn't provide a result id, the next request must be a full request
+            deltaStates.remove(languageServer.getServerWrapper());
+            return;
+        }
+        deltaStates.put(languageServer.getServerWrapper(), new SemanticTokensDeltaState(server, resultId, semanticTokensData.getData()));
+    }
+
+    private @NotNull SemanticTokensStyleCache getStyleCache(@NotNull LanguageServerItem languageServer) {
+        PsiFile file = super.getFile();
+        SemanticTokensLegend legend = getLegend(languageServer);
+        SemanticTokensColorsProvider colorsProvider = languageServer.getSemanticTokensColorsProvider();
+        // The styles are resolved again only when the legend or the colors provider changes (ex : server restart)
+        return styleCaches.compute(languageServer.getServerWrapper(), (server, styleCache) ->
+                styleCache != null && styleCache.isFor(legend, colorsProvider, file) ? styleCache :
+                        new SemanticTokensStyleCache(legend.getTokenTypes(), legend.getTokenModifiers(), colorsProvider, file));
+    }
+
     @NotNull
     private static SemanticTokensLegend getLegend(LanguageServerItem languageServer) {
         var semanticTokenFeature = languageServer.getClientFeatures().getSemanticTokensFeature();
@@ -30,32 +30,91 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.BitSet;
-import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * Semantic data.
  */
 public class SemanticTokensData {
 
-    private final @NotNull SemanticTokens semanticTokens;
+    private static final int[] EMPTY_DATA = new int[0];
+
+    private volatile @Nullable SemanticTokens semanticTokens;
+    private final @Nullable String resultId;
     private final @NotNull SemanticTokensLegend semanticTokensLegend;
     private final @NotNull SemanticTokensColorsProvider semanticTokensColorsProvider;
     private final @NotNull LSPSemanticTokensFeature semanticTokensFeature;
+    private volatile int @Nullable [] data;
+    private volatile @Nullable SemanticTokensStyleCache styleCache;
 
     public SemanticTokensData(@NotNull SemanticTokens semanticTokens,
                               @NotNull SemanticTokensLegend semanticTokensLegend,
                               @NotNull SemanticTokensColorsProvider semanticTokensColorsProvider,
                               @NotNull LSPSemanticTokensFeature semanticTokensFeature) {
         this.semanticTokens = semanticTokens;
+        this.resultId = semanticTokens.getResultId();
+        this.semanticTokensLegend = semanticTokensLegend;
+        this.semanticTokensColorsProvider = semanticTokensColorsProvider;
+        this.semanticTokensFeature = semanticTokensFeature;
+    }
+
+    /**
+     * Creates semantic data from already decoded semantic tokens, e.g. the result of a
+     * 'textDocument/semanticTokens/full/delta' request applied to a previous result.
+     *
+     * @param resultId                     the result id.
+     * @param data                         the encoded semantic tokens.
+     * @param semanticTokensLegend         the legend.
+     * @param semanticTokensColorsProvider the colors provider.
+     * @param semanticTokensFeature        the semantic tokens feature.
+     */
+    public SemanticTokensData(@Nullable String resultId,
+                              int @NotNull [] data,
+                              @NotNull SemanticTokensLegend semanticTokensLegend,
+                              @NotNull SemanticTokensColorsProvider semanticTokensColorsProvider,
+                              @NotNull LSPSemanticTokensFeature semanticTokensFeature) {
+        this.resultId = resultId;
+        this.data = data;
         this.semanticTokensLegend = semanticTokensLegend;
         this.semanticTokensColorsProvider = semanticTokensColorsProvider;
         this.semanticTokensFeature = semanticTokensFeature;
     }
 
     public @NotNull SemanticTokens getSemanticTokens() {
-        return semanticTokens;
+        SemanticTokens result = semanticTokens;
+        if (result == null) {
+            // Semantic data created from decoded semantic tokens, box them only when they are requested.
+            result = new SemanticTokens(resultId, IntStream.of(getData()).boxed().toList());
+            semanticTokens = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the result id of the semantic tokens.
+     *
+     * @return the result id of the semantic tokens and null otherwise.
+     */
+    public @Nullable String getResultId() {
+        return resultId;
+    }
+
+    /**
+     * Returns the encoded semantic tokens as a primitive array.
+     *
+     * <p>The lsp4j payload is a boxed {@code List<Integer>}: it is converted once and the array is reused by
+     * each highlight pass.</p>
+     *
+     * @return the encoded semantic tokens as a primitive array.
+     */
+    public int @NotNull [] getData() {
+        int[] result = data;
+        if (result == null) {
+            result = toIntArray(getSemanticTokens().getData());
+            data = result;
+        }
+        return result;
     }
 
     /**
@@ -75,8 +134,8 @@ public class SemanticTokensData {
         List<SemanticTokensHighlightInfo> highlightInfos = notifyInspector ? new ArrayList<>() : null;
 
         try {
-            var dataStream = semanticTokens.getData();
-            if (dataStream == null || dataStream.isEmpty()) {
+            int[] data = getData();
+            if (data.length == 0) {
                 return;
             }
 
@@ -90,76 +149,63 @@ public class SemanticTokensData {
             // prevents any single token from causing an out-of-bounds HighlightInfo.
             int docLength = document.getTextLength();
 
-            int idx = 0;
+            // Token type / token modifiers are resolved once per distinct pair instead of once per token.
+            var styles = getStyleCache(file);
+
             int prevLine = 0;
             int line = 0;
             int offset = 0;
-            int length = 0;
-            String tokenType = null;
             int cancelCounter = 0;
-            for (Integer data : dataStream) {
+            // Each token is encoded with 5 integers: deltaLine, deltaStart, length, tokenType, tokenModifiers
+            int count = data.length - (data.length % 5);
+            for (int i = 0; i < count; i += 5) {
                 // Cancel LSP semantic tokens support as soon as possible.
                 cancelCounter++;
-                if (cancelCounter >= 100) {
+                if (cancelCounter >= 20) {
                     cancelCounter = 0;
                     ProgressManager.checkCanceled();
                 }
 
-                switch (idx % 5) {
-                    case 0: // line
-                        line += data;
-                        break;
-                    case 1: // offset
-                        if (line == prevLine) {
-                            offset += data;
-                        } else {
-                            offset = LSPIJUtils.toOffset(line, data, document);
-                        }
-                        break;
-                    case 2: // length
-                        length = data;
-                        break;
-                    case 3: // token type
-                        tokenType = tokenType(data, semanticTokensLegend.getTokenTypes());
-                        break;
-                    case 4: // token modifier
-                        prevLine = line;
-                        List<String> tokenModifiers = tokenModifiers(data, semanticTokensLegend.getTokenModifiers());
-                        int start = offset;
-                        int end = offset + length;
-
-                        // Guard: skip tokens whose computed range is invalid or extends
-                        // beyond the current document length.
-                        //
-                        // - start >= end  : should never happen per the LSP spec, but
-                        //                   defended against for robustness.
-                        // - end > docLength: the token extends beyond the document, which
-                        //                   would cause HighlightInfo to throw
-                        //                   IllegalArgumentException. This can happen when
-                        //                   a write action arrives between the stamp check
-                        //                   in LSPSemanticTokensHighlightVisitor and this
-                        //                   method being called.
-                        // In both cases, skip the token silently. The next highlighting
-                        // pass will fetch fresh tokens for the updated document content.
-                        if (start < 0 || start >= end || end > docLength) {
-                            break;
-                        }
-
-                        TextAttributesKey colorKey = tokenType != null ? semanticTokensColorsProvider.getTextAttributesKey(tokenType, tokenModifiers, file) : null;
-                        if (colorKey != null) {
-                            addInfo.accept(start, end, colorKey);
-                        }
-
-                        if (semanticTokensFileViewProvider != null) {
-                            semanticTokensFileViewProvider.addSemanticToken(TextRange.create(start, end), tokenType, tokenModifiers);
-                        }
-
-                        if (notifyInspector) {
-                            highlightInfos.add(new SemanticTokensHighlightInfo(tokenType, tokenModifiers, start, end, colorKey));
-                        }
-                        break;
+                line += data[i];
+                if (line == prevLine) {
+                    offset += data[i + 1];
+                } else {
+                    offset = LSPIJUtils.toOffset(line, data[i + 1], document);
+                }
+                prevLine = line;
+                int start = offset;
+                int end = offset + data[i + 2];
+
+                // Guard: skip tokens whose computed range is invalid or extends
+                // beyond the current document length.
+                //
+                // - start >= end  : should never happen per the LSP spec, but
+                //                   defended against for robustness.
+                // - end > docLength: the token extends beyond the document, which
+                //                   would cause HighlightInfo to throw
+                //                   IllegalArgumentException. This can happen when
+                //                   a write action arrives between the stamp check
+                //                   in LSPSemanticTokensHighlightVisitor and this
+                //                   method being called.
+                // In both cases, skip the token silently. The next highlighting
+                // pass will fetch fresh tokens for the updated document content.
+                if (start < 0 || start >= end || end > docLength) {
+                    continue;
+                }
+
+                SemanticTokensStyleCache.Style style = styles.getStyle(data[i + 3], data[i + 4]);
+                TextAttributesKey colorKey = style.colorKey();
+                if (colorKey != null) {
+                    addInfo.accept(start, end, colorKey);
+                }
+
+                if (semanticTokensFileViewProvider != null) {
+                    semanticTokensFileViewProvider.addSemanticToken(TextRange.create(start, end), style.tokenType(), style.tokenModifiers());
+                }
+
+                if (notifyInspector) {
+                    highlightInfos.add(new SemanticTokensHighlightInfo(style.tokenType(), style.tokenModifiers(), start, end, colorKey));
                 }
-                idx++;
             }
         } finally {
             if (notifyInspector) {
@@ -168,27 +214,38 @@ public class SemanticTokensData {
         }
     }
 
-    private List<String> tokenModifiers(Integer data, List<String> legend) {
-        if (data == 0) {
-            return Collections.emptyList();
-        }
-        final var bitSet = BitSet.valueOf(new long[]{data});
-        final var tokenModifiers = new ArrayList<String>();
-        for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
-            try {
-                tokenModifiers.add(legend.get(i));
-            } catch (IndexOutOfBoundsException e) {
-                // no match
-            }
+    /**
+     * Sets the style cache shared by the semantic tokens of the file which have the same legend and colors provider.
+     *
+     * @param styleCache the style cache.
+     */
+    void setStyleCache(@NotNull SemanticTokensStyleCache styleCache) {
+        this.styleCache = styleCache;
+    }
+
+    @NotNull
+    SemanticTokensStyleCache getStyleCache(@NotNull PsiFile file) {
+        SemanticTokensStyleCache styles = styleCache;
+        if (styles == null || !styles.isFor(semanticTokensLegend, semanticTokensColorsProvider, file)) {
+            styles = new SemanticTokensStyleCache(semanticTokensLegend.getTokenTypes(),
+                    semanticTokensLegend.getTokenModifiers(),
+                    semanticTokensColorsProvider,
+                    file);
+            styleCache = styles;
         }
-        return tokenModifiers;
+        return styles;
     }
 
-    private @Nullable String tokenType(Integer index, List<String> tokenTypes) {
-        if (index == null || index >= tokenTypes.size()) {
-            return null;
+    private static int @NotNull [] toIntArray(@Nullable List<Integer> values) {
+        if (values == null || values.isEmpty()) {
+            return EMPTY_DATA;
+        }
+        int[] result = new int[values.size()];
+        int i = 0;
+        for (Integer value : values) {
+            result[i++] = value != null ? value : 0;
         }
-        return tokenTypes.get(index);
+        return result;
     }
 
     /**
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.semanticTokens;
+
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The last semantic tokens result received from a language server for a given file, used to send
+ * 'textDocument/semanticTokens/full/delta' requests and to patch the encoded tokens with the returned edits.
+ *
+ * @param server   the language server instance which has returned the result.
+ * @param resultId the result id of the result.
+ * @param data     the encoded semantic tokens of the result.
+ */
+record SemanticTokensDeltaState(@NotNull LanguageServer server,
+                                @NotNull String resultId,
+                                int @NotNull [] data) {
+
+    /**
+     * Applies the given semantic tokens edits to the given encoded semantic tokens.
+     *
+     * <p>Edits are expressed against the previous array (they don't shift each other), so they are sorted by start
+     * index and the result is built in a single pass which copies the unchanged slices.</p>
+     *
+     * @param previous the previous encoded semantic tokens.
+     * @param edits    the semantic tokens edits.
+     * @return the patched encoded semantic tokens or null if the edits don't match the previous encoded semantic tokens.
+     */
+    static int @Nullable [] applyEdits(int @NotNull [] previous, @Nullable List<SemanticTokensEdit> edits) {
+        if (edits == null || edits.isEmpty()) {
+            return previous;
+        }
+        List<SemanticTokensEdit> sortedEdits = new ArrayList<>(edits);
+        sortedEdits.sort(Comparator.comparingInt(SemanticTokensEdit::getStart));
+
+        // Validate the edits and compute the length of the result
+        int length = previous.length;
+        int lastEnd = 0;
+        for (var edit : sortedEdits) {
+            int start = edit.getStart();
+            int deleteCount = edit.getDeleteCount();
+            if (start < lastEnd || deleteCount < 0 || start + deleteCount > previous.length) {
+                // Overlapping or out of bounds edit: the server and the client are out of sync
+                return null;
+            }
+            lastEnd = start + deleteCount;
+            var inserted = edit.getData();
+            length += (inserted != null ? inserted.size() : 0) - deleteCount;
+        }
+
+        int[] result = new int[length];
+        int from = 0;
+        int to = 0;
+        for (var edit : sortedEdits) {
+            int start = edit.getStart();
+            int unchanged = start - from;
+            System.arraycopy(previous, from, result, to, unchanged);
+            to += unchanged;
+            var inserted = edit.getData();
+            if (inserted != null) {
+                for (Integer value : inserted) {
+                    result[to++] = value != null ? value : 0;
+                }
+            }
+            from = start + edit.getDeleteCount();
+        }
+        System.arraycopy(previous, from, result, to, previous.length - from);
+        return result;
+    }
+}
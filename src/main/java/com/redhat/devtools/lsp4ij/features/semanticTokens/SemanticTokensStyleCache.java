@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.semanticTokens;
+
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.psi.PsiFile;
+import org.eclipse.lsp4j.SemanticTokensLegend;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Memo table which resolves a (token type index, token modifiers bitmask) pair of an encoded semantic token
+ * to its token type, its token modifiers and its {@link TextAttributesKey}.
+ * <p>
+ * A file generally uses a few dozen distinct pairs for tens of thousands of tokens, so resolving each pair once
+ * through the legend and the {@link SemanticTokensColorsProvider} avoids allocating a modifiers list and
+ * re-computing the color key for each token. The table is an open addressing hash table with primitive long keys
+ * so that a lookup doesn't allocate.
+ * <p>
+ * The cache is built once per legend and colors provider and shared by the highlight passes of a file, which
+ * may run concurrently: a lookup reads the current table without locking, and a new pair is added to a copy of
+ * the table which then replaces the current one.
+ */
+class SemanticTokensStyleCache {
+
+    /**
+     * Resolved style of a (token type index, token modifiers bitmask) pair.
+     *
+     * @param tokenType      the token type or null if the index is not in the legend.
+     * @param tokenModifiers the token modifiers.
+     * @param colorKey       the color key or null if the token must not be colorized.
+     */
+    record Style(@Nullable String tokenType,
+                 @NotNull List<String> tokenModifiers,
+                 @Nullable TextAttributesKey colorKey) {
+    }
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final @NotNull List<String> tokenTypes;
+    private final @NotNull List<String> tokenModifiers;
+    private final @NotNull SemanticTokensColorsProvider colorsProvider;
+    private final @NotNull PsiFile file;
+
+    private volatile Table table = new Table(new long[INITIAL_CAPACITY], new Style[INITIAL_CAPACITY], 0);
+
+    SemanticTokensStyleCache(@NotNull List<String> tokenTypes,
+                             @NotNull List<String> tokenModifiers,
+                             @NotNull SemanticTokensColorsProvider colorsProvider,
+                             @NotNull PsiFile file) {
+        this.tokenTypes = tokenTypes;
+        this.tokenModifiers = tokenModifiers;
+        this.colorsProvider = colorsProvider;
+        this.file = file;
+    }
+
+    /**
+     * Returns the style of the given token type index and token modifiers bitmask.
+     *
+     * @param tokenTypeIndex the token type index in the legend.
+     * @param modifiersMask  the token modifiers bitmask.
+     * @return the style of the given token type index and token modifiers bitmask.
+     */
+    @NotNull
+    Style getStyle(int tokenTypeIndex, int modifiersMask) {
+        long key = ((long) tokenTypeIndex << 32) | (modifiersMask & 0xFFFFFFFFL);
+        Style style = table.get(key);
+        if (style != null) {
+            return style;
+        }
+        synchronized (this) {
+            Table current = table;
+            style = current.get(key);
+            if (style == null) {
+                style = createStyle(tokenTypeIndex, modifiersMask);
+                table = current.with(key, style);
+            }
+            return style;
+        }
+    }
+
+    /**
+     * Returns true if the cache resolves the styles of the given legend, colors provider and file and false otherwise.
+     *
+     * @param legend         the semantic tokens legend.
+     * @param colorsProvider the colors provider.
+     * @param file           the file.
+     * @return true if the cache resolves the styles of the given legend, colors provider and file and false otherwise.
+     */
+    boolean isFor(@NotNull SemanticTokensLegend legend,
+                  @NotNull SemanticTokensColorsProvider colorsProvider,
+                  @NotNull PsiFile file) {
+        return this.colorsProvider == colorsProvider
+                && this.file == file
+                && Objects.equals(tokenTypes, legend.getTokenTypes())
+                && Objects.equals(tokenModifiers, legend.getTokenModifiers());
+    }
+
+    /**
+     * Returns the number of resolved styles.
+     *
+     * @return the number of resolved styles.
+     */
+    int size() {
+        return table.size();
+    }
+
+    @NotNull
+    private Style createStyle(int tokenTypeIndex, int modifiersMask) {
+        String tokenType = tokenTypeIndex >= 0 && tokenTypeIndex < tokenTypes.size() ? tokenTypes.get(tokenTypeIndex) : null;
+        List<String> modifiers = getTokenModifiers(modifiersMask);
+        TextAttributesKey colorKey = tokenType != null ? colorsProvider.getTextAttributesKey(tokenType, modifiers, file) : null;
+        return new Style(tokenType, modifiers, colorKey);
+    }
+
+    @NotNull
+    private List<String> getTokenModifiers(int modifiersMask) {
+        if (modifiersMask == 0) {
+            return Collections.emptyList();
+        }
+        List<String> modifiers = new ArrayList<>(Integer.bitCount(modifiersMask));
+        for (int bits = modifiersMask; bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits);
+            if (i < tokenModifiers.size()) {
+                modifiers.add(tokenModifiers.get(i));
+            }
+        }
+        return Collections.unmodifiableList(modifiers);
+    }
+
+    /**
+     * Immutable open addressing hash table.
+     */
+    private record Table(long[] keys, Style[] styles, int size) {
+
+        @Nullable
+        Style get(long key) {
+            int mask = keys.length - 1;
+            int index = hash(key) & mask;
+            Style style;
+            while ((style = styles[index]) != null) {
+                if (keys[index] == key) {
+                    return style;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * Returns a copy of this table with the given style.
+         */
+        @NotNull
+        Table with(long key, @NotNull Style style) {
+            int capacity = (size + 1) * 2 > keys.length ? keys.length * 2 : keys.length;
+            var newKeys = new long[capacity];
+            var newStyles = new Style[capacity];
+            for (int i = 0; i < styles.length; i++) {
+                if (styles[i] != null) {
+                    put(newKeys, newStyles, keys[i], styles[i]);
+                }
+            }
+            put(newKeys, newStyles, key, style);
+            return new Table(newKeys, newStyles, size + 1);
+        }
+
+        private static void put(long[] keys, Style[] styles, long key, Style style) {
+            int mask = keys.length - 1;
+            int index = hash(key) & mask;
+            while (styles[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            styles[index] = style;
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
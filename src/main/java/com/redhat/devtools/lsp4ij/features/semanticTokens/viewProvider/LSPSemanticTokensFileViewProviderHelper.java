@@ -25,8 +25,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Helper class for {@link LSPSemanticTokensFileViewProvider} implementations to help fulfill its interface.
@@ -141,9 +139,10 @@ public class LSPSemanticTokensFileViewProviderHelper implements LSPSemanticToken
         return semanticToken != null ? semanticToken.getTextRange() : null;
     }
 
-    // Store the file's semantic tokens so that we have constant-time lookup of an element for a given offset
+    // Store the file's semantic tokens in a compact index so that we have logarithmic-time lookup of an element for a
+    // given offset with memory proportional to the number of tokens
     @Nullable
-    private Map<Integer, LSPSemanticToken> getSemanticTokensByOffset() {
+    private LSPSemanticTokensIndex getSemanticTokensIndex() {
         PsiFile file = getFile();
         if (file == null) return null;
 
@@ -151,9 +150,8 @@ public class LSPSemanticTokensFileViewProviderHelper implements LSPSemanticToken
         return CachedValuesManager.getCachedValue(file, new CachedValueProvider<>() {
             @Override
             @NotNull
-            public Result<Map<Integer, LSPSemanticToken>> compute() {
-                Map<Integer, LSPSemanticToken> semanticTokensByOffset = new ConcurrentHashMap<>();
-                return Result.create(semanticTokensByOffset, file);
+            public Result<LSPSemanticTokensIndex> compute() {
+                return Result.create(new LSPSemanticTokensIndex(), file);
             }
         });
     }
@@ -165,14 +163,10 @@ public class LSPSemanticTokensFileViewProviderHelper implements LSPSemanticToken
         PsiFile file = getFile();
         if (file == null) return;
 
-        Map<Integer, LSPSemanticToken> semanticTokensByOffset = getSemanticTokensByOffset();
-        if (semanticTokensByOffset != null) {
-            LSPSemanticToken semanticToken = new LSPSemanticToken(file, textRange, tokenType, tokenModifiers);
-
+        LSPSemanticTokensIndex semanticTokensIndex = getSemanticTokensIndex();
+        if (semanticTokensIndex != null) {
             // Index the token for its text range up to but not including the end offset
-            for (int offset = textRange.getStartOffset(); offset < textRange.getEndOffset(); offset++) {
-                semanticTokensByOffset.put(offset, semanticToken);
-            }
+            semanticTokensIndex.add(textRange.getStartOffset(), textRange.getEndOffset(), tokenType, tokenModifiers);
         }
     }
 
@@ -188,9 +182,9 @@ public class LSPSemanticTokensFileViewProviderHelper implements LSPSemanticToken
         if (file == null) return null;
 
         // If this file has semantic tokens, use them
-        Map<Integer, LSPSemanticToken> semanticTokensByOffset = getSemanticTokensByOffset();
-        if (!ContainerUtil.isEmpty(semanticTokensByOffset)) {
-            LSPSemanticToken semanticToken = semanticTokensByOffset.get(offset);
+        LSPSemanticTokensIndex semanticTokensIndex = getSemanticTokensIndex();
+        if ((semanticTokensIndex != null) && !semanticTokensIndex.isEmpty()) {
+            LSPSemanticToken semanticToken = semanticTokensIndex.getSemanticToken(file, offset);
             // Update the view provider's effective offset as appropriate
             setEffectiveOffset(semanticToken == null ? offset : -1);
             return semanticToken;
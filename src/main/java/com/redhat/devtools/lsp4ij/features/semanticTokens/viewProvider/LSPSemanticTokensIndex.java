@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+
+package com.redhat.devtools.lsp4ij.features.semanticTokens.viewProvider;
+
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact offset index of the semantic tokens of a file.
+ * <p>
+ * The index stores a sorted list of disjoint offset intervals in primitive arrays and resolves an offset with a binary
+ * search, so memory is proportional to the number of tokens instead of the number of characters they cover. Each
+ * interval references a token slot which holds the original token range and an index into a table of distinct
+ * (token type, token modifiers) pairs. {@link LSPSemanticToken} instances are only created when a token is actually
+ * requested.
+ * <p>
+ * When a token is added over existing tokens, the new token wins for the offsets it covers, which matches the
+ * behavior of the previous per-offset map. Adding a token which is already in the index (ex : a highlight pass
+ * without document change) does nothing, and the slots of the tokens which no longer cover any offset are reclaimed.
+ */
+final class LSPSemanticTokensIndex {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * A distinct (token type, token modifiers) pair.
+     */
+    private record TokenInfo(@Nullable String tokenType, @NotNull List<String> tokenModifiers) {
+    }
+
+    // Intervals, sorted by start offset and disjoint
+    private int[] intervalStarts = new int[INITIAL_CAPACITY];
+    private int[] intervalEnds = new int[INITIAL_CAPACITY];
+    private int[] intervalTokens = new int[INITIAL_CAPACITY];
+    private int intervalCount = 0;
+
+    // Token slots, in insertion order
+    private int[] tokenStarts = new int[INITIAL_CAPACITY];
+    private int[] tokenEnds = new int[INITIAL_CAPACITY];
+    private int[] tokenInfos = new int[INITIAL_CAPACITY];
+    private LSPSemanticToken[] tokens = new LSPSemanticToken[INITIAL_CAPACITY];
+    private int tokenCount = 0;
+
+    // Distinct token infos
+    private final List<TokenInfo> infos = new ArrayList<>();
+    private final Map<TokenInfo, Integer> infoIndexes = new HashMap<>();
+
+    /**
+     * Returns true if no semantic token has been added to the index.
+     *
+     * @return true if no semantic token has been added to the index; otherwise false
+     */
+    synchronized boolean isEmpty() {
+        return intervalCount == 0;
+    }
+
+    /**
+     * Returns the number of semantic token slots of the index.
+     *
+     * @return the number of semantic token slots of the index
+     */
+    synchronized int size() {
+        return tokenCount;
+    }
+
+    /**
+     * Adds a semantic token to the index.
+     *
+     * @param start          the start offset (inclusive)
+     * @param end            the end offset (exclusive)
+     * @param tokenType      the optional token type
+     * @param tokenModifiers the optional token modifiers
+     */
+    synchronized void add(int start,
+                          int end,
+                          @Nullable String tokenType,
+                          @Nullable List<String> tokenModifiers) {
+        if (start >= end) {
+            return;
+        }
+        int info = getInfoIndex(tokenType, tokenModifiers);
+
+        // Fast path: semantic tokens are sent by the language server in offset order
+        if ((intervalCount == 0) || (start >= intervalEnds[intervalCount - 1])) {
+            int token = addToken(start, end, info);
+            ensureIntervalCapacity(intervalCount + 1);
+            setInterval(intervalCount++, start, end, token);
+            return;
+        }
+
+        int first = firstIntervalEndingAfter(start);
+        if (isSameToken(first, start, end, info)) {
+            // The token is already in the index (ex : highlight pass without document change)
+            return;
+        }
+
+        // Slow path: replace the coverage of all intervals which overlap [start, end)
+        int token = addToken(start, end, info);
+        int last = first;
+        while ((last < intervalCount) && (intervalStarts[last] < end)) {
+            last++;
+        }
+        // Intervals [first, last) overlap the new token; keep their parts which are outside of it
+        boolean keepLeft = (first < last) && (intervalStarts[first] < start);
+        boolean keepRight = (first < last) && (intervalEnds[last - 1] > end);
+        int replacementCount = 1 + (keepLeft ? 1 : 0) + (keepRight ? 1 : 0);
+        int leftStart = keepLeft ? intervalStarts[first] : -1;
+        int leftToken = keepLeft ? intervalTokens[first] : -1;
+        int rightEnd = keepRight ? intervalEnds[last - 1] : -1;
+        int rightToken = keepRight ? intervalTokens[last - 1] : -1;
+
+        int delta = replacementCount - (last - first);
+        ensureIntervalCapacity(intervalCount + Math.max(delta, 0));
+        int tail = intervalCount - last;
+        System.arraycopy(intervalStarts, last, intervalStarts, last + delta, tail);
+        System.arraycopy(intervalEnds, last, intervalEnds, last + delta, tail);
+        System.arraycopy(intervalTokens, last, intervalTokens, last + delta, tail);
+        intervalCount += delta;
+
+        int index = first;
+        if (keepLeft) {
+            setInterval(index++, leftStart, start, leftToken);
+        }
+        setInterval(index++, start, end, token);
+        if (keepRight) {
+            setInterval(index, end, rightEnd, rightToken);
+        }
+
+        // The replaced tokens may no longer cover any offset
+        if (tokenCount > 2 * intervalCount + INITIAL_CAPACITY) {
+            compactTokens();
+        }
+    }
+
+    private boolean isSameToken(int interval, int start, int end, int info) {
+        if ((interval >= intervalCount) || (intervalStarts[interval] != start) || (intervalEnds[interval] != end)) {
+            return false;
+        }
+        int token = intervalTokens[interval];
+        return (tokenStarts[token] == start) && (tokenEnds[token] == end) && (tokenInfos[token] == info);
+    }
+
+    /**
+     * Removes the token slots which are not referenced by any interval.
+     */
+    private void compactTokens() {
+        int[] newTokens = new int[tokenCount];
+        Arrays.fill(newTokens, -1);
+        int capacity = Math.max(INITIAL_CAPACITY, intervalCount * 2);
+        int[] starts = new int[capacity];
+        int[] ends = new int[capacity];
+        int[] tokenInfoIndexes = new int[capacity];
+        LSPSemanticToken[] semanticTokens = new LSPSemanticToken[capacity];
+        int count = 0;
+        for (int i = 0; i < intervalCount; i++) {
+            int token = intervalTokens[i];
+            int newToken = newTokens[token];
+            if (newToken == -1) {
+                newToken = count++;
+                newTokens[token] = newToken;
+                starts[newToken] = tokenStarts[token];
+                ends[newToken] = tokenEnds[token];
+                tokenInfoIndexes[newToken] = tokenInfos[token];
+                semanticTokens[newToken] = tokens[token];
+            }
+            intervalTokens[i] = newToken;
+        }
+        tokenStarts = starts;
+        tokenEnds = ends;
+        tokenInfos = tokenInfoIndexes;
+        tokens = semanticTokens;
+        tokenCount = count;
+    }
+
+    /**
+     * Returns the text range of the semantic token which covers the offset.
+     *
+     * @param offset the offset
+     * @return the text range of the semantic token which covers the offset, or null if there is none
+     */
+    @Nullable
+    synchronized TextRange getTextRange(int offset) {
+        int token = findToken(offset);
+        return token != -1 ? TextRange.create(tokenStarts[token], tokenEnds[token]) : null;
+    }
+
+    /**
+     * Returns the type of the semantic token which covers the offset.
+     *
+     * @param offset the offset
+     * @return the type of the semantic token which covers the offset, or null if there is none or it has no type
+     */
+    @Nullable
+    synchronized String getTokenType(int offset) {
+        int token = findToken(offset);
+        return token != -1 ? infos.get(tokenInfos[token]).tokenType() : null;
+    }
+
+    /**
+     * Returns the semantic token which covers the offset, creating it if needed.
+     *
+     * @param file   the file which owns this index
+     * @param offset the offset
+     * @return the semantic token which covers the offset, or null if there is none
+     */
+    @Nullable
+    synchronized LSPSemanticToken getSemanticToken(@NotNull PsiFile file, int offset) {
+        int token = findToken(offset);
+        if (token == -1) {
+            return null;
+        }
+        LSPSemanticToken semanticToken = tokens[token];
+        if (semanticToken == null) {
+            TokenInfo info = infos.get(tokenInfos[token]);
+            semanticToken = new LSPSemanticToken(file, TextRange.create(tokenStarts[token], tokenEnds[token]), info.tokenType(), info.tokenModifiers());
+            tokens[token] = semanticToken;
+        }
+        return semanticToken;
+    }
+
+    private int findToken(int offset) {
+        int index = firstIntervalEndingAfter(offset);
+        return (index < intervalCount) && (intervalStarts[index] <= offset) ? intervalTokens[index] : -1;
+    }
+
+    /**
+     * Returns the index of the first interval whose end offset is greater than the offset, or the interval count if
+     * there is none. Since intervals are sorted and disjoint, their end offsets are sorted too.
+     */
+    private int firstIntervalEndingAfter(int offset) {
+        int low = 0;
+        int high = intervalCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (intervalEnds[mid] <= offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int getInfoIndex(@Nullable String tokenType, @Nullable List<String> tokenModifiers) {
+        TokenInfo info = new TokenInfo(tokenType, tokenModifiers != null ? tokenModifiers : Collections.emptyList());
+        Integer index = infoIndexes.get(info);
+        if (index == null) {
+            index = infos.size();
+            infos.add(info);
+            infoIndexes.put(info, index);
+        }
+        return index;
+    }
+
+    private int addToken(int start, int end, int info) {
+        if (tokenCount == tokenStarts.length) {
+            int capacity = tokenStarts.length * 2;
+            tokenStarts = Arrays.copyOf(tokenStarts, capacity);
+            tokenEnds = Arrays.copyOf(tokenEnds, capacity);
+            tokenInfos = Arrays.copyOf(tokenInfos, capacity);
+            tokens = Arrays.copyOf(tokens, capacity);
+        }
+        tokenStarts[tokenCount] = start;
+        tokenEnds[tokenCount] = end;
+        tokenInfos[tokenCount] = info;
+        return tokenCount++;
+    }
+
+    private void setInterval(int index, int start, int end, int token) {
+        intervalStarts[index] = start;
+        intervalEnds[index] = end;
+        intervalTokens[index] = token;
+    }
+
+    private void ensureIntervalCapacity(int capacity) {
+        if (capacity > intervalStarts.length) {
+            int newCapacity = Math.max(capacity, intervalStarts.length * 2);
+            intervalStarts = Arrays.copyOf(intervalStarts, newCapacity);
+            intervalEnds = Arrays.copyOf(intervalEnds, newCapacity);
+            intervalTokens = Arrays.copyOf(intervalTokens, newCapacity);
+        }
+    }
+}
@@ -76,14 +76,14 @@ abstract class AbstractLSPWorkspaceSymbolContributor implements ChooseByNameCont
         }
     }
 
-    private CompletableFuture<List<WorkspaceSymbolData>> getWorkspaceSymbols(@NotNull String name, boolean cancel, Project project) {
-        // Consume LSP 'workspace/symbol' request
+    private CompletableFuture<List<WorkspaceSymbolData>> getWorkspaceSymbols(@NotNull String name, boolean search, Project project) {
+        // Consume LSP 'workspace/symbol' request or filter the cached workspace symbols
         LSPWorkspaceSymbolSupport workspaceSymbolSupport = LSPWorkspaceSupport.getSupport(project).getWorkspaceSymbolSupport();
-        if (cancel) {
-            workspaceSymbolSupport.cancel();
-        }
         LSPWorkspaceSymbolParams params = createWorkspaceSymbolParams(name);
-        return workspaceSymbolSupport.getWorkspaceSymbol(params);
+        if (search) {
+            return workspaceSymbolSupport.searchWorkspaceSymbols(params);
+        }
+        return workspaceSymbolSupport.getWorkspaceSymbolsWithName(params);
     }
 
     /**
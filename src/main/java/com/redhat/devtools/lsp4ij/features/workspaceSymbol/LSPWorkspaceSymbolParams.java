@@ -21,10 +21,26 @@ import org.jetbrains.annotations.NotNull;
  */
 public class LSPWorkspaceSymbolParams extends WorkspaceSymbolParams {
 
+    // true if a language server may have truncated its workspace/symbol result for this query
+    private transient volatile boolean incomplete;
+
     LSPWorkspaceSymbolParams(@NotNull String query) {
         super(query);
     }
 
+    /**
+     * Returns true if a language server may have truncated its workspace/symbol result for this query and false otherwise.
+     *
+     * @return true if a language server may have truncated its workspace/symbol result for this query and false otherwise.
+     */
+    boolean isIncomplete() {
+        return incomplete;
+    }
+
+    void markAsIncomplete() {
+        this.incomplete = true;
+    }
+
     public boolean canSupport(@NotNull LSPWorkspaceSymbolFeature feature) {
         return true;
     }
@@ -11,8 +11,10 @@
 package com.redhat.devtools.lsp4ij.features.workspaceSymbol;
 
 import com.intellij.openapi.project.Project;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.redhat.devtools.lsp4ij.LSPRequestConstants;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.LanguageServiceAccessor;
 import com.redhat.devtools.lsp4ij.client.features.FileUriSupport;
 import com.redhat.devtools.lsp4ij.features.AbstractLSPWorkspaceFeatureSupport;
 import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
@@ -21,11 +23,11 @@ import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
 import org.eclipse.lsp4j.WorkspaceSymbol;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * LSP workspace symbol support which loads and caches symbol response by consuming:
@@ -36,6 +38,9 @@ import java.util.concurrent.CompletableFuture;
  */
 public class LSPWorkspaceSymbolSupport extends AbstractLSPWorkspaceFeatureSupport<LSPWorkspaceSymbolParams, List<WorkspaceSymbolData>> {
 
+    // The workspace/symbol searches per params type (Go to Symbol and Go to Class don't accept the same symbols)
+    private final Map<Class<? extends LSPWorkspaceSymbolParams>, WorkspaceSymbolSearch> searches = new ConcurrentHashMap<>();
+
     public LSPWorkspaceSymbolSupport(@NotNull Project project) {
         super(project);
     }
@@ -44,6 +49,115 @@ public class LSPWorkspaceSymbolSupport extends AbstractLSPWorkspaceFeatureSuppor
         return super.getFeatureData(params);
     }
 
+    /**
+     * Returns the workspace symbols matching the query of the given params (ex : the pattern typed in the Go to Symbol popup).
+     * <p>
+     * When the query refines the query of the last complete result (ex : 'foo' then 'fooB'), the symbols are filtered
+     * from this result, otherwise the previous workspace/symbol requests of the same params type are canceled and new
+     * requests are consumed.
+     *
+     * @param params the workspace/symbol params.
+     * @return the workspace symbols matching the query of the given params.
+     */
+    public CompletableFuture<List<WorkspaceSymbolData>> searchWorkspaceSymbols(@NotNull LSPWorkspaceSymbolParams params) {
+        long modificationCount = getModificationCount();
+        WorkspaceSymbolSearch search = getSearch(params);
+        WorkspaceSymbolCache current = search.cache;
+        if (current != null && current.canRefine(params.getQuery(), modificationCount)) {
+            return CompletableFuture.completedFuture(current.filter(params.getQuery()));
+        }
+        return search.load(params, modificationCount);
+    }
+
+    /**
+     * Returns the workspace symbols with the given name (ex : a name collected by the Go to Symbol popup with
+     * {@link #searchWorkspaceSymbols(LSPWorkspaceSymbolParams)}).
+     * <p>
+     * The symbols are taken from the last workspace/symbol result when it contains the name, otherwise the
+     * workspace/symbol requests of the last search are reused or consumed. Those requests may have been sent for
+     * another query (ex : the pattern typed in the popup), so only the symbols with the given name are kept.
+     *
+     * @param params the workspace/symbol params with the symbol name as query.
+     * @return the workspace symbols with the given name.
+     */
+    public CompletableFuture<List<WorkspaceSymbolData>> getWorkspaceSymbolsWithName(@NotNull LSPWorkspaceSymbolParams params) {
+        String name = params.getQuery();
+        long modificationCount = getModificationCount();
+        WorkspaceSymbolSearch search = getSearch(params);
+        WorkspaceSymbolCache current = search.cache;
+        if (current != null && current.containsName(name, modificationCount)) {
+            return CompletableFuture.completedFuture(current.getSymbolsWithName(name));
+        }
+        CompletableFuture<List<WorkspaceSymbolData>> future = search.future;
+        if (future == null || future.isCompletedExceptionally()) {
+            future = search.load(params, modificationCount);
+        }
+        return future.thenApply(symbols -> getSymbolsWithName(symbols, name));
+    }
+
+    private static @NotNull List<WorkspaceSymbolData> getSymbolsWithName(@Nullable List<WorkspaceSymbolData> symbols,
+                                                                         @NotNull String name) {
+        if (symbols == null) {
+            return Collections.emptyList();
+        }
+        return symbols
+                .stream()
+                .filter(symbol -> name.equals(symbol.getName()))
+                .toList();
+    }
+
+    private @NotNull WorkspaceSymbolSearch getSearch(@NotNull LSPWorkspaceSymbolParams params) {
+        return searches.computeIfAbsent(params.getClass(), k -> new WorkspaceSymbolSearch());
+    }
+
+    @Override
+    public void cancel() {
+        for (var search : searches.values()) {
+            search.cancel();
+        }
+        super.cancel();
+    }
+
+    /**
+     * Returns a modification count which changes when a language server is started / stopped and when the Psi files
+     * are modified, to evict the cached workspace symbols.
+     *
+     * @return a modification count which changes when the cached workspace symbols are outdated.
+     */
+    private long getModificationCount() {
+        Project project = super.getProject();
+        return LanguageServiceAccessor.getInstance(project).getModificationTracker().getModificationCount() +
+                PsiModificationTracker.getInstance(project).getModificationCount();
+    }
+
+    /**
+     * Returns true if the given symbol name matches the given workspace/symbol query and false otherwise.
+     * <p>
+     * The characters of the query must appear in the same order in the name, ignoring the case, which is less
+     * restrictive than the fuzzy matching of the language servers: the result is filtered again by the popup.
+     *
+     * @param name  the symbol name.
+     * @param query the workspace/symbol query.
+     * @return true if the given symbol name matches the given workspace/symbol query and false otherwise.
+     */
+    static boolean matchesQuery(@Nullable String name, @NotNull String query) {
+        if (name == null) {
+            return query.isEmpty();
+        }
+        int nameIndex = 0;
+        for (int i = 0; i < query.length(); i++) {
+            char c = Character.toLowerCase(query.charAt(i));
+            while (nameIndex < name.length() && Character.toLowerCase(name.charAt(nameIndex)) != c) {
+                nameIndex++;
+            }
+            if (nameIndex == name.length()) {
+                return false;
+            }
+            nameIndex++;
+        }
+        return true;
+    }
+
     @Override
     protected CompletableFuture<List<WorkspaceSymbolData>> doLoad(LSPWorkspaceSymbolParams params, CancellationSupport cancellationSupport) {
         Project project = super.getProject();
@@ -86,6 +200,12 @@ public class LSPWorkspaceSymbolSupport extends AbstractLSPWorkspaceFeatureSuppor
                         // workspace/symbol may return null
                         return null;
                     }
+                    List<?> result = symbols.isLeft() ? symbols.getLeft() : symbols.getRight();
+                    int symbolCount = result != null ? result.size() : 0;
+                    if (!languageServer.getClientFeatures().getWorkspaceSymbolFeature().isCompleteResult(params.getQuery(), symbolCount)) {
+                        // The language server may have truncated its result, it cannot be used to answer refinements of the query
+                        params.markAsIncomplete();
+                    }
                     List<WorkspaceSymbolData> items = new ArrayList<>();
                     if (symbols.isLeft()) {
                         List<? extends SymbolInformation> s = symbols.getLeft();
@@ -120,4 +240,103 @@ public class LSPWorkspaceSymbolSupport extends AbstractLSPWorkspaceFeatureSuppor
         return new WorkspaceSymbolData(
                 name, symbolKind, si.getLocation().getRight().getUri(), null, fileUriSupport, project);
     }
-}
\ No newline at end of file
+
+    /**
+     * The workspace/symbol requests and the last result of a params type (Go to Symbol or Go to Class).
+     */
+    private class WorkspaceSymbolSearch {
+
+        private @Nullable CancellationSupport cancellationSupport;
+        private volatile @Nullable CompletableFuture<List<WorkspaceSymbolData>> future;
+        // The last workspace/symbol result, used to answer the refinements of its query without consuming LSP requests
+        private volatile @Nullable WorkspaceSymbolCache cache;
+
+        synchronized CompletableFuture<List<WorkspaceSymbolData>> load(@NotNull LSPWorkspaceSymbolParams params,
+                                                                       long modificationCount) {
+            // Cancel the workspace/symbol requests of the previous query
+            cancel();
+            var cancellation = new CancellationSupport();
+            cancellationSupport = cancellation;
+            CompletableFuture<List<WorkspaceSymbolData>> loadFuture = doLoad(params, cancellation);
+            future = loadFuture;
+            loadFuture.thenAccept(symbols -> {
+                // Don't replace the result of a more recent query
+                if (symbols != null && future == loadFuture) {
+                    cache = new WorkspaceSymbolCache(params, symbols, modificationCount);
+                }
+            });
+            return loadFuture;
+        }
+
+        synchronized void cancel() {
+            if (cancellationSupport != null) {
+                cancellationSupport.cancel();
+                cancellationSupport = null;
+            }
+            future = null;
+        }
+    }
+
+    /**
+     * The last workspace/symbol result with its query.
+     */
+    static class WorkspaceSymbolCache {
+
+        private final @NotNull String query;
+        private final boolean complete;
+        private final @NotNull List<WorkspaceSymbolData> symbols;
+        private final @NotNull Map<String, List<WorkspaceSymbolData>> symbolsByName;
+        private final long modificationCount;
+
+        WorkspaceSymbolCache(@NotNull LSPWorkspaceSymbolParams params,
+                             @NotNull List<WorkspaceSymbolData> symbols,
+                             long modificationCount) {
+            this.query = params.getQuery();
+            this.complete = !params.isIncomplete();
+            this.symbols = symbols;
+            this.symbolsByName = new HashMap<>();
+            for (var symbol : symbols) {
+                symbolsByName.computeIfAbsent(symbol.getName(), k -> new ArrayList<>()).add(symbol);
+            }
+            this.modificationCount = modificationCount;
+        }
+
+        /**
+         * Returns true if this result is complete and not empty and false otherwise.
+         * <p>
+         * An empty result (ex : language servers which are still indexing the workspace) is never used to answer
+         * other queries.
+         */
+        private boolean isCompleteAndNotEmpty() {
+            return complete && !symbols.isEmpty();
+        }
+
+        /**
+         * Returns true if the given query refines the query of this complete result and false otherwise.
+         */
+        boolean canRefine(@NotNull String query, long modificationCount) {
+            return isCompleteAndNotEmpty() && this.modificationCount == modificationCount && query.startsWith(this.query);
+        }
+
+        boolean containsName(@NotNull String name, long modificationCount) {
+            return this.modificationCount == modificationCount &&
+                    (symbolsByName.containsKey(name) || (isCompleteAndNotEmpty() && name.startsWith(query)));
+        }
+
+        @NotNull
+        List<WorkspaceSymbolData> filter(@NotNull String query) {
+            if (query.equals(this.query)) {
+                return symbols;
+            }
+            return symbols
+                    .stream()
+                    .filter(symbol -> matchesQuery(symbol.getName(), query))
+                    .toList();
+        }
+
+        @NotNull
+        List<WorkspaceSymbolData> getSymbolsWithName(@NotNull String name) {
+            return symbolsByName.getOrDefault(name, Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Fixed-capacity ring buffer with multiple producers and a single consumer:
+ *
+ * <ul>
+ *     <li>{@link #add(Object)} is lock-free and never blocks: when the buffer is full, the new element overwrites
+ *     the oldest element which has not been drained yet, and the overwritten element is counted as dropped.</li>
+ *     <li>{@link #drain(Consumer)} consumes the elements in the order they have been added.</li>
+ * </ul>
+ * <p>
+ * Each slot stores the sequence number of its element, so the consumer can tell an element which has not been
+ * published yet from an element which has been overwritten.
+ *
+ * @param <T> the element type.
+ */
+public class BoundedRingBuffer<T> {
+
+    private record Slot<T>(long sequence, @NotNull T element) {
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Slot<T>> slots;
+
+    // Sequence of the next added element
+    private final AtomicLong writeSequence = new AtomicLong();
+    // Sequence of the next drained element, only updated by the consumer
+    private volatile long readSequence;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * Creates a ring buffer which can hold at least the given number of elements
+     * (the capacity is rounded up to a power of two).
+     *
+     * @param capacity the min capacity.
+     */
+    public BoundedRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    /**
+     * Adds the given element, overwriting the oldest element if the buffer is full.
+     *
+     * @param element the element to add.
+     */
+    public void add(@NotNull T element) {
+        long sequence = writeSequence.getAndIncrement();
+        slots.set((int) (sequence & mask), new Slot<>(sequence, element));
+    }
+
+    /**
+     * Consumes the elements which have been added and not drained yet, in order, and removes them.
+     *
+     * @param consumer the element consumer.
+     * @return the number of elements which have been dropped since the last drain.
+     */
+    public synchronized long drain(@NotNull Consumer<T> consumer) {
+        long end = writeSequence.get();
+        long sequence = readSequence;
+        long dropped = 0;
+        if (end - sequence > capacity) {
+            // The oldest elements have been overwritten
+            dropped = end - sequence - capacity;
+            sequence = end - capacity;
+        }
+        while (sequence < end) {
+            Slot<T> slot = slots.get((int) (sequence & mask));
+            if (slot == null || slot.sequence() < sequence) {
+                // The element is not published yet, it will be drained next time
+                break;
+            }
+            if (slot.sequence() == sequence) {
+                // Release the element, unless a producer has already overwritten it
+                slots.compareAndSet((int) (sequence & mask), slot, null);
+                consumer.accept(slot.element());
+            } else {
+                // The element has been overwritten while draining
+                dropped++;
+            }
+            sequence++;
+        }
+        readSequence = sequence;
+        if (dropped > 0) {
+            droppedCount.addAndGet(dropped);
+        }
+        return dropped;
+    }
+
+    /**
+     * Returns true if there is no element to drain and false otherwise.
+     *
+     * @return true if there is no element to drain and false otherwise.
+     */
+    public boolean isEmpty() {
+        return writeSequence.get() == readSequence;
+    }
+
+    /**
+     * Returns the capacity of the buffer.
+     *
+     * @return the capacity of the buffer.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the total number of added elements.
+     *
+     * @return the total number of added elements.
+     */
+    public long getAddedCount() {
+        return writeSequence.get();
+    }
+
+    /**
+     * Returns the total number of elements which have been dropped because the buffer was full.
+     *
+     * @return the total number of elements which have been dropped.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+}
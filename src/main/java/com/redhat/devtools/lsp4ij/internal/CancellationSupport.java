@@ -118,6 +118,12 @@ public class CancellationSupport implements CancelChecker {
             // Add the future to the list of the futures to cancel (when CancellationSupport.cancel() is called)
             this.futuresToCancel.add(future);
             if (languageServer != null) {
+                if (featureName != null) {
+                    // Record the latency, cancellation and error of the LSP request
+                    var metrics = languageServer.getServerWrapper().getRequestMetrics();
+                    long startNanos = metrics.requestStarted(featureName);
+                    future.whenComplete((result, error) -> metrics.requestCompleted(featureName, startNanos, error));
+                }
                 // It is an LSP request (ex : textDocument/completion)
                 // Handle the LSP request response to show LSP error (ResponseErrorException) in an IJ notification
                 // In this error case, the future will return null as response instead of throwing the ResponseErrorException error
@@ -42,6 +42,11 @@ public class CompletableFutures {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CompletableFutures.class);
 
+    // Interval to check the cancellation when the progress indicator cannot wake up the waiting thread
+    private static final long CANCELLATION_CHECK_INTERVAL_MS = 25;
+    // Maximum time to park the waiting thread before re-checking the cancellation, the file modification and the timeouts
+    private static final long MAX_WAIT_SLICE_MS = 500;
+
     private CompletableFutures() {
 
     }
@@ -172,82 +177,108 @@ public class CompletableFutures {
             initialModificationStamp = file.getFileDocument().getModificationStamp();
         }
 
-        while (!future.isDone()) {
-            try {
-                // check progress canceled
-                ProgressManager.checkCanceled();
+        // Park the thread until the future is done, and wake it up as soon as the progress is canceled
+        // instead of polling it. The document cannot be modified while the read access is held: a write action
+        // which wants to modify it cancels the progress of the read action, which wakes up the thread.
+        try (FutureWaiter waiter = new FutureWaiter(future)) {
+            boolean wakeUpOnCancel = waiter.wakeUpOnCancel(ProgressManager.getGlobalProgressIndicator());
+            // When the progress indicator cannot wake up the thread (ex : no progress indicator),
+            // the cancellation is checked periodically.
+            long waitSlice = wakeUpOnCancel ? MAX_WAIT_SLICE_MS : CANCELLATION_CHECK_INTERVAL_MS;
+
+            while (!future.isDone()) {
+                try {
+                    // check progress canceled
+                    ProgressManager.checkCanceled();
+
+                    // Check psi file modification (only if in ReadAction)
+                    // Re-check context at each iteration as it may have changed
+                    if (file != null && initialModificationStamp != null && ApplicationManager.getApplication().isReadAccessAllowed()) {
+                        if (!initialModificationStamp.equals(file.getFileDocument().getModificationStamp())) {
+                            throw new PsiFileChangedException();
+                        }
+                    }
 
-                // Check psi file modification (only if in ReadAction)
-                // Re-check context at each iteration as it may have changed
-                if (file != null && initialModificationStamp != null && ApplicationManager.getApplication().isReadAccessAllowed()) {
-                    if (!initialModificationStamp.equals(file.getFileDocument().getModificationStamp())) {
-                        throw new PsiFileChangedException();
+                    // wait until the future is done, an event occurs, or the timeout elapses
+                    long slice = waitSlice;
+                    if (effectiveTimeout != null) {
+                        long remaining = effectiveTimeout - (System.currentTimeMillis() - start) + 1;
+                        slice = Math.max(1, Math.min(slice, remaining));
                     }
+                    if (waiter.await(TimeUnit.MILLISECONDS.toNanos(slice))) {
+                        // The future is done, get it to throw its error if any
+                        future.get();
+                    } else {
+                        checkWaitTimeout(future, file, start, effectiveTimeout, initialContext, isSafetyTimeout);
+                    }
+                } catch (ExecutionException | CompletionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof ProcessCanceledException pce) {
+                        throw pce;
+                    }
+                    if (cause instanceof LanguageServerException) {
+                        // Server cannot be started, throws a ProcessCanceledException to ignore the error.
+                        throw new ProcessCanceledException(cause);
+                    }
+                    if (cause instanceof CancellationException ce) {
+                        throw ce;
+                    }
+                    throw e;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
                 }
+            }
+        }
+    }
 
-                // wait for 25 ms
-                future.get(25, TimeUnit.MILLISECONDS);
-            } catch (TimeoutException timeoutEx) {
-                long time = System.currentTimeMillis() - start;
-                if (effectiveTimeout != null && time > effectiveTimeout) {
-                    if (isSafetyTimeout) {
-                        // Safety timeout triggered - log warning with clear explanation of the root cause
-                        // Detect current context for accurate logging (may have changed since start)
-                        String currentContext = ApplicationManager.getApplication().isWriteAccessAllowed() ? "WriteAction" :
-                                ApplicationManager.getApplication().isReadAccessAllowed() ? "ReadAction" :
-                                ApplicationManager.getApplication().isDispatchThread() ? "EDT" : "background";
+    private static void checkWaitTimeout(@NotNull CompletableFuture<?> future,
+                                         @Nullable PsiFile file,
+                                         long start,
+                                         @Nullable Integer effectiveTimeout,
+                                         @Nullable String initialContext,
+                                         boolean isSafetyTimeout) throws TimeoutException {
+        long time = System.currentTimeMillis() - start;
+        if (effectiveTimeout != null && time > effectiveTimeout) {
+            if (isSafetyTimeout) {
+                // Safety timeout triggered - log warning with clear explanation of the root cause
+                // Detect current context for accurate logging (may have changed since start)
+                String currentContext = ApplicationManager.getApplication().isWriteAccessAllowed() ? "WriteAction" :
+                        ApplicationManager.getApplication().isReadAccessAllowed() ? "ReadAction" :
+                        ApplicationManager.getApplication().isDispatchThread() ? "EDT" : "background";
 
-                        String contextInfo = initialContext.equals(currentContext) ? initialContext : initialContext + " → " + currentContext;
+                String contextInfo = initialContext.equals(currentContext) ? initialContext : initialContext + " → " + currentContext;
 
-                        // Explain WHY the timeout was forced based on the context
-                        String reason = switch (initialContext) {
-                            case "WriteAction" ->
-                                    "WriteAction + LSP request = guaranteed deadlock (LSP needs ReadAction)";
-                            case "ReadAction" ->
-                                    "ReadAction + blocking wait = potential deadlock (LSP might need WriteAction)";
-                            case "EDT" -> "EDT + blocking wait = UI freeze";
-                            default -> "dangerous context detected";
-                        };
+                // Explain WHY the timeout was forced based on the context
+                String reason = switch (initialContext) {
+                    case "WriteAction" ->
+                            "WriteAction + LSP request = guaranteed deadlock (LSP needs ReadAction)";
+                    case "ReadAction" ->
+                            "ReadAction + blocking wait = potential deadlock (LSP might need WriteAction)";
+                    case "EDT" -> "EDT + blocking wait = UI freeze";
+                    default -> "dangerous context detected";
+                };
 
-                        LOGGER.warn("waitUntilDone() TIMEOUT after {}ms in {}. Cause: {}. " +
-                                        "LSP feature will return no data this time. " +
-                                        "File: {}",
-                                time, contextInfo, reason, file != null ? file.getName() : "null", new Throwable());
+                LOGGER.warn("waitUntilDone() TIMEOUT after {}ms in {}. Cause: {}. " +
+                                "LSP feature will return no data this time. " +
+                                "File: {}",
+                        time, contextInfo, reason, file != null ? file.getName() : "null", new Throwable());
 
-                        // Throw SafetyTimeoutException - caller can catch and handle gracefully with async fallback
-                        throw new SafetyTimeoutException("Safety timeout after " + time + "ms in " + initialContext);
-                    } else {
-                        // Timeout was explicitly provided by caller - respect it by throwing TimeoutException
-                        throw timeoutEx;
-                    }
-                }
-                if (file != null && !future.isDone() && System.currentTimeMillis() - start > 5000 &&
-                        (ProjectIndexingManager.isIndexingAll() || ApplicationManager.getApplication().isDispatchThread())) {
-                    // When some projects are being indexed,
-                    // the language server startup can take a long time
-                    // and the LSP feature (ex: codeLens)
-                    // waits for the language server startup.
-                    // This wait can block IJ, here we stop the wait (and we could lose some LSP feature)
-                    throw new CancellationException("Some projects are indexing");
-                }
-                // Ignore timeout
-            } catch (ExecutionException | CompletionException e) {
-                Throwable cause = e.getCause();
-                if (cause instanceof ProcessCanceledException pce) {
-                    throw pce;
-                }
-                if (cause instanceof LanguageServerException) {
-                    // Server cannot be started, throws a ProcessCanceledException to ignore the error.
-                    throw new ProcessCanceledException(cause);
-                }
-                if (cause instanceof CancellationException ce) {
-                    throw ce;
-                }
-                throw e;
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+                // Throw SafetyTimeoutException - caller can catch and handle gracefully with async fallback
+                throw new SafetyTimeoutException("Safety timeout after " + time + "ms in " + initialContext);
+            } else {
+                // Timeout was explicitly provided by caller - respect it by throwing TimeoutException
+                throw new TimeoutException("Timeout after " + time + "ms");
             }
         }
+        if (file != null && !future.isDone() && time > 5000 &&
+                (ProjectIndexingManager.isIndexingAll() || ApplicationManager.getApplication().isDispatchThread())) {
+            // When some projects are being indexed,
+            // the language server startup can take a long time
+            // and the LSP feature (ex: codeLens)
+            // waits for the language server startup.
+            // This wait can block IJ, here we stop the wait (and we could lose some LSP feature)
+            throw new CancellationException("Some projects are indexing");
+        }
     }
 
     /**
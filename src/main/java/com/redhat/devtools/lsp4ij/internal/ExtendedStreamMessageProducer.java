@@ -15,6 +15,7 @@ import org.eclipse.lsp4j.jsonrpc.MessageIssueHandler;
 import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
 import org.eclipse.lsp4j.jsonrpc.json.StreamMessageProducer;
 
+import java.io.IOException;
 import java.io.InputStream;
 
 /**
@@ -39,12 +40,41 @@ import java.io.InputStream;
  */
 public class ExtendedStreamMessageProducer extends StreamMessageProducer {
 
+    // Size in bytes of the message which is consumed by the current thread (-1 when no message is consumed)
+    private static final ThreadLocal<long[]> currentMessageContentLength = ThreadLocal.withInitial(() -> new long[]{-1});
+
     public ExtendedStreamMessageProducer(InputStream input,
                                          MessageJsonHandler jsonHandler,
                                          MessageIssueHandler issueHandler) {
         super(input, jsonHandler, issueHandler);
     }
 
+    @Override
+    protected boolean handleMessage(InputStream input, Headers headers) throws IOException {
+        setCurrentMessageContentLength(headers.contentLength);
+        try {
+            return super.handleMessage(input, headers);
+        } finally {
+            setCurrentMessageContentLength(-1);
+        }
+    }
+
+    /**
+     * Returns the size in bytes of the message which is consumed by the current thread and -1 otherwise.
+     * <p>
+     * The message consumers are called by the thread which reads the message, so a consumer can get the size of
+     * the message it consumes (ex: to record the size of the responses).
+     *
+     * @return the size in bytes of the message which is consumed by the current thread and -1 otherwise.
+     */
+    public static long getCurrentMessageContentLength() {
+        return currentMessageContentLength.get()[0];
+    }
+
+    static void setCurrentMessageContentLength(long contentLength) {
+        currentMessageContentLength.get()[0] = contentLength;
+    }
+
     /**
      * Overrides the default error handling to immediately throw the error.
      * <p>
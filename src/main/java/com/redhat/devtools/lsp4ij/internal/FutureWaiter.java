@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat Inc. and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.util.AbstractProgressIndicatorExBase;
+import com.intellij.openapi.wm.ex.ProgressIndicatorEx;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+/**
+ * Parks the current thread until a {@link CompletableFuture} is done, or until it is woken up by an event which must
+ * stop the wait (ex : the progress indicator is canceled).
+ * <p>
+ * Contrary to a loop on {@code future.get(25, TimeUnit.MILLISECONDS)} which checks the cancellation every 25 ms,
+ * the waiting thread is unparked as soon as the future is done or an event occurs.
+ *
+ * @see CompletableFutures#waitUntilDone(CompletableFuture, com.intellij.psi.PsiFile, Integer)
+ */
+public class FutureWaiter implements BiConsumer<Object, Throwable>, AutoCloseable {
+
+    // Progress indicator -> the state delegate which wakes up the waiters when the progress indicator is canceled
+    private static final Map<ProgressIndicatorEx, CancellationWakeUp> CANCELLATION_WAKE_UPS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final @NotNull CompletableFuture<?> future;
+    // The waiting thread, null when the wait is finished
+    private volatile @Nullable Thread waiter;
+    private volatile boolean wokenUp;
+    private @Nullable CancellationWakeUp cancellationWakeUp;
+
+    public FutureWaiter(@NotNull CompletableFuture<?> future) {
+        this.future = future;
+        this.waiter = Thread.currentThread();
+        future.whenComplete(this);
+    }
+
+    @Override
+    public void accept(Object result, Throwable error) {
+        // The future is done
+        wakeUp();
+    }
+
+    /**
+     * Wakes up the waiting thread.
+     */
+    public void wakeUp() {
+        wokenUp = true;
+        Thread thread = waiter;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Wakes up the waiting thread when the given progress indicator is canceled.
+     *
+     * @param indicator the progress indicator.
+     * @return true if the waiting thread will be woken up when the progress indicator is canceled and false if the
+     * progress indicator doesn't support it.
+     */
+    public boolean wakeUpOnCancel(@Nullable ProgressIndicator indicator) {
+        if (!(indicator instanceof ProgressIndicatorEx indicatorEx)) {
+            return false;
+        }
+        CancellationWakeUp wakeUp;
+        synchronized (CANCELLATION_WAKE_UPS) {
+            wakeUp = CANCELLATION_WAKE_UPS.get(indicatorEx);
+            if (wakeUp == null) {
+                // Register only one state delegate per progress indicator, since a state delegate cannot be removed
+                wakeUp = new CancellationWakeUp();
+                try {
+                    indicatorEx.addStateDelegate(wakeUp);
+                } catch (RuntimeException e) {
+                    // The progress indicator doesn't support state delegates
+                    return false;
+                }
+                CANCELLATION_WAKE_UPS.put(indicatorEx, wakeUp);
+            }
+        }
+        wakeUp.waiters.add(this);
+        cancellationWakeUp = wakeUp;
+        return true;
+    }
+
+    /**
+     * Parks the current thread until the future is done, the waiter is woken up or the given timeout elapses.
+     *
+     * @param timeoutNanos the maximum time to wait in nanoseconds.
+     * @return true if the future is done and false otherwise.
+     */
+    public boolean await(long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (!future.isDone() && !wokenUp) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            LockSupport.parkNanos(this, remaining);
+        }
+        wokenUp = false;
+        return future.isDone();
+    }
+
+    @Override
+    public void close() {
+        waiter = null;
+        if (cancellationWakeUp != null) {
+            cancellationWakeUp.waiters.remove(this);
+            cancellationWakeUp = null;
+        }
+    }
+
+    /**
+     * Progress indicator state delegate which wakes up the waiters when the progress indicator is canceled.
+     */
+    private static class CancellationWakeUp extends AbstractProgressIndicatorExBase {
+
+        private final Set<FutureWaiter> waiters = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void cancel() {
+            super.cancel();
+            for (var waiter : waiters) {
+                waiter.wakeUp();
+            }
+        }
+    }
+}
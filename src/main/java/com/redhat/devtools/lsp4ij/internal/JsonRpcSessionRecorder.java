@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records the JSON-RPC messages exchanged with a language server in an append-only file, to replay them later
+ * without the language server (ex: to reproduce a slowdown with diagnostics, completion, semantic tokens).
+ * <p>
+ * Each session starts with a header line, and each message is a line with:
+ *
+ * <ul>
+ *     <li>the time in milliseconds since the start of the session.</li>
+ *     <li>the direction: '&gt;' for a message sent to the language server and '&lt;' for a message received from it.</li>
+ *     <li>the message serialized in compact JSON (without line break).</li>
+ * </ul>
+ * <pre>
+ * # lsp4ij-jsonrpc-session 1
+ * 0 &gt; {"jsonrpc":"2.0","id":"1","method":"initialize","params":{...}}
+ * 152 &lt; {"jsonrpc":"2.0","id":"1","result":{...}}
+ * </pre>
+ * An I/O error stops the recording without impacting the communication with the language server.
+ */
+public class JsonRpcSessionRecorder implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonRpcSessionRecorder.class);
+
+    public static final String SESSION_HEADER = "# lsp4ij-jsonrpc-session 1";
+
+    /**
+     * Direction of a recorded message.
+     */
+    public enum Direction {
+        /**
+         * Message sent to the language server.
+         */
+        SENT('>'),
+        /**
+         * Message received from the language server.
+         */
+        RECEIVED('<');
+
+        private final char symbol;
+
+        Direction(char symbol) {
+            this.symbol = symbol;
+        }
+
+        public char getSymbol() {
+            return symbol;
+        }
+
+        private static @Nullable Direction fromSymbol(char symbol) {
+            for (var direction : values()) {
+                if (direction.symbol == symbol) {
+                    return direction;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A recorded message.
+     *
+     * @param timestamp the time in milliseconds since the start of the session.
+     * @param direction the direction of the message.
+     * @param json      the message serialized in JSON.
+     */
+    public record Frame(long timestamp, @NotNull Direction direction, @NotNull String json) {
+    }
+
+    private final @NotNull Path file;
+    private final @NotNull MessageJsonHandler jsonHandler;
+    private final long startNanos;
+    private @Nullable Writer writer;
+
+    public JsonRpcSessionRecorder(@NotNull Path file) throws IOException {
+        this.file = file;
+        // The method map is only required to parse messages, not to serialize them
+        this.jsonHandler = new MessageJsonHandler(Collections.emptyMap());
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.startNanos = System.nanoTime();
+        this.writer.write(SESSION_HEADER);
+        this.writer.write('\n');
+        this.writer.flush();
+    }
+
+    /**
+     * Returns the file where the messages are recorded.
+     *
+     * @return the file where the messages are recorded.
+     */
+    public @NotNull Path getFile() {
+        return file;
+    }
+
+    /**
+     * Records the given message.
+     *
+     * @param message   the message.
+     * @param direction the direction of the message.
+     */
+    public void record(@NotNull Message message, @NotNull Direction direction) {
+        long timestamp = (System.nanoTime() - startNanos) / 1_000_000;
+        String json;
+        try {
+            json = jsonHandler.serialize(message);
+        } catch (Exception e) {
+            LOGGER.warn("Error while serializing the JSON-RPC message to record in '{}'", file, e);
+            return;
+        }
+        synchronized (this) {
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.write(Long.toString(timestamp));
+                writer.write(' ');
+                writer.write(direction.getSymbol());
+                writer.write(' ');
+                writer.write(json);
+                writer.write('\n');
+                // Flush each message to keep the recording when the IDE crashes
+                writer.flush();
+            } catch (IOException e) {
+                LOGGER.warn("Error while recording JSON-RPC message in '{}', the recording is stopped", file, e);
+                closeQuietly();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closeQuietly();
+    }
+
+    private void closeQuietly() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                // Do nothing
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Reads the messages of the last session recorded in the given file.
+     *
+     * @param file the recording file.
+     * @return the messages of the last session recorded in the given file.
+     * @throws IOException if the file cannot be read.
+     */
+    public static @NotNull List<Frame> readLastSession(@NotNull Path file) throws IOException {
+        List<Frame> frames = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.equals(SESSION_HEADER)) {
+                    // A new session starts
+                    frames.clear();
+                    continue;
+                }
+                Frame frame = parseFrame(line);
+                if (frame != null) {
+                    frames.add(frame);
+                }
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Returns the message of the given recorded line and null if the line is not a valid message (ex: a line
+     * truncated by a crash).
+     *
+     * @param line the recorded line.
+     * @return the message of the given recorded line and null otherwise.
+     */
+    public static @Nullable Frame parseFrame(@NotNull String line) {
+        int firstSpace = line.indexOf(' ');
+        if (firstSpace <= 0 || line.length() < firstSpace + 4 || line.charAt(firstSpace + 2) != ' ') {
+            return null;
+        }
+        Direction direction = Direction.fromSymbol(line.charAt(firstSpace + 1));
+        if (direction == null) {
+            return null;
+        }
+        String json = line.substring(firstSpace + 3);
+        if (!json.startsWith("{") || !json.endsWith("}")) {
+            return null;
+        }
+        try {
+            return new Frame(Long.parseLong(line, 0, firstSpace, 10), direction, json);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
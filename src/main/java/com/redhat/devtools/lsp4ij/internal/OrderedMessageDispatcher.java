@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import org.eclipse.lsp4j.jsonrpc.JsonRpcException;
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * {@link MessageConsumer} which hands the JSON-RPC messages to a delegate consumer in a single-consumer stage:
+ *
+ * <ul>
+ *     <li>the messages are consumed in the order they have been received (FIFO).</li>
+ *     <li>the thread which produces the messages (ex: the thread which reads the stream of the language server)
+ *     doesn't wait for the consumption of the message.</li>
+ *     <li>the messages are drained by batch by a single task which is scheduled only when the stage is idle,
+ *     so there is no task allocation per message.</li>
+ *     <li>when the queue is full, either the producer waits until a slot is available (backpressure), or the queue
+ *     grows and a warning is logged, when the producer must never wait (ex: a message sent from the EDT). Both cases
+ *     are reported in the {@link Metrics}.</li>
+ * </ul>
+ * <p>
+ * As the messages are consumed by a single thread, the delegate consumer must not block (ex: waiting for the EDT),
+ * otherwise all the next messages, including the responses of the requests, wait for it.
+ */
+public class OrderedMessageDispatcher implements MessageConsumer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderedMessageDispatcher.class);
+
+    /**
+     * Default capacity of the queue.
+     */
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    // Max number of messages consumed by a drain before checking again the queue
+    private static final int MAX_BATCH_SIZE = 256;
+
+    /**
+     * Metrics of the dispatcher.
+     *
+     * @param dispatchedMessages number of consumed messages.
+     * @param batches            number of batches of messages consumed.
+     * @param queueSize          current number of messages waiting to be consumed.
+     * @param maxQueueSize       max number of messages which have been waiting to be consumed.
+     * @param blockedProducers   number of times the producer waited because the queue was full.
+     * @param overflows          number of times the queue exceeded its capacity because the producer must not wait.
+     */
+    public record Metrics(long dispatchedMessages,
+                          long batches,
+                          int queueSize,
+                          int maxQueueSize,
+                          long blockedProducers,
+                          long overflows) {
+    }
+
+    private final @NotNull MessageConsumer delegate;
+    private final @NotNull Executor executor;
+    private final @NotNull Consumer<Throwable> errorHandler;
+    private final @NotNull BlockingQueue<Message> queue;
+    private final int capacity;
+    private final boolean backpressure;
+
+    // true if a drain task is scheduled or running
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private final AtomicLong dispatchedMessages = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicInteger maxQueueSize = new AtomicInteger();
+    private final AtomicLong blockedProducers = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+
+    // true if the queue has exceeded its capacity and has not been drained since
+    private final AtomicBoolean overflowing = new AtomicBoolean();
+
+    /**
+     * Creates a dispatcher.
+     *
+     * @param delegate     the consumer which consumes the messages.
+     * @param executor     the executor used to drain the queue.
+     * @param capacity     the capacity of the queue.
+     * @param backpressure true if the producer must wait when the queue is full and false if the queue must grow.
+     * @param errorHandler the handler of the errors thrown by the delegate consumer.
+     */
+    public OrderedMessageDispatcher(@NotNull MessageConsumer delegate,
+                                    @NotNull Executor executor,
+                                    int capacity,
+                                    boolean backpressure,
+                                    @NotNull Consumer<Throwable> errorHandler) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.errorHandler = errorHandler;
+        this.capacity = capacity;
+        this.backpressure = backpressure;
+        this.queue = backpressure ? new ArrayBlockingQueue<>(capacity) : new LinkedBlockingQueue<>();
+    }
+
+    @Override
+    public void consume(@NotNull Message message) throws JsonRpcException {
+        if (!backpressure) {
+            // The queue is unbounded, the producer never waits
+            queue.add(message);
+            if (queue.size() > capacity && overflowing.compareAndSet(false, true)) {
+                overflows.incrementAndGet();
+                LOGGER.warn("More than {} messages are waiting to be dispatched, the consumer doesn't keep up with the producer", capacity);
+            }
+        } else if (!queue.offer(message)) {
+            // The queue is full, wait until the drain task consumes some messages
+            blockedProducers.incrementAndGet();
+            try {
+                queue.put(message);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JsonRpcException(new InterruptedIOException("Interrupted while dispatching the message"));
+            }
+        }
+        int size = queue.size();
+        if (size > maxQueueSize.get()) {
+            maxQueueSize.accumulateAndGet(size, Math::max);
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (Throwable e) {
+                draining.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        List<Message> batch = new ArrayList<>();
+        while (true) {
+            queue.drainTo(batch, MAX_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                overflowing.set(false);
+                draining.set(false);
+                // A message may have been queued after drainTo and before the reset of the flag
+                if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            batches.incrementAndGet();
+            for (Message message : batch) {
+                try {
+                    delegate.consume(message);
+                } catch (Throwable e) {
+                    errorHandler.accept(e);
+                }
+            }
+            dispatchedMessages.addAndGet(batch.size());
+            batch.clear();
+        }
+    }
+
+    /**
+     * Returns the metrics of the dispatcher.
+     *
+     * @return the metrics of the dispatcher.
+     */
+    public @NotNull Metrics getMetrics() {
+        return new Metrics(dispatchedMessages.get(), batches.get(), queue.size(), maxQueueSize.get(), blockedProducers.get(), overflows.get());
+    }
+}
@@ -0,0 +1,325 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import org.eclipse.lsp4j.jsonrpc.JsonRpcException;
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.MessageIssueException;
+import org.eclipse.lsp4j.jsonrpc.MessageIssueHandler;
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Extension of {@link ExtendedStreamMessageProducer} which parses the JSON-RPC messages while reading them.
+ * <p>
+ * {@link org.eclipse.lsp4j.jsonrpc.json.StreamMessageProducer} reads the body of each message in a byte array,
+ * decodes it to a {@link String} and then parses it, so a large response (ex: 'workspace/symbol', semantic tokens)
+ * briefly needs about three times its size in heap. This producer:
+ *
+ * <ul>
+ *     <li>reads the headers and the beginning of the body from a reusable buffer.</li>
+ *     <li>parses the body with {@link MessageJsonHandler#parseMessage(Reader)} from a reader which decodes the bytes
+ *     as they are read from the buffer and the stream, without intermediate byte array or string.</li>
+ * </ul>
+ * <p>
+ * Errors are thrown like {@link ExtendedStreamMessageProducer} to stop the processor.
+ */
+public class StreamingMessageProducer extends ExtendedStreamMessageProducer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String CONTENT_LENGTH_HEADER = "content-length";
+    private static final String CONTENT_TYPE_HEADER = "content-type";
+    private static final String CHARSET_PARAMETER = "charset=";
+
+    private final @NotNull InputStream input;
+    private final @NotNull MessageJsonHandler jsonHandler;
+    private final @NotNull MessageIssueHandler issueHandler;
+
+    // Buffer reused for all the messages, between position and limit are the bytes read and not consumed yet
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+
+    private volatile boolean keepRunning;
+
+    public StreamingMessageProducer(@NotNull InputStream input,
+                                    @NotNull MessageJsonHandler jsonHandler,
+                                    @NotNull MessageIssueHandler issueHandler) {
+        super(input, jsonHandler, issueHandler);
+        this.input = input;
+        this.jsonHandler = jsonHandler;
+        this.issueHandler = issueHandler;
+    }
+
+    @Override
+    public void listen(MessageConsumer messageConsumer) {
+        keepRunning = true;
+        try {
+            StringBuilder header = new StringBuilder();
+            while (keepRunning) {
+                // Read the headers
+                int contentLength = -1;
+                Charset charset = StandardCharsets.UTF_8;
+                boolean hasHeaders = false;
+                while (true) {
+                    if (!readLine(header)) {
+                        // End of the stream
+                        return;
+                    }
+                    if (header.isEmpty()) {
+                        // An empty line ends the headers
+                        if (contentLength >= 0) {
+                            break;
+                        }
+                        if (hasHeaders) {
+                            fireError(new IllegalStateException("Missing header Content-Length in input"));
+                            hasHeaders = false;
+                        }
+                        // Empty lines between messages are ignored
+                        continue;
+                    }
+                    hasHeaders = true;
+                    String line = header.toString();
+                    int separator = line.indexOf(':');
+                    if (separator != -1) {
+                        String name = line.substring(0, separator).trim().toLowerCase(Locale.ROOT);
+                        String value = line.substring(separator + 1).trim();
+                        if (CONTENT_LENGTH_HEADER.equals(name)) {
+                            contentLength = parseContentLength(value);
+                        } else if (CONTENT_TYPE_HEADER.equals(name)) {
+                            charset = parseCharset(value, charset);
+                        }
+                    }
+                }
+                // Read and parse the body
+                if (!handleMessage(contentLength, charset, messageConsumer)) {
+                    // The stream has been closed while reading the body
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            if (!JsonRpcException.indicatesStreamClosed(e)) {
+                throw new JsonRpcException(e);
+            }
+            if (keepRunning) {
+                fireStreamClosed(e);
+            }
+        } finally {
+            keepRunning = false;
+        }
+    }
+
+    /**
+     * Reads and parses the body of a message and consumes it.
+     *
+     * @return false if the end of the stream is reached before the end of the body and true otherwise.
+     */
+    private boolean handleMessage(int contentLength,
+                                  @NotNull Charset charset,
+                                  @NotNull MessageConsumer messageConsumer) throws IOException {
+        var body = new BodyInputStream(contentLength);
+        Message message;
+        try {
+            message = jsonHandler.parseMessage(new InputStreamReader(body, charset));
+        } catch (MessageIssueException e) {
+            // An issue was found while parsing or validating the message
+            if (!body.skipRemaining()) {
+                return false;
+            }
+            issueHandler.handle(e.getRpcMessage(), e.getIssues());
+            return true;
+        } catch (RuntimeException e) {
+            if (body.isTruncated()) {
+                return false;
+            }
+            if (e.getCause() instanceof IOException ioException && JsonRpcException.indicatesStreamClosed(ioException)) {
+                throw ioException;
+            }
+            body.skipRemaining();
+            fireError(e);
+            return true;
+        }
+        // Skip the bytes after the JSON value (ex: whitespaces)
+        if (!body.skipRemaining()) {
+            return false;
+        }
+        setCurrentMessageContentLength(contentLength);
+        try {
+            messageConsumer.consume(message);
+        } catch (Exception e) {
+            fireError(e);
+        } finally {
+            setCurrentMessageContentLength(-1);
+        }
+        return true;
+    }
+
+    /**
+     * Reads a header line terminated by '\n' in the given builder, without the '\r' characters.
+     *
+     * @return false if the end of the stream is reached and true otherwise.
+     */
+    private boolean readLine(@NotNull StringBuilder line) throws IOException {
+        line.setLength(0);
+        while (true) {
+            if (!buffer.hasRemaining() && !fill()) {
+                return false;
+            }
+            byte b = buffer.get();
+            if (b == '\n') {
+                return true;
+            }
+            if (b != '\r') {
+                // Headers are ASCII
+                line.append((char) (b & 0xFF));
+            }
+        }
+    }
+
+    /**
+     * Fills the buffer with the bytes available from the stream.
+     *
+     * @return false if the end of the stream is reached and true otherwise.
+     */
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int read = input.read(buffer.array(), 0, buffer.capacity());
+        if (read <= 0) {
+            buffer.limit(0);
+            return false;
+        }
+        buffer.limit(read);
+        return true;
+    }
+
+    private int parseContentLength(@NotNull String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            fireError(new IllegalStateException("Invalid " + CONTENT_LENGTH_HEADER + " header: " + value, e));
+            return -1;
+        }
+    }
+
+    private static @NotNull Charset parseCharset(@NotNull String value, @NotNull Charset defaultCharset) {
+        int index = value.toLowerCase(Locale.ROOT).indexOf(CHARSET_PARAMETER);
+        if (index == -1) {
+            return defaultCharset;
+        }
+        String charset = value.substring(index + CHARSET_PARAMETER.length()).trim();
+        int end = charset.indexOf(';');
+        if (end != -1) {
+            charset = charset.substring(0, end).trim();
+        }
+        if (charset.equalsIgnoreCase("utf8")) {
+            // Some servers use 'utf8' which is not a valid charset name for Java
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(charset);
+        } catch (IllegalArgumentException e) {
+            return defaultCharset;
+        }
+    }
+
+    @Override
+    public void close() {
+        keepRunning = false;
+        super.close();
+    }
+
+    /**
+     * Input stream over the body of a message, which reads first the bytes available in the buffer and then
+     * reads directly from the stream up to the content length.
+     */
+    private class BodyInputStream extends InputStream {
+
+        private int remaining;
+
+        // true if the end of the stream is reached before the end of the body
+        private boolean truncated;
+
+        BodyInputStream(int contentLength) {
+            this.remaining = contentLength;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte @NotNull [] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            len = Math.min(len, remaining);
+            int read;
+            if (buffer.hasRemaining()) {
+                read = Math.min(len, buffer.remaining());
+                buffer.get(b, off, read);
+            } else {
+                read = input.read(b, off, len);
+                if (read == -1) {
+                    truncated = true;
+                    remaining = 0;
+                    return -1;
+                }
+            }
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return Math.min(remaining, buffer.remaining());
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+
+        /**
+         * Skips the bytes of the body which have not been read.
+         *
+         * @return false if the end of the stream is reached before the end of the body and true otherwise.
+         */
+        boolean skipRemaining() throws IOException {
+            byte[] skipped = null;
+            while (remaining > 0) {
+                if (buffer.hasRemaining()) {
+                    int count = Math.min(remaining, buffer.remaining());
+                    buffer.position(buffer.position() + count);
+                    remaining -= count;
+                } else {
+                    if (skipped == null) {
+                        skipped = new byte[Math.min(remaining, BUFFER_SIZE)];
+                    }
+                    read(skipped, 0, Math.min(remaining, skipped.length));
+                }
+            }
+            return !truncated;
+        }
+    }
+}
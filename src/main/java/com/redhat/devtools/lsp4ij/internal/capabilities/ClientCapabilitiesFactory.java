@@ -284,7 +284,7 @@ public class ClientCapabilitiesFactory {
         ));
         semanticTokensCapabilities.setMultilineTokenSupport(Boolean.TRUE);
         semanticTokensCapabilities.setServerCancelSupport(Boolean.TRUE);
-        var semanticTokensClientCapabilitiesRequests = new SemanticTokensClientCapabilitiesRequests(Boolean.TRUE, Boolean.FALSE);
+        var semanticTokensClientCapabilitiesRequests = new SemanticTokensClientCapabilitiesRequests(new SemanticTokensClientCapabilitiesRequestsFull(Boolean.TRUE), Boolean.TRUE);
         semanticTokensCapabilities.setFormats(List.of(TokenFormat.Relative));
         semanticTokensCapabilities.setRequests(semanticTokensClientCapabilitiesRequests);
         textDocumentClientCapabilities.setSemanticTokens(semanticTokensCapabilities);
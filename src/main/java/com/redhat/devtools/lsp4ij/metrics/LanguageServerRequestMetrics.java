@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.metrics;
+
+import com.redhat.devtools.lsp4ij.internal.CancellationUtil;
+import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LSP request metrics of a language server, by LSP method (ex: textDocument/completion):
+ *
+ * <ul>
+ *     <li>the latency seen by the IDE, from the call of the LSP feature to its completion (recorded by
+ *     {@link com.redhat.devtools.lsp4ij.internal.CancellationSupport}).</li>
+ *     <li>the latency of the language server, from the request written to the language server to the response
+ *     read from it.</li>
+ *     <li>the number of in-flight, cancelled and failed requests.</li>
+ *     <li>the size of the response payloads.</li>
+ * </ul>
+ * <p>
+ * Recording a metric is lock-free, the metrics are computed when they are read.
+ */
+public class LanguageServerRequestMetrics {
+
+    /**
+     * Metrics of an LSP method.
+     */
+    public static class RequestMetrics {
+
+        private final @NotNull String method;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram serverLatency = new LatencyHistogram();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder cancelled = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder payloadCount = new LongAdder();
+        private final LongAdder payloadBytes = new LongAdder();
+        private final LongAccumulator maxPayloadBytes = new LongAccumulator(Long::max, 0);
+
+        RequestMetrics(@NotNull String method) {
+            this.method = method;
+        }
+
+        public @NotNull String getMethod() {
+            return method;
+        }
+
+        /**
+         * Returns the latency seen by the IDE, from the call of the LSP feature to its completion.
+         *
+         * @return the latency seen by the IDE.
+         */
+        public @NotNull LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * Returns the latency of the language server, from the request written to the language server to the
+         * response read from it.
+         *
+         * @return the latency of the language server.
+         */
+        public @NotNull LatencyHistogram getServerLatency() {
+            return serverLatency;
+        }
+
+        public int getInFlightCount() {
+            return inFlight.get();
+        }
+
+        public long getCompletedCount() {
+            return completed.sum();
+        }
+
+        public long getCancelledCount() {
+            return cancelled.sum();
+        }
+
+        public long getErrorCount() {
+            return errors.sum();
+        }
+
+        public long getMaxPayloadBytes() {
+            return maxPayloadBytes.get();
+        }
+
+        public long getAveragePayloadBytes() {
+            long count = payloadCount.sum();
+            return count == 0 ? 0 : payloadBytes.sum() / count;
+        }
+
+        private void recordPayload(long bytes) {
+            payloadCount.increment();
+            payloadBytes.add(bytes);
+            maxPayloadBytes.accumulate(bytes);
+        }
+    }
+
+    private record PendingRequest(@NotNull String method, long startNanos) {
+    }
+
+    private final Map<String, RequestMetrics> metrics = new ConcurrentHashMap<>();
+    // Requests written to the language server which have not received a response, by request id
+    private final Map<String, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+
+    /**
+     * Records the start of the given LSP feature.
+     *
+     * @param method the LSP method (ex: textDocument/completion).
+     * @return the start time in nanoseconds to give to {@link #requestCompleted(String, long, Throwable)}.
+     */
+    public long requestStarted(@NotNull String method) {
+        getOrCreate(method).inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the completion of the given LSP feature.
+     *
+     * @param method     the LSP method (ex: textDocument/completion).
+     * @param startNanos the start time returned by {@link #requestStarted(String)}.
+     * @param error      the error of the request and null otherwise.
+     */
+    public void requestCompleted(@NotNull String method, long startNanos, @Nullable Throwable error) {
+        RequestMetrics requestMetrics = getOrCreate(method);
+        requestMetrics.inFlight.decrementAndGet();
+        if (error != null && isCancelled(error)) {
+            requestMetrics.cancelled.increment();
+            return;
+        }
+        if (error != null) {
+            requestMetrics.errors.increment();
+        }
+        requestMetrics.completed.increment();
+        requestMetrics.latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a request written to the language server.
+     *
+     * @param id     the JSON-RPC request id.
+     * @param method the LSP method.
+     */
+    public void onRequestSent(@NotNull String id, @NotNull String method) {
+        pendingRequests.put(id, new PendingRequest(method, System.nanoTime()));
+    }
+
+    /**
+     * Records a response read from the language server.
+     *
+     * @param id            the JSON-RPC request id.
+     * @param contentLength the size in bytes of the response and -1 if it is unknown.
+     */
+    public void onResponseReceived(@Nullable String id, long contentLength) {
+        if (id == null) {
+            return;
+        }
+        PendingRequest request = pendingRequests.remove(id);
+        if (request == null) {
+            // Response to a request which was not sent by the client
+            return;
+        }
+        RequestMetrics requestMetrics = getOrCreate(request.method());
+        requestMetrics.serverLatency.record(System.nanoTime() - request.startNanos(), TimeUnit.NANOSECONDS);
+        if (contentLength >= 0) {
+            requestMetrics.recordPayload(contentLength);
+        }
+    }
+
+    /**
+     * Returns the metrics of the given LSP method and null if the method has never been requested.
+     *
+     * @param method the LSP method (ex: textDocument/completion).
+     * @return the metrics of the given LSP method and null if the method has never been requested.
+     */
+    public @Nullable RequestMetrics getRequestMetrics(@NotNull String method) {
+        return metrics.get(method);
+    }
+
+    /**
+     * Returns the metrics of all requested LSP methods, sorted by method.
+     *
+     * @return the metrics of all requested LSP methods, sorted by method.
+     */
+    public @NotNull List<RequestMetrics> getRequestMetrics() {
+        List<RequestMetrics> result = new ArrayList<>(metrics.values());
+        result.sort(Comparator.comparing(RequestMetrics::getMethod));
+        return result;
+    }
+
+    /**
+     * Forgets the requests which are waiting for a response (ex: when the language server is stopped).
+     */
+    public void clearPendingRequests() {
+        pendingRequests.clear();
+    }
+
+    private @NotNull RequestMetrics getOrCreate(@NotNull String method) {
+        RequestMetrics requestMetrics = metrics.get(method);
+        if (requestMetrics != null) {
+            return requestMetrics;
+        }
+        return metrics.computeIfAbsent(method, RequestMetrics::new);
+    }
+
+    private static boolean isCancelled(@NotNull Throwable error) {
+        if (CancellationUtil.isRequestCancelledException(error)) {
+            return true;
+        }
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        return cause instanceof ResponseErrorException responseError && CancellationUtil.isContentModified(responseError);
+    }
+}
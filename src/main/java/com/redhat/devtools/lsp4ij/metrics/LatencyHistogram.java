@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets (like HDR histograms): the values are recorded in
+ * microseconds, each power of two is split in {@value #SUB_BUCKET_COUNT} buckets, so a percentile is known
+ * with a relative error lower than 1/{@value #SUB_BUCKET_COUNT}, with a fixed memory footprint.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // Values lower than this value have their own bucket
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+    private static final int LINEAR_LIMIT_EXPONENT = SUB_BUCKET_BITS + 1;
+    // Max tracked value: 2^36 microseconds (~19 hours), larger values are recorded in the last bucket
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_EXPONENT - LINEAR_LIMIT_EXPONENT + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Records the given duration.
+     *
+     * @param duration the duration.
+     * @param unit     the unit of the duration.
+     */
+    public void record(long duration, TimeUnit unit) {
+        long micros = Math.max(0, unit.toMicros(duration));
+        buckets.incrementAndGet(bucketIndex(micros));
+        count.increment();
+        sum.add(micros);
+        max.accumulate(micros);
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of recorded values.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the mean of the recorded values in milliseconds.
+     *
+     * @return the mean of the recorded values in milliseconds.
+     */
+    public double getMeanMillis() {
+        long n = count.sum();
+        return n == 0 ? 0 : sum.sum() / (n * 1000d);
+    }
+
+    /**
+     * Returns the max of the recorded values in milliseconds.
+     *
+     * @return the max of the recorded values in milliseconds.
+     */
+    public double getMaxMillis() {
+        return max.get() / 1000d;
+    }
+
+    /**
+     * Returns the value in milliseconds below which the given percentage of the recorded values falls
+     * (the upper bound of its bucket).
+     *
+     * @param percentile the percentile between 0 and 100 (ex: 99 for the 99th percentile).
+     * @return the value in milliseconds below which the given percentage of the recorded values falls.
+     */
+    public double getPercentileMillis(double percentile) {
+        long total = 0;
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100d * total));
+        long cumulated = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulated += counts[i];
+            if (cumulated >= rank) {
+                return Math.min(bucketUpperBound(i), max.get()) / 1000d;
+            }
+        }
+        return max.get() / 1000d;
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (micros >> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+        return LINEAR_LIMIT + (exponent - LINEAR_LIMIT_EXPONENT) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = LINEAR_LIMIT_EXPONENT + (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT;
+        long top = SUB_BUCKET_COUNT + (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((top + 1) << shift) - 1;
+    }
+}
@@ -14,6 +14,7 @@ import com.redhat.devtools.lsp4ij.JSONUtils;
 import com.redhat.devtools.lsp4ij.client.features.LSPClientFeatures;
 import com.redhat.devtools.lsp4ij.internal.ExtendedConcurrentMessageProcessor;
 import com.redhat.devtools.lsp4ij.internal.ExtendedStreamMessageProducer;
+import com.redhat.devtools.lsp4ij.internal.StreamingMessageProducer;
 import org.eclipse.lsp4j.jsonrpc.*;
 import org.eclipse.lsp4j.jsonrpc.json.ConcurrentMessageProcessor;
 import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
@@ -35,6 +36,7 @@ import java.util.function.Function;
  * <ul>
  *   <li>Uses {@link ExtendedStreamMessageProducer} for error-propagating message reading</li>
  *   <li>Uses {@link ExtendedConcurrentMessageProcessor} for error-propagating message processing</li>
+ *   <li>Uses {@link StreamingMessageProducer} when {@link LSPClientFeatures#isUseStreamingMessageProducer()} returns true</li>
  *   <li>Supports integer JSON-RPC IDs via {@link LSPClientFeatures#isUseIntAsJsonRpcId()}</li>
  *   <li>Registers {@link CodeLensOptionsAdapter} for backward compatibility with legacy servers</li>
  * </ul>
@@ -92,7 +94,8 @@ public class DefaultLauncherBuilder<S extends LanguageServer> extends Launcher.B
      * Creates the {@link MessageProducer} that reads incoming LSP messages.
      *
      * <p>The default implementation returns an {@link ExtendedStreamMessageProducer}
-     * that reads from the given input stream. Subclasses can override this method
+     * that reads from the given input stream, or a {@link StreamingMessageProducer} when
+     * {@link LSPClientFeatures#isUseStreamingMessageProducer()} returns true. Subclasses can override this method
      * to provide a custom message source (e.g., a queue-based producer for
      * non-stdio transports).</p>
      *
@@ -104,6 +107,9 @@ public class DefaultLauncherBuilder<S extends LanguageServer> extends Launcher.B
     protected @NotNull MessageProducer createMessageProducer(@NotNull InputStream input,
                                                               @NotNull MessageJsonHandler jsonHandler,
                                                               @NotNull MessageIssueHandler issueHandler) {
+        if (clientFeatures.isUseStreamingMessageProducer()) {
+            return new StreamingMessageProducer(input, jsonHandler, issueHandler);
+        }
         return new ExtendedStreamMessageProducer(input, jsonHandler, issueHandler);
     }
 
@@ -0,0 +1,488 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.server;
+
+import com.intellij.execution.ExecutionException;
+import com.intellij.execution.configurations.GeneralCommandLine;
+import com.intellij.execution.impl.ExecutionManagerImpl;
+import com.intellij.execution.process.OSProcessHandler;
+import com.intellij.execution.process.ProcessEvent;
+import com.intellij.execution.process.ProcessListener;
+import com.intellij.execution.process.ProcessOutputType;
+import com.intellij.openapi.util.Key;
+import com.intellij.util.io.BaseOutputReader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stream connection provider used to communicate with a language server over a TCP socket
+ * ({@link InetSocketAddress}) or a Unix domain socket ({@link UnixDomainSocketAddress}).
+ * <p>
+ * The provider supports two modes:
+ *
+ * <ul>
+ *     <li>connect to an existing server: no command line is given, the server must already listen on the address.</li>
+ *     <li>launch then connect: the provider first tries to connect to a server which already listens on the address
+ *     (ex: a server launched by another project or by a previous IDE session) and launches the command line only
+ *     when no server is listening.</li>
+ * </ul>
+ * <p>
+ * The connection is opened with a non-blocking {@link SocketChannel} and a {@link Selector}, so an unreachable
+ * address never blocks longer than the connect timeout, and the provider polls the address while the launched
+ * server starts. When the server is kept alive (see {@link #setKeepServerAlive(boolean)}), the launched process
+ * is detached from the IDE and is not stopped with the provider, so the warm server can be reused across IDE
+ * restarts and projects.
+ * <p>
+ * The LSP 'shutdown' request and 'exit' notification are sent to the server only when the provider has launched it
+ * and doesn't keep it alive (see {@link #shouldShutdownServerOnStop()}): a server which was already listening on the
+ * address, or which is kept alive, is only disconnected.
+ */
+public class SocketStreamConnectionProvider implements StreamConnectionProvider, ProcessDataProvider {
+
+    public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+
+    private static final long RETRY_DELAY = 100L;
+
+    private final @NotNull SocketAddress address;
+    private @Nullable GeneralCommandLine commandLine;
+    private int connectTimeout;
+    private boolean keepServerAlive;
+
+    private final List<LanguageServerLogErrorHandler> handlers;
+    private final List<Runnable> unexpectedServerStopHandlers;
+    private final AtomicBoolean unexpectedStopNotified = new AtomicBoolean();
+
+    private @Nullable Process process;
+    private @Nullable OSProcessHandler processHandler;
+    private @Nullable SocketChannel channel;
+    private @Nullable InputStream inputStream;
+    private @Nullable OutputStream outputStream;
+    private volatile boolean stopped;
+
+    public SocketStreamConnectionProvider(@NotNull SocketAddress address) {
+        this(address, null);
+    }
+
+    public SocketStreamConnectionProvider(@NotNull SocketAddress address, @Nullable GeneralCommandLine commandLine) {
+        this.address = address;
+        this.commandLine = commandLine;
+        this.connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+        this.handlers = new ArrayList<>();
+        this.unexpectedServerStopHandlers = new ArrayList<>();
+    }
+
+    /**
+     * Returns the socket address of the language server.
+     *
+     * @return the socket address of the language server.
+     */
+    public @NotNull SocketAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * Returns the command line used to launch the language server and null if the provider only connects to an
+     * existing server.
+     *
+     * @return the command line used to launch the language server and null otherwise.
+     */
+    public @Nullable GeneralCommandLine getCommandLine() {
+        return commandLine;
+    }
+
+    /**
+     * Set the command line used to launch the language server and null if the provider only connects to an
+     * existing server.
+     *
+     * @param commandLine the command line.
+     */
+    public void setCommandLine(@Nullable GeneralCommandLine commandLine) {
+        this.commandLine = commandLine;
+    }
+
+    /**
+     * Returns the time in milliseconds to wait for the connection, including the start of the launched server.
+     *
+     * @return the time in milliseconds to wait for the connection.
+     */
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Set the time in milliseconds to wait for the connection, including the start of the launched server.
+     *
+     * @param connectTimeout the time in milliseconds to wait for the connection.
+     */
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * Returns true if the launched server process is kept alive when the provider is stopped and false otherwise.
+     *
+     * @return true if the launched server process is kept alive when the provider is stopped and false otherwise.
+     */
+    public boolean isKeepServerAlive() {
+        return keepServerAlive;
+    }
+
+    /**
+     * Set true if the launched server process must be kept alive when the provider is stopped and false otherwise.
+     * A kept alive process is detached from the IDE: its output is discarded and it is not stopped when the IDE exits.
+     *
+     * @param keepServerAlive true if the launched server process must be kept alive.
+     */
+    public void setKeepServerAlive(boolean keepServerAlive) {
+        this.keepServerAlive = keepServerAlive;
+    }
+
+    @Override
+    public void addLogErrorHandler(LanguageServerLogErrorHandler handler) {
+        handlers.add(handler);
+    }
+
+    @Override
+    public void addUnexpectedServerStopHandler(Runnable handler) {
+        unexpectedServerStopHandlers.add(handler);
+    }
+
+    @Override
+    public void start() throws CannotStartProcessException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(connectTimeout);
+        try {
+            // Reuse the server which already listens on the address
+            SocketChannel connected = tryConnect(deadline);
+            if (connected == null) {
+                if (commandLine != null) {
+                    launch(commandLine);
+                }
+                connected = connect(deadline);
+            }
+            channel = connected;
+            inputStream = new ChannelInputStream(connected);
+            outputStream = new ChannelOutputStream(connected);
+        } catch (CannotStartProcessException e) {
+            stop();
+            throw e;
+        } catch (Exception e) {
+            stop();
+            throw new CannotStartProcessException(e);
+        }
+    }
+
+    private void launch(@NotNull GeneralCommandLine commandLine) throws ExecutionException, IOException {
+        if (keepServerAlive) {
+            // Detach the process from the IDE: a pipe to the IDE would be closed when the IDE exits
+            ProcessBuilder builder = commandLine.toProcessBuilder()
+                    .redirectInput(ProcessBuilder.Redirect.PIPE)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD);
+            process = builder.start();
+            process.getOutputStream().close();
+            return;
+        }
+        var handler = new OSProcessHandler(commandLine) {
+            @Override
+            protected BaseOutputReader.@NotNull Options readerOptions() {
+                return BaseOutputReader.Options.forMostlySilentProcess();
+            }
+        };
+        handler.addProcessListener(new ProcessListener() {
+            @Override
+            public void onTextAvailable(@NotNull ProcessEvent event, @NotNull Key outputType) {
+                if (ProcessOutputType.isStdout(outputType) || ProcessOutputType.isStderr(outputType)) {
+                    // The LSP messages are exchanged on the socket, the output of the process is only log
+                    String text = event.getText();
+                    if (text.endsWith("\n")) {
+                        text = text.substring(0, text.length() - (text.endsWith("\r\n") ? 2 : 1));
+                    }
+                    for (var logHandler : handlers) {
+                        logHandler.logError(text);
+                    }
+                }
+            }
+
+            @Override
+            public void processTerminated(@NotNull ProcessEvent event) {
+                if (channel != null) {
+                    notifyUnexpectedStop();
+                }
+            }
+        });
+        process = handler.getProcess();
+        processHandler = handler;
+        handler.startNotify();
+    }
+
+    /**
+     * Connects to the address until the deadline, while the launched process is alive.
+     */
+    private @NotNull SocketChannel connect(long deadline) throws IOException, CannotStartProcessException {
+        while (true) {
+            SocketChannel connected = tryConnect(deadline);
+            if (connected != null) {
+                return connected;
+            }
+            Process p = process;
+            if (p != null && !p.isAlive()) {
+                throw new CannotStartProcessException("Language server process exited with code " + p.exitValue() +
+                        " before accepting connections on " + address);
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                throw new CannotStartProcessException("Unable to connect to the language server on " + address +
+                        " after " + connectTimeout + "ms");
+            }
+            try {
+                Thread.sleep(RETRY_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CannotStartProcessException(e);
+            }
+        }
+    }
+
+    /**
+     * Tries to connect once to the address without blocking longer than the deadline.
+     *
+     * @return the connected channel in blocking mode and null if no server accepts the connection.
+     */
+    private @Nullable SocketChannel tryConnect(long deadline) throws IOException {
+        SocketAddress target = address;
+        if (target instanceof InetSocketAddress inetAddress && inetAddress.isUnresolved()) {
+            // Resolve the host for each attempt, it may not be known before the server is started (ex: container)
+            target = new InetSocketAddress(inetAddress.getHostString(), inetAddress.getPort());
+            if (((InetSocketAddress) target).isUnresolved()) {
+                return null;
+            }
+        }
+        SocketChannel socketChannel = address instanceof UnixDomainSocketAddress ?
+                SocketChannel.open(StandardProtocolFamily.UNIX) :
+                SocketChannel.open();
+        boolean connected = false;
+        try {
+            if (address instanceof InetSocketAddress) {
+                // LSP messages are small and latency matters more than throughput
+                socketChannel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            }
+            socketChannel.configureBlocking(false);
+            try (Selector selector = Selector.open()) {
+                if (!socketChannel.connect(target)) {
+                    socketChannel.register(selector, SelectionKey.OP_CONNECT);
+                    long timeout = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+                    if (selector.select(timeout) == 0) {
+                        // Connection is pending after the deadline
+                        return null;
+                    }
+                    socketChannel.finishConnect();
+                }
+            } catch (IOException e) {
+                // No server listens on the address (connection refused, socket file not found, etc)
+                return null;
+            }
+            // The selector is closed, the channel can be switched to blocking mode for the streams
+            socketChannel.configureBlocking(true);
+            connected = true;
+            return socketChannel;
+        } finally {
+            if (!connected) {
+                socketChannel.close();
+            }
+        }
+    }
+
+    private void notifyUnexpectedStop() {
+        if (!stopped && unexpectedStopNotified.compareAndSet(false, true)) {
+            // The connection was not closed by LSP4IJ (with Stop/Pause button, when all files are closed, etc)
+            // It is an unexpected error, notify it
+            for (var handler : unexpectedServerStopHandlers) {
+                handler.run();
+            }
+        }
+    }
+
+    @Override
+    public boolean isAlive() {
+        SocketChannel c = channel;
+        if (c == null || !c.isOpen()) {
+            return false;
+        }
+        // A kept alive process is not tracked after the connection
+        return processHandler == null || !processHandler.isProcessTerminated();
+    }
+
+    @Override
+    public void ensureIsAlive() throws CannotStartProcessException {
+        if (!isAlive()) {
+            throw new CannotStartProcessException("Unable to connect to the language server: " + this);
+        }
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    @Override
+    public @Nullable Long getPid() {
+        final Process p = process;
+        return p == null ? null : p.pid();
+    }
+
+    @Override
+    public List<String> getCommands() {
+        if (commandLine == null) {
+            return Collections.emptyList();
+        }
+        List<String> commands = new ArrayList<>();
+        commands.add(commandLine.getExePath());
+        commands.addAll(commandLine.getParametersList().getParameters());
+        return commands;
+    }
+
+    @Override
+    public boolean shouldShutdownServerOnStop() {
+        // Only the server launched by this provider is owned by it
+        return !keepServerAlive && (process != null || processHandler != null);
+    }
+
+    @Override
+    public void stop() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        SocketChannel c = channel;
+        if (c != null) {
+            try {
+                c.close();
+            } catch (IOException e) {
+                // Do nothing
+            }
+        }
+        if (keepServerAlive) {
+            // The server is reused by the next connection
+            return;
+        }
+        if (processHandler != null && !processHandler.isProcessTerminated()) {
+            ExecutionManagerImpl.stopProcess(processHandler);
+        } else if (process != null) {
+            process.destroy();
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(address, commandLine);
+    }
+
+    @Override
+    public String toString() {
+        return "SocketStreamConnectionProvider [address=" + address + ", commandLine=" + commandLine + "]";
+    }
+
+    /**
+     * Input stream which reads from the socket channel.
+     * <p>
+     * {@link java.nio.channels.Channels#newInputStream} is not used because its streams synchronize reads and
+     * writes on the blocking lock of the channel, so a pending read would block the writes.
+     */
+    private class ChannelInputStream extends InputStream {
+
+        private final @NotNull SocketChannel channel;
+
+        ChannelInputStream(@NotNull SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int read;
+            do {
+                read = read(b, 0, 1);
+            } while (read == 0);
+            return read == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte @NotNull [] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int read = channel.read(ByteBuffer.wrap(b, off, len));
+            if (read == -1) {
+                // The server has closed the connection
+                notifyUnexpectedStop();
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Output stream which writes to the socket channel.
+     */
+    private static class ChannelOutputStream extends OutputStream {
+
+        private final @NotNull SocketChannel channel;
+
+        ChannelOutputStream(@NotNull SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte @NotNull [] b, int off, int len) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
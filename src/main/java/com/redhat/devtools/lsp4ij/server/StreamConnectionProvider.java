@@ -76,6 +76,20 @@ public interface StreamConnectionProvider {
 
     void stop();
 
+    /**
+     * Returns true if the LSP 'shutdown' request and 'exit' notification must be sent to the language server before
+     * stopping the provider and false otherwise.
+     * <p>
+     * A provider which connects to a language server which must outlive the connection (ex : a daemon shared by
+     * several projects, or a server kept warm across IDE restarts) returns false: the language server would quit
+     * on 'exit', so the provider only closes the connection when it is stopped.
+     *
+     * @return true if the language server must be shut down before stopping the provider and false otherwise.
+     */
+    default boolean shouldShutdownServerOnStop() {
+        return true;
+    }
+
     /**
      * Allows to hook custom behavior on messages.
      *
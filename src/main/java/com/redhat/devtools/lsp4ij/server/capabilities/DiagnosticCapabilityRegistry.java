@@ -15,6 +15,7 @@ import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
 import com.redhat.devtools.lsp4ij.DocumentContentSynchronizer;
 import com.redhat.devtools.lsp4ij.JSONUtils;
+import com.redhat.devtools.lsp4ij.LSPWorkspaceSupport;
 import com.redhat.devtools.lsp4ij.client.features.LSPClientFeatures;
 import com.redhat.devtools.lsp4ij.internal.StringUtils;
 import org.eclipse.lsp4j.DiagnosticRegistrationOptions;
@@ -76,6 +77,21 @@ public class DiagnosticCapabilityRegistry extends TextDocumentServerCapabilityRe
         return super.isSupported(file, SERVER_CAPABILITIES_PREDICATE);
     }
 
+    /**
+     * Returns true if the language server can support workspace diagnostic and false otherwise.
+     *
+     * @return true if the language server can support workspace diagnostic and false otherwise.
+     */
+    public boolean isWorkspaceDiagnosticSupported() {
+        for (var option : getOptions()) {
+            if (option.isWorkspaceDiagnostics()) {
+                return true;
+            }
+        }
+        var serverCapabilities = getServerCapabilities();
+        return serverCapabilities != null && serverCapabilities.getDiagnosticProvider() != null && serverCapabilities.getDiagnosticProvider().isWorkspaceDiagnostics();
+    }
+
     @Override
     public @Nullable DiagnosticRegistrationOptions registerCapability(@NotNull JsonObject registerOptions) {
         var options = super.registerCapability(registerOptions);
@@ -88,6 +104,12 @@ public class DiagnosticCapabilityRegistry extends TextDocumentServerCapabilityRe
                         .refreshPullDiagnostic(DocumentContentSynchronizer.RefreshPullDiagnosticOrigin.ON_REGISTER_CAPABILITY);
             }
         }
+        if (options != null && options.isWorkspaceDiagnostics()) {
+            // Pull the diagnostics of the whole workspace
+            LSPWorkspaceSupport.getSupport(getClientFeatures().getProject())
+                    .getWorkspaceDiagnosticSupport()
+                    .refreshWorkspaceDiagnostics(getClientFeatures().getServerWrapper());
+        }
         return options;
     }
 
@@ -31,6 +31,18 @@ public class SemanticTokensCapabilityRegistry extends TextDocumentServerCapabili
     private static final @NotNull Predicate<@NotNull ServerCapabilities> SERVER_CAPABILITIES_PREDICATE = sc ->
             sc.getSemanticTokensProvider() != null;
 
+    private static final @NotNull Predicate<@NotNull ServerCapabilities> FULL_DELTA_SERVER_CAPABILITIES_PREDICATE = sc ->
+            sc.getSemanticTokensProvider() != null && isFullDeltaSupported(sc.getSemanticTokensProvider());
+
+    private static final @Nullable Predicate<@NotNull SemanticTokensWithRegistrationOptions> FULL_DELTA_REGISTRATION_OPTIONS_PREDICATE =
+            SemanticTokensCapabilityRegistry::isFullDeltaSupported;
+
+    private static final @NotNull Predicate<@NotNull ServerCapabilities> RANGE_SERVER_CAPABILITIES_PREDICATE = sc ->
+            sc.getSemanticTokensProvider() != null && hasCapability(sc.getSemanticTokensProvider().getRange());
+
+    private static final @Nullable Predicate<@NotNull SemanticTokensWithRegistrationOptions> RANGE_REGISTRATION_OPTIONS_PREDICATE = o ->
+            hasCapability(o.getRange());
+
     public SemanticTokensCapabilityRegistry(@NotNull LSPClientFeatures clientFeatures) {
         super(clientFeatures);
     }
@@ -64,6 +76,31 @@ public class SemanticTokensCapabilityRegistry extends TextDocumentServerCapabili
         return super.isSupported(file, SERVER_CAPABILITIES_PREDICATE);
     }
 
+    /**
+     * Returns true if the language server can support 'textDocument/semanticTokens/full/delta' and false otherwise.
+     *
+     * @param file the Psi file.
+     * @return true if the language server can support 'textDocument/semanticTokens/full/delta' and false otherwise.
+     */
+    public boolean isSemanticTokensFullDeltaSupported(@NotNull PsiFile file) {
+        return super.isSupported(file, FULL_DELTA_SERVER_CAPABILITIES_PREDICATE, FULL_DELTA_REGISTRATION_OPTIONS_PREDICATE);
+    }
+
+    /**
+     * Returns true if the language server can support 'textDocument/semanticTokens/range' and false otherwise.
+     *
+     * @param file the Psi file.
+     * @return true if the language server can support 'textDocument/semanticTokens/range' and false otherwise.
+     */
+    public boolean isSemanticTokensRangeSupported(@NotNull PsiFile file) {
+        return super.isSupported(file, RANGE_SERVER_CAPABILITIES_PREDICATE, RANGE_REGISTRATION_OPTIONS_PREDICATE);
+    }
+
+    private static boolean isFullDeltaSupported(@NotNull SemanticTokensWithRegistrationOptions options) {
+        var full = options.getFull();
+        return full != null && full.isRight() && full.getRight() != null && hasCapability(full.getRight().getDelta());
+    }
+
     public @Nullable SemanticTokensLegend getLegend() {
         var options = super.getOptions();
         if (options.isEmpty()) {
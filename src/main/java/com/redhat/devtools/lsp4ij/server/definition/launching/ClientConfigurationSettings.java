@@ -15,6 +15,7 @@
 package com.redhat.devtools.lsp4ij.server.definition.launching;
 
 import com.redhat.devtools.lsp4ij.client.features.LSPFormattingFeature.FormattingScope;
+import com.redhat.devtools.lsp4ij.server.SocketStreamConnectionProvider;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -218,6 +219,66 @@ public class ClientConfigurationSettings {
         public boolean useIntegerIds = false;
     }
 
+    /**
+     * The transport used to communicate with the language server.
+     */
+    public enum TransportType {
+        /**
+         * The standard input/output of the launched process.
+         */
+        STDIO,
+        /**
+         * A TCP socket.
+         */
+        TCP,
+        /**
+         * A Unix domain socket.
+         */
+        UNIX_SOCKET
+    }
+
+    /**
+     * Transport settings.
+     */
+    public static class ClientConfigurationTransportSettings {
+        /**
+         * The transport used to communicate with the language server. Defaults to stdio.
+         */
+        public @NotNull TransportType type = TransportType.STDIO;
+
+        /**
+         * The host of the TCP socket. Defaults to localhost.
+         */
+        public @NotNull String host = "localhost";
+
+        /**
+         * The port of the TCP socket.
+         */
+        public int port;
+
+        /**
+         * The path of the Unix domain socket. Supports macros like the command.
+         */
+        public @Nullable String path;
+
+        /**
+         * Whether or not the command is launched when no language server listens on the socket. If false, the
+         * language server must be started outside the IDE. Defaults to true.
+         */
+        public boolean launch = true;
+
+        /**
+         * Whether or not the launched language server process is kept alive when the language server is stopped,
+         * to be reused across projects and IDE restarts. Defaults to false.
+         */
+        public boolean keepServerAlive = false;
+
+        /**
+         * The time in milliseconds to wait for the connection. Defaults to 10000.
+         */
+        public int connectTimeout = SocketStreamConnectionProvider.DEFAULT_CONNECT_TIMEOUT;
+    }
+
     /**
      * Whether or not the language grammar is case-sensitive. Defaults to false.
      */
@@ -282,4 +343,9 @@ public class ClientConfigurationSettings {
      * JSON-RPC communication settings.
      */
     public @NotNull ClientConfigurationJsonRpcSettings jsonRpc = new ClientConfigurationJsonRpcSettings();
+
+    /**
+     * Transport settings.
+     */
+    public @NotNull ClientConfigurationTransportSettings transport = new ClientConfigurationTransportSettings();
 }
\ No newline at end of file
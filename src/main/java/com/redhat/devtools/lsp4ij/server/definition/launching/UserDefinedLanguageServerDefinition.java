@@ -14,6 +14,7 @@
 package com.redhat.devtools.lsp4ij.server.definition.launching;
 
 import com.google.gson.annotations.SerializedName;
+import com.intellij.execution.configurations.GeneralCommandLine;
 import com.intellij.openapi.project.Project;
 import com.redhat.devtools.lsp4ij.JSONUtils;
 import com.redhat.devtools.lsp4ij.client.LanguageClientImpl;
@@ -34,8 +35,12 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
 import java.util.Map;
 
+import static com.redhat.devtools.lsp4ij.server.definition.launching.CommandUtils.createCommandLine;
 import static com.redhat.devtools.lsp4ij.server.definition.launching.CommandUtils.resolveCommandLine;
 
 /**
@@ -134,6 +139,11 @@ public class UserDefinedLanguageServerDefinition extends LanguageServerDefinitio
     public @NotNull StreamConnectionProvider createConnectionProvider(@NotNull Project project) {
         String resolvedCommandLine = resolveCommandLine(commandLine, project);
         String resolvedWorkingDir = workingDir != null ? resolveCommandLine(workingDir, project) : null;
+        ClientConfigurationSettings clientConfiguration = getLanguageServerClientConfiguration();
+        var transport = clientConfiguration != null ? clientConfiguration.transport : null;
+        if (transport != null && transport.type != ClientConfigurationSettings.TransportType.STDIO) {
+            return createSocketConnectionProvider(transport, resolvedCommandLine, resolvedWorkingDir, project);
+        }
         return new UserDefinedStreamConnectionProvider(resolvedCommandLine,
                 resolvedWorkingDir,
                 userEnvironmentVariables,
@@ -142,6 +152,29 @@ public class UserDefinedLanguageServerDefinition extends LanguageServerDefinitio
                 project);
     }
 
+    private @NotNull StreamConnectionProvider createSocketConnectionProvider(@NotNull ClientConfigurationSettings.ClientConfigurationTransportSettings transport,
+                                                                             @NotNull String resolvedCommandLine,
+                                                                             @Nullable String resolvedWorkingDir,
+                                                                             @NotNull Project project) {
+        SocketAddress address;
+        if (transport.type == ClientConfigurationSettings.TransportType.UNIX_SOCKET) {
+            if (transport.path == null || transport.path.isBlank()) {
+                throw new IllegalArgumentException("The Unix domain socket path of the language server '" + getId() + "' is not defined");
+            }
+            address = UnixDomainSocketAddress.of(resolveCommandLine(transport.path, project));
+        } else {
+            // The address is resolved when connecting, to take care of a host which is not available yet
+            address = InetSocketAddress.createUnresolved(transport.host, transport.port);
+        }
+        GeneralCommandLine launchCommandLine = transport.launch && !resolvedCommandLine.isBlank() ?
+                createCommandLine(resolvedCommandLine, resolvedWorkingDir, userEnvironmentVariables, includeSystemEnvironmentVariables) :
+                null;
+        var provider = new UserDefinedSocketStreamConnectionProvider(address, launchCommandLine, this, project);
+        provider.setConnectTimeout(transport.connectTimeout);
+        provider.setKeepServerAlive(transport.keepServerAlive);
+        return provider;
+    }
+
     @Override
     public @NotNull LanguageClientImpl createLanguageClient(@NotNull Project project) {
         return new UserDefinedLanguageClient(this, project);
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat Inc. and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package com.redhat.devtools.lsp4ij.server.definition.launching;
+
+import com.intellij.execution.configurations.GeneralCommandLine;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.redhat.devtools.lsp4ij.server.SocketStreamConnectionProvider;
+import com.redhat.devtools.lsp4ij.settings.GlobalLanguageServerSettings;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.SocketAddress;
+
+/**
+ * {@link SocketStreamConnectionProvider} implementation to connect to a language server
+ * with a TCP or Unix domain socket defined by the user.
+ */
+public class UserDefinedSocketStreamConnectionProvider extends SocketStreamConnectionProvider {
+
+    private final @NotNull UserDefinedLanguageServerDefinition serverDefinition;
+    private final @NotNull Project project;
+
+    public UserDefinedSocketStreamConnectionProvider(@NotNull SocketAddress address,
+                                                     @Nullable GeneralCommandLine commandLine,
+                                                     @NotNull UserDefinedLanguageServerDefinition serverDefinition,
+                                                     @NotNull Project project) {
+        super(address, commandLine);
+        this.project = project;
+        this.serverDefinition = serverDefinition;
+    }
+
+    @Override
+    public Object getInitializationOptions(@Nullable VirtualFile rootUri) {
+        var settings = GlobalLanguageServerSettings.getInstance()
+                .getLanguageServerSettings(serverDefinition.getId());
+        return settings != null ? settings.getLanguageServerInitializationOptions(project) : null;
+    }
+
+    @Override
+    public Object getExperimentalFeaturesPOJO() {
+        var settings = GlobalLanguageServerSettings.getInstance()
+                .getLanguageServerSettings(serverDefinition.getId());
+        return settings != null ? settings.getLanguageServerExperimental(project) : null;
+    }
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij;
+
+import com.google.gson.JsonPrimitive;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ClosedDocument} and {@link ClosedDocumentDiagnosticsStore}.
+ */
+class ClosedDocumentDiagnosticsStoreTest {
+
+    @Test
+    void diagnosticsRoundTrip() {
+        ClosedDocument document = new ClosedDocument();
+        Diagnostic error = diagnostic(0, DiagnosticSeverity.Error);
+        error.setData(new JsonPrimitive("data"));
+        Diagnostic warning = diagnostic(1, DiagnosticSeverity.Warning);
+
+        assertTrue(document.updateDiagnostics(LSPDocumentBase.PUBLISH_DIAGNOSTIC_IDENTIFIER, List.of(error, warning), null));
+        assertTrue(document.hasErrors());
+        assertEquals(1, document.getDiagnosticsCount(DiagnosticSeverity.Warning));
+        assertEquals(List.of(error, warning), new ArrayList<>(document.getDiagnostics()));
+
+        assertTrue(document.updateDiagnostics(LSPDocumentBase.PUBLISH_DIAGNOSTIC_IDENTIFIER, List.of(diagnostic(1, DiagnosticSeverity.Warning)), null));
+        assertFalse(document.hasErrors());
+        // Same diagnostics
+        assertFalse(document.updateDiagnostics(LSPDocumentBase.PUBLISH_DIAGNOSTIC_IDENTIFIER, List.of(diagnostic(1, DiagnosticSeverity.Warning)), null));
+
+        assertTrue(document.updateDiagnostics(LSPDocumentBase.PUBLISH_DIAGNOSTIC_IDENTIFIER, List.of(), null));
+        assertTrue(document.getDiagnostics().isEmpty());
+    }
+
+    @Test
+    void leastRecentlyUsedDiagnosticsAreEvicted() {
+        ClosedDocumentDiagnosticsStore store = new ClosedDocumentDiagnosticsStore(() -> 0);
+        AtomicInteger reloads = new AtomicInteger();
+        ClosedDocument first = new ClosedDocument(store, reloads::incrementAndGet);
+        ClosedDocument second = new ClosedDocument(store, reloads::incrementAndGet);
+        first.setDiagnosticResultId(LSPDocumentBase.PULL_DIAGNOSTIC_IDENTIFIER, "1");
+
+        first.updateDiagnostics(LSPDocumentBase.PULL_DIAGNOSTIC_IDENTIFIER, List.of(diagnostic(0, DiagnosticSeverity.Error)), null);
+        second.updateDiagnostics(LSPDocumentBase.PULL_DIAGNOSTIC_IDENTIFIER, List.of(diagnostic(0, DiagnosticSeverity.Warning)), null);
+
+        // The diagnostics of the first document have been evicted, but the severity counts are kept
+        assertTrue(first.hasErrors());
+        assertNull(first.getDiagnosticResultId(LSPDocumentBase.PULL_DIAGNOSTIC_IDENTIFIER));
+        assertTrue(first.getDiagnostics().isEmpty());
+        assertEquals(1, reloads.get());
+
+        // The diagnostics which have just been stored are never evicted
+        assertEquals(1, second.getDiagnostics().size());
+        assertTrue(store.getSize() > 0);
+    }
+
+    @Test
+    void publishedDiagnosticsAreNeverEvicted() {
+        ClosedDocumentDiagnosticsStore store = new ClosedDocumentDiagnosticsStore(() -> 0);
+        AtomicInteger reloads = new AtomicInteger();
+        ClosedDocument first = new ClosedDocument(store, reloads::incrementAndGet);
+        ClosedDocument second = new ClosedDocument(store, reloads::incrementAndGet);
+
+        first.updateDiagnostics(LSPDocumentBase.PUBLISH_DIAGNOSTIC_IDENTIFIER, List.of(diagnostic(0, DiagnosticSeverity.Error)), null);
+        second.updateDiagnostics(LSPDocumentBase.PULL_DIAGNOSTIC_IDENTIFIER, List.of(diagnostic(0, DiagnosticSeverity.Warning)), null);
+        second.updateDiagnostics(LSPDocumentBase.PULL_DIAGNOSTIC_IDENTIFIER, List.of(diagnostic(1, DiagnosticSeverity.Warning)), null);
+
+        // The published diagnostics are not stored, so they cannot be evicted
+        assertEquals(1, first.getDiagnostics().size());
+        assertEquals(0, reloads.get());
+    }
+
+    @Test
+    void diagnosticsAreNotEvictedByDefault() {
+        ClosedDocumentDiagnosticsStore store = new ClosedDocumentDiagnosticsStore(() -> -1);
+        AtomicInteger reloads = new AtomicInteger();
+        ClosedDocument document = new ClosedDocument(store, reloads::incrementAndGet);
+        List<Diagnostic> diagnostics = List.of(diagnostic(0, DiagnosticSeverity.Error));
+
+        assertTrue(document.updateDiagnostics(LSPDocumentBase.PULL_DIAGNOSTIC_IDENTIFIER, diagnostics, null));
+        assertFalse(store.isEnabled());
+        assertEquals(0, store.getSize());
+        assertEquals(diagnostics, new ArrayList<>(document.getDiagnostics()));
+        assertEquals(0, reloads.get());
+    }
+
+    @Test
+    void publishedDiagnosticsAreCompressed() {
+        ClosedDocument document = new ClosedDocument();
+        List<Diagnostic> diagnostics = List.of(diagnostic(0, DiagnosticSeverity.Error), diagnostic(1, DiagnosticSeverity.Error));
+
+        assertTrue(document.updateDiagnostics(LSPDocumentBase.PUBLISH_DIAGNOSTIC_IDENTIFIER, diagnostics, null));
+        // The published diagnostics are not kept as is, they are decompressed when they are inspected
+        assertNotSame(diagnostics, document.getDiagnostics());
+        assertEquals(diagnostics, new ArrayList<>(document.getDiagnostics()));
+        assertEquals(2, document.getDiagnosticsCount(DiagnosticSeverity.Error));
+    }
+
+    @Test
+    void severityCountsAreConsistentWhileUpdated() throws Exception {
+        ClosedDocument document = new ClosedDocument();
+        List<Diagnostic> errors = List.of(diagnostic(0, DiagnosticSeverity.Error));
+        List<Diagnostic> errorsAndWarnings = List.of(diagnostic(0, DiagnosticSeverity.Error), diagnostic(1, DiagnosticSeverity.Warning));
+        document.updateDiagnostics(LSPDocumentBase.PUBLISH_DIAGNOSTIC_IDENTIFIER, errors, null);
+
+        Thread updater = new Thread(() -> {
+            for (int i = 0; i < 2000; i++) {
+                document.updateDiagnostics(LSPDocumentBase.PUBLISH_DIAGNOSTIC_IDENTIFIER, i % 2 == 0 ? errorsAndWarnings : errors, null);
+            }
+        });
+        updater.start();
+        // The diagnostics always have an error, the severity counts are never seen while they are recounted
+        while (updater.isAlive()) {
+            assertTrue(document.hasErrors());
+        }
+        updater.join();
+    }
+
+    @Test
+    void pulledThenPublishedDiagnostics() {
+        ClosedDocumentDiagnosticsStore store = new ClosedDocumentDiagnosticsStore(() -> Long.MAX_VALUE);
+        ClosedDocument document = new ClosedDocument(store, () -> {});
+
+        assertTrue(document.updateDiagnostics(LSPDocumentBase.PULL_DIAGNOSTIC_IDENTIFIER, List.of(diagnostic(0, DiagnosticSeverity.Error)), null));
+        assertTrue(store.getSize() > 0);
+        assertEquals(1, document.getDiagnostics().size());
+        // Same diagnostics, published
+        assertFalse(document.updateDiagnostics(LSPDocumentBase.PUBLISH_DIAGNOSTIC_IDENTIFIER, List.of(diagnostic(0, DiagnosticSeverity.Error)), null));
+        assertEquals(0, store.getSize());
+        assertEquals(1, document.getDiagnostics().size());
+    }
+
+    private static Diagnostic diagnostic(int line, DiagnosticSeverity severity) {
+        Diagnostic diagnostic = new Diagnostic(new Range(new Position(line, 0), new Position(line, 5)), "message " + line);
+        diagnostic.setSeverity(severity);
+        return diagnostic;
+    }
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiFile;
+import com.redhat.devtools.lsp4ij.fixtures.LSPCodeInsightFixtureTestCase;
+import com.redhat.devtools.lsp4ij.mock.MockLanguageServer;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.DocumentDiagnosticReport;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.RelatedFullDocumentDiagnosticReport;
+import org.eclipse.lsp4j.RelatedUnchangedDocumentDiagnosticReport;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests for {@link DocumentContentSynchronizer}.
+ */
+public class DocumentContentSynchronizerTest extends LSPCodeInsightFixtureTestCase {
+
+    public DocumentContentSynchronizerTest() {
+        super("*.synchronizer");
+    }
+
+    public void testConcurrentFlushPendingChanges() throws Exception {
+        MockLanguageServer.INSTANCE.setTimeToProceedQueries(100);
+        PsiFile file = myFixture.configureByText("test.synchronizer", "");
+        var synchronizer = getSynchronizer(file);
+        synchronizer.getDidOpenFuture().get(5000, TimeUnit.MILLISECONDS);
+
+        // Requests which depend on the document content flush the pending changes from other threads
+        // while the document is changed
+        var done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> flushers = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                flushers.add(executor.submit(() -> {
+                    while (!done.get()) {
+                        synchronizer.flushPendingChanges().get(5000, TimeUnit.MILLISECONDS);
+                    }
+                    return null;
+                }));
+            }
+            Document document = myFixture.getEditor().getDocument();
+            for (int i = 0; i < 200; i++) {
+                WriteCommandAction.runWriteCommandAction(myFixture.getProject(),
+                        () -> document.insertString(document.getTextLength(), "a"));
+            }
+        } finally {
+            done.set(true);
+            executor.shutdown();
+        }
+        for (var flusher : flushers) {
+            flusher.get(5000, TimeUnit.MILLISECONDS);
+        }
+
+        // Once the flush future is done, the last didChange has been sent
+        synchronizer.flushPendingChanges().get(5000, TimeUnit.MILLISECONDS);
+        List<DidChangeTextDocumentParams> didChangeEvents = waitForDidChange(synchronizer.getVersion());
+
+        // The didChange notifications are received in the order of their version
+        int previousVersion = -1;
+        for (var didChange : didChangeEvents) {
+            int version = didChange.getTextDocument().getVersion();
+            assertTrue("Version " + version + " received after version " + previousVersion, version > previousVersion);
+            previousVersion = version;
+        }
+        var lastDidChange = didChangeEvents.get(didChangeEvents.size() - 1);
+        assertEquals(synchronizer.getVersion(), lastDidChange.getTextDocument().getVersion());
+        assertEquals("a".repeat(200), lastDidChange.getContentChanges().get(0).getText());
+    }
+
+    public void testUnchangedPullDiagnosticReport() throws Exception {
+        var diagnostic = new Diagnostic(new Range(new Position(0, 0), new Position(0, 3)), "Unknown 'foo'");
+        var fullReport = new RelatedFullDocumentDiagnosticReport(List.of(diagnostic));
+        fullReport.setResultId("1");
+        MockLanguageServer.INSTANCE.setPullDiagnostics(new DocumentDiagnosticReport(fullReport));
+        PsiFile file = myFixture.configureByText("test.synchronizer", "foo");
+        var openedDocument = getOpenedDocument(file);
+
+        // The diagnostics are pulled after the didOpen
+        waitFor(() -> "1".equals(openedDocument.getDiagnosticResultId(LSPDocumentBase.PULL_DIAGNOSTIC_IDENTIFIER)));
+        assertEquals(List.of(diagnostic), new ArrayList<>(openedDocument.getDiagnostics()));
+
+        // The language server answers that the diagnostics have not changed since the previous report
+        MockLanguageServer.INSTANCE.setPullDiagnostics(new DocumentDiagnosticReport(new RelatedUnchangedDocumentDiagnosticReport("2")));
+        Document document = myFixture.getEditor().getDocument();
+        WriteCommandAction.runWriteCommandAction(myFixture.getProject(),
+                () -> document.insertString(document.getTextLength(), " "));
+
+        waitFor(() -> "2".equals(openedDocument.getDiagnosticResultId(LSPDocumentBase.PULL_DIAGNOSTIC_IDENTIFIER)));
+        // The result id of the previous report has been sent
+        assertEquals("1", MockLanguageServer.INSTANCE.getTextDocumentService().getLastDiagnosticParams().getPreviousResultId());
+        // The diagnostics of the previous report are kept
+        assertEquals(List.of(diagnostic), new ArrayList<>(openedDocument.getDiagnostics()));
+    }
+
+    private static void waitFor(@NotNull BooleanSupplier condition) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() - start > 5000) {
+                fail("Timeout while waiting for the condition");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<DidChangeTextDocumentParams> waitForDidChange(int version) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (true) {
+            var didChangeEvents = MockLanguageServer.INSTANCE.getDidChangeEvents();
+            if (!didChangeEvents.isEmpty() && didChangeEvents.get(didChangeEvents.size() - 1).getTextDocument().getVersion() >= version) {
+                return didChangeEvents;
+            }
+            if (System.currentTimeMillis() - start > 5000) {
+                fail("The didChange with version " + version + " has not been received");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static @NotNull OpenedDocument getOpenedDocument(@NotNull PsiFile file) throws Exception {
+        var languageServers = LanguageServiceAccessor.getInstance(file.getProject())
+                .getLanguageServers(file, null, null)
+                .get(5000, TimeUnit.MILLISECONDS);
+        assertFalse(languageServers.isEmpty());
+        var openedDocument = languageServers.get(0).getServerWrapper().getOpenedDocument(LSPIJUtils.toUri(file));
+        assertNotNull(openedDocument);
+        return openedDocument;
+    }
+
+    private static @NotNull DocumentContentSynchronizer getSynchronizer(@NotNull PsiFile file) throws Exception {
+        var synchronizer = getOpenedDocument(file).getSynchronizer();
+        assertNotNull(synchronizer);
+        return synchronizer;
+    }
+}
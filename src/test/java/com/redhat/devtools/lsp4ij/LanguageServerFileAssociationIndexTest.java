@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij;
+
+import com.intellij.openapi.fileTypes.ExactFileNameMatcher;
+import com.intellij.openapi.fileTypes.ExtensionFileNameMatcher;
+import com.intellij.openapi.fileTypes.FileNameMatcher;
+import com.intellij.openapi.fileTypes.WildcardFileNameMatcher;
+import com.redhat.devtools.lsp4ij.server.definition.LanguageServerDefinition;
+import com.redhat.devtools.lsp4ij.server.definition.LanguageServerFileAssociation;
+import com.redhat.devtools.lsp4ij.server.definition.launching.UserDefinedLanguageServerDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link LanguageServerFileAssociationIndex} with file name pattern associations.
+ */
+class LanguageServerFileAssociationIndexTest {
+
+    private static final DocumentMatcher ALWAYS = (file, project) -> true;
+
+    private final LanguageServerDefinition serverDefinition = new UserDefinedLanguageServerDefinition(
+            "id", null, "lsName", null, "description", "./start.sh", null, Map.of(),
+            false, "", false, "", "", "", "", "", "");
+
+    private final LanguageServerFileAssociation typescript = association(new ExtensionFileNameMatcher("ts"));
+    private final LanguageServerFileAssociation archive = association(new ExtensionFileNameMatcher("tar.gz"));
+    private final LanguageServerFileAssociation dockerfile = association(new ExactFileNameMatcher("Dockerfile"));
+    private final LanguageServerFileAssociation docker = association(new WildcardFileNameMatcher("Docker*"));
+
+    private final LanguageServerFileAssociationIndex index = new LanguageServerFileAssociationIndex(
+            List.of(typescript, archive, dockerfile, docker));
+
+    @Test
+    void extensionPatterns() {
+        assertEquals(List.of(typescript), index.findAssociations(null, null, "foo.ts"));
+        // Extension matchers are case-insensitive
+        assertEquals(List.of(typescript), index.findAssociations(null, null, "FOO.TS"));
+        assertEquals(List.of(archive), index.findAssociations(null, null, "foo.tar.gz"));
+        assertTrue(index.findAssociations(null, null, "foo.tsx").isEmpty());
+    }
+
+    @Test
+    void exactAndWildcardPatterns() {
+        // Matched associations are returned in registration order
+        assertEquals(List.of(dockerfile, docker), index.findAssociations(null, null, "Dockerfile"));
+        assertEquals(List.of(docker), index.findAssociations(null, null, "Docker.dev"));
+    }
+
+    private LanguageServerFileAssociation association(FileNameMatcher matcher) {
+        return new LanguageServerFileAssociation(List.of(matcher), serverDefinition, ALWAYS, null);
+    }
+}
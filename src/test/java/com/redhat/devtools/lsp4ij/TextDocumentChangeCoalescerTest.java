@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TextDocumentChangeCoalescer}.
+ */
+class TextDocumentChangeCoalescerTest {
+
+    @Test
+    void typingIsMerged() {
+        // "foo\n|" -> "foo\nabc|"
+        var coalescer = new TextDocumentChangeCoalescer();
+        coalescer.addIncrementalChange(4, 0, "a", pos(1, 0), pos(1, 0));
+        coalescer.addIncrementalChange(5, 0, "b", pos(1, 1), pos(1, 1));
+        coalescer.addIncrementalChange(6, 0, "c", pos(1, 2), pos(1, 2));
+        var events = coalescer.drain();
+        assertEquals(1, events.size());
+        assertEquals(new Range(pos(1, 0), pos(1, 0)), events.get(0).getRange());
+        assertEquals("abc", events.get(0).getText());
+        assertEquals(0, events.get(0).getRangeLength());
+        assertTrue(coalescer.isEmpty());
+    }
+
+    @Test
+    void backspacesAreMerged() {
+        // "foo bar|" -> "foo |"
+        var coalescer = new TextDocumentChangeCoalescer();
+        coalescer.addIncrementalChange(6, 1, "", pos(0, 6), pos(0, 7));
+        coalescer.addIncrementalChange(5, 1, "", pos(0, 5), pos(0, 6));
+        coalescer.addIncrementalChange(4, 1, "", pos(0, 4), pos(0, 5));
+        var events = coalescer.drain();
+        assertEquals(1, events.size());
+        assertEquals(new Range(pos(0, 4), pos(0, 7)), events.get(0).getRange());
+        assertEquals("", events.get(0).getText());
+        assertEquals(3, events.get(0).getRangeLength());
+    }
+
+    @Test
+    void changesWhichCancelEachOtherAreRemoved() {
+        var coalescer = new TextDocumentChangeCoalescer();
+        coalescer.addIncrementalChange(3, 0, "x", pos(0, 3), pos(0, 3));
+        coalescer.addIncrementalChange(3, 1, "", pos(0, 3), pos(0, 4));
+        assertFalse(coalescer.isEmpty());
+        assertTrue(coalescer.drain().isEmpty());
+    }
+
+    @Test
+    void endIsShiftedBeforeInsertedLines() {
+        // "ab|cd" : insert "1\n2" at offset 2, then replace "2c" (line 1) with "X"
+        var coalescer = new TextDocumentChangeCoalescer();
+        coalescer.addIncrementalChange(2, 0, "1\n2", pos(0, 2), pos(0, 2));
+        coalescer.addIncrementalChange(4, 2, "X", pos(1, 0), pos(1, 2));
+        var events = coalescer.drain();
+        assertEquals(1, events.size());
+        // "ab1\nXd" from "abcd": replace "c" (0:2-0:3) with "1\nX"
+        assertEquals(new Range(pos(0, 2), pos(0, 3)), events.get(0).getRange());
+        assertEquals("1\nX", events.get(0).getText());
+        assertEquals(1, events.get(0).getRangeLength());
+    }
+
+    @Test
+    void distantChangesAreKept() {
+        var coalescer = new TextDocumentChangeCoalescer();
+        coalescer.addIncrementalChange(0, 0, "a", pos(0, 0), pos(0, 0));
+        coalescer.addIncrementalChange(10, 0, "b", pos(2, 0), pos(2, 0));
+        assertEquals(2, coalescer.drain().size());
+    }
+
+    @Test
+    void fullTextKeepsLastSnapshot() {
+        var coalescer = new TextDocumentChangeCoalescer();
+        coalescer.setFullText("a");
+        coalescer.setFullText("ab");
+        var events = coalescer.drain();
+        assertEquals(1, events.size());
+        assertNull(events.get(0).getRange());
+        assertEquals("ab", events.get(0).getText());
+    }
+
+    private static Position pos(int line, int character) {
+        return new Position(line, character);
+    }
+}
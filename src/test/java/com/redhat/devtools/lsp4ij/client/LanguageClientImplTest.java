@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.client;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
+import com.redhat.devtools.lsp4ij.LanguageServiceAccessor;
+import com.redhat.devtools.lsp4ij.fixtures.LSPCodeInsightFixtureTestCase;
+import com.redhat.devtools.lsp4ij.mock.MockLanguageServer;
+import org.eclipse.lsp4j.ApplyWorkspaceEditParams;
+import org.eclipse.lsp4j.HoverParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.WorkspaceEdit;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the requests sent by the language server to {@link LanguageClientImpl}.
+ */
+public class LanguageClientImplTest extends LSPCodeInsightFixtureTestCase {
+
+    public LanguageClientImplTest() {
+        super("*.client");
+    }
+
+    public void testApplyEditDoesntBlockNextMessages() throws Exception {
+        PsiFile file = myFixture.configureByText("test.client", "foo");
+        LanguageServer languageServer = getLanguageServer(file);
+        var clients = MockLanguageServer.INSTANCE.getRemoteProxies();
+        var client = clients.get(clients.size() - 1);
+
+        // The language server asks to apply an edit, which needs the EDT (the test thread)
+        var applyEdit = client.applyEdit(new ApplyWorkspaceEditParams(new WorkspaceEdit()));
+
+        // The response of a request sent while the EDT is busy is received after the 'workspace/applyEdit' request
+        var hover = languageServer.getTextDocumentService()
+                .hover(new HoverParams(new TextDocumentIdentifier(LSPIJUtils.toUriAsString(file)), new Position(0, 0)));
+        assertNotNull(hover.get(5000, TimeUnit.MILLISECONDS));
+        assertFalse(applyEdit.isDone());
+
+        // The edit is applied once the EDT is available
+        long start = System.currentTimeMillis();
+        while (!applyEdit.isDone()) {
+            if (System.currentTimeMillis() - start > 5000) {
+                fail("The 'workspace/applyEdit' request has not been answered");
+            }
+            PlatformTestUtil.dispatchAllInvocationEventsInIdeEventQueue();
+            Thread.sleep(10);
+        }
+        assertTrue(applyEdit.get().isApplied());
+    }
+
+    private static @NotNull LanguageServer getLanguageServer(@NotNull PsiFile file) throws Exception {
+        var languageServers = LanguageServiceAccessor.getInstance(file.getProject())
+                .getLanguageServers(file, null, null)
+                .get(5000, TimeUnit.MILLISECONDS);
+        assertFalse(languageServers.isEmpty());
+        return languageServers.get(0).getServer();
+    }
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link AbstractLSPDocumentFeatureSupport#getFeatureData(Object)} in the stale-while-revalidate mode.
+ */
+public class AbstractLSPDocumentFeatureSupport_staleWhileRevalidateTest extends BasePlatformTestCase {
+
+    // The range of 'bar' in 'foo bar'
+    private static final Range BAR_RANGE = new Range(new Position(0, 4), new Position(0, 7));
+
+    private final List<CompletableFuture<List<Range>>> loads = new ArrayList<>();
+    private int restartCount;
+
+    public void testStaleResultWhileRevalidating() throws Exception {
+        PsiFile file = myFixture.configureByText("test.txt", "foo bar");
+        var support = new RangesSupport(file, true);
+
+        var future = support.getFeatureData("");
+        assertNotNull(future);
+        assertEquals(1, loads.size());
+        loads.get(0).complete(List.of(BAR_RANGE));
+        assertEquals(List.of(BAR_RANGE), future.get(5000, TimeUnit.MILLISECONDS));
+
+        // The file is modified: a new request is sent and the last result is returned with its ranges remapped
+        insertText("x");
+        future = support.getFeatureData("");
+        assertNotNull(future);
+        assertEquals(2, loads.size());
+        assertTrue(future.isDone());
+        assertEquals(List.of(new Range(new Position(0, 5), new Position(0, 8))), future.getNow(null));
+
+        // The file is modified again: the pending request is neither canceled nor sent again
+        insertText("y");
+        future = support.getFeatureData("");
+        assertNotNull(future);
+        assertEquals(2, loads.size());
+        assertFalse(loads.get(1).isDone());
+        assertEquals(List.of(new Range(new Position(0, 6), new Position(0, 9))), future.getNow(null));
+        assertEquals(0, restartCount);
+
+        // The fresh result is available: the daemon code analyzer is restarted to display it
+        loads.get(1).complete(List.of(new Range(new Position(0, 5), new Position(0, 8))));
+        assertEquals(1, restartCount);
+    }
+
+    public void testNoStaleResultWhenDisabled() throws Exception {
+        PsiFile file = myFixture.configureByText("test.txt", "foo bar");
+        var support = new RangesSupport(file, false);
+
+        var future = support.getFeatureData("");
+        assertNotNull(future);
+        loads.get(0).complete(List.of(BAR_RANGE));
+        assertEquals(List.of(BAR_RANGE), future.get(5000, TimeUnit.MILLISECONDS));
+
+        // The file is modified: the new request is returned
+        insertText("x");
+        future = support.getFeatureData("");
+        assertNotNull(future);
+        assertEquals(2, loads.size());
+        assertFalse(future.isDone());
+
+        // The file is modified again: the pending request is canceled and sent again
+        insertText("y");
+        support.getFeatureData("");
+        assertEquals(3, loads.size());
+        assertTrue(loads.get(1).isCancelled());
+        assertEquals(0, restartCount);
+    }
+
+    private void insertText(@NotNull String text) {
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            myFixture.getEditor().getDocument().insertString(0, text);
+            PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+        });
+    }
+
+    private class RangesSupport extends AbstractLSPDocumentFeatureSupport<String, List<Range>> {
+
+        private final boolean staleWhileRevalidateEnabled;
+
+        RangesSupport(@NotNull PsiFile file, boolean staleWhileRevalidateEnabled) {
+            super(file, true, true);
+            this.staleWhileRevalidateEnabled = staleWhileRevalidateEnabled;
+        }
+
+        @Override
+        boolean isStaleWhileRevalidateEnabled() {
+            return staleWhileRevalidateEnabled;
+        }
+
+        @Override
+        void restartDaemonCodeAnalyzer() {
+            restartCount++;
+        }
+
+        @Override
+        protected CompletableFuture<List<Range>> doLoad(String params, CancellationSupport cancellationSupport) {
+            var load = new CompletableFuture<List<Range>>();
+            loads.add(load);
+            return cancellationSupport.execute(load);
+        }
+
+        @Override
+        protected @Nullable List<Range> remapStaleResult(@NotNull List<Range> ranges, @NotNull LSPRangeMapper mapper) {
+            return ranges.stream()
+                    .map(mapper::mapRange)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+    }
+}
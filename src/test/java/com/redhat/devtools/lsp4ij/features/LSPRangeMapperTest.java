@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LSPRangeMapper}.
+ */
+class LSPRangeMapperTest {
+
+    @Test
+    void sameText() {
+        var mapper = new LSPRangeMapper("foo(a, b)\nbar()\n", "foo(a, b)\nbar()\n");
+        assertTrue(mapper.isIdentity());
+        assertEquals(range(1, 0, 1, 5), mapper.mapRange(range(1, 0, 1, 5)));
+    }
+
+    @Test
+    void rangesAfterChangeAreShifted() {
+        // Insert a new line at the start of the document
+        var mapper = new LSPRangeMapper("foo(a, b)\nbar()\n", "// comment\nfoo(a, b)\nbar()\n");
+        assertFalse(mapper.isIdentity());
+        assertEquals(range(1, 0, 1, 9), mapper.mapRange(range(0, 0, 0, 9)));
+        assertEquals(range(2, 0, 2, 5), mapper.mapRange(range(1, 0, 1, 5)));
+        assertEquals(new Position(2, 3), mapper.mapPosition(new Position(1, 3)));
+    }
+
+    @Test
+    void rangesBeforeChangeAreKept() {
+        // Type 'cd' after 'b'
+        var mapper = new LSPRangeMapper("foo(a, b)\nbar()\n", "foo(a, bcd)\nbar()\n");
+        assertEquals(range(0, 0, 0, 3), mapper.mapRange(range(0, 0, 0, 3)));
+        // The end of 'b' is the insertion point: the range is not extended
+        assertEquals(range(0, 7, 0, 8), mapper.mapRange(range(0, 7, 0, 8)));
+        // Same line after the insertion point
+        assertEquals(range(0, 10, 0, 11), mapper.mapRange(range(0, 8, 0, 9)));
+        assertEquals(range(1, 0, 1, 5), mapper.mapRange(range(1, 0, 1, 5)));
+    }
+
+    @Test
+    void rangesContainingChangeAreResized() {
+        // Replace 'a, b' with 'x'
+        var mapper = new LSPRangeMapper("foo(a, b)\nbar()\n", "foo(x)\nbar()\n");
+        assertEquals(range(0, 0, 1, 5), mapper.mapRange(range(0, 0, 1, 5)));
+        assertEquals(range(0, 3, 0, 6), mapper.mapRange(range(0, 3, 0, 9)));
+    }
+
+    @Test
+    void rangesOverlappingChangeAreDropped() {
+        // Replace 'a, b' with 'x'
+        var mapper = new LSPRangeMapper("foo(a, b)\nbar()\n", "foo(x)\nbar()\n");
+        assertNull(mapper.mapRange(range(0, 7, 0, 8)));
+        assertNull(mapper.mapRange(range(0, 0, 0, 6)));
+        assertNull(mapper.mapPosition(new Position(0, 6)));
+    }
+
+    @Test
+    void positionsAtInsertionPoint() {
+        // Insert 'x' before 'b'
+        var mapper = new LSPRangeMapper("foo(a, b)\n", "foo(a, xb)\n");
+        // A position (ex: an inlay hint) moves after the inserted text
+        assertEquals(new Position(0, 8), mapper.mapPosition(new Position(0, 7)));
+        // An empty range is moved like a position
+        assertEquals(range(0, 8, 0, 8), mapper.mapRange(range(0, 7, 0, 7)));
+        // A range which starts at the insertion point starts after the inserted text
+        assertEquals(range(0, 8, 0, 9), mapper.mapRange(range(0, 7, 0, 8)));
+    }
+
+    @Test
+    void positionsOutOfDocumentAreClamped() {
+        var mapper = new LSPRangeMapper("foo\nbar", "foo\nbar\nbaz");
+        // A folding range without end character covers the whole line
+        assertEquals(range(0, 0, 1, 3), mapper.mapRange(range(0, 0, 1, Integer.MAX_VALUE)));
+    }
+
+    private static Range range(int startLine, int startCharacter, int endLine, int endCharacter) {
+        return new Range(new Position(startLine, startCharacter), new Position(endLine, endCharacter));
+    }
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.completion;
+
+import org.eclipse.lsp4j.*;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CompletionSession}.
+ */
+class CompletionSessionTest {
+
+    // The completion lists are computed for 'foo.ab|xy' where the word prefix 'ab' starts at the character 4
+    private static final int PREFIX_START_OFFSET = 4;
+    private static final Position CARET = new Position(0, 6);
+
+    @Test
+    void refineWithExtendedPrefix() {
+        CompletionItem item = newItem("abcd", new Range(new Position(0, 4), new Position(0, 6)));
+        CompletionItem other = newItem("xyz", new Range(new Position(0, 4), new Position(0, 6)));
+        var session = newSession(Either.forLeft(List.of(item, other)));
+
+        var refined = session.refine(PREFIX_START_OFFSET, "abc", "foo.abcxy");
+        assertNotNull(refined);
+        List<CompletionItem> items = refined.get(0).completion().getLeft();
+        assertEquals(1, items.size());
+        assertEquals(new Range(new Position(0, 4), new Position(0, 7)), items.get(0).getTextEdit().getLeft().getRange());
+        assertEquals("abcd", items.get(0).getLabel());
+    }
+
+    @Test
+    void refineAfterBackspace() {
+        CompletionItem item = newItem("abcd", new Range(new Position(0, 4), new Position(0, 6)));
+        var session = newSession(Either.forLeft(List.of(item)));
+
+        assertNotNull(session.refine(PREFIX_START_OFFSET, "abcd", "foo.abcdxy"));
+        var refined = session.refine(PREFIX_START_OFFSET, "abc", "foo.abcxy");
+        assertNotNull(refined);
+        List<CompletionItem> items = refined.get(0).completion().getLeft();
+        assertEquals(new Range(new Position(0, 4), new Position(0, 7)), items.get(0).getTextEdit().getLeft().getRange());
+
+        // Back to the word prefix of the completion lists
+        refined = session.refine(PREFIX_START_OFFSET, "ab", "foo.abxy");
+        assertNotNull(refined);
+        assertSame(item, refined.get(0).completion().getLeft().get(0));
+    }
+
+    @Test
+    void refineNeverUpdatesCompletionItems() {
+        Range range = new Range(new Position(0, 4), new Position(0, 6));
+        TextEdit additionalTextEdit = new TextEdit(new Range(new Position(0, 8), new Position(0, 8)), ")");
+        CompletionItem item = newItem("abcd", range);
+        item.setAdditionalTextEdits(List.of(additionalTextEdit));
+        var session = newSession(Either.forLeft(List.of(item)));
+
+        var refined = session.refine(PREFIX_START_OFFSET, "abc", "foo.abcxy");
+        assertNotNull(refined);
+        CompletionItem shifted = refined.get(0).completion().getLeft().get(0);
+        assertNotSame(item, shifted);
+        assertEquals(new Range(new Position(0, 9), new Position(0, 9)), shifted.getAdditionalTextEdits().get(0).getRange());
+
+        assertSame(range, item.getTextEdit().getLeft().getRange());
+        assertEquals(new Range(new Position(0, 4), new Position(0, 6)), range);
+        assertSame(additionalTextEdit, item.getAdditionalTextEdits().get(0));
+        assertEquals(new Range(new Position(0, 8), new Position(0, 8)), additionalTextEdit.getRange());
+    }
+
+    @Test
+    void refineWithInsertReplaceEdit() {
+        CompletionItem item = new CompletionItem("abcd");
+        item.setTextEdit(Either.forRight(new InsertReplaceEdit("abcd",
+                new Range(new Position(0, 4), new Position(0, 6)),
+                new Range(new Position(0, 4), new Position(0, 8)))));
+        var session = newSession(Either.forLeft(List.of(item)));
+
+        var refined = session.refine(PREFIX_START_OFFSET, "abc", "foo.abcxy");
+        assertNotNull(refined);
+        InsertReplaceEdit edit = refined.get(0).completion().getLeft().get(0).getTextEdit().getRight();
+        assertEquals(new Range(new Position(0, 4), new Position(0, 7)), edit.getInsert());
+        assertEquals(new Range(new Position(0, 4), new Position(0, 9)), edit.getReplace());
+
+        InsertReplaceEdit original = item.getTextEdit().getRight();
+        assertEquals(new Range(new Position(0, 4), new Position(0, 6)), original.getInsert());
+        assertEquals(new Range(new Position(0, 4), new Position(0, 8)), original.getReplace());
+    }
+
+    @Test
+    void refineWithItemDefaults() {
+        Range editRange = new Range(new Position(0, 4), new Position(0, 6));
+        var itemDefaults = new CompletionItemDefaults();
+        itemDefaults.setEditRange(Either.forLeft(editRange));
+        itemDefaults.setCommitCharacters(List.of("."));
+        var completionList = new CompletionList(false, List.of(new CompletionItem("abcd")));
+        completionList.setItemDefaults(itemDefaults);
+        var session = newSession(Either.forRight(completionList));
+
+        var refined = session.refine(PREFIX_START_OFFSET, "abc", "foo.abcxy");
+        assertNotNull(refined);
+        CompletionItemDefaults shifted = refined.get(0).completion().getRight().getItemDefaults();
+        assertNotSame(itemDefaults, shifted);
+        assertEquals(new Range(new Position(0, 4), new Position(0, 7)), shifted.getEditRange().getLeft());
+        assertEquals(List.of("."), shifted.getCommitCharacters());
+
+        assertSame(editRange, itemDefaults.getEditRange().getLeft());
+        assertEquals(new Range(new Position(0, 4), new Position(0, 6)), editRange);
+    }
+
+    @Test
+    void refineWithInsertReplaceItemDefaults() {
+        var itemDefaults = new CompletionItemDefaults();
+        itemDefaults.setEditRange(Either.forRight(new InsertReplaceRange(
+                new Range(new Position(0, 4), new Position(0, 6)),
+                new Range(new Position(0, 4), new Position(0, 8)))));
+        var completionList = new CompletionList(false, List.of(new CompletionItem("abcd")));
+        completionList.setItemDefaults(itemDefaults);
+        var session = newSession(Either.forRight(completionList));
+
+        var refined = session.refine(PREFIX_START_OFFSET, "abcd", "foo.abcdxy");
+        assertNotNull(refined);
+        InsertReplaceRange shifted = refined.get(0).completion().getRight().getItemDefaults().getEditRange().getRight();
+        assertEquals(new Range(new Position(0, 4), new Position(0, 8)), shifted.getInsert());
+        assertEquals(new Range(new Position(0, 4), new Position(0, 10)), shifted.getReplace());
+
+        InsertReplaceRange original = itemDefaults.getEditRange().getRight();
+        assertEquals(new Range(new Position(0, 4), new Position(0, 6)), original.getInsert());
+        assertEquals(new Range(new Position(0, 4), new Position(0, 8)), original.getReplace());
+    }
+
+    @Test
+    void cannotRefine() {
+        var session = newSession(Either.forLeft(List.of(newItem("abcd", new Range(new Position(0, 4), new Position(0, 6))))));
+
+        // The word prefix is shorter than the word prefix of the completion lists
+        assertNull(session.refine(PREFIX_START_OFFSET, "a", "foo.axy"));
+        // The word starts at another offset
+        assertNull(session.refine(PREFIX_START_OFFSET + 1, "abc", "foo.abcxy"));
+        // The text outside the word prefix has changed
+        assertNull(session.refine(PREFIX_START_OFFSET, "abc", "bar.abcxy"));
+        assertNull(session.refine(PREFIX_START_OFFSET, "abc", "foo.abcxz"));
+    }
+
+    @Test
+    void shiftEditRanges() {
+        CompletionItem item = new CompletionItem("abcd");
+        item.setTextEdit(Either.forLeft(new TextEdit(new Range(new Position(0, 4), new Position(0, 6)), "abcd")));
+        item.setAdditionalTextEdits(List.of(
+                new TextEdit(new Range(new Position(0, 0), new Position(0, 0)), "import"),
+                new TextEdit(new Range(new Position(1, 6), new Position(1, 6)), ";")));
+
+        // No edit range to shift
+        assertSame(item, CompletionSession.shiftEditRanges(item, 0, 6, 4, 0));
+        assertSame(item, CompletionSession.shiftEditRanges(item, 2, 6, 4, 1));
+
+        // The start of the word prefix is kept, the end at the caret is shifted, the other lines are kept
+        CompletionItem shifted = CompletionSession.shiftEditRanges(item, 0, 6, 4, 2);
+        assertEquals(new Range(new Position(0, 4), new Position(0, 8)), shifted.getTextEdit().getLeft().getRange());
+        assertEquals("abcd", shifted.getTextEdit().getLeft().getNewText());
+        assertSame(item.getAdditionalTextEdits(), shifted.getAdditionalTextEdits());
+        assertEquals(new Range(new Position(0, 4), new Position(0, 6)), item.getTextEdit().getLeft().getRange());
+    }
+
+    @Test
+    void shiftEmptyEditRangeAtCaret() {
+        // The completion has been triggered without word prefix: the start at the caret is the start of the word prefix
+        var editRange = Either.<Range, InsertReplaceRange>forLeft(new Range(new Position(0, 6), new Position(0, 6)));
+        assertEquals(new Range(new Position(0, 6), new Position(0, 8)),
+                CompletionSession.shiftEditRange(editRange, 0, 6, 6, 2).getLeft());
+
+        // A range which starts at the caret after the word prefix is moved
+        assertEquals(new Range(new Position(0, 8), new Position(0, 8)),
+                CompletionSession.shiftEditRange(editRange, 0, 6, 4, 2).getLeft());
+    }
+
+    @Test
+    void isOnlyPrefixChanged() {
+        // 'foo.ab|xy' -> 'foo.abc|xy'
+        assertTrue(CompletionSession.isOnlyPrefixChanged("foo.abxy", 6, "foo.abcxy", 7, 4));
+        // 'foo.abc|xy' -> 'foo.ab|xy'
+        assertTrue(CompletionSession.isOnlyPrefixChanged("foo.abcxy", 7, "foo.abxy", 6, 4));
+        // The word prefix is replaced
+        assertTrue(CompletionSession.isOnlyPrefixChanged("foo.ab", 6, "foo.cd", 6, 4));
+
+        // The text before the word prefix has changed
+        assertFalse(CompletionSession.isOnlyPrefixChanged("foo.abxy", 6, "fox.abcxy", 7, 4));
+        // The text after the caret has changed
+        assertFalse(CompletionSession.isOnlyPrefixChanged("foo.abxy", 6, "foo.abcxz", 7, 4));
+        assertFalse(CompletionSession.isOnlyPrefixChanged("foo.abxy", 6, "foo.abcx", 7, 4));
+        // The caret is outside the text
+        assertFalse(CompletionSession.isOnlyPrefixChanged("foo.ab", 6, "foo.abc", 8, 4));
+    }
+
+    private static @NotNull CompletionSession newSession(@NotNull Either<List<CompletionItem>, CompletionList> completion) {
+        return new CompletionSession(PREFIX_START_OFFSET, "ab", CARET, "foo.abxy",
+                List.of(new CompletionData(completion, null)));
+    }
+
+    private static @NotNull CompletionItem newItem(@NotNull String label, @NotNull Range range) {
+        CompletionItem item = new CompletionItem(label);
+        item.setTextEdit(Either.forLeft(new TextEdit(range, label)));
+        return item;
+    }
+}
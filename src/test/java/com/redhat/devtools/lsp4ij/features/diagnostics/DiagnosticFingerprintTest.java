@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.diagnostics;
+
+import com.google.gson.JsonPrimitive;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link DiagnosticFingerprint}.
+ */
+class DiagnosticFingerprintTest {
+
+    @Test
+    void sameFingerprintForEqualDiagnostics() {
+        var fingerprint1 = new DiagnosticFingerprint(diagnostic("a", 0));
+        var fingerprint2 = new DiagnosticFingerprint(diagnostic("a", 0));
+        assertEquals(fingerprint1, fingerprint2);
+        assertEquals(fingerprint1.hashCode(), fingerprint2.hashCode());
+        assertNotEquals(fingerprint1, new DiagnosticFingerprint(diagnostic("a", 1)));
+
+        Diagnostic withData = diagnostic("a", 0);
+        withData.setData(new JsonPrimitive("fix"));
+        assertNotEquals(fingerprint1, new DiagnosticFingerprint(withData));
+    }
+
+    @Test
+    void distinctRemovesDuplicatedDiagnostics() {
+        Diagnostic a1 = diagnostic("a", 0);
+        Diagnostic b = diagnostic("b", 1);
+        Diagnostic a2 = diagnostic("a", 0);
+        var distinct = List.copyOf(DiagnosticFingerprint.distinct(List.of(a1, b, a2)));
+        assertEquals(2, distinct.size());
+        assertSame(a1, distinct.get(0));
+        assertSame(b, distinct.get(1));
+    }
+
+    @Test
+    void distinctKeepsCollectionWithoutDuplicates() {
+        var diagnostics = List.of(diagnostic("a", 0), diagnostic("b", 0));
+        assertSame(diagnostics, DiagnosticFingerprint.distinct(diagnostics));
+    }
+
+    private static Diagnostic diagnostic(String message, int line) {
+        Diagnostic diagnostic = new Diagnostic(new Range(new Position(line, 0), new Position(line, 5)), message);
+        diagnostic.setSeverity(DiagnosticSeverity.Warning);
+        return diagnostic;
+    }
+}
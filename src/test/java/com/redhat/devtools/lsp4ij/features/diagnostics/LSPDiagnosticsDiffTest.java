@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.diagnostics;
+
+import com.google.gson.JsonPrimitive;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LSPDiagnosticsDiff}.
+ */
+class LSPDiagnosticsDiffTest {
+
+    @Test
+    void unchangedDiagnosticsKeepOldInstances() {
+        Diagnostic old1 = diagnostic("a", 0);
+        Diagnostic old2 = diagnostic("b", 1);
+        Diagnostic new1 = diagnostic("a", 0);
+        Diagnostic new2 = diagnostic("b", 1);
+
+        var diff = LSPDiagnosticsDiff.diff(List.of(old1, old2), List.of(new2, new1));
+        assertFalse(diff.hasChanges());
+        assertEquals(2, diff.getUnchanged().size());
+        assertSame(old2, diff.getUnchanged().get(0));
+        assertSame(old1, diff.getUnchanged().get(1));
+    }
+
+    @Test
+    void addedAndRemovedDiagnostics() {
+        Diagnostic old1 = diagnostic("a", 0);
+        Diagnostic old2 = diagnostic("b", 1);
+        Diagnostic new1 = diagnostic("a", 0);
+        Diagnostic new3 = diagnostic("c", 2);
+
+        var diff = LSPDiagnosticsDiff.diff(List.of(old1, old2), List.of(new1, new3));
+        assertTrue(diff.hasChanges());
+        assertEquals(List.of(old1), diff.getUnchanged());
+        assertEquals(List.of(new3), diff.getAdded());
+        assertEquals(List.of(old2), diff.getRemoved());
+    }
+
+    @Test
+    void diagnosticsWhichDifferByData() {
+        Diagnostic old1 = diagnostic("a", 0);
+        old1.setData(new JsonPrimitive("fix1"));
+        Diagnostic new1 = diagnostic("a", 0);
+        new1.setData(new JsonPrimitive("fix2"));
+
+        var diff = LSPDiagnosticsDiff.diff(List.of(old1), List.of(new1));
+        assertEquals(List.of(new1), diff.getAdded());
+        assertEquals(List.of(old1), diff.getRemoved());
+    }
+
+    @Test
+    void duplicatedDiagnostics() {
+        Diagnostic old1 = diagnostic("a", 0);
+        Diagnostic old2 = diagnostic("a", 0);
+
+        var diff = LSPDiagnosticsDiff.diff(List.of(old1, old2), List.of(diagnostic("a", 0)));
+        assertEquals(List.of(old1), diff.getUnchanged());
+        assertEquals(List.of(old2), diff.getRemoved());
+        assertTrue(diff.getAdded().isEmpty());
+    }
+
+    @Test
+    void emptyDiagnostics() {
+        Diagnostic old1 = diagnostic("a", 0);
+        var diff = LSPDiagnosticsDiff.diff(List.of(old1), Collections.emptyList());
+        assertEquals(List.of(old1), diff.getRemoved());
+        assertFalse(LSPDiagnosticsDiff.diff(Collections.emptyList(), Collections.emptyList()).hasChanges());
+    }
+
+    private static Diagnostic diagnostic(String message, int line) {
+        Diagnostic diagnostic = new Diagnostic(new Range(new Position(line, 0), new Position(line, 5)), message);
+        diagnostic.setSeverity(DiagnosticSeverity.Warning);
+        return diagnostic;
+    }
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.diagnostics;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LSPDiagnosticsForServer#groupByCoveredRange(java.util.Collection)}.
+ */
+class LSPDiagnosticsGroupingTest {
+
+    @Test
+    void disjointDiagnostics() {
+        Diagnostic d1 = diagnostic("d1", 0, 0, 0, 5);
+        Diagnostic d2 = diagnostic("d2", 1, 0, 1, 5);
+        Diagnostic d3 = diagnostic("d3", 0, 6, 0, 8);
+        var groups = LSPDiagnosticsForServer.groupByCoveredRange(List.of(d2, d3, d1));
+        assertEquals(List.of(List.of(d1), List.of(d3), List.of(d2)), groups);
+    }
+
+    @Test
+    void includedDiagnostics() {
+        Diagnostic outer = diagnostic("outer", 0, 0, 5, 0);
+        Diagnostic inner = diagnostic("inner", 1, 0, 2, 0);
+        Diagnostic innermost = diagnostic("innermost", 1, 2, 1, 4);
+        Diagnostic sameRange = diagnostic("same", 0, 0, 5, 0);
+        var groups = LSPDiagnosticsForServer.groupByCoveredRange(List.of(innermost, inner, sameRange, outer));
+        assertEquals(1, groups.size());
+        var group = groups.get(0);
+        assertEquals(4, group.size());
+        // The first diagnostic has the largest range
+        assertEquals(new Range(new Position(0, 0), new Position(5, 0)), group.get(0).getRange());
+        assertTrue(group.containsAll(List.of(outer, inner, innermost, sameRange)));
+    }
+
+    @Test
+    void overlappingDiagnostics() {
+        Diagnostic a = diagnostic("a", 0, 0, 0, 10);
+        Diagnostic b = diagnostic("b", 0, 5, 0, 15);
+        // Included in both a and b: belongs to the first group which includes it
+        Diagnostic c = diagnostic("c", 0, 6, 0, 9);
+        // Only included in b
+        Diagnostic d = diagnostic("d", 0, 11, 0, 12);
+        var groups = LSPDiagnosticsForServer.groupByCoveredRange(List.of(d, c, b, a));
+        assertEquals(List.of(List.of(a, c), List.of(b, d)), groups);
+    }
+
+    @Test
+    void manyDiagnostics() {
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        for (int line = 0; line < 10_000; line++) {
+            diagnostics.add(diagnostic("line" + line, line, 0, line, 10));
+            diagnostics.add(diagnostic("word" + line, line, 2, line, 4));
+        }
+        var groups = LSPDiagnosticsForServer.groupByCoveredRange(diagnostics);
+        assertEquals(10_000, groups.size());
+        for (var group : groups) {
+            assertEquals(2, group.size());
+            assertTrue(group.get(0).getMessage().getLeft().startsWith("line"));
+        }
+    }
+
+    private static Diagnostic diagnostic(String message, int startLine, int startCharacter, int endLine, int endCharacter) {
+        return new Diagnostic(new Range(new Position(startLine, startCharacter), new Position(endLine, endCharacter)), message);
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import static com.redhat.devtools.lsp4ij.features.diagnostics.WorkspaceDiagnosticRequest.NO_ALARM;
+import static com.redhat.devtools.lsp4ij.features.diagnostics.WorkspaceDiagnosticRequest.REFRESH_DELAY;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link WorkspaceDiagnosticRequest}.
+ */
+class WorkspaceDiagnosticRequestTest {
+
+    @Test
+    void firstPullIsDebounced() {
+        var request = new WorkspaceDiagnosticRequest<String>();
+        // didChange while typing
+        assertEquals(REFRESH_DELAY, request.refresh(0));
+        assertEquals(NO_ALARM, request.refresh(100));
+        assertEquals(NO_ALARM, request.refresh(200));
+        // The alarm is triggered 500ms after the first change: the last change occurred 300ms ago
+        assertEquals(200, request.onAlarm(500));
+        // No change since 500ms: send the request
+        assertEquals(0, request.onAlarm(700));
+        request.start("request", 700);
+        assertTrue(request.isPending());
+    }
+
+    @Test
+    void changeWhileRequestIsPending() {
+        var request = new WorkspaceDiagnosticRequest<String>();
+        request.start("request", 0);
+        assertEquals(NO_ALARM, request.refresh(100));
+        // The change is debounced once the request is answered
+        assertEquals(REFRESH_DELAY, request.done("request", 200, false));
+        assertFalse(request.isPending());
+        assertEquals(0, request.onAlarm(700));
+    }
+
+    @Test
+    void slowServerIsNotPulledAgain() {
+        var request = new WorkspaceDiagnosticRequest<String>();
+        request.start("request", 0);
+        // The request is answered after 5s without any change: the server doesn't use long polling
+        assertEquals(NO_ALARM, request.done("request", 5000, false));
+        assertFalse(request.isPending());
+    }
+
+    @Test
+    void longPolling() {
+        var request = new WorkspaceDiagnosticRequest<String>();
+        request.start("request", 0);
+        // The request has been held open until the diagnostics changed: pull again immediately
+        assertEquals(0, request.done("request", 5000, true));
+        assertEquals(0, request.onAlarm(5000));
+        request.start("request2", 5000);
+        // The request has been answered immediately: throttle the next request
+        assertEquals(REFRESH_DELAY, request.done("request2", 5010, true));
+        assertEquals(0, request.onAlarm(5510));
+    }
+
+    @Test
+    void cancel() {
+        var request = new WorkspaceDiagnosticRequest<String>();
+        assertEquals(REFRESH_DELAY, request.refresh(0));
+        request.start("request", 0);
+        assertEquals("request", request.cancel());
+        assertFalse(request.isPending());
+        // The answer of the cancelled request and the scheduled alarm are ignored
+        assertEquals(NO_ALARM, request.done("request", 100, true));
+        assertEquals(NO_ALARM, request.onAlarm(500));
+    }
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.files;
+
+import org.eclipse.lsp4j.FileChangeType;
+import org.eclipse.lsp4j.FileEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link FileEventCoalescer}.
+ */
+class FileEventCoalescerTest {
+
+    @Test
+    void createdThenDeleted() {
+        var coalescer = new FileEventCoalescer();
+        coalescer.addFileEvents(List.of(created("file:///a.ts")));
+        coalescer.addFileEvents(List.of(changed("file:///a.ts")));
+        coalescer.addFileEvents(List.of(deleted("file:///a.ts")));
+        assertTrue(coalescer.isEmpty());
+        assertTrue(coalescer.drain(10).isEmpty());
+    }
+
+    @Test
+    void repeatedChanges() {
+        var coalescer = new FileEventCoalescer();
+        coalescer.addFileEvents(List.of(changed("file:///a.ts"), changed("file:///b.ts")));
+        coalescer.addFileEvents(List.of(changed("file:///a.ts")));
+        coalescer.addFileEvents(List.of(changed("file:///b.ts"), changed("file:///a.ts")));
+        assertEquals(List.of(List.of(changed("file:///a.ts"), changed("file:///b.ts"))), coalescer.drain(10));
+        assertTrue(coalescer.isEmpty());
+    }
+
+    @Test
+    void deletedThenCreated() {
+        var coalescer = new FileEventCoalescer();
+        // ex : file replaced by a 'git checkout'
+        coalescer.addFileEvents(List.of(deleted("file:///a.ts")));
+        coalescer.addFileEvents(List.of(created("file:///a.ts")));
+        // ex : file changed then deleted
+        coalescer.addFileEvents(List.of(changed("file:///b.ts")));
+        coalescer.addFileEvents(List.of(deleted("file:///b.ts")));
+        // ex : file created then changed
+        coalescer.addFileEvents(List.of(created("file:///c.ts")));
+        coalescer.addFileEvents(List.of(changed("file:///c.ts")));
+        assertEquals(List.of(List.of(changed("file:///a.ts"), deleted("file:///b.ts"), created("file:///c.ts"))),
+                coalescer.drain(10));
+    }
+
+    @Test
+    void drainInChunks() {
+        var coalescer = new FileEventCoalescer();
+        List<FileEvent> fileEvents = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            fileEvents.add(created("file:///" + i + ".ts"));
+        }
+        coalescer.addFileEvents(fileEvents);
+        assertEquals(5, coalescer.size());
+        var chunks = coalescer.drain(2);
+        assertEquals(List.of(fileEvents.subList(0, 2), fileEvents.subList(2, 4), fileEvents.subList(4, 5)), chunks);
+        assertTrue(coalescer.isEmpty());
+    }
+
+    private static FileEvent created(String uri) {
+        return new FileEvent(uri, FileChangeType.Created);
+    }
+
+    private static FileEvent changed(String uri) {
+        return new FileEvent(uri, FileChangeType.Changed);
+    }
+
+    private static FileEvent deleted(String uri) {
+        return new FileEvent(uri, FileChangeType.Deleted);
+    }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.files;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link PathPatternIndex}.
+ */
+class PathPatternIndexTest {
+
+    private static final int CREATE = 1;
+    private static final int CHANGE = 2;
+    private static final int DELETE = 4;
+
+    private static final Path BASE_PATH = Paths.get(System.getProperty("java.io.tmpdir"), "project");
+
+    @Test
+    void literalAndExtensionPatterns() {
+        var index = createIndex("**/package.json", CREATE | DELETE,
+                "**/*.{ts,js}", CHANGE,
+                "src/**/*.rs", CREATE);
+        assertEquals(CREATE | CHANGE | DELETE, index.getKinds());
+
+        assertEquals(CREATE | DELETE, index.match(path("package.json")));
+        assertEquals(CREATE | DELETE, index.match(path("foo", "bar", "package.json")));
+        assertEquals(0, index.match(path("foo", "package.jsonx")));
+
+        assertEquals(CHANGE, index.match(path("foo.ts")));
+        assertEquals(CHANGE, index.match(path("foo", "bar.d.ts")));
+        assertEquals(CHANGE, index.match(path("foo", "bar.js")));
+        assertEquals(0, index.match(path("foo", "bar.tsx")));
+
+        assertEquals(CREATE, index.match(path("src", "lib.rs")));
+        assertEquals(CREATE, index.match(path("src", "foo", "lib.rs")));
+        assertEquals(0, index.match(path("test", "lib.rs")));
+    }
+
+    @Test
+    void kindsOfAllMatchingPatterns() {
+        var index = createIndex("**/node_modules/**", DELETE,
+                "**/*.json", CHANGE,
+                "node_modules/foo/package.json", CREATE);
+        assertEquals(CREATE | CHANGE | DELETE, index.match(path("node_modules", "foo", "package.json")));
+        assertEquals(CHANGE | DELETE, index.match(path("node_modules", "bar", "package.json")));
+        assertEquals(DELETE, index.match(path("node_modules")));
+        assertEquals(CHANGE, index.match(path("package.json")));
+    }
+
+    @Test
+    void wildcardSegments() {
+        var index = createIndex("**/{_i18n,i18n}/i18n{*.properties,*.json}", CHANGE,
+                "foo.[0-9]", CREATE,
+                "foo.[!0-9]", DELETE,
+                "?ar/*Test.java", CHANGE);
+        assertEquals(CHANGE, index.match(path("a", "_i18n", "i18nFoo.properties")));
+        assertEquals(CHANGE, index.match(path("i18n", "i18n.json")));
+        assertEquals(0, index.match(path("i18n", "i19n.json")));
+
+        assertEquals(CREATE, index.match(path("foo.1")));
+        assertEquals(DELETE, index.match(path("foo.a")));
+
+        assertEquals(CHANGE, index.match(path("bar", "FooTest.java")));
+        assertEquals(0, index.match(path("baar", "FooTest.java")));
+    }
+
+    @Test
+    void fallbackPatterns() {
+        // '**' inside a segment matches across segments
+        var index = createIndex("src/**.ts", CHANGE);
+        assertEquals(CHANGE, index.match(path("src", "foo", "bar.ts")));
+        assertEquals(0, index.match(path("test", "bar.ts")));
+    }
+
+    @Test
+    void pathsOutsideBasePath() {
+        var index = createIndex("**/*.ts", CHANGE);
+        assertEquals(0, index.match(BASE_PATH.resolveSibling("other-project").resolve("foo.ts")));
+    }
+
+    @Test
+    void caseInsensitive() {
+        var index = new PathPatternIndex(false);
+        index.add(new PathPatternMatcher("**/*.ts", BASE_PATH), CHANGE);
+        index.add(new PathPatternMatcher("**/Cargo.toml", BASE_PATH), CREATE);
+        assertEquals(CHANGE, index.match(path("Foo.TS")));
+        assertEquals(CREATE, index.match(path("cargo.TOML")));
+    }
+
+    @Test
+    void expandGroups() {
+        assertEquals(List.of("*.ts", "*.js"), PathPatternIndex.expandGroups("*.{ts,js}"));
+        assertEquals(List.of("a/c.x", "a/c.y", "b/c.x", "b/c.y"), PathPatternIndex.expandGroups("{a,b}/c.{x,y}"));
+        // Nested groups are invalid
+        assertNull(PathPatternIndex.expandGroups("{a,{b,c}}"));
+        // '/' in a group cannot be matched segment by segment
+        assertNull(PathPatternIndex.expandGroups("{src/main,lib}/*.java"));
+    }
+
+    private static PathPatternIndex createIndex(Object... patternsAndKinds) {
+        var index = new PathPatternIndex(true);
+        for (int i = 0; i < patternsAndKinds.length; i += 2) {
+            index.add(new PathPatternMatcher((String) patternsAndKinds[i], BASE_PATH), (Integer) patternsAndKinds[i + 1]);
+        }
+        return index;
+    }
+
+    private static Path path(String first, String... more) {
+        return BASE_PATH.resolve(Paths.get(first, more));
+    }
+}
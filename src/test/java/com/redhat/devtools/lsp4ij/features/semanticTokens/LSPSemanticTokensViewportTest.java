@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.semanticTokens;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.LightVirtualFile;
+import com.redhat.devtools.lsp4ij.JSONUtils;
+import com.redhat.devtools.lsp4ij.LSPFileSupport;
+import com.redhat.devtools.lsp4ij.features.semanticTokens.LSPSemanticTokensEditorFactoryListener.SemanticTokensViewport;
+import com.redhat.devtools.lsp4ij.fixtures.LSPSemanticTokensFixtureTestCase;
+import com.redhat.devtools.lsp4ij.mock.MockLanguageServer;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensWithRegistrationOptions;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tests for the 'textDocument/semanticTokens/range' request of the visible area of the editors.
+ */
+public class LSPSemanticTokensViewportTest extends LSPSemanticTokensFixtureTestCase {
+
+    public LSPSemanticTokensViewportTest() {
+        super("*.viewport");
+    }
+
+    public void testRangeRequestOnlyForFirstPaint() {
+        var semanticProvider = JSONUtils.getLsp4jGson().fromJson("""
+                {
+                  "legend": {
+                    "tokenTypes": ["keyword"],
+                    "tokenModifiers": []
+                  },
+                  "full": true,
+                  "range": true
+                }
+                """, SemanticTokensWithRegistrationOptions.class);
+        MockLanguageServer.INSTANCE.setTimeToProceedQueries(200);
+        var serverCapabilities = MockLanguageServer.INSTANCE.defaultServerCapabilities();
+        serverCapabilities.setSemanticTokensProvider(semanticProvider);
+        MockLanguageServer.reset(() -> serverCapabilities);
+        MockLanguageServer.INSTANCE.setSemanticTokens(new SemanticTokens(List.of(0, 0, 3, 0, 0)));
+
+        PsiFile file = myFixture.configureByText("test.viewport", "foo\nbar\n");
+        LSPSemanticTokensEditorFactoryListener.setViewport(myFixture.getEditor().getDocument(), new SemanticTokensViewport(0, 1));
+        var semanticTokensSupport = LSPFileSupport.getSupport(file).getSemanticTokensSupport();
+
+        // First paint: the visible area is requested while the semantic tokens of the whole file are pending
+        assertNotNull(semanticTokensSupport.getViewportSemanticTokens(new CompletableFuture<>()));
+
+        myFixture.doHighlighting();
+        var fullFuture = semanticTokensSupport.getSemanticTokens(new SemanticTokensParams(new TextDocumentIdentifier()));
+        assertNotNull(fullFuture.join());
+
+        // The semantic tokens of the whole file have been received: a pending full request (ex : after a keystroke)
+        // doesn't send a range request
+        assertNull(semanticTokensSupport.getViewportSemanticTokens(new CompletableFuture<>()));
+    }
+
+    public void testViewportKeptWhileAnotherEditorShowsTheDocument() {
+        var virtualFile = new LightVirtualFile("test.viewport", "foo\nbar\n");
+        Document document = FileDocumentManager.getInstance().getDocument(virtualFile);
+        assertNotNull(document);
+        var editorFactory = EditorFactory.getInstance();
+        Editor editor = editorFactory.createEditor(document, myFixture.getProject(), virtualFile, false);
+        Editor splitEditor = editorFactory.createEditor(document, myFixture.getProject(), virtualFile, false);
+        var viewport = new SemanticTokensViewport(0, 1);
+        LSPSemanticTokensEditorFactoryListener.setViewport(document, viewport);
+        try {
+            // The split editor is closed, the other editor still shows the document
+            editorFactory.releaseEditor(splitEditor);
+            assertEquals(viewport, LSPSemanticTokensEditorFactoryListener.getViewport(document));
+        } finally {
+            editorFactory.releaseEditor(editor);
+        }
+        // No editor shows the document
+        assertNull(LSPSemanticTokensEditorFactoryListener.getViewport(document));
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.semanticTokens;
+
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SemanticTokensDeltaState#applyEdits(int[], List)}.
+ */
+class SemanticTokensDeltaStateTest {
+
+    private static final int[] PREVIOUS = {
+            0, 0, 5, 1, 0,
+            1, 2, 3, 2, 0,
+            0, 4, 6, 3, 1
+    };
+
+    @Test
+    void noEdits() {
+        assertSame(PREVIOUS, SemanticTokensDeltaState.applyEdits(PREVIOUS, Collections.emptyList()));
+        assertSame(PREVIOUS, SemanticTokensDeltaState.applyEdits(PREVIOUS, null));
+    }
+
+    @Test
+    void replaceToken() {
+        int[] result = SemanticTokensDeltaState.applyEdits(PREVIOUS, List.of(
+                new SemanticTokensEdit(5, 5, List.of(2, 2, 4, 2, 0))));
+        assertArrayEquals(new int[]{
+                0, 0, 5, 1, 0,
+                2, 2, 4, 2, 0,
+                0, 4, 6, 3, 1
+        }, result);
+    }
+
+    @Test
+    void insertAndDeleteTokens() {
+        // Edits are expressed against the previous array and are given in any order
+        int[] result = SemanticTokensDeltaState.applyEdits(PREVIOUS, List.of(
+                new SemanticTokensEdit(10, 5, null),
+                new SemanticTokensEdit(0, 0, List.of(0, 0, 1, 0, 0))));
+        assertArrayEquals(new int[]{
+                0, 0, 1, 0, 0,
+                0, 0, 5, 1, 0,
+                1, 2, 3, 2, 0
+        }, result);
+    }
+
+    @Test
+    void appendTokens() {
+        int[] result = SemanticTokensDeltaState.applyEdits(PREVIOUS, List.of(
+                new SemanticTokensEdit(15, 0, List.of(3, 0, 2, 4, 0))));
+        assertNotNull(result);
+        assertEquals(20, result.length);
+        assertEquals(3, result[15]);
+    }
+
+    @Test
+    void outOfBoundsEdit() {
+        assertNull(SemanticTokensDeltaState.applyEdits(PREVIOUS, List.of(
+                new SemanticTokensEdit(12, 5, null))));
+    }
+
+    @Test
+    void overlappingEdits() {
+        assertNull(SemanticTokensDeltaState.applyEdits(PREVIOUS, List.of(
+                new SemanticTokensEdit(0, 10, null),
+                new SemanticTokensEdit(5, 5, null))));
+    }
+}
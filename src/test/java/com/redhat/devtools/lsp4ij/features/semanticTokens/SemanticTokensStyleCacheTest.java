@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.semanticTokens;
+
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.psi.PsiFile;
+import org.eclipse.lsp4j.SemanticTokenModifiers;
+import org.eclipse.lsp4j.SemanticTokenTypes;
+import org.eclipse.lsp4j.SemanticTokensLegend;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SemanticTokensStyleCache}.
+ */
+class SemanticTokensStyleCacheTest {
+
+    private static final List<String> TOKEN_TYPES = List.of(SemanticTokenTypes.Keyword, SemanticTokenTypes.Variable, SemanticTokenTypes.Function);
+    private static final List<String> TOKEN_MODIFIERS = List.of(SemanticTokenModifiers.Declaration, SemanticTokenModifiers.Static, SemanticTokenModifiers.Readonly);
+
+    private static final PsiFile FILE = (PsiFile) Proxy.newProxyInstance(SemanticTokensStyleCacheTest.class.getClassLoader(),
+            new Class<?>[]{PsiFile.class}, (proxy, method, args) -> null);
+
+    @Test
+    void stylesAreResolvedOnce() {
+        var colorsProvider = new CountingColorsProvider();
+        var styles = new SemanticTokensStyleCache(TOKEN_TYPES, TOKEN_MODIFIERS, colorsProvider, FILE);
+        // Several highlight passes of a file with a few distinct pairs
+        for (int pass = 0; pass < 10; pass++) {
+            for (int i = 0; i < 1_000; i++) {
+                styles.getStyle(i % 3, i % 2);
+            }
+        }
+        assertEquals(6, colorsProvider.calls.get());
+        assertEquals(6, styles.size());
+        assertSame(styles.getStyle(1, 1), styles.getStyle(1, 1));
+    }
+
+    @Test
+    void tokenTypeAndModifiers() {
+        var colorsProvider = new CountingColorsProvider();
+        var styles = new SemanticTokensStyleCache(TOKEN_TYPES, TOKEN_MODIFIERS, colorsProvider, FILE);
+
+        var style = styles.getStyle(2, 0b101);
+        assertEquals(SemanticTokenTypes.Function, style.tokenType());
+        assertEquals(List.of(SemanticTokenModifiers.Declaration, SemanticTokenModifiers.Readonly), style.tokenModifiers());
+
+        style = styles.getStyle(0, 0);
+        assertEquals(SemanticTokenTypes.Keyword, style.tokenType());
+        assertEquals(Collections.emptyList(), style.tokenModifiers());
+
+        // Token type and token modifiers which are not in the legend
+        style = styles.getStyle(5, 0b1000);
+        assertNull(style.tokenType());
+        assertNull(style.colorKey());
+        assertEquals(Collections.emptyList(), style.tokenModifiers());
+        assertEquals(2, colorsProvider.calls.get());
+    }
+
+    @Test
+    void manyPairs() {
+        var styles = new SemanticTokensStyleCache(TOKEN_TYPES, TOKEN_MODIFIERS, new CountingColorsProvider(), FILE);
+        List<SemanticTokensStyleCache.Style> resolved = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            resolved.add(styles.getStyle(i % 3, i));
+        }
+        assertEquals(1_000, styles.size());
+        for (int i = 0; i < 1_000; i++) {
+            assertSame(resolved.get(i), styles.getStyle(i % 3, i));
+        }
+    }
+
+    @Test
+    void isFor() {
+        var colorsProvider = new CountingColorsProvider();
+        var styles = new SemanticTokensStyleCache(TOKEN_TYPES, TOKEN_MODIFIERS, colorsProvider, FILE);
+
+        assertTrue(styles.isFor(createLegend(TOKEN_TYPES, TOKEN_MODIFIERS), colorsProvider, FILE));
+        // The language server has been restarted with another legend
+        assertFalse(styles.isFor(createLegend(TOKEN_TYPES, List.of(SemanticTokenModifiers.Declaration)), colorsProvider, FILE));
+        assertFalse(styles.isFor(createLegend(List.of(SemanticTokenTypes.Keyword), TOKEN_MODIFIERS), colorsProvider, FILE));
+        // Another colors provider
+        assertFalse(styles.isFor(createLegend(TOKEN_TYPES, TOKEN_MODIFIERS), new CountingColorsProvider(), FILE));
+    }
+
+    @Test
+    void concurrentHighlightPasses() throws InterruptedException {
+        var colorsProvider = new CountingColorsProvider();
+        var styles = new SemanticTokensStyleCache(TOKEN_TYPES, TOKEN_MODIFIERS, colorsProvider, FILE);
+        int threadCount = 8;
+        var start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        for (int t = 0; t < threadCount; t++) {
+            var thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < 500; i++) {
+                        var style = styles.getStyle(i % 3, i);
+                        assertEquals(TOKEN_TYPES.get(i % 3), style.tokenType());
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (var thread : threads) {
+            thread.join();
+        }
+        assertEquals(Collections.emptyList(), errors);
+        // Each pair is resolved once
+        assertEquals(500, colorsProvider.calls.get());
+        assertEquals(500, styles.size());
+    }
+
+    private static SemanticTokensLegend createLegend(List<String> tokenTypes, List<String> tokenModifiers) {
+        return new SemanticTokensLegend(new ArrayList<>(tokenTypes), new ArrayList<>(tokenModifiers));
+    }
+
+    private static class CountingColorsProvider implements SemanticTokensColorsProvider {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public @Nullable TextAttributesKey getTextAttributesKey(@NotNull String tokenType,
+                                                                @NotNull List<String> tokenModifiers,
+                                                                @NotNull PsiFile file) {
+            calls.incrementAndGet();
+            return null;
+        }
+    }
+}
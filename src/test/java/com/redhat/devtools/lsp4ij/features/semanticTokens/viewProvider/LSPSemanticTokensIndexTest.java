@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.semanticTokens.viewProvider;
+
+import com.intellij.openapi.util.TextRange;
+import org.eclipse.lsp4j.SemanticTokenTypes;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LSPSemanticTokensIndex}.
+ */
+class LSPSemanticTokensIndexTest {
+
+    @Test
+    void emptyIndex() {
+        LSPSemanticTokensIndex index = new LSPSemanticTokensIndex();
+        assertTrue(index.isEmpty());
+        assertNull(index.getTextRange(0));
+        assertNull(index.getTokenType(0));
+    }
+
+    @Test
+    void orderedTokens() {
+        LSPSemanticTokensIndex index = new LSPSemanticTokensIndex();
+        index.add(0, 5, SemanticTokenTypes.Keyword, null);
+        index.add(6, 10, SemanticTokenTypes.Variable, List.of("declaration"));
+        index.add(10, 12, SemanticTokenTypes.Operator, null);
+
+        assertFalse(index.isEmpty());
+        assertEquals(3, index.size());
+        assertEquals(SemanticTokenTypes.Keyword, index.getTokenType(0));
+        assertEquals(SemanticTokenTypes.Keyword, index.getTokenType(4));
+        assertNull(index.getTokenType(5));
+        assertEquals(SemanticTokenTypes.Variable, index.getTokenType(6));
+        assertEquals(TextRange.create(6, 10), index.getTextRange(9));
+        assertEquals(SemanticTokenTypes.Operator, index.getTokenType(10));
+        assertNull(index.getTokenType(12));
+        assertNull(index.getTokenType(-1));
+    }
+
+    @Test
+    void unorderedTokens() {
+        LSPSemanticTokensIndex index = new LSPSemanticTokensIndex();
+        index.add(20, 25, SemanticTokenTypes.String, null);
+        index.add(0, 5, SemanticTokenTypes.Keyword, null);
+        index.add(10, 15, SemanticTokenTypes.Number, null);
+
+        assertEquals(SemanticTokenTypes.Keyword, index.getTokenType(2));
+        assertEquals(SemanticTokenTypes.Number, index.getTokenType(12));
+        assertEquals(SemanticTokenTypes.String, index.getTokenType(24));
+        assertNull(index.getTokenType(7));
+        assertNull(index.getTokenType(17));
+    }
+
+    @Test
+    void overlappingTokenWins() {
+        LSPSemanticTokensIndex index = new LSPSemanticTokensIndex();
+        index.add(0, 10, SemanticTokenTypes.Comment, null);
+        index.add(3, 6, SemanticTokenTypes.Type, null);
+
+        // Offsets outside of the new token still resolve to the original token with its original range
+        assertEquals(SemanticTokenTypes.Comment, index.getTokenType(2));
+        assertEquals(TextRange.create(0, 10), index.getTextRange(2));
+        assertEquals(SemanticTokenTypes.Type, index.getTokenType(3));
+        assertEquals(TextRange.create(3, 6), index.getTextRange(5));
+        assertEquals(SemanticTokenTypes.Comment, index.getTokenType(6));
+        assertEquals(TextRange.create(0, 10), index.getTextRange(9));
+
+        // A token covering several tokens replaces all of them
+        index.add(1, 8, SemanticTokenTypes.Macro, null);
+        assertEquals(SemanticTokenTypes.Comment, index.getTokenType(0));
+        assertEquals(SemanticTokenTypes.Macro, index.getTokenType(1));
+        assertEquals(SemanticTokenTypes.Macro, index.getTokenType(7));
+        assertEquals(SemanticTokenTypes.Comment, index.getTokenType(8));
+    }
+
+    @Test
+    void manyTokens() {
+        LSPSemanticTokensIndex index = new LSPSemanticTokensIndex();
+        int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            index.add(i * 10, i * 10 + 5, (i % 2 == 0) ? SemanticTokenTypes.Keyword : SemanticTokenTypes.Variable, null);
+        }
+        assertEquals(count, index.size());
+        for (int i = 0; i < count; i += 997) {
+            assertEquals(TextRange.create(i * 10, i * 10 + 5), index.getTextRange(i * 10 + 4));
+            assertNull(index.getTextRange(i * 10 + 5));
+        }
+    }
+
+    @Test
+    void sameTokensAddedAgain() {
+        LSPSemanticTokensIndex index = new LSPSemanticTokensIndex();
+        int count = 100_000;
+        // Several highlight passes without document change
+        for (int pass = 0; pass < 3; pass++) {
+            for (int i = 0; i < count; i++) {
+                index.add(i * 10, i * 10 + 5, (i % 2 == 0) ? SemanticTokenTypes.Keyword : SemanticTokenTypes.Variable, null);
+            }
+            assertEquals(count, index.size());
+        }
+        assertEquals(SemanticTokenTypes.Keyword, index.getTokenType(0));
+        assertEquals(SemanticTokenTypes.Variable, index.getTokenType(14));
+        assertEquals(TextRange.create(999_990, 999_995), index.getTextRange(999_994));
+
+        // The same range with another token type replaces the token
+        index.add(0, 5, SemanticTokenTypes.Macro, null);
+        assertEquals(SemanticTokenTypes.Macro, index.getTokenType(0));
+    }
+
+    @Test
+    void replacedTokensAreReclaimed() {
+        LSPSemanticTokensIndex index = new LSPSemanticTokensIndex();
+        int count = 1_000;
+        for (int pass = 0; pass < 10; pass++) {
+            // Each pass replaces all the tokens with another token type
+            String tokenType = (pass % 2 == 0) ? SemanticTokenTypes.Keyword : SemanticTokenTypes.Variable;
+            for (int i = 0; i < count; i++) {
+                index.add(i * 10, i * 10 + 5, tokenType, null);
+            }
+            assertEquals(tokenType, index.getTokenType(count * 10 - 6));
+            assertTrue(index.size() <= 2 * count + 64, "token slots must be reclaimed: " + index.size());
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(TextRange.create(i * 10, i * 10 + 5), index.getTextRange(i * 10));
+            assertEquals(SemanticTokenTypes.Variable, index.getTokenType(i * 10));
+        }
+    }
+}
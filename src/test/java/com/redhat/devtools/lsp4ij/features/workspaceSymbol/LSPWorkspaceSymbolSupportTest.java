@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.workspaceSymbol;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.redhat.devtools.lsp4ij.features.workspaceSymbol.LSPWorkspaceSymbolSupport.matchesQuery;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the cached workspace symbols of {@link LSPWorkspaceSymbolSupport}.
+ */
+class LSPWorkspaceSymbolSupportTest {
+
+    @Test
+    void emptyQueryMatchesAll() {
+        assertTrue(matchesQuery("HashMap", ""));
+        assertTrue(matchesQuery(null, ""));
+    }
+
+    @Test
+    void queryCharactersInOrderIgnoringCase() {
+        assertTrue(matchesQuery("HashMap", "hash"));
+        assertTrue(matchesQuery("HashMap", "hm"));
+        assertTrue(matchesQuery("HashMap", "HMap"));
+        assertTrue(matchesQuery("request_manager", "reqman"));
+    }
+
+    @Test
+    void queryNotMatching() {
+        assertFalse(matchesQuery("HashMap", "mh"));
+        assertFalse(matchesQuery("HashMap", "HashMaps"));
+        assertFalse(matchesQuery(null, "a"));
+    }
+
+    @Test
+    void emptyResultIsNotRefined() {
+        var cache = new LSPWorkspaceSymbolSupport.WorkspaceSymbolCache(new LSPWorkspaceSymbolParams("foo"), List.of(), 1);
+        // The language servers may return an empty result while they are indexing the workspace
+        assertFalse(cache.canRefine("foo", 1));
+        assertFalse(cache.canRefine("fooB", 1));
+        assertFalse(cache.containsName("fooBar", 1));
+    }
+}
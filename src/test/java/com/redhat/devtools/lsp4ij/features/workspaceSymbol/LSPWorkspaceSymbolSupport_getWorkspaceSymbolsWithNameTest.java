@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.workspaceSymbol;
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import com.redhat.devtools.lsp4ij.client.features.FileUriSupport;
+import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.SymbolKind;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link LSPWorkspaceSymbolSupport#getWorkspaceSymbolsWithName(LSPWorkspaceSymbolParams)}.
+ */
+public class LSPWorkspaceSymbolSupport_getWorkspaceSymbolsWithNameTest extends BasePlatformTestCase {
+
+    private final List<String> loadedQueries = new ArrayList<>();
+    private final List<CompletableFuture<List<WorkspaceSymbolData>>> loads = new ArrayList<>();
+
+    public void testSymbolsWithNameFromPendingSearch() throws Exception {
+        var support = createSupport();
+        // The popup searches the symbols matching 'fo'
+        var search = support.searchWorkspaceSymbols(new LSPWorkspaceSymbolParams("fo"));
+        // The popup asks the symbols with the name 'foo' while the search is not done
+        var withName = support.getWorkspaceSymbolsWithName(new LSPWorkspaceSymbolParams("foo"));
+        assertEquals(List.of("fo"), loadedQueries);
+
+        loads.get(0).complete(List.of(symbol("foo"), symbol("fooBar"), symbol("forEach"), symbol("foo")));
+
+        assertEquals(4, search.get(5000, TimeUnit.MILLISECONDS).size());
+        // Only the symbols with the name are returned
+        List<WorkspaceSymbolData> symbols = withName.get(5000, TimeUnit.MILLISECONDS);
+        assertEquals(2, symbols.size());
+        for (var symbol : symbols) {
+            assertEquals("foo", symbol.getName());
+        }
+    }
+
+    public void testSymbolsWithNameFromNewSearch() throws Exception {
+        var support = createSupport();
+        var withName = support.getWorkspaceSymbolsWithName(new LSPWorkspaceSymbolParams("foo"));
+        assertEquals(List.of("foo"), loadedQueries);
+
+        // The language servers return the symbols matching the query with their fuzzy matching
+        loads.get(0).complete(List.of(symbol("foo"), symbol("fooBar")));
+
+        List<WorkspaceSymbolData> symbols = withName.get(5000, TimeUnit.MILLISECONDS);
+        assertEquals(1, symbols.size());
+        assertEquals("foo", symbols.get(0).getName());
+    }
+
+    public void testSymbolsWithNameFromCache() throws Exception {
+        var support = createSupport();
+        support.searchWorkspaceSymbols(new LSPWorkspaceSymbolParams("fo"));
+        loads.get(0).complete(List.of(symbol("foo"), symbol("fooBar")));
+
+        List<WorkspaceSymbolData> symbols = support.getWorkspaceSymbolsWithName(new LSPWorkspaceSymbolParams("fooBar"))
+                .get(5000, TimeUnit.MILLISECONDS);
+        assertEquals(1, symbols.size());
+        assertEquals("fooBar", symbols.get(0).getName());
+        // The cached result is used
+        assertEquals(List.of("fo"), loadedQueries);
+    }
+
+    private @NotNull LSPWorkspaceSymbolSupport createSupport() {
+        return new LSPWorkspaceSymbolSupport(getProject()) {
+            @Override
+            protected CompletableFuture<List<WorkspaceSymbolData>> doLoad(LSPWorkspaceSymbolParams params,
+                                                                          CancellationSupport cancellationSupport) {
+                loadedQueries.add(params.getQuery());
+                var load = new CompletableFuture<List<WorkspaceSymbolData>>();
+                loads.add(load);
+                return load;
+            }
+        };
+    }
+
+    private @NotNull WorkspaceSymbolData symbol(@NotNull String name) {
+        return new WorkspaceSymbolData(name, SymbolKind.Method, "file:///src/Foo.java", new Position(0, 0),
+                FileUriSupport.DEFAULT, getProject());
+    }
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BoundedRingBuffer}.
+ */
+class BoundedRingBufferTest {
+
+    @Test
+    void drainInOrder() {
+        var buffer = new BoundedRingBuffer<Integer>(4);
+        buffer.add(1);
+        buffer.add(2);
+        buffer.add(3);
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(0, buffer.drain(drained::add));
+        assertEquals(List.of(1, 2, 3), drained);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void oldestElementsAreDropped() {
+        var buffer = new BoundedRingBuffer<Integer>(3);
+        assertEquals(4, buffer.getCapacity());
+        for (int i = 0; i < 10; i++) {
+            buffer.add(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(6, buffer.drain(drained::add));
+        assertEquals(List.of(6, 7, 8, 9), drained);
+        assertEquals(6, buffer.getDroppedCount());
+        assertEquals(10, buffer.getAddedCount());
+
+        buffer.add(10);
+        drained.clear();
+        assertEquals(0, buffer.drain(drained::add));
+        assertEquals(List.of(10), drained);
+    }
+
+    @Test
+    void concurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int count = 10_000;
+        var buffer = new BoundedRingBuffer<Integer>(1024);
+        var start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            var thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < count; i++) {
+                    buffer.add(i);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        long[] drained = new long[1];
+        long dropped = 0;
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            dropped += buffer.drain(element -> drained[0]++);
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        dropped += buffer.drain(element -> drained[0]++);
+        assertEquals((long) producers * count, drained[0] + dropped);
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import com.intellij.openapi.progress.util.ProgressIndicatorBase;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link FutureWaiter}.
+ */
+public class FutureWaiterTest extends BasePlatformTestCase {
+
+    // Time after which the waiting thread must have been woken up
+    private static final long MAX_WAIT_MS = 5000;
+
+    private ScheduledExecutorService executor;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            executor.shutdownNow();
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testWakeUpOnCompletion() {
+        var future = new CompletableFuture<String>();
+        try (var waiter = new FutureWaiter(future)) {
+            executor.schedule(() -> future.complete("done"), 100, TimeUnit.MILLISECONDS);
+            long start = System.currentTimeMillis();
+            assertTrue(waiter.await(TimeUnit.SECONDS.toNanos(30)));
+            assertTrue(System.currentTimeMillis() - start < MAX_WAIT_MS);
+        }
+    }
+
+    public void testWakeUpOnCompletedFuture() {
+        var future = CompletableFuture.completedFuture("done");
+        try (var waiter = new FutureWaiter(future)) {
+            assertTrue(waiter.await(TimeUnit.SECONDS.toNanos(30)));
+        }
+    }
+
+    public void testWakeUp() {
+        var future = new CompletableFuture<String>();
+        try (var waiter = new FutureWaiter(future)) {
+            executor.schedule(waiter::wakeUp, 100, TimeUnit.MILLISECONDS);
+            long start = System.currentTimeMillis();
+            assertFalse(waiter.await(TimeUnit.SECONDS.toNanos(30)));
+            assertTrue(System.currentTimeMillis() - start < MAX_WAIT_MS);
+
+            // The wake-up is consumed by the previous wait
+            long startNanos = System.nanoTime();
+            assertFalse(waiter.await(TimeUnit.MILLISECONDS.toNanos(50)));
+            assertTrue(System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(50));
+        }
+    }
+
+    public void testWakeUpOnCancel() {
+        var future = new CompletableFuture<String>();
+        var indicator = new ProgressIndicatorBase();
+        try (var waiter = new FutureWaiter(future)) {
+            assertTrue(waiter.wakeUpOnCancel(indicator));
+            executor.schedule(indicator::cancel, 100, TimeUnit.MILLISECONDS);
+            long start = System.currentTimeMillis();
+            assertFalse(waiter.await(TimeUnit.SECONDS.toNanos(30)));
+            assertTrue(System.currentTimeMillis() - start < MAX_WAIT_MS);
+            assertTrue(indicator.isCanceled());
+        }
+    }
+
+    public void testNoWakeUpOnCancelWithoutProgressIndicator() {
+        try (var waiter = new FutureWaiter(new CompletableFuture<String>())) {
+            assertFalse(waiter.wakeUpOnCancel(null));
+        }
+    }
+
+    public void testTimeout() {
+        var future = new CompletableFuture<String>();
+        try (var waiter = new FutureWaiter(future)) {
+            long start = System.nanoTime();
+            assertFalse(waiter.await(TimeUnit.MILLISECONDS.toNanos(100)));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import com.redhat.devtools.lsp4ij.internal.JsonRpcSessionRecorder.Direction;
+import com.redhat.devtools.lsp4ij.mock.ReplayConnectionProvider;
+import org.eclipse.lsp4j.*;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+import org.eclipse.lsp4j.launch.LSPLauncher;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link JsonRpcSessionRecorder} and its replay with {@link ReplayConnectionProvider}.
+ */
+class JsonRpcSessionRecorderTest {
+
+    @Test
+    void recordAndReadLastSession(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("session.jsonrpc");
+        try (var recorder = new JsonRpcSessionRecorder(file)) {
+            recorder.record(notification("first"), Direction.SENT);
+        }
+        try (var recorder = new JsonRpcSessionRecorder(file)) {
+            recorder.record(notification("second"), Direction.SENT);
+            recorder.record(notification("third"), Direction.RECEIVED);
+        }
+        // Simulate a line truncated by a crash
+        Files.writeString(file, "12 < {\"jsonrpc\":", StandardOpenOption.APPEND);
+
+        var frames = JsonRpcSessionRecorder.readLastSession(file);
+        assertEquals(2, frames.size());
+        assertEquals(Direction.SENT, frames.get(0).direction());
+        assertTrue(frames.get(0).json().contains("\"second\""));
+        assertEquals(Direction.RECEIVED, frames.get(1).direction());
+        assertTrue(frames.get(1).json().contains("\"third\""));
+    }
+
+    @Test
+    void replay(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("session.jsonrpc");
+        try (var recorder = new JsonRpcSessionRecorder(file)) {
+            var request = new RequestMessage();
+            request.setJsonrpc("2.0");
+            request.setId("42");
+            request.setMethod("initialize");
+            request.setParams(new InitializeParams());
+            recorder.record(request, Direction.SENT);
+
+            var response = new ResponseMessage();
+            response.setJsonrpc("2.0");
+            response.setId("42");
+            var capabilities = new ServerCapabilities();
+            capabilities.setHoverProvider(true);
+            response.setResult(new InitializeResult(capabilities));
+            recorder.record(response, Direction.RECEIVED);
+
+            var diagnostics = new NotificationMessage();
+            diagnostics.setJsonrpc("2.0");
+            diagnostics.setMethod("textDocument/publishDiagnostics");
+            diagnostics.setParams(new PublishDiagnosticsParams("file:///foo.txt", List.of()));
+            recorder.record(diagnostics, Direction.RECEIVED);
+        }
+
+        var provider = new ReplayConnectionProvider(file, 0);
+        provider.start();
+        try {
+            var publishedDiagnostics = new CompletableFuture<PublishDiagnosticsParams>();
+            var launcher = LSPLauncher.createClientLauncher(new TestLanguageClient(publishedDiagnostics),
+                    provider.getInputStream(), provider.getOutputStream());
+            launcher.startListening();
+
+            // The recorded response is sent with the id of the request sent by the client
+            InitializeResult result = launcher.getRemoteProxy().initialize(new InitializeParams()).get(10, TimeUnit.SECONDS);
+            assertEquals(Boolean.TRUE, result.getCapabilities().getHoverProvider().getLeft());
+            assertEquals("file:///foo.txt", publishedDiagnostics.get(10, TimeUnit.SECONDS).getUri());
+            provider.getReplayFuture().get(10, TimeUnit.SECONDS);
+        } finally {
+            provider.stop();
+        }
+    }
+
+    private static NotificationMessage notification(String method) {
+        var notification = new NotificationMessage();
+        notification.setJsonrpc("2.0");
+        notification.setMethod(method);
+        return notification;
+    }
+
+    private record TestLanguageClient(CompletableFuture<PublishDiagnosticsParams> publishedDiagnostics) implements LanguageClient {
+
+        @Override
+        public void publishDiagnostics(PublishDiagnosticsParams diagnostics) {
+            publishedDiagnostics.complete(diagnostics);
+        }
+
+        @Override
+        public void telemetryEvent(Object object) {
+        }
+
+        @Override
+        public void showMessage(MessageParams messageParams) {
+        }
+
+        @Override
+        public CompletableFuture<MessageActionItem> showMessageRequest(ShowMessageRequestParams requestParams) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void logMessage(MessageParams message) {
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link OrderedMessageDispatcher}.
+ */
+class OrderedMessageDispatcherTest {
+
+    @Test
+    void messagesAreConsumedInOrder() throws InterruptedException {
+        int count = 1000;
+        List<String> consumed = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(count);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            var dispatcher = new OrderedMessageDispatcher(message -> {
+                consumed.add(((NotificationMessage) message).getMethod());
+                done.countDown();
+            }, executor, 16, true, e -> fail(e));
+            for (int i = 0; i < count; i++) {
+                dispatcher.consume(notification("m" + i));
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < count; i++) {
+                assertEquals("m" + i, consumed.get(i));
+            }
+            var metrics = dispatcher.getMetrics();
+            assertEquals(count, metrics.dispatchedMessages());
+            assertTrue(metrics.maxQueueSize() <= 16);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void errorsDontStopTheDispatch() throws InterruptedException {
+        List<Throwable> errors = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            var dispatcher = new OrderedMessageDispatcher(message -> {
+                done.countDown();
+                if ("fail".equals(((NotificationMessage) message).getMethod())) {
+                    throw new IllegalStateException();
+                }
+            }, executor, 16, true, errors::add);
+            dispatcher.consume(notification("fail"));
+            dispatcher.consume(notification("ok"));
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, errors.size());
+    }
+
+    @Test
+    void producerWaitsWhenQueueIsFull() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        List<String> consumed = new ArrayList<>();
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            var dispatcher = new OrderedMessageDispatcher(message -> {
+                awaitQuietly(blocked);
+                consumed.add(((NotificationMessage) message).getMethod());
+            }, executor, 2, true, e -> fail(e));
+            var producer = executor.submit(() -> {
+                for (int i = 0; i < 10; i++) {
+                    dispatcher.consume(notification("m" + i));
+                }
+            });
+            // The consumer is blocked, so the producer waits for a free slot
+            waitFor(() -> dispatcher.getMetrics().blockedProducers() > 0);
+            assertFalse(producer.isDone());
+            assertTrue(dispatcher.getMetrics().queueSize() <= 2);
+
+            blocked.countDown();
+            producer.get(10, TimeUnit.SECONDS);
+            waitFor(() -> dispatcher.getMetrics().dispatchedMessages() == 10);
+            for (int i = 0; i < 10; i++) {
+                assertEquals("m" + i, consumed.get(i));
+            }
+        } finally {
+            blocked.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void producerNeverWaitsWithoutBackpressure() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        List<String> consumed = new ArrayList<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            var dispatcher = new OrderedMessageDispatcher(message -> {
+                awaitQuietly(blocked);
+                consumed.add(((NotificationMessage) message).getMethod());
+            }, executor, 2, false, e -> fail(e));
+            // The consumer is blocked, but the producer (ex: the EDT) doesn't wait: the queue grows
+            for (int i = 0; i < 100; i++) {
+                dispatcher.consume(notification("m" + i));
+            }
+            var metrics = dispatcher.getMetrics();
+            assertEquals(0, metrics.blockedProducers());
+            assertEquals(1, metrics.overflows());
+            assertTrue(metrics.maxQueueSize() > 2);
+
+            blocked.countDown();
+            waitFor(() -> dispatcher.getMetrics().dispatchedMessages() == 100);
+            for (int i = 0; i < 100; i++) {
+                assertEquals("m" + i, consumed.get(i));
+            }
+        } finally {
+            blocked.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() - start > 10_000) {
+                fail("Timeout while waiting for the condition");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static Message notification(String method) {
+        var notification = new NotificationMessage();
+        notification.setMethod(method);
+        return notification;
+    }
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Tests for {@link StreamingMessageProducer}.
+ */
+class StreamingMessageProducerTest {
+
+    private static final MessageJsonHandler JSON_HANDLER = new MessageJsonHandler(Collections.emptyMap());
+
+    @Test
+    void readMessages() {
+        var output = new ByteArrayOutputStream();
+        writeMessage(output, "{\"jsonrpc\":\"2.0\",\"method\":\"first\",\"params\":{\"text\":\"été\"}}", "");
+        writeMessage(output, "{\"jsonrpc\":\"2.0\",\"method\":\"second\"}", "Content-Type: application/vscode-jsonrpc; charset=utf-8\r\n");
+        // Message larger than the buffer of the producer
+        writeMessage(output, "{\"jsonrpc\":\"2.0\",\"method\":\"third\",\"params\":{\"text\":\"" + "x".repeat(200_000) + "\"}}", "");
+
+        List<Message> messages = listen(output.toByteArray());
+        assertEquals(3, messages.size());
+        assertEquals("first", ((NotificationMessage) messages.get(0)).getMethod());
+        assertEquals("second", ((NotificationMessage) messages.get(1)).getMethod());
+        assertEquals("third", ((NotificationMessage) messages.get(2)).getMethod());
+    }
+
+    @Test
+    void truncatedMessage() {
+        var output = new ByteArrayOutputStream();
+        writeMessage(output, "{\"jsonrpc\":\"2.0\",\"method\":\"first\"}", "");
+        // The body of the second message is truncated
+        output.writeBytes("Content-Length: 100\r\n\r\n{".getBytes(StandardCharsets.US_ASCII));
+
+        // The producer stops at the end of the stream without error
+        List<Message> messages = listen(output.toByteArray());
+        assertEquals(1, messages.size());
+    }
+
+    private static List<Message> listen(byte[] input) {
+        List<Message> messages = new ArrayList<>();
+        var producer = new StreamingMessageProducer(new ByteArrayInputStream(input), JSON_HANDLER,
+                (message, issues) -> fail(issues.toString()));
+        producer.listen(messages::add);
+        return messages;
+    }
+
+    private static void writeMessage(ByteArrayOutputStream output, String content, String extraHeaders) {
+        byte[] body = content.getBytes(StandardCharsets.UTF_8);
+        String headers = "Content-Length: " + body.length + "\r\n" + extraHeaders + "\r\n";
+        output.writeBytes(headers.getBytes(StandardCharsets.US_ASCII));
+        output.writeBytes(body);
+    }
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.metrics;
+
+import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LatencyHistogram} and {@link LanguageServerRequestMetrics}.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void bucketBoundsContainTheirValues() {
+        for (long value = 0; value < 1_000_000; value += 7) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(value <= LatencyHistogram.bucketUpperBound(index), "value " + value);
+            if (index > 0) {
+                assertTrue(value > LatencyHistogram.bucketUpperBound(index - 1), "value " + value);
+            }
+        }
+    }
+
+    @Test
+    void percentiles() {
+        var histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.5, histogram.getMeanMillis(), 0.001);
+        assertEquals(100, histogram.getMaxMillis(), 0.001);
+        // The relative error is lower than 1/16
+        assertEquals(50, histogram.getPercentileMillis(50), 50 / 16d);
+        assertEquals(99, histogram.getPercentileMillis(99), 99 / 16d);
+        assertEquals(100, histogram.getPercentileMillis(100), 0.001);
+    }
+
+    @Test
+    void emptyHistogram() {
+        var histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileMillis(99));
+        assertEquals(0, histogram.getMeanMillis());
+    }
+
+    @Test
+    void requestMetrics() {
+        var metrics = new LanguageServerRequestMetrics();
+        long start = metrics.requestStarted("textDocument/hover");
+        assertEquals(1, metrics.getRequestMetrics("textDocument/hover").getInFlightCount());
+        metrics.requestCompleted("textDocument/hover", start, null);
+
+        start = metrics.requestStarted("textDocument/hover");
+        metrics.requestCompleted("textDocument/hover", start, new CancellationException());
+        start = metrics.requestStarted("textDocument/hover");
+        metrics.requestCompleted("textDocument/hover", start,
+                new CompletionException(new ResponseErrorException(new ResponseError(ResponseErrorCode.ContentModified, "modified", null))));
+        start = metrics.requestStarted("textDocument/hover");
+        metrics.requestCompleted("textDocument/hover", start,
+                new ResponseErrorException(new ResponseError(ResponseErrorCode.InternalError, "error", null)));
+
+        metrics.onRequestSent("1", "textDocument/hover");
+        metrics.onResponseReceived("1", 2048);
+        // Unknown response
+        metrics.onResponseReceived("2", 4096);
+
+        var hover = metrics.getRequestMetrics("textDocument/hover");
+        assertNotNull(hover);
+        assertEquals(0, hover.getInFlightCount());
+        assertEquals(2, hover.getCompletedCount());
+        assertEquals(2, hover.getCancelledCount());
+        assertEquals(1, hover.getErrorCount());
+        assertEquals(2, hover.getLatency().getCount());
+        assertEquals(1, hover.getServerLatency().getCount());
+        assertEquals(2048, hover.getAveragePayloadBytes());
+        assertEquals(2048, hover.getMaxPayloadBytes());
+        assertEquals(1, metrics.getRequestMetrics().size());
+    }
+}
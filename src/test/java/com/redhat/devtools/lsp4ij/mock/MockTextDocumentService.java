@@ -60,6 +60,7 @@ public class MockTextDocumentService implements TextDocumentService {
     private Location[] mockReferences = new Location[0];
     private List<Diagnostic> publishDiagnostics;
     private DocumentDiagnosticReport pullDiagnostics;
+    private volatile DocumentDiagnosticParams lastDiagnosticParams;
     private List<Either<Command, CodeAction>> mockCodeActions;
     private CodeAction mockResolvedCodeAction;
     private List<ColorInformation> mockDocumentColors;
@@ -457,9 +458,14 @@ public class MockTextDocumentService implements TextDocumentService {
 
     @Override
     public CompletableFuture<DocumentDiagnosticReport> diagnostic(DocumentDiagnosticParams params) {
+        this.lastDiagnosticParams = params;
         return CompletableFuture.completedFuture(this.pullDiagnostics);
     }
 
+    public DocumentDiagnosticParams getLastDiagnosticParams() {
+        return lastDiagnosticParams;
+    }
+
     private static final Range DUMMY_RANGE = new Range(new Position(0, 0), new Position(0, 0));
 
     @Override
@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.mock;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.redhat.devtools.lsp4ij.internal.JsonRpcSessionRecorder;
+import com.redhat.devtools.lsp4ij.internal.JsonRpcSessionRecorder.Direction;
+import com.redhat.devtools.lsp4ij.internal.JsonRpcSessionRecorder.Frame;
+import com.redhat.devtools.lsp4ij.server.CannotStartProcessException;
+import com.redhat.devtools.lsp4ij.server.StreamConnectionProvider;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * {@link StreamConnectionProvider} implementation which replays a session recorded with {@link JsonRpcSessionRecorder}
+ * instead of starting a language server, to run deterministic and offline load tests from real sessions.
+ * <p>
+ * The messages received from the language server are written to the client with the original timing divided by
+ * the given speed. A recorded response is written only once the client has sent the matching request (same method,
+ * in the same order), and its id is replaced with the id of the request sent by the client.
+ */
+public class ReplayConnectionProvider implements StreamConnectionProvider {
+
+    private static final long REQUEST_TIMEOUT_SECONDS = 10;
+
+    private static final ExecutorService replayRunner = Executors.newCachedThreadPool();
+
+    private final @NotNull List<Frame> frames;
+    private final double speed;
+
+    // Ids of the requests sent by the client, by method
+    private final Map<String, BlockingQueue<JsonElement>> sentRequestIds = new ConcurrentHashMap<>();
+    private final CompletableFuture<Void> replayFuture = new CompletableFuture<>();
+
+    private InputStream clientInputStream;
+    private OutputStream clientOutputStream;
+    private final Collection<Closeable> streams = new ArrayList<>(2);
+    private final List<Future<?>> tasks = new ArrayList<>(2);
+
+    /**
+     * Creates a provider which replays the last session recorded in the given file.
+     *
+     * @param recordingFile the recording file.
+     * @param speed         the speed of the replay: 1 for the original timing, 10 for a replay 10 times faster,
+     *                      0 to replay without delay.
+     * @throws IOException if the recording file cannot be read.
+     */
+    public ReplayConnectionProvider(@NotNull Path recordingFile, double speed) throws IOException {
+        this(JsonRpcSessionRecorder.readLastSession(recordingFile), speed);
+    }
+
+    public ReplayConnectionProvider(@NotNull List<Frame> frames, double speed) {
+        this.frames = frames;
+        this.speed = speed;
+    }
+
+    @Override
+    public void start() throws CannotStartProcessException {
+        Pipe serverOutputToClientInput = openPipe();
+        Pipe clientOutputToServerInput = openPipe();
+
+        InputStream serverInputStream = Channels.newInputStream(clientOutputToServerInput.source());
+        OutputStream serverOutputStream = Channels.newOutputStream(serverOutputToClientInput.sink());
+        clientInputStream = Channels.newInputStream(serverOutputToClientInput.source());
+        clientOutputStream = Channels.newOutputStream(clientOutputToServerInput.sink());
+
+        tasks.add(replayRunner.submit(() -> readClientMessages(serverInputStream)));
+        tasks.add(replayRunner.submit(() -> replay(serverOutputStream)));
+
+        streams.add(clientOutputStream);
+        streams.add(serverOutputStream);
+    }
+
+    /**
+     * Returns the future completed when all the recorded messages have been replayed.
+     *
+     * @return the future completed when all the recorded messages have been replayed.
+     */
+    public @NotNull CompletableFuture<Void> getReplayFuture() {
+        return replayFuture;
+    }
+
+    private void readClientMessages(@NotNull InputStream input) {
+        try {
+            String json;
+            while ((json = readMessage(input)) != null) {
+                JsonObject message = JsonParser.parseString(json).getAsJsonObject();
+                if (message.has("method") && message.has("id")) {
+                    sentRequestIds.computeIfAbsent(message.get("method").getAsString(), k -> new LinkedBlockingQueue<>())
+                            .add(message.get("id"));
+                }
+            }
+        } catch (IOException e) {
+            // The provider is stopped
+        }
+    }
+
+    private void replay(@NotNull OutputStream output) {
+        try {
+            // Ids of the recorded requests (as JSON string) -> ids of the requests sent by the client
+            Map<String, JsonElement> ids = new ConcurrentHashMap<>();
+            long previousTimestamp = 0;
+            for (var frame : frames) {
+                JsonObject message = JsonParser.parseString(frame.json()).getAsJsonObject();
+                if (frame.direction() == Direction.SENT) {
+                    if (message.has("method") && message.has("id")) {
+                        // Wait for the client to send the same request
+                        JsonElement id = sentRequestIds.computeIfAbsent(message.get("method").getAsString(), k -> new LinkedBlockingQueue<>())
+                                .poll(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                        if (id == null) {
+                            throw new IllegalStateException("The client has not sent the request '" + message.get("method").getAsString() + "'");
+                        }
+                        ids.put(message.get("id").toString(), id);
+                    }
+                    continue;
+                }
+                if (speed > 0) {
+                    long delay = (long) ((frame.timestamp() - previousTimestamp) / speed);
+                    if (delay > 0) {
+                        Thread.sleep(delay);
+                    }
+                }
+                previousTimestamp = frame.timestamp();
+                if (!message.has("method") && message.has("id")) {
+                    // Response to a request sent by the client
+                    JsonElement id = ids.remove(message.get("id").toString());
+                    if (id != null) {
+                        message.add("id", id);
+                    }
+                }
+                writeMessage(output, message.toString());
+            }
+            replayFuture.complete(null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            replayFuture.completeExceptionally(e);
+        } catch (Exception e) {
+            replayFuture.completeExceptionally(e);
+        }
+    }
+
+    private static void writeMessage(@NotNull OutputStream output, @NotNull String json) throws IOException {
+        byte[] content = json.getBytes(StandardCharsets.UTF_8);
+        output.write(("Content-Length: " + content.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        output.write(content);
+        output.flush();
+    }
+
+    private static @Nullable String readMessage(@NotNull InputStream input) throws IOException {
+        int contentLength = -1;
+        StringBuilder header = new StringBuilder();
+        while (true) {
+            int c = input.read();
+            if (c == -1) {
+                return null;
+            }
+            if (c == '\n') {
+                String line = header.toString().trim();
+                header.setLength(0);
+                if (line.isEmpty()) {
+                    if (contentLength >= 0) {
+                        break;
+                    }
+                } else if (line.toLowerCase().startsWith("content-length:")) {
+                    contentLength = Integer.parseInt(line.substring("content-length:".length()).trim());
+                }
+            } else {
+                header.append((char) c);
+            }
+        }
+        byte[] content = input.readNBytes(contentLength);
+        if (content.length < contentLength) {
+            return null;
+        }
+        return new String(content, StandardCharsets.UTF_8);
+    }
+
+    private static Pipe openPipe() throws CannotStartProcessException {
+        try {
+            return Pipe.open();
+        } catch (IOException e) {
+            throw new CannotStartProcessException(e);
+        }
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return clientInputStream;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return clientOutputStream;
+    }
+
+    @Override
+    public void stop() {
+        streams.forEach(t -> {
+            try {
+                t.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+        streams.clear();
+        tasks.forEach(task -> task.cancel(true));
+        tasks.clear();
+    }
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.server;
+
+import com.intellij.execution.configurations.GeneralCommandLine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SocketStreamConnectionProvider}.
+ */
+class SocketStreamConnectionProviderTest {
+
+    @Test
+    void connectToExistingTcpServer() throws Exception {
+        try (var server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            assertExchange(server, server.getLocalAddress());
+        }
+    }
+
+    @Test
+    void connectToExistingUnixDomainSocketServer(@TempDir Path dir) throws Exception {
+        var address = UnixDomainSocketAddress.of(dir.resolve("server.sock"));
+        try (var server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(address);
+            assertExchange(server, address);
+        }
+    }
+
+    @Test
+    void reconnectToSameServerAfterStop() throws Exception {
+        try (var server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            // The server already listens, so the command line is not launched
+            var provider = new SocketStreamConnectionProvider(server.getLocalAddress(), new GeneralCommandLine("lsp4ij-missing-server"));
+            provider.start();
+            try (SocketChannel client = server.accept()) {
+                // The server is not owned by the provider: it must not receive 'shutdown' and 'exit'
+                assertFalse(provider.shouldShutdownServerOnStop());
+                provider.stop();
+                assertFalse(provider.isAlive());
+                assertEquals("", read(client, 1));
+            }
+
+            // The same server accepts the next connection
+            assertTrue(server.isOpen());
+            assertExchange(server, server.getLocalAddress());
+        }
+    }
+
+    @Test
+    void connectTimeout(@TempDir Path dir) {
+        var provider = new SocketStreamConnectionProvider(UnixDomainSocketAddress.of(dir.resolve("missing.sock")));
+        provider.setConnectTimeout(300);
+        long start = System.currentTimeMillis();
+        assertThrows(CannotStartProcessException.class, provider::start);
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertFalse(provider.isAlive());
+    }
+
+    private static void assertExchange(ServerSocketChannel server, SocketAddress address) throws Exception {
+        var provider = new SocketStreamConnectionProvider(address);
+        boolean[] unexpectedStop = new boolean[1];
+        provider.addUnexpectedServerStopHandler(() -> unexpectedStop[0] = true);
+        provider.start();
+        try (SocketChannel client = server.accept()) {
+            assertTrue(provider.isAlive());
+
+            // Client -> server
+            provider.getOutputStream().write("ping".getBytes(StandardCharsets.UTF_8));
+            provider.getOutputStream().flush();
+            assertEquals("ping", read(client, 4));
+
+            // Server -> client
+            client.write(ByteBuffer.wrap("pong".getBytes(StandardCharsets.UTF_8)));
+            byte[] pong = provider.getInputStream().readNBytes(4);
+            assertEquals("pong", new String(pong, StandardCharsets.UTF_8));
+        }
+        // The server has closed the connection
+        assertEquals(-1, provider.getInputStream().read());
+        assertTrue(unexpectedStop[0]);
+        provider.stop();
+        assertFalse(provider.isAlive());
+    }
+
+    private static String read(SocketChannel channel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) == -1) {
+                break;
+            }
+        }
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+}